@@ -0,0 +1,135 @@
+package org.openapitools.client.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+import org.openapitools.client.model.petStoreModel.Category;
+import org.openapitools.client.model.petStoreModel.ModelApiResponse;
+import org.openapitools.client.model.petStoreModel.Order;
+import org.openapitools.client.model.petStoreModel.Pet;
+import org.openapitools.client.model.petStoreModel.Tag;
+import org.openapitools.client.model.petStoreModel.User;
+import org.openapitools.client.service.petStoreService.ApiClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Serialization and deserialization of the petstore models through the JSON codecs of
+ * {@link ApiClient#buildWebClientBuilder(ObjectMapper)}, for a single object and for arrays.
+ * <p>
+ * A {@code count} of 0 benchmarks a single object, any other count a JSON array of that many elements.
+ * Request bodies are written like {@code bodyValue} does, i.e. from a {@code Mono} of the whole value, and
+ * response bodies are read like {@code bodyToMono} does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModelCodecBenchmark {
+    @Param({ "Pet", "Order", "User", "Category", "Tag", "ModelApiResponse" })
+    public String model;
+
+    @Param({ "0", "1000", "100000" })
+    public int count;
+
+    private Jackson2JsonEncoder encoder;
+    private Jackson2JsonDecoder decoder;
+    private DataBufferFactory bufferFactory;
+
+    private ResolvableType valueType;
+    private ResolvableType elementType;
+    private Object value;
+    private byte[] json;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = ApiClient.createDefaultObjectMapper(null);
+        encoder = ApiClient.createJsonEncoder(mapper);
+        decoder = ApiClient.createJsonDecoder(mapper);
+        // the client keeps the decoder's 256 KB default, which the large arrays exceed
+        decoder.setMaxInMemorySize(-1);
+        bufferFactory = DefaultDataBufferFactory.sharedInstance;
+
+        Class<?> modelClass;
+        LongFunction<Object> factory;
+        switch (model) {
+            case "Pet": modelClass = Pet.class; factory = SampleModels::pet; break;
+            case "Order": modelClass = Order.class; factory = SampleModels::order; break;
+            case "User": modelClass = User.class; factory = SampleModels::user; break;
+            case "Category": modelClass = Category.class; factory = SampleModels::category; break;
+            case "Tag": modelClass = Tag.class; factory = SampleModels::tag; break;
+            case "ModelApiResponse": modelClass = ModelApiResponse.class; factory = SampleModels::modelApiResponse; break;
+            default: throw new IllegalArgumentException("Unknown model: " + model);
+        }
+
+        elementType = ResolvableType.forClass(modelClass);
+        if (count == 0) {
+            valueType = elementType;
+            value = factory.apply(1L);
+        } else {
+            valueType = ResolvableType.forClassWithGenerics(List.class, modelClass);
+            List<Object> values = new ArrayList<Object>(count);
+            for (int i = 0; i < count; i++) {
+                values.add(factory.apply(i));
+            }
+            value = values;
+        }
+
+        DataBuffer encoded = DataBufferUtils.join(encode()).block();
+        json = new byte[encoded.readableByteCount()];
+        encoded.read(json);
+        DataBufferUtils.release(encoded);
+    }
+
+    private Flux<DataBuffer> encode() {
+        return encoder.encode(Mono.just(value), bufferFactory, valueType, MediaType.APPLICATION_JSON, Collections.emptyMap());
+    }
+
+    @Benchmark
+    public int serialize() {
+        DataBuffer encoded = DataBufferUtils.join(encode()).block();
+        int length = encoded.readableByteCount();
+        DataBufferUtils.release(encoded);
+        return length;
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return decoder.decodeToMono(Mono.just(bufferFactory.wrap(json)), valueType, MediaType.APPLICATION_JSON, Collections.emptyMap()).block();
+    }
+
+    /**
+     * Deserialization like {@code bodyToFlux} does it, element by element; a single object is one element.
+     */
+    @Benchmark
+    public Long deserializeElements() {
+        return decoder.decode(Mono.just(bufferFactory.wrap(json)), elementType, MediaType.APPLICATION_JSON, Collections.emptyMap()).count().block();
+    }
+}
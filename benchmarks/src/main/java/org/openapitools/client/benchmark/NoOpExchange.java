@@ -0,0 +1,40 @@
+package org.openapitools.client.benchmark;
+
+import org.openapitools.client.service.petStoreService.ApiClient;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Clients whose exchanges never leave the JVM, so benchmarks measure only the client's own overhead.
+ */
+public final class NoOpExchange {
+    private NoOpExchange() {
+    }
+
+    /**
+     * An exchange function that answers every request with the same empty 200 response.
+     * @return ExchangeFunction the no-op exchange function
+     */
+    public static ExchangeFunction exchangeFunction() {
+        final Mono<ClientResponse> response = Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        return request -> response;
+    }
+
+    /**
+     * Build an ApiClient configured like the default one, but backed by the no-op exchange function and with
+     * credentials set for every authentication, so that the authentication code paths are exercised too.
+     * @return ApiClient the client
+     */
+    public static ApiClient apiClient() {
+        WebClient webClient = ApiClient.buildWebClientBuilder(ApiClient.createDefaultObjectMapper(null))
+                .exchangeFunction(exchangeFunction())
+                .build();
+        ApiClient apiClient = new ApiClient(webClient);
+        apiClient.setApiKey("special-key");
+        apiClient.setAccessToken("access-token");
+        return apiClient;
+    }
+}
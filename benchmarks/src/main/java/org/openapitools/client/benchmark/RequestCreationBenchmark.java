@@ -0,0 +1,173 @@
+package org.openapitools.client.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openapitools.client.api.petStoreApi.PetApi;
+import org.openapitools.client.api.petStoreApi.StoreApi;
+import org.openapitools.client.api.petStoreApi.UserApi;
+import org.openapitools.client.model.petStoreModel.Order;
+import org.openapitools.client.model.petStoreModel.Pet;
+import org.openapitools.client.model.petStoreModel.User;
+import org.openapitools.client.service.petStoreService.ApiClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Every operation of PetApi, StoreApi and UserApi, from the public method through the *RequestCreation method and
+ * the WebClient exchange, answered by {@link NoOpExchange}. Response bodies are not decoded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestCreationBenchmark {
+    private PetApi petApi;
+    private StoreApi storeApi;
+    private UserApi userApi;
+
+    private Pet pet;
+    private Order order;
+    private User user;
+    private List<User> users;
+    private List<String> statuses;
+    private List<String> tags;
+    private File file;
+
+    @Setup
+    public void setUp() throws IOException {
+        ApiClient apiClient = NoOpExchange.apiClient();
+        petApi = new PetApi(apiClient);
+        storeApi = new StoreApi(apiClient);
+        userApi = new UserApi(apiClient);
+
+        pet = SampleModels.pet(1L);
+        order = SampleModels.order(1L);
+        user = SampleModels.user(1L);
+        users = SampleModels.users(10);
+        statuses = Arrays.asList("available", "pending", "sold");
+        tags = Arrays.asList("tag1", "tag2", "tag3");
+        file = File.createTempFile("petstore-benchmark", ".jpg");
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public ResponseEntity<Void> petAddPet() {
+        return petApi.addPetWithResponseSpec(pet).toBodilessEntity().block();
+    }
+
+    @Benchmark
+    public ResponseEntity<Void> petDeletePet() {
+        return petApi.deletePetWithResponseSpec(1L, "special-key").toBodilessEntity().block();
+    }
+
+    @Benchmark
+    public ResponseEntity<Void> petFindPetsByStatus() {
+        return petApi.findPetsByStatusWithResponseSpec(statuses).toBodilessEntity().block();
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public ResponseEntity<Void> petFindPetsByTags() {
+        return petApi.findPetsByTagsWithResponseSpec(tags).toBodilessEntity().block();
+    }
+
+    @Benchmark
+    public ResponseEntity<Void> petGetPetById() {
+        return petApi.getPetByIdWithResponseSpec(1L).toBodilessEntity().block();
+    }
+
+    @Benchmark
+    public ResponseEntity<Void> petUpdatePet() {
+        return petApi.updatePetWithResponseSpec(pet).toBodilessEntity().block();
+    }
+
+    @Benchmark
+    public ResponseEntity<Void> petUpdatePetWithForm() {
+        return petApi.updatePetWithFormWithResponseSpec(1L, "doggie", "sold").toBodilessEntity().block();
+    }
+
+    @Benchmark
+    public ResponseEntity<Void> petUploadFile() {
+        return petApi.uploadFileWithResponseSpec(1L, "metadata", file).toBodilessEntity().block();
+    }
+
+    @Benchmark
+    public ResponseEntity<Void> storeDeleteOrder() {
+        return storeApi.deleteOrderWithResponseSpec(1L).toBodilessEntity().block();
+    }
+
+    @Benchmark
+    public ResponseEntity<Void> storeGetInventory() {
+        return storeApi.getInventoryWithResponseSpec().toBodilessEntity().block();
+    }
+
+    @Benchmark
+    public ResponseEntity<Void> storeGetOrderById() {
+        return storeApi.getOrderByIdWithResponseSpec(1L).toBodilessEntity().block();
+    }
+
+    @Benchmark
+    public ResponseEntity<Void> storePlaceOrder() {
+        return storeApi.placeOrderWithResponseSpec(order).toBodilessEntity().block();
+    }
+
+    @Benchmark
+    public ResponseEntity<Void> userCreateUser() {
+        return userApi.createUserWithResponseSpec(user).toBodilessEntity().block();
+    }
+
+    @Benchmark
+    public ResponseEntity<Void> userCreateUsersWithArrayInput() {
+        return userApi.createUsersWithArrayInputWithResponseSpec(users).toBodilessEntity().block();
+    }
+
+    @Benchmark
+    public ResponseEntity<Void> userCreateUsersWithListInput() {
+        return userApi.createUsersWithListInputWithResponseSpec(users).toBodilessEntity().block();
+    }
+
+    @Benchmark
+    public ResponseEntity<Void> userDeleteUser() {
+        return userApi.deleteUserWithResponseSpec("user1").toBodilessEntity().block();
+    }
+
+    @Benchmark
+    public ResponseEntity<Void> userGetUserByName() {
+        return userApi.getUserByNameWithResponseSpec("user1").toBodilessEntity().block();
+    }
+
+    @Benchmark
+    public ResponseEntity<Void> userLoginUser() {
+        return userApi.loginUserWithResponseSpec("user1", "secret").toBodilessEntity().block();
+    }
+
+    @Benchmark
+    public ResponseEntity<Void> userLogoutUser() {
+        return userApi.logoutUserWithResponseSpec().toBodilessEntity().block();
+    }
+
+    @Benchmark
+    public ResponseEntity<Void> userUpdateUser() {
+        return userApi.updateUserWithResponseSpec("user1", user).toBodilessEntity().block();
+    }
+}
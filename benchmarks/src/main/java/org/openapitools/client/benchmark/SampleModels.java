@@ -0,0 +1,77 @@
+package org.openapitools.client.benchmark;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openapitools.client.model.petStoreModel.Category;
+import org.openapitools.client.model.petStoreModel.ModelApiResponse;
+import org.openapitools.client.model.petStoreModel.Order;
+import org.openapitools.client.model.petStoreModel.Pet;
+import org.openapitools.client.model.petStoreModel.Tag;
+import org.openapitools.client.model.petStoreModel.User;
+
+/**
+ * Fully populated model instances, so that benchmarks serialize every property.
+ */
+public final class SampleModels {
+    private SampleModels() {
+    }
+
+    public static Category category(long id) {
+        return new Category().id(id).name("category-" + id);
+    }
+
+    public static Tag tag(long id) {
+        return new Tag().id(id).name("tag-" + id);
+    }
+
+    public static Pet pet(long id) {
+        return new Pet()
+                .id(id)
+                .category(category(id % 10))
+                .name("pet-" + id)
+                .photoUrls(Arrays.asList("https://example.com/pets/" + id + "/1.jpg", "https://example.com/pets/" + id + "/2.jpg"))
+                .tags(Arrays.asList(tag(id % 7), tag(id % 11)))
+                .status(Pet.StatusEnum.AVAILABLE);
+    }
+
+    public static Order order(long id) {
+        return new Order()
+                .id(id)
+                .petId(id * 31)
+                .quantity((int) (id % 5) + 1)
+                .shipDate(OffsetDateTime.of(2024, 6, 8, 2, 30, 15, 0, ZoneOffset.UTC))
+                .status(Order.StatusEnum.PLACED)
+                .complete(Boolean.FALSE);
+    }
+
+    public static User user(long id) {
+        return new User()
+                .id(id)
+                .username("user" + id)
+                .firstName("First" + id)
+                .lastName("Last" + id)
+                .email("user" + id + "@example.com")
+                .password("secret-" + id)
+                .phone("+1-555-" + id)
+                .userStatus(1);
+    }
+
+    public static ModelApiResponse modelApiResponse(long id) {
+        return new ModelApiResponse()
+                .code(200)
+                .type("unknown")
+                .message("additionalMetadata: metadata-" + id + "\nFile uploaded to ./pet-" + id + ".jpg, 4096 bytes");
+    }
+
+    public static List<User> users(int count) {
+        List<User> users = new ArrayList<User>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(user(i));
+        }
+        return users;
+    }
+}
@@ -0,0 +1,134 @@
+package org.openapitools.client.service.petStoreService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openapitools.client.benchmark.NoOpExchange;
+import org.openapitools.client.model.petStoreModel.Pet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.client.WebClient.ResponseSpec;
+
+/**
+ * The individual steps of ApiClient's request preparation: URI expansion in prepareRequest, query parameter
+ * conversion and encoding, authentication and content negotiation.
+ * <p>
+ * Lives in the invoker package so that it can reach the package-private query encoder and the protected
+ * authentication hook.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestPreparationBenchmark {
+    private static final String[] ACCEPTS = { "application/json", "application/xml" };
+    private static final String[] AUTH_NAMES = { "api_key", "petstore_auth" };
+
+    private static final ApiOperation<Pet> GET_PET_BY_ID = new ApiOperation<Pet>("/pet/{petId}", HttpMethod.GET,
+            ACCEPTS, new String[] { }, new String[] { "api_key" },
+            new ParameterizedTypeReference<Pet>() {});
+
+    private static final ApiOperation<Pet> FIND_PETS_BY_STATUS = new ApiOperation<Pet>("/pet/findByStatus", HttpMethod.GET,
+            ACCEPTS, new String[] { }, new String[] { "petstore_auth" },
+            new ParameterizedTypeReference<Pet>() {});
+
+    /**
+     * The status values of a findPetsByStatus query.
+     */
+    @State(Scope.Benchmark)
+    public static class StatusQuery {
+        @Param({ "1", "10", "100" })
+        public int valueCount;
+
+        List<String> values;
+        MultiValueMap<String, String> queryParams;
+
+        @Setup
+        public void setUp() {
+            values = new ArrayList<String>(valueCount);
+            for (int i = 0; i < valueCount; i++) {
+                values.add("status " + i);
+            }
+            queryParams = new LinkedMultiValueMap<String, String>();
+            queryParams.put("status", values);
+        }
+    }
+
+    private ApiClient apiClient;
+    private Map<String, Object> petIdParams;
+
+    @Setup
+    public void setUp() {
+        apiClient = NoOpExchange.apiClient();
+        petIdParams = Collections.<String, Object>singletonMap("petId", 1L);
+    }
+
+    @Benchmark
+    public ResponseSpec prepareRequestGetPetById() {
+        return apiClient.invokeAPI(GET_PET_BY_ID, petIdParams, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public ResponseSpec prepareRequestFindPetsByStatus(StatusQuery query) {
+        return apiClient.invokeAPI(FIND_PETS_BY_STATUS, ApiClient.CollectionFormat.MULTI, "status", query.values);
+    }
+
+    @Benchmark
+    public MultiValueMap<String, String> parameterToMultiValueMapMulti(StatusQuery query) {
+        return apiClient.parameterToMultiValueMap(ApiClient.CollectionFormat.MULTI, "status", query.values);
+    }
+
+    @Benchmark
+    public MultiValueMap<String, String> parameterToMultiValueMapCsv(StatusQuery query) {
+        return apiClient.parameterToMultiValueMap(ApiClient.CollectionFormat.CSV, "status", query.values);
+    }
+
+    /**
+     * Query string encoding of prepareRequest, which replaced the templated generateQueryUri.
+     */
+    @Benchmark
+    public int encodeQueryParams(StatusQuery query) {
+        StringBuilder buffer = QueryStringEncoder.buffer();
+        QueryStringEncoder.appendQueryParams(buffer, query.queryParams);
+        return buffer.length();
+    }
+
+    @Benchmark
+    public int appendQueryParameterMulti(StatusQuery query) {
+        StringBuilder buffer = QueryStringEncoder.buffer();
+        apiClient.appendQueryParameter(buffer, ApiClient.CollectionFormat.MULTI, "status", query.values);
+        return buffer.length();
+    }
+
+    @Benchmark
+    public HttpHeaders updateParamsForAuth() {
+        HttpHeaders headerParams = new HttpHeaders();
+        apiClient.updateParamsForAuth(AUTH_NAMES, new LinkedMultiValueMap<String, String>(), headerParams, new LinkedMultiValueMap<String, String>());
+        return headerParams;
+    }
+
+    @Benchmark
+    public List<MediaType> selectHeaderAccept() {
+        return apiClient.selectHeaderAccept(ACCEPTS);
+    }
+}
@@ -1,11 +1,16 @@
 package org.openapitools.client.api.petStoreApi;
 
 import org.openapitools.client.service.petStoreService.ApiClient;
+import org.openapitools.client.service.petStoreService.ApiOperation;
+import org.openapitools.client.service.petStoreService.BulkOptions;
+import org.openapitools.client.service.petStoreService.BulkResult;
 
 import java.io.File;
 import org.openapitools.client.model.petStoreModel.ModelApiResponse;
 import org.openapitools.client.model.petStoreModel.Pet;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -24,11 +29,54 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.reactivestreams.Publisher;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Flux;
 
 @javax.annotation.Generated(value = "org.openapitools.codegen.languages.JavaClientCodegen", date = "2024-06-08T02:30:15.248337300+03:00[Europe/Moscow]")
 public class PetApi {
+    private static final ApiOperation<Void> ADD_PET = new ApiOperation<Void>("/pet", HttpMethod.POST,
+            new String[] { }, new String[] { "application/json", "application/xml" }, new String[] { "petstore_auth" },
+            new ParameterizedTypeReference<Void>() {},
+            new ParameterizedTypeReference<Pet>() {});
+
+    private static final ApiOperation<Void> DELETE_PET = new ApiOperation<Void>("/pet/{petId}", HttpMethod.DELETE,
+            new String[] { }, new String[] { }, new String[] { "petstore_auth" },
+            new ParameterizedTypeReference<Void>() {});
+
+    private static final ApiOperation<Pet> FIND_PETS_BY_STATUS = new ApiOperation<Pet>("/pet/findByStatus", HttpMethod.GET,
+            new String[] { "application/json", "application/xml" }, new String[] { }, new String[] { "petstore_auth" },
+            new ParameterizedTypeReference<Pet>() {});
+
+    private static final ApiOperation<Pet> FIND_PETS_BY_STATUS_NDJSON = new ApiOperation<Pet>("/pet/findByStatus", HttpMethod.GET,
+            new String[] { "application/x-ndjson", "application/json" }, new String[] { }, new String[] { "petstore_auth" },
+            new ParameterizedTypeReference<Pet>() {});
+
+    private static final ApiOperation<Pet> FIND_PETS_BY_TAGS = new ApiOperation<Pet>("/pet/findByTags", HttpMethod.GET,
+            new String[] { "application/json", "application/xml" }, new String[] { }, new String[] { "petstore_auth" },
+            new ParameterizedTypeReference<Pet>() {});
+
+    private static final ApiOperation<Pet> FIND_PETS_BY_TAGS_NDJSON = new ApiOperation<Pet>("/pet/findByTags", HttpMethod.GET,
+            new String[] { "application/x-ndjson", "application/json" }, new String[] { }, new String[] { "petstore_auth" },
+            new ParameterizedTypeReference<Pet>() {});
+
+    private static final ApiOperation<Pet> GET_PET_BY_ID = new ApiOperation<Pet>("/pet/{petId}", HttpMethod.GET,
+            new String[] { "application/json", "application/xml" }, new String[] { }, new String[] { "api_key" },
+            new ParameterizedTypeReference<Pet>() {});
+
+    private static final ApiOperation<Void> UPDATE_PET = new ApiOperation<Void>("/pet", HttpMethod.PUT,
+            new String[] { }, new String[] { "application/json", "application/xml" }, new String[] { "petstore_auth" },
+            new ParameterizedTypeReference<Void>() {},
+            new ParameterizedTypeReference<Pet>() {});
+
+    private static final ApiOperation<Void> UPDATE_PET_WITH_FORM = new ApiOperation<Void>("/pet/{petId}", HttpMethod.POST,
+            new String[] { }, new String[] { "application/x-www-form-urlencoded" }, new String[] { "petstore_auth" },
+            new ParameterizedTypeReference<Void>() {});
+
+    private static final ApiOperation<ModelApiResponse> UPLOAD_FILE = new ApiOperation<ModelApiResponse>("/pet/{petId}/uploadImage", HttpMethod.POST,
+            new String[] { "application/json" }, new String[] { "multipart/form-data" }, new String[] { "petstore_auth" },
+            new ParameterizedTypeReference<ModelApiResponse>() {});
+
     private ApiClient apiClient;
 
     public PetApi() {
@@ -56,30 +104,12 @@ public class PetApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     private ResponseSpec addPetRequestCreation(Pet body) throws WebClientResponseException {
-        Object postBody = body;
         // verify the required parameter 'body' is set
         if (body == null) {
             throw new WebClientResponseException("Missing the required parameter 'body' when calling addPet", HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST.getReasonPhrase(), null, null, null);
         }
-        // create path and map variables
-        final Map<String, Object> pathParams = new HashMap<String, Object>();
-
-        final MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<String, String>();
-        final HttpHeaders headerParams = new HttpHeaders();
-        final MultiValueMap<String, String> cookieParams = new LinkedMultiValueMap<String, String>();
-        final MultiValueMap<String, Object> formParams = new LinkedMultiValueMap<String, Object>();
-
-        final String[] localVarAccepts = { };
-        final List<MediaType> localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        final String[] localVarContentTypes = { 
-            "application/json", "application/xml"
-        };
-        final MediaType localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
 
-        String[] localVarAuthNames = new String[] { "petstore_auth" };
-
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return apiClient.invokeAPI("/pet", HttpMethod.POST, pathParams, queryParams, postBody, headerParams, cookieParams, formParams, localVarAccept, localVarContentType, localVarAuthNames, localVarReturnType);
+        return apiClient.invokeAPI(ADD_PET, null, null, body, null, null, null);
     }
 
     /**
@@ -90,8 +120,7 @@ public class PetApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<Void> addPet(Pet body) throws WebClientResponseException {
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return addPetRequestCreation(body).bodyToMono(localVarReturnType);
+        return addPetRequestCreation(body).bodyToMono(ADD_PET.getReturnType());
     }
 
     /**
@@ -102,8 +131,7 @@ public class PetApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<ResponseEntity<Void>> addPetWithHttpInfo(Pet body) throws WebClientResponseException {
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return addPetRequestCreation(body).toEntity(localVarReturnType);
+        return addPetRequestCreation(body).toEntity(ADD_PET.getReturnType());
     }
 
     /**
@@ -127,32 +155,20 @@ public class PetApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     private ResponseSpec deletePetRequestCreation(Long petId, String apiKey) throws WebClientResponseException {
-        Object postBody = null;
         // verify the required parameter 'petId' is set
         if (petId == null) {
             throw new WebClientResponseException("Missing the required parameter 'petId' when calling deletePet", HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST.getReasonPhrase(), null, null, null);
         }
         // create path and map variables
-        final Map<String, Object> pathParams = new HashMap<String, Object>();
-
-        pathParams.put("petId", petId);
-
-        final MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<String, String>();
-        final HttpHeaders headerParams = new HttpHeaders();
-        final MultiValueMap<String, String> cookieParams = new LinkedMultiValueMap<String, String>();
-        final MultiValueMap<String, Object> formParams = new LinkedMultiValueMap<String, Object>();
+        final Map<String, Object> pathParams = Collections.<String, Object>singletonMap("petId", petId);
 
-        if (apiKey != null)
-        headerParams.add("api_key", apiClient.parameterToString(apiKey));
-        final String[] localVarAccepts = { };
-        final List<MediaType> localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        final String[] localVarContentTypes = { };
-        final MediaType localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-
-        String[] localVarAuthNames = new String[] { "petstore_auth" };
+        HttpHeaders headerParams = null;
+        if (apiKey != null) {
+            headerParams = new HttpHeaders();
+            headerParams.add("api_key", apiClient.parameterToString(apiKey));
+        }
 
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return apiClient.invokeAPI("/pet/{petId}", HttpMethod.DELETE, pathParams, queryParams, postBody, headerParams, cookieParams, formParams, localVarAccept, localVarContentType, localVarAuthNames, localVarReturnType);
+        return apiClient.invokeAPI(DELETE_PET, pathParams, null, null, headerParams, null, null);
     }
 
     /**
@@ -165,8 +181,7 @@ public class PetApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<Void> deletePet(Long petId, String apiKey) throws WebClientResponseException {
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return deletePetRequestCreation(petId, apiKey).bodyToMono(localVarReturnType);
+        return deletePetRequestCreation(petId, apiKey).bodyToMono(DELETE_PET.getReturnType());
     }
 
     /**
@@ -179,8 +194,7 @@ public class PetApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<ResponseEntity<Void>> deletePetWithHttpInfo(Long petId, String apiKey) throws WebClientResponseException {
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return deletePetRequestCreation(petId, apiKey).toEntity(localVarReturnType);
+        return deletePetRequestCreation(petId, apiKey).toEntity(DELETE_PET.getReturnType());
     }
 
     /**
@@ -206,32 +220,16 @@ public class PetApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     private ResponseSpec findPetsByStatusRequestCreation(List<String> status) throws WebClientResponseException {
-        Object postBody = null;
+        return findPetsByStatusRequestCreation(FIND_PETS_BY_STATUS, status);
+    }
+
+    private ResponseSpec findPetsByStatusRequestCreation(ApiOperation<Pet> operation, List<String> status) throws WebClientResponseException {
         // verify the required parameter 'status' is set
         if (status == null) {
             throw new WebClientResponseException("Missing the required parameter 'status' when calling findPetsByStatus", HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST.getReasonPhrase(), null, null, null);
         }
-        // create path and map variables
-        final Map<String, Object> pathParams = new HashMap<String, Object>();
-
-        final MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<String, String>();
-        final HttpHeaders headerParams = new HttpHeaders();
-        final MultiValueMap<String, String> cookieParams = new LinkedMultiValueMap<String, String>();
-        final MultiValueMap<String, Object> formParams = new LinkedMultiValueMap<String, Object>();
-
-        queryParams.putAll(apiClient.parameterToMultiValueMap(ApiClient.CollectionFormat.valueOf("multi".toUpperCase(Locale.ROOT)), "status", status));
-
-        final String[] localVarAccepts = { 
-            "application/json", "application/xml"
-        };
-        final List<MediaType> localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        final String[] localVarContentTypes = { };
-        final MediaType localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
 
-        String[] localVarAuthNames = new String[] { "petstore_auth" };
-
-        ParameterizedTypeReference<Pet> localVarReturnType = new ParameterizedTypeReference<Pet>() {};
-        return apiClient.invokeAPI("/pet/findByStatus", HttpMethod.GET, pathParams, queryParams, postBody, headerParams, cookieParams, formParams, localVarAccept, localVarContentType, localVarAuthNames, localVarReturnType);
+        return apiClient.invokeAPI(operation, ApiClient.CollectionFormat.MULTI, "status", status);
     }
 
     /**
@@ -244,8 +242,7 @@ public class PetApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Flux<Pet> findPetsByStatus(List<String> status) throws WebClientResponseException {
-        ParameterizedTypeReference<Pet> localVarReturnType = new ParameterizedTypeReference<Pet>() {};
-        return findPetsByStatusRequestCreation(status).bodyToFlux(localVarReturnType);
+        return findPetsByStatusRequestCreation(status).bodyToFlux(FIND_PETS_BY_STATUS.getReturnType());
     }
 
     /**
@@ -258,8 +255,21 @@ public class PetApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<ResponseEntity<List<Pet>>> findPetsByStatusWithHttpInfo(List<String> status) throws WebClientResponseException {
-        ParameterizedTypeReference<Pet> localVarReturnType = new ParameterizedTypeReference<Pet>() {};
-        return findPetsByStatusRequestCreation(status).toEntityList(localVarReturnType);
+        return findPetsByStatusRequestCreation(status).toEntityList(FIND_PETS_BY_STATUS.getReturnType());
+    }
+
+    /**
+     * Finds Pets by status
+     * Multiple status values can be provided with comma separated strings
+     * <p><b>200</b> - successful operation
+     * <p><b>400</b> - Invalid status value
+     * <p>Unlike {@link #findPetsByStatusWithHttpInfo}, the pets are emitted one by one as they are parsed, so the array is never held in memory.
+     * @param status Status values that need to be considered for filter
+     * @return ResponseEntity&lt;Flux&lt;Pet&gt;&gt;
+     * @throws WebClientResponseException if an error occurs while attempting to invoke the API
+     */
+    public Mono<ResponseEntity<Flux<Pet>>> findPetsByStatusWithStreamingHttpInfo(List<String> status) throws WebClientResponseException {
+        return findPetsByStatusRequestCreation(status).toEntityFlux(FIND_PETS_BY_STATUS.getReturnType());
     }
 
     /**
@@ -274,6 +284,21 @@ public class PetApi {
     public ResponseSpec findPetsByStatusWithResponseSpec(List<String> status) throws WebClientResponseException {
         return findPetsByStatusRequestCreation(status);
     }
+
+    /**
+     * Finds Pets by status
+     * Multiple status values can be provided with comma separated strings
+     * <p><b>200</b> - successful operation
+     * <p><b>400</b> - Invalid status value
+     * <p>Asks for newline-delimited JSON and emits each pet as soon as its line is parsed. Servers that only produce
+     * a JSON array are asked for that instead, and the array elements are emitted as they are parsed.
+     * @param status Status values that need to be considered for filter
+     * @return List&lt;Pet&gt;
+     * @throws WebClientResponseException if an error occurs while attempting to invoke the API
+     */
+    public Flux<Pet> findPetsByStatusStreaming(List<String> status) throws WebClientResponseException {
+        return findPetsByStatusRequestCreation(FIND_PETS_BY_STATUS_NDJSON, status).bodyToFlux(FIND_PETS_BY_STATUS_NDJSON.getReturnType());
+    }
     /**
      * Finds Pets by tags
      * Multiple tags can be provided with comma separated strings. Use tag1, tag2, tag3 for testing.
@@ -286,32 +311,17 @@ public class PetApi {
      */
     @Deprecated
     private ResponseSpec findPetsByTagsRequestCreation(List<String> tags) throws WebClientResponseException {
-        Object postBody = null;
+        return findPetsByTagsRequestCreation(FIND_PETS_BY_TAGS, tags);
+    }
+
+    @Deprecated
+    private ResponseSpec findPetsByTagsRequestCreation(ApiOperation<Pet> operation, List<String> tags) throws WebClientResponseException {
         // verify the required parameter 'tags' is set
         if (tags == null) {
             throw new WebClientResponseException("Missing the required parameter 'tags' when calling findPetsByTags", HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST.getReasonPhrase(), null, null, null);
         }
-        // create path and map variables
-        final Map<String, Object> pathParams = new HashMap<String, Object>();
 
-        final MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<String, String>();
-        final HttpHeaders headerParams = new HttpHeaders();
-        final MultiValueMap<String, String> cookieParams = new LinkedMultiValueMap<String, String>();
-        final MultiValueMap<String, Object> formParams = new LinkedMultiValueMap<String, Object>();
-
-        queryParams.putAll(apiClient.parameterToMultiValueMap(ApiClient.CollectionFormat.valueOf("multi".toUpperCase(Locale.ROOT)), "tags", tags));
-
-        final String[] localVarAccepts = { 
-            "application/json", "application/xml"
-        };
-        final List<MediaType> localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        final String[] localVarContentTypes = { };
-        final MediaType localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-
-        String[] localVarAuthNames = new String[] { "petstore_auth" };
-
-        ParameterizedTypeReference<Pet> localVarReturnType = new ParameterizedTypeReference<Pet>() {};
-        return apiClient.invokeAPI("/pet/findByTags", HttpMethod.GET, pathParams, queryParams, postBody, headerParams, cookieParams, formParams, localVarAccept, localVarContentType, localVarAuthNames, localVarReturnType);
+        return apiClient.invokeAPI(operation, ApiClient.CollectionFormat.MULTI, "tags", tags);
     }
 
     /**
@@ -324,8 +334,7 @@ public class PetApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Flux<Pet> findPetsByTags(List<String> tags) throws WebClientResponseException {
-        ParameterizedTypeReference<Pet> localVarReturnType = new ParameterizedTypeReference<Pet>() {};
-        return findPetsByTagsRequestCreation(tags).bodyToFlux(localVarReturnType);
+        return findPetsByTagsRequestCreation(tags).bodyToFlux(FIND_PETS_BY_TAGS.getReturnType());
     }
 
     /**
@@ -338,8 +347,21 @@ public class PetApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<ResponseEntity<List<Pet>>> findPetsByTagsWithHttpInfo(List<String> tags) throws WebClientResponseException {
-        ParameterizedTypeReference<Pet> localVarReturnType = new ParameterizedTypeReference<Pet>() {};
-        return findPetsByTagsRequestCreation(tags).toEntityList(localVarReturnType);
+        return findPetsByTagsRequestCreation(tags).toEntityList(FIND_PETS_BY_TAGS.getReturnType());
+    }
+
+    /**
+     * Finds Pets by tags
+     * Multiple tags can be provided with comma separated strings. Use tag1, tag2, tag3 for testing.
+     * <p><b>200</b> - successful operation
+     * <p><b>400</b> - Invalid tag value
+     * <p>Unlike {@link #findPetsByTagsWithHttpInfo}, the pets are emitted one by one as they are parsed, so the array is never held in memory.
+     * @param tags Tags to filter by
+     * @return ResponseEntity&lt;Flux&lt;Pet&gt;&gt;
+     * @throws WebClientResponseException if an error occurs while attempting to invoke the API
+     */
+    public Mono<ResponseEntity<Flux<Pet>>> findPetsByTagsWithStreamingHttpInfo(List<String> tags) throws WebClientResponseException {
+        return findPetsByTagsRequestCreation(tags).toEntityFlux(FIND_PETS_BY_TAGS.getReturnType());
     }
 
     /**
@@ -354,6 +376,21 @@ public class PetApi {
     public ResponseSpec findPetsByTagsWithResponseSpec(List<String> tags) throws WebClientResponseException {
         return findPetsByTagsRequestCreation(tags);
     }
+
+    /**
+     * Finds Pets by tags
+     * Multiple tags can be provided with comma separated strings. Use tag1, tag2, tag3 for testing.
+     * <p><b>200</b> - successful operation
+     * <p><b>400</b> - Invalid tag value
+     * <p>Asks for newline-delimited JSON and emits each pet as soon as its line is parsed. Servers that only produce
+     * a JSON array are asked for that instead, and the array elements are emitted as they are parsed.
+     * @param tags Tags to filter by
+     * @return List&lt;Pet&gt;
+     * @throws WebClientResponseException if an error occurs while attempting to invoke the API
+     */
+    public Flux<Pet> findPetsByTagsStreaming(List<String> tags) throws WebClientResponseException {
+        return findPetsByTagsRequestCreation(FIND_PETS_BY_TAGS_NDJSON, tags).bodyToFlux(FIND_PETS_BY_TAGS_NDJSON.getReturnType());
+    }
     /**
      * Find pet by ID
      * Returns a single pet
@@ -365,32 +402,14 @@ public class PetApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     private ResponseSpec getPetByIdRequestCreation(Long petId) throws WebClientResponseException {
-        Object postBody = null;
         // verify the required parameter 'petId' is set
         if (petId == null) {
             throw new WebClientResponseException("Missing the required parameter 'petId' when calling getPetById", HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST.getReasonPhrase(), null, null, null);
         }
         // create path and map variables
-        final Map<String, Object> pathParams = new HashMap<String, Object>();
+        final Map<String, Object> pathParams = Collections.<String, Object>singletonMap("petId", petId);
 
-        pathParams.put("petId", petId);
-
-        final MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<String, String>();
-        final HttpHeaders headerParams = new HttpHeaders();
-        final MultiValueMap<String, String> cookieParams = new LinkedMultiValueMap<String, String>();
-        final MultiValueMap<String, Object> formParams = new LinkedMultiValueMap<String, Object>();
-
-        final String[] localVarAccepts = { 
-            "application/json", "application/xml"
-        };
-        final List<MediaType> localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        final String[] localVarContentTypes = { };
-        final MediaType localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-
-        String[] localVarAuthNames = new String[] { "api_key" };
-
-        ParameterizedTypeReference<Pet> localVarReturnType = new ParameterizedTypeReference<Pet>() {};
-        return apiClient.invokeAPI("/pet/{petId}", HttpMethod.GET, pathParams, queryParams, postBody, headerParams, cookieParams, formParams, localVarAccept, localVarContentType, localVarAuthNames, localVarReturnType);
+        return apiClient.invokeAPI(GET_PET_BY_ID, pathParams, null, null, null, null, null);
     }
 
     /**
@@ -404,8 +423,7 @@ public class PetApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<Pet> getPetById(Long petId) throws WebClientResponseException {
-        ParameterizedTypeReference<Pet> localVarReturnType = new ParameterizedTypeReference<Pet>() {};
-        return getPetByIdRequestCreation(petId).bodyToMono(localVarReturnType);
+        return apiClient.retrieveCacheable(GET_PET_BY_ID, petId, () -> getPetByIdRequestCreation(petId).bodyToMono(GET_PET_BY_ID.getReturnType()));
     }
 
     /**
@@ -419,8 +437,7 @@ public class PetApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<ResponseEntity<Pet>> getPetByIdWithHttpInfo(Long petId) throws WebClientResponseException {
-        ParameterizedTypeReference<Pet> localVarReturnType = new ParameterizedTypeReference<Pet>() {};
-        return getPetByIdRequestCreation(petId).toEntity(localVarReturnType);
+        return getPetByIdRequestCreation(petId).toEntity(GET_PET_BY_ID.getReturnType());
     }
 
     /**
@@ -436,6 +453,28 @@ public class PetApi {
     public ResponseSpec getPetByIdWithResponseSpec(Long petId) throws WebClientResponseException {
         return getPetByIdRequestCreation(petId);
     }
+
+    /**
+     * Find pets by ID, fetching several concurrently
+     * Fetches every ID with getPetById, so a missing pet is emitted as a failed result rather than terminating the results.
+     * @param petIds IDs of pets to return
+     * @param options The concurrency and ordering of the fetch
+     * @return Flux&lt;BulkResult&lt;Long, Pet&gt;&gt; one result per ID
+     */
+    public Flux<BulkResult<Long, Pet>> getPetsByIds(Publisher<Long> petIds, BulkOptions options) {
+        return options.fetch(petIds, this::getPetById);
+    }
+
+    /**
+     * Find pets by ID, fetching several concurrently
+     * Fetches every ID with getPetById, so a missing pet is emitted as a failed result rather than terminating the results.
+     * @param petIds IDs of pets to return
+     * @param options The concurrency and ordering of the fetch
+     * @return Flux&lt;BulkResult&lt;Long, Pet&gt;&gt; one result per ID
+     */
+    public Flux<BulkResult<Long, Pet>> getPetsByIds(Collection<Long> petIds, BulkOptions options) {
+        return options.fetch(Flux.fromIterable(petIds), this::getPetById);
+    }
     /**
      * Update an existing pet
      * 
@@ -446,30 +485,12 @@ public class PetApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     private ResponseSpec updatePetRequestCreation(Pet body) throws WebClientResponseException {
-        Object postBody = body;
         // verify the required parameter 'body' is set
         if (body == null) {
             throw new WebClientResponseException("Missing the required parameter 'body' when calling updatePet", HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST.getReasonPhrase(), null, null, null);
         }
-        // create path and map variables
-        final Map<String, Object> pathParams = new HashMap<String, Object>();
-
-        final MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<String, String>();
-        final HttpHeaders headerParams = new HttpHeaders();
-        final MultiValueMap<String, String> cookieParams = new LinkedMultiValueMap<String, String>();
-        final MultiValueMap<String, Object> formParams = new LinkedMultiValueMap<String, Object>();
-
-        final String[] localVarAccepts = { };
-        final List<MediaType> localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        final String[] localVarContentTypes = { 
-            "application/json", "application/xml"
-        };
-        final MediaType localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
 
-        String[] localVarAuthNames = new String[] { "petstore_auth" };
-
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return apiClient.invokeAPI("/pet", HttpMethod.PUT, pathParams, queryParams, postBody, headerParams, cookieParams, formParams, localVarAccept, localVarContentType, localVarAuthNames, localVarReturnType);
+        return apiClient.invokeAPI(UPDATE_PET, null, null, body, null, null, null);
     }
 
     /**
@@ -482,8 +503,7 @@ public class PetApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<Void> updatePet(Pet body) throws WebClientResponseException {
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return updatePetRequestCreation(body).bodyToMono(localVarReturnType);
+        return updatePetRequestCreation(body).bodyToMono(UPDATE_PET.getReturnType());
     }
 
     /**
@@ -496,8 +516,7 @@ public class PetApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<ResponseEntity<Void>> updatePetWithHttpInfo(Pet body) throws WebClientResponseException {
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return updatePetRequestCreation(body).toEntity(localVarReturnType);
+        return updatePetRequestCreation(body).toEntity(UPDATE_PET.getReturnType());
     }
 
     /**
@@ -523,37 +542,20 @@ public class PetApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     private ResponseSpec updatePetWithFormRequestCreation(Long petId, String name, String status) throws WebClientResponseException {
-        Object postBody = null;
         // verify the required parameter 'petId' is set
         if (petId == null) {
             throw new WebClientResponseException("Missing the required parameter 'petId' when calling updatePetWithForm", HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST.getReasonPhrase(), null, null, null);
         }
         // create path and map variables
-        final Map<String, Object> pathParams = new HashMap<String, Object>();
-
-        pathParams.put("petId", petId);
+        final Map<String, Object> pathParams = Collections.<String, Object>singletonMap("petId", petId);
 
-        final MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<String, String>();
-        final HttpHeaders headerParams = new HttpHeaders();
-        final MultiValueMap<String, String> cookieParams = new LinkedMultiValueMap<String, String>();
         final MultiValueMap<String, Object> formParams = new LinkedMultiValueMap<String, Object>();
-
         if (name != null)
             formParams.add("name", name);
         if (status != null)
             formParams.add("status", status);
 
-        final String[] localVarAccepts = { };
-        final List<MediaType> localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        final String[] localVarContentTypes = { 
-            "application/x-www-form-urlencoded"
-        };
-        final MediaType localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-
-        String[] localVarAuthNames = new String[] { "petstore_auth" };
-
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return apiClient.invokeAPI("/pet/{petId}", HttpMethod.POST, pathParams, queryParams, postBody, headerParams, cookieParams, formParams, localVarAccept, localVarContentType, localVarAuthNames, localVarReturnType);
+        return apiClient.invokeAPI(UPDATE_PET_WITH_FORM, pathParams, null, null, null, null, formParams);
     }
 
     /**
@@ -566,8 +568,7 @@ public class PetApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<Void> updatePetWithForm(Long petId, String name, String status) throws WebClientResponseException {
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return updatePetWithFormRequestCreation(petId, name, status).bodyToMono(localVarReturnType);
+        return updatePetWithFormRequestCreation(petId, name, status).bodyToMono(UPDATE_PET_WITH_FORM.getReturnType());
     }
 
     /**
@@ -580,8 +581,7 @@ public class PetApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<ResponseEntity<Void>> updatePetWithFormWithHttpInfo(Long petId, String name, String status) throws WebClientResponseException {
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return updatePetWithFormRequestCreation(petId, name, status).toEntity(localVarReturnType);
+        return updatePetWithFormRequestCreation(petId, name, status).toEntity(UPDATE_PET_WITH_FORM.getReturnType());
     }
 
     /**
@@ -608,39 +608,20 @@ public class PetApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     private ResponseSpec uploadFileRequestCreation(Long petId, String additionalMetadata, File _file) throws WebClientResponseException {
-        Object postBody = null;
         // verify the required parameter 'petId' is set
         if (petId == null) {
             throw new WebClientResponseException("Missing the required parameter 'petId' when calling uploadFile", HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST.getReasonPhrase(), null, null, null);
         }
         // create path and map variables
-        final Map<String, Object> pathParams = new HashMap<String, Object>();
-
-        pathParams.put("petId", petId);
+        final Map<String, Object> pathParams = Collections.<String, Object>singletonMap("petId", petId);
 
-        final MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<String, String>();
-        final HttpHeaders headerParams = new HttpHeaders();
-        final MultiValueMap<String, String> cookieParams = new LinkedMultiValueMap<String, String>();
         final MultiValueMap<String, Object> formParams = new LinkedMultiValueMap<String, Object>();
-
         if (additionalMetadata != null)
             formParams.add("additionalMetadata", additionalMetadata);
         if (_file != null)
             formParams.add("file", new FileSystemResource(_file));
 
-        final String[] localVarAccepts = { 
-            "application/json"
-        };
-        final List<MediaType> localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        final String[] localVarContentTypes = { 
-            "multipart/form-data"
-        };
-        final MediaType localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-
-        String[] localVarAuthNames = new String[] { "petstore_auth" };
-
-        ParameterizedTypeReference<ModelApiResponse> localVarReturnType = new ParameterizedTypeReference<ModelApiResponse>() {};
-        return apiClient.invokeAPI("/pet/{petId}/uploadImage", HttpMethod.POST, pathParams, queryParams, postBody, headerParams, cookieParams, formParams, localVarAccept, localVarContentType, localVarAuthNames, localVarReturnType);
+        return apiClient.invokeAPI(UPLOAD_FILE, pathParams, null, null, null, null, formParams);
     }
 
     /**
@@ -654,8 +635,7 @@ public class PetApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<ModelApiResponse> uploadFile(Long petId, String additionalMetadata, File _file) throws WebClientResponseException {
-        ParameterizedTypeReference<ModelApiResponse> localVarReturnType = new ParameterizedTypeReference<ModelApiResponse>() {};
-        return uploadFileRequestCreation(petId, additionalMetadata, _file).bodyToMono(localVarReturnType);
+        return uploadFileRequestCreation(petId, additionalMetadata, _file).bodyToMono(UPLOAD_FILE.getReturnType());
     }
 
     /**
@@ -669,8 +649,7 @@ public class PetApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<ResponseEntity<ModelApiResponse>> uploadFileWithHttpInfo(Long petId, String additionalMetadata, File _file) throws WebClientResponseException {
-        ParameterizedTypeReference<ModelApiResponse> localVarReturnType = new ParameterizedTypeReference<ModelApiResponse>() {};
-        return uploadFileRequestCreation(petId, additionalMetadata, _file).toEntity(localVarReturnType);
+        return uploadFileRequestCreation(petId, additionalMetadata, _file).toEntity(UPLOAD_FILE.getReturnType());
     }
 
     /**
@@ -1,9 +1,14 @@
 package org.openapitools.client.api.petStoreApi;
 
 import org.openapitools.client.service.petStoreService.ApiClient;
+import org.openapitools.client.service.petStoreService.ApiOperation;
+import org.openapitools.client.service.petStoreService.BulkOptions;
+import org.openapitools.client.service.petStoreService.BulkResult;
 
 import org.openapitools.client.model.petStoreModel.Order;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -22,11 +27,29 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.reactivestreams.Publisher;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Flux;
 
 @javax.annotation.Generated(value = "org.openapitools.codegen.languages.JavaClientCodegen", date = "2024-06-08T02:30:15.248337300+03:00[Europe/Moscow]")
 public class StoreApi {
+    private static final ApiOperation<Void> DELETE_ORDER = new ApiOperation<Void>("/store/order/{orderId}", HttpMethod.DELETE,
+            new String[] { }, new String[] { }, new String[] { },
+            new ParameterizedTypeReference<Void>() {});
+
+    private static final ApiOperation<Map<String, Integer>> GET_INVENTORY = new ApiOperation<Map<String, Integer>>("/store/inventory", HttpMethod.GET,
+            new String[] { "application/json" }, new String[] { }, new String[] { "api_key" },
+            new ParameterizedTypeReference<Map<String, Integer>>() {});
+
+    private static final ApiOperation<Order> GET_ORDER_BY_ID = new ApiOperation<Order>("/store/order/{orderId}", HttpMethod.GET,
+            new String[] { "application/json", "application/xml" }, new String[] { }, new String[] { },
+            new ParameterizedTypeReference<Order>() {});
+
+    private static final ApiOperation<Order> PLACE_ORDER = new ApiOperation<Order>("/store/order", HttpMethod.POST,
+            new String[] { "application/json", "application/xml" }, new String[] { "application/json" }, new String[] { },
+            new ParameterizedTypeReference<Order>() {},
+            new ParameterizedTypeReference<Order>() {});
+
     private ApiClient apiClient;
 
     public StoreApi() {
@@ -55,30 +78,14 @@ public class StoreApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     private ResponseSpec deleteOrderRequestCreation(Long orderId) throws WebClientResponseException {
-        Object postBody = null;
         // verify the required parameter 'orderId' is set
         if (orderId == null) {
             throw new WebClientResponseException("Missing the required parameter 'orderId' when calling deleteOrder", HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST.getReasonPhrase(), null, null, null);
         }
         // create path and map variables
-        final Map<String, Object> pathParams = new HashMap<String, Object>();
-
-        pathParams.put("orderId", orderId);
-
-        final MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<String, String>();
-        final HttpHeaders headerParams = new HttpHeaders();
-        final MultiValueMap<String, String> cookieParams = new LinkedMultiValueMap<String, String>();
-        final MultiValueMap<String, Object> formParams = new LinkedMultiValueMap<String, Object>();
-
-        final String[] localVarAccepts = { };
-        final List<MediaType> localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        final String[] localVarContentTypes = { };
-        final MediaType localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-
-        String[] localVarAuthNames = new String[] {  };
+        final Map<String, Object> pathParams = Collections.<String, Object>singletonMap("orderId", orderId);
 
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return apiClient.invokeAPI("/store/order/{orderId}", HttpMethod.DELETE, pathParams, queryParams, postBody, headerParams, cookieParams, formParams, localVarAccept, localVarContentType, localVarAuthNames, localVarReturnType);
+        return apiClient.invokeAPI(DELETE_ORDER, pathParams, null, null, null, null, null);
     }
 
     /**
@@ -90,8 +97,7 @@ public class StoreApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<Void> deleteOrder(Long orderId) throws WebClientResponseException {
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return deleteOrderRequestCreation(orderId).bodyToMono(localVarReturnType);
+        return deleteOrderRequestCreation(orderId).bodyToMono(DELETE_ORDER.getReturnType());
     }
 
     /**
@@ -103,8 +109,7 @@ public class StoreApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<ResponseEntity<Void>> deleteOrderWithHttpInfo(Long orderId) throws WebClientResponseException {
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return deleteOrderRequestCreation(orderId).toEntity(localVarReturnType);
+        return deleteOrderRequestCreation(orderId).toEntity(DELETE_ORDER.getReturnType());
     }
 
     /**
@@ -127,26 +132,7 @@ public class StoreApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     private ResponseSpec getInventoryRequestCreation() throws WebClientResponseException {
-        Object postBody = null;
-        // create path and map variables
-        final Map<String, Object> pathParams = new HashMap<String, Object>();
-
-        final MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<String, String>();
-        final HttpHeaders headerParams = new HttpHeaders();
-        final MultiValueMap<String, String> cookieParams = new LinkedMultiValueMap<String, String>();
-        final MultiValueMap<String, Object> formParams = new LinkedMultiValueMap<String, Object>();
-
-        final String[] localVarAccepts = { 
-            "application/json"
-        };
-        final List<MediaType> localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        final String[] localVarContentTypes = { };
-        final MediaType localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-
-        String[] localVarAuthNames = new String[] { "api_key" };
-
-        ParameterizedTypeReference<Map<String, Integer>> localVarReturnType = new ParameterizedTypeReference<Map<String, Integer>>() {};
-        return apiClient.invokeAPI("/store/inventory", HttpMethod.GET, pathParams, queryParams, postBody, headerParams, cookieParams, formParams, localVarAccept, localVarContentType, localVarAuthNames, localVarReturnType);
+        return apiClient.invokeAPI(GET_INVENTORY, null, null, null, null, null, null);
     }
 
     /**
@@ -157,8 +143,7 @@ public class StoreApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<Map<String, Integer>> getInventory() throws WebClientResponseException {
-        ParameterizedTypeReference<Map<String, Integer>> localVarReturnType = new ParameterizedTypeReference<Map<String, Integer>>() {};
-        return getInventoryRequestCreation().bodyToMono(localVarReturnType);
+        return getInventoryRequestCreation().bodyToMono(GET_INVENTORY.getReturnType());
     }
 
     /**
@@ -169,8 +154,7 @@ public class StoreApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<ResponseEntity<Map<String, Integer>>> getInventoryWithHttpInfo() throws WebClientResponseException {
-        ParameterizedTypeReference<Map<String, Integer>> localVarReturnType = new ParameterizedTypeReference<Map<String, Integer>>() {};
-        return getInventoryRequestCreation().toEntity(localVarReturnType);
+        return getInventoryRequestCreation().toEntity(GET_INVENTORY.getReturnType());
     }
 
     /**
@@ -194,32 +178,14 @@ public class StoreApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     private ResponseSpec getOrderByIdRequestCreation(Long orderId) throws WebClientResponseException {
-        Object postBody = null;
         // verify the required parameter 'orderId' is set
         if (orderId == null) {
             throw new WebClientResponseException("Missing the required parameter 'orderId' when calling getOrderById", HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST.getReasonPhrase(), null, null, null);
         }
         // create path and map variables
-        final Map<String, Object> pathParams = new HashMap<String, Object>();
-
-        pathParams.put("orderId", orderId);
-
-        final MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<String, String>();
-        final HttpHeaders headerParams = new HttpHeaders();
-        final MultiValueMap<String, String> cookieParams = new LinkedMultiValueMap<String, String>();
-        final MultiValueMap<String, Object> formParams = new LinkedMultiValueMap<String, Object>();
+        final Map<String, Object> pathParams = Collections.<String, Object>singletonMap("orderId", orderId);
 
-        final String[] localVarAccepts = { 
-            "application/json", "application/xml"
-        };
-        final List<MediaType> localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        final String[] localVarContentTypes = { };
-        final MediaType localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-
-        String[] localVarAuthNames = new String[] {  };
-
-        ParameterizedTypeReference<Order> localVarReturnType = new ParameterizedTypeReference<Order>() {};
-        return apiClient.invokeAPI("/store/order/{orderId}", HttpMethod.GET, pathParams, queryParams, postBody, headerParams, cookieParams, formParams, localVarAccept, localVarContentType, localVarAuthNames, localVarReturnType);
+        return apiClient.invokeAPI(GET_ORDER_BY_ID, pathParams, null, null, null, null, null);
     }
 
     /**
@@ -233,8 +199,7 @@ public class StoreApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<Order> getOrderById(Long orderId) throws WebClientResponseException {
-        ParameterizedTypeReference<Order> localVarReturnType = new ParameterizedTypeReference<Order>() {};
-        return getOrderByIdRequestCreation(orderId).bodyToMono(localVarReturnType);
+        return apiClient.retrieveCacheable(GET_ORDER_BY_ID, orderId, () -> getOrderByIdRequestCreation(orderId).bodyToMono(GET_ORDER_BY_ID.getReturnType()));
     }
 
     /**
@@ -248,8 +213,7 @@ public class StoreApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<ResponseEntity<Order>> getOrderByIdWithHttpInfo(Long orderId) throws WebClientResponseException {
-        ParameterizedTypeReference<Order> localVarReturnType = new ParameterizedTypeReference<Order>() {};
-        return getOrderByIdRequestCreation(orderId).toEntity(localVarReturnType);
+        return getOrderByIdRequestCreation(orderId).toEntity(GET_ORDER_BY_ID.getReturnType());
     }
 
     /**
@@ -265,6 +229,28 @@ public class StoreApi {
     public ResponseSpec getOrderByIdWithResponseSpec(Long orderId) throws WebClientResponseException {
         return getOrderByIdRequestCreation(orderId);
     }
+
+    /**
+     * Find purchase orders by ID, fetching several concurrently
+     * Fetches every ID with getOrderById, so a missing order is emitted as a failed result rather than terminating the results.
+     * @param orderIds IDs of orders that need to be fetched
+     * @param options The concurrency and ordering of the fetch
+     * @return Flux&lt;BulkResult&lt;Long, Order&gt;&gt; one result per ID
+     */
+    public Flux<BulkResult<Long, Order>> getOrdersByIds(Publisher<Long> orderIds, BulkOptions options) {
+        return options.fetch(orderIds, this::getOrderById);
+    }
+
+    /**
+     * Find purchase orders by ID, fetching several concurrently
+     * Fetches every ID with getOrderById, so a missing order is emitted as a failed result rather than terminating the results.
+     * @param orderIds IDs of orders that need to be fetched
+     * @param options The concurrency and ordering of the fetch
+     * @return Flux&lt;BulkResult&lt;Long, Order&gt;&gt; one result per ID
+     */
+    public Flux<BulkResult<Long, Order>> getOrdersByIds(Collection<Long> orderIds, BulkOptions options) {
+        return options.fetch(Flux.fromIterable(orderIds), this::getOrderById);
+    }
     /**
      * Place an order for a pet
      * 
@@ -275,32 +261,12 @@ public class StoreApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     private ResponseSpec placeOrderRequestCreation(Order body) throws WebClientResponseException {
-        Object postBody = body;
         // verify the required parameter 'body' is set
         if (body == null) {
             throw new WebClientResponseException("Missing the required parameter 'body' when calling placeOrder", HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST.getReasonPhrase(), null, null, null);
         }
-        // create path and map variables
-        final Map<String, Object> pathParams = new HashMap<String, Object>();
-
-        final MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<String, String>();
-        final HttpHeaders headerParams = new HttpHeaders();
-        final MultiValueMap<String, String> cookieParams = new LinkedMultiValueMap<String, String>();
-        final MultiValueMap<String, Object> formParams = new LinkedMultiValueMap<String, Object>();
-
-        final String[] localVarAccepts = { 
-            "application/json", "application/xml"
-        };
-        final List<MediaType> localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        final String[] localVarContentTypes = { 
-            "application/json"
-        };
-        final MediaType localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-
-        String[] localVarAuthNames = new String[] {  };
 
-        ParameterizedTypeReference<Order> localVarReturnType = new ParameterizedTypeReference<Order>() {};
-        return apiClient.invokeAPI("/store/order", HttpMethod.POST, pathParams, queryParams, postBody, headerParams, cookieParams, formParams, localVarAccept, localVarContentType, localVarAuthNames, localVarReturnType);
+        return apiClient.invokeAPI(PLACE_ORDER, null, null, body, null, null, null);
     }
 
     /**
@@ -313,8 +279,7 @@ public class StoreApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<Order> placeOrder(Order body) throws WebClientResponseException {
-        ParameterizedTypeReference<Order> localVarReturnType = new ParameterizedTypeReference<Order>() {};
-        return placeOrderRequestCreation(body).bodyToMono(localVarReturnType);
+        return placeOrderRequestCreation(body).bodyToMono(PLACE_ORDER.getReturnType());
     }
 
     /**
@@ -327,8 +292,7 @@ public class StoreApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<ResponseEntity<Order>> placeOrderWithHttpInfo(Order body) throws WebClientResponseException {
-        ParameterizedTypeReference<Order> localVarReturnType = new ParameterizedTypeReference<Order>() {};
-        return placeOrderRequestCreation(body).toEntity(localVarReturnType);
+        return placeOrderRequestCreation(body).toEntity(PLACE_ORDER.getReturnType());
     }
 
     /**
@@ -1,10 +1,17 @@
 package org.openapitools.client.api.petStoreApi;
 
 import org.openapitools.client.service.petStoreService.ApiClient;
+import org.openapitools.client.service.petStoreService.ApiOperation;
+import org.openapitools.client.service.petStoreService.BulkOptions;
+import org.openapitools.client.service.petStoreService.BulkResult;
+import org.openapitools.client.service.petStoreService.MicroBatcher;
 
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import org.openapitools.client.model.petStoreModel.User;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -23,11 +30,48 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.reactivestreams.Publisher;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Flux;
 
 @javax.annotation.Generated(value = "org.openapitools.codegen.languages.JavaClientCodegen", date = "2024-06-08T02:30:15.248337300+03:00[Europe/Moscow]")
 public class UserApi {
+    private static final ApiOperation<Void> CREATE_USER = new ApiOperation<Void>("/user", HttpMethod.POST,
+            new String[] { }, new String[] { "application/json" }, new String[] { },
+            new ParameterizedTypeReference<Void>() {},
+            new ParameterizedTypeReference<User>() {});
+
+    private static final ApiOperation<Void> CREATE_USERS_WITH_ARRAY_INPUT = new ApiOperation<Void>("/user/createWithArray", HttpMethod.POST,
+            new String[] { }, new String[] { "application/json" }, new String[] { },
+            new ParameterizedTypeReference<Void>() {},
+            new ParameterizedTypeReference<List<User>>() {});
+
+    private static final ApiOperation<Void> CREATE_USERS_WITH_LIST_INPUT = new ApiOperation<Void>("/user/createWithList", HttpMethod.POST,
+            new String[] { }, new String[] { "application/json" }, new String[] { },
+            new ParameterizedTypeReference<Void>() {},
+            new ParameterizedTypeReference<List<User>>() {});
+
+    private static final ApiOperation<Void> DELETE_USER = new ApiOperation<Void>("/user/{username}", HttpMethod.DELETE,
+            new String[] { }, new String[] { }, new String[] { },
+            new ParameterizedTypeReference<Void>() {});
+
+    private static final ApiOperation<User> GET_USER_BY_NAME = new ApiOperation<User>("/user/{username}", HttpMethod.GET,
+            new String[] { "application/json", "application/xml" }, new String[] { }, new String[] { },
+            new ParameterizedTypeReference<User>() {});
+
+    private static final ApiOperation<String> LOGIN_USER = new ApiOperation<String>("/user/login", HttpMethod.GET,
+            new String[] { "application/json", "application/xml" }, new String[] { }, new String[] { },
+            new ParameterizedTypeReference<String>() {});
+
+    private static final ApiOperation<Void> LOGOUT_USER = new ApiOperation<Void>("/user/logout", HttpMethod.GET,
+            new String[] { }, new String[] { }, new String[] { },
+            new ParameterizedTypeReference<Void>() {});
+
+    private static final ApiOperation<Void> UPDATE_USER = new ApiOperation<Void>("/user/{username}", HttpMethod.PUT,
+            new String[] { }, new String[] { "application/json" }, new String[] { },
+            new ParameterizedTypeReference<Void>() {},
+            new ParameterizedTypeReference<User>() {});
+
     private ApiClient apiClient;
 
     public UserApi() {
@@ -55,30 +99,12 @@ public class UserApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     private ResponseSpec createUserRequestCreation(User body) throws WebClientResponseException {
-        Object postBody = body;
         // verify the required parameter 'body' is set
         if (body == null) {
             throw new WebClientResponseException("Missing the required parameter 'body' when calling createUser", HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST.getReasonPhrase(), null, null, null);
         }
-        // create path and map variables
-        final Map<String, Object> pathParams = new HashMap<String, Object>();
-
-        final MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<String, String>();
-        final HttpHeaders headerParams = new HttpHeaders();
-        final MultiValueMap<String, String> cookieParams = new LinkedMultiValueMap<String, String>();
-        final MultiValueMap<String, Object> formParams = new LinkedMultiValueMap<String, Object>();
 
-        final String[] localVarAccepts = { };
-        final List<MediaType> localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        final String[] localVarContentTypes = { 
-            "application/json"
-        };
-        final MediaType localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-
-        String[] localVarAuthNames = new String[] {  };
-
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return apiClient.invokeAPI("/user", HttpMethod.POST, pathParams, queryParams, postBody, headerParams, cookieParams, formParams, localVarAccept, localVarContentType, localVarAuthNames, localVarReturnType);
+        return apiClient.invokeAPI(CREATE_USER, null, null, body, null, null, null);
     }
 
     /**
@@ -89,8 +115,7 @@ public class UserApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<Void> createUser(User body) throws WebClientResponseException {
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return createUserRequestCreation(body).bodyToMono(localVarReturnType);
+        return createUserRequestCreation(body).bodyToMono(CREATE_USER.getReturnType());
     }
 
     /**
@@ -101,8 +126,7 @@ public class UserApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<ResponseEntity<Void>> createUserWithHttpInfo(User body) throws WebClientResponseException {
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return createUserRequestCreation(body).toEntity(localVarReturnType);
+        return createUserRequestCreation(body).toEntity(CREATE_USER.getReturnType());
     }
 
     /**
@@ -124,30 +148,12 @@ public class UserApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     private ResponseSpec createUsersWithArrayInputRequestCreation(List<User> body) throws WebClientResponseException {
-        Object postBody = body;
         // verify the required parameter 'body' is set
         if (body == null) {
             throw new WebClientResponseException("Missing the required parameter 'body' when calling createUsersWithArrayInput", HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST.getReasonPhrase(), null, null, null);
         }
-        // create path and map variables
-        final Map<String, Object> pathParams = new HashMap<String, Object>();
 
-        final MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<String, String>();
-        final HttpHeaders headerParams = new HttpHeaders();
-        final MultiValueMap<String, String> cookieParams = new LinkedMultiValueMap<String, String>();
-        final MultiValueMap<String, Object> formParams = new LinkedMultiValueMap<String, Object>();
-
-        final String[] localVarAccepts = { };
-        final List<MediaType> localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        final String[] localVarContentTypes = { 
-            "application/json"
-        };
-        final MediaType localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-
-        String[] localVarAuthNames = new String[] {  };
-
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return apiClient.invokeAPI("/user/createWithArray", HttpMethod.POST, pathParams, queryParams, postBody, headerParams, cookieParams, formParams, localVarAccept, localVarContentType, localVarAuthNames, localVarReturnType);
+        return apiClient.invokeAPI(CREATE_USERS_WITH_ARRAY_INPUT, null, null, body, null, null, null);
     }
 
     /**
@@ -158,8 +164,7 @@ public class UserApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<Void> createUsersWithArrayInput(List<User> body) throws WebClientResponseException {
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return createUsersWithArrayInputRequestCreation(body).bodyToMono(localVarReturnType);
+        return createUsersWithArrayInputRequestCreation(body).bodyToMono(CREATE_USERS_WITH_ARRAY_INPUT.getReturnType());
     }
 
     /**
@@ -170,8 +175,7 @@ public class UserApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<ResponseEntity<Void>> createUsersWithArrayInputWithHttpInfo(List<User> body) throws WebClientResponseException {
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return createUsersWithArrayInputRequestCreation(body).toEntity(localVarReturnType);
+        return createUsersWithArrayInputRequestCreation(body).toEntity(CREATE_USERS_WITH_ARRAY_INPUT.getReturnType());
     }
 
     /**
@@ -193,30 +197,12 @@ public class UserApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     private ResponseSpec createUsersWithListInputRequestCreation(List<User> body) throws WebClientResponseException {
-        Object postBody = body;
         // verify the required parameter 'body' is set
         if (body == null) {
             throw new WebClientResponseException("Missing the required parameter 'body' when calling createUsersWithListInput", HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST.getReasonPhrase(), null, null, null);
         }
-        // create path and map variables
-        final Map<String, Object> pathParams = new HashMap<String, Object>();
-
-        final MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<String, String>();
-        final HttpHeaders headerParams = new HttpHeaders();
-        final MultiValueMap<String, String> cookieParams = new LinkedMultiValueMap<String, String>();
-        final MultiValueMap<String, Object> formParams = new LinkedMultiValueMap<String, Object>();
-
-        final String[] localVarAccepts = { };
-        final List<MediaType> localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        final String[] localVarContentTypes = { 
-            "application/json"
-        };
-        final MediaType localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
 
-        String[] localVarAuthNames = new String[] {  };
-
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return apiClient.invokeAPI("/user/createWithList", HttpMethod.POST, pathParams, queryParams, postBody, headerParams, cookieParams, formParams, localVarAccept, localVarContentType, localVarAuthNames, localVarReturnType);
+        return apiClient.invokeAPI(CREATE_USERS_WITH_LIST_INPUT, null, null, body, null, null, null);
     }
 
     /**
@@ -227,8 +213,7 @@ public class UserApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<Void> createUsersWithListInput(List<User> body) throws WebClientResponseException {
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return createUsersWithListInputRequestCreation(body).bodyToMono(localVarReturnType);
+        return createUsersWithListInputRequestCreation(body).bodyToMono(CREATE_USERS_WITH_LIST_INPUT.getReturnType());
     }
 
     /**
@@ -239,8 +224,7 @@ public class UserApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<ResponseEntity<Void>> createUsersWithListInputWithHttpInfo(List<User> body) throws WebClientResponseException {
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return createUsersWithListInputRequestCreation(body).toEntity(localVarReturnType);
+        return createUsersWithListInputRequestCreation(body).toEntity(CREATE_USERS_WITH_LIST_INPUT.getReturnType());
     }
 
     /**
@@ -254,6 +238,27 @@ public class UserApi {
     public ResponseSpec createUsersWithListInputWithResponseSpec(List<User> body) throws WebClientResponseException {
         return createUsersWithListInputRequestCreation(body);
     }
+
+    /**
+     * Create users in batches
+     * Returns a batcher whose submitted users are created with createUsersWithListInput, in batches of up to 500
+     * users sent at most 10 ms after their first user was submitted.
+     * @return MicroBatcher&lt;User&gt; the batcher
+     */
+    public MicroBatcher<User> createUserBatcher() {
+        return createUserBatcher(MicroBatcher.DEFAULT_MAX_BATCH_SIZE, MicroBatcher.DEFAULT_MAX_DELAY);
+    }
+
+    /**
+     * Create users in batches
+     * Returns a batcher whose submitted users are created with createUsersWithListInput.
+     * @param maxBatchSize The maximum number of users per request
+     * @param maxDelay The maximum time a user waits for its batch to be sent
+     * @return MicroBatcher&lt;User&gt; the batcher
+     */
+    public MicroBatcher<User> createUserBatcher(int maxBatchSize, Duration maxDelay) {
+        return new MicroBatcher<User>(maxBatchSize, maxDelay, this::createUsersWithListInput);
+    }
     /**
      * Delete user
      * This can only be done by the logged in user.
@@ -263,30 +268,14 @@ public class UserApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     private ResponseSpec deleteUserRequestCreation(String username) throws WebClientResponseException {
-        Object postBody = null;
         // verify the required parameter 'username' is set
         if (username == null) {
             throw new WebClientResponseException("Missing the required parameter 'username' when calling deleteUser", HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST.getReasonPhrase(), null, null, null);
         }
         // create path and map variables
-        final Map<String, Object> pathParams = new HashMap<String, Object>();
-
-        pathParams.put("username", username);
-
-        final MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<String, String>();
-        final HttpHeaders headerParams = new HttpHeaders();
-        final MultiValueMap<String, String> cookieParams = new LinkedMultiValueMap<String, String>();
-        final MultiValueMap<String, Object> formParams = new LinkedMultiValueMap<String, Object>();
-
-        final String[] localVarAccepts = { };
-        final List<MediaType> localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        final String[] localVarContentTypes = { };
-        final MediaType localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-
-        String[] localVarAuthNames = new String[] {  };
+        final Map<String, Object> pathParams = Collections.<String, Object>singletonMap("username", username);
 
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return apiClient.invokeAPI("/user/{username}", HttpMethod.DELETE, pathParams, queryParams, postBody, headerParams, cookieParams, formParams, localVarAccept, localVarContentType, localVarAuthNames, localVarReturnType);
+        return apiClient.invokeAPI(DELETE_USER, pathParams, null, null, null, null, null);
     }
 
     /**
@@ -298,8 +287,7 @@ public class UserApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<Void> deleteUser(String username) throws WebClientResponseException {
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return deleteUserRequestCreation(username).bodyToMono(localVarReturnType);
+        return deleteUserRequestCreation(username).bodyToMono(DELETE_USER.getReturnType());
     }
 
     /**
@@ -311,8 +299,7 @@ public class UserApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<ResponseEntity<Void>> deleteUserWithHttpInfo(String username) throws WebClientResponseException {
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return deleteUserRequestCreation(username).toEntity(localVarReturnType);
+        return deleteUserRequestCreation(username).toEntity(DELETE_USER.getReturnType());
     }
 
     /**
@@ -338,32 +325,14 @@ public class UserApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     private ResponseSpec getUserByNameRequestCreation(String username) throws WebClientResponseException {
-        Object postBody = null;
         // verify the required parameter 'username' is set
         if (username == null) {
             throw new WebClientResponseException("Missing the required parameter 'username' when calling getUserByName", HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST.getReasonPhrase(), null, null, null);
         }
         // create path and map variables
-        final Map<String, Object> pathParams = new HashMap<String, Object>();
+        final Map<String, Object> pathParams = Collections.<String, Object>singletonMap("username", username);
 
-        pathParams.put("username", username);
-
-        final MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<String, String>();
-        final HttpHeaders headerParams = new HttpHeaders();
-        final MultiValueMap<String, String> cookieParams = new LinkedMultiValueMap<String, String>();
-        final MultiValueMap<String, Object> formParams = new LinkedMultiValueMap<String, Object>();
-
-        final String[] localVarAccepts = { 
-            "application/json", "application/xml"
-        };
-        final List<MediaType> localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        final String[] localVarContentTypes = { };
-        final MediaType localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-
-        String[] localVarAuthNames = new String[] {  };
-
-        ParameterizedTypeReference<User> localVarReturnType = new ParameterizedTypeReference<User>() {};
-        return apiClient.invokeAPI("/user/{username}", HttpMethod.GET, pathParams, queryParams, postBody, headerParams, cookieParams, formParams, localVarAccept, localVarContentType, localVarAuthNames, localVarReturnType);
+        return apiClient.invokeAPI(GET_USER_BY_NAME, pathParams, null, null, null, null, null);
     }
 
     /**
@@ -377,8 +346,7 @@ public class UserApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<User> getUserByName(String username) throws WebClientResponseException {
-        ParameterizedTypeReference<User> localVarReturnType = new ParameterizedTypeReference<User>() {};
-        return getUserByNameRequestCreation(username).bodyToMono(localVarReturnType);
+        return apiClient.retrieveCacheable(GET_USER_BY_NAME, username, () -> getUserByNameRequestCreation(username).bodyToMono(GET_USER_BY_NAME.getReturnType()));
     }
 
     /**
@@ -392,8 +360,7 @@ public class UserApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<ResponseEntity<User>> getUserByNameWithHttpInfo(String username) throws WebClientResponseException {
-        ParameterizedTypeReference<User> localVarReturnType = new ParameterizedTypeReference<User>() {};
-        return getUserByNameRequestCreation(username).toEntity(localVarReturnType);
+        return getUserByNameRequestCreation(username).toEntity(GET_USER_BY_NAME.getReturnType());
     }
 
     /**
@@ -409,6 +376,28 @@ public class UserApi {
     public ResponseSpec getUserByNameWithResponseSpec(String username) throws WebClientResponseException {
         return getUserByNameRequestCreation(username);
     }
+
+    /**
+     * Find users by user name, fetching several concurrently
+     * Fetches every user name with getUserByName, so a missing user is emitted as a failed result rather than terminating the results.
+     * @param usernames The names of the users that need to be fetched
+     * @param options The concurrency and ordering of the fetch
+     * @return Flux&lt;BulkResult&lt;String, User&gt;&gt; one result per user name
+     */
+    public Flux<BulkResult<String, User>> getUsersByNames(Publisher<String> usernames, BulkOptions options) {
+        return options.fetch(usernames, this::getUserByName);
+    }
+
+    /**
+     * Find users by user name, fetching several concurrently
+     * Fetches every user name with getUserByName, so a missing user is emitted as a failed result rather than terminating the results.
+     * @param usernames The names of the users that need to be fetched
+     * @param options The concurrency and ordering of the fetch
+     * @return Flux&lt;BulkResult&lt;String, User&gt;&gt; one result per user name
+     */
+    public Flux<BulkResult<String, User>> getUsersByNames(Collection<String> usernames, BulkOptions options) {
+        return options.fetch(Flux.fromIterable(usernames), this::getUserByName);
+    }
     /**
      * Logs user into the system
      * 
@@ -420,7 +409,6 @@ public class UserApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     private ResponseSpec loginUserRequestCreation(String username, String password) throws WebClientResponseException {
-        Object postBody = null;
         // verify the required parameter 'username' is set
         if (username == null) {
             throw new WebClientResponseException("Missing the required parameter 'username' when calling loginUser", HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST.getReasonPhrase(), null, null, null);
@@ -429,28 +417,12 @@ public class UserApi {
         if (password == null) {
             throw new WebClientResponseException("Missing the required parameter 'password' when calling loginUser", HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST.getReasonPhrase(), null, null, null);
         }
-        // create path and map variables
-        final Map<String, Object> pathParams = new HashMap<String, Object>();
 
         final MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<String, String>();
-        final HttpHeaders headerParams = new HttpHeaders();
-        final MultiValueMap<String, String> cookieParams = new LinkedMultiValueMap<String, String>();
-        final MultiValueMap<String, Object> formParams = new LinkedMultiValueMap<String, Object>();
-
         queryParams.putAll(apiClient.parameterToMultiValueMap(null, "username", username));
         queryParams.putAll(apiClient.parameterToMultiValueMap(null, "password", password));
 
-        final String[] localVarAccepts = { 
-            "application/json", "application/xml"
-        };
-        final List<MediaType> localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        final String[] localVarContentTypes = { };
-        final MediaType localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-
-        String[] localVarAuthNames = new String[] {  };
-
-        ParameterizedTypeReference<String> localVarReturnType = new ParameterizedTypeReference<String>() {};
-        return apiClient.invokeAPI("/user/login", HttpMethod.GET, pathParams, queryParams, postBody, headerParams, cookieParams, formParams, localVarAccept, localVarContentType, localVarAuthNames, localVarReturnType);
+        return apiClient.invokeAPI(LOGIN_USER, null, queryParams, null, null, null, null);
     }
 
     /**
@@ -464,8 +436,7 @@ public class UserApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<String> loginUser(String username, String password) throws WebClientResponseException {
-        ParameterizedTypeReference<String> localVarReturnType = new ParameterizedTypeReference<String>() {};
-        return loginUserRequestCreation(username, password).bodyToMono(localVarReturnType);
+        return loginUserRequestCreation(username, password).bodyToMono(LOGIN_USER.getReturnType());
     }
 
     /**
@@ -479,8 +450,7 @@ public class UserApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<ResponseEntity<String>> loginUserWithHttpInfo(String username, String password) throws WebClientResponseException {
-        ParameterizedTypeReference<String> localVarReturnType = new ParameterizedTypeReference<String>() {};
-        return loginUserRequestCreation(username, password).toEntity(localVarReturnType);
+        return loginUserRequestCreation(username, password).toEntity(LOGIN_USER.getReturnType());
     }
 
     /**
@@ -503,24 +473,7 @@ public class UserApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     private ResponseSpec logoutUserRequestCreation() throws WebClientResponseException {
-        Object postBody = null;
-        // create path and map variables
-        final Map<String, Object> pathParams = new HashMap<String, Object>();
-
-        final MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<String, String>();
-        final HttpHeaders headerParams = new HttpHeaders();
-        final MultiValueMap<String, String> cookieParams = new LinkedMultiValueMap<String, String>();
-        final MultiValueMap<String, Object> formParams = new LinkedMultiValueMap<String, Object>();
-
-        final String[] localVarAccepts = { };
-        final List<MediaType> localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        final String[] localVarContentTypes = { };
-        final MediaType localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-
-        String[] localVarAuthNames = new String[] {  };
-
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return apiClient.invokeAPI("/user/logout", HttpMethod.GET, pathParams, queryParams, postBody, headerParams, cookieParams, formParams, localVarAccept, localVarContentType, localVarAuthNames, localVarReturnType);
+        return apiClient.invokeAPI(LOGOUT_USER, null, null, null, null, null, null);
     }
 
     /**
@@ -530,8 +483,7 @@ public class UserApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<Void> logoutUser() throws WebClientResponseException {
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return logoutUserRequestCreation().bodyToMono(localVarReturnType);
+        return logoutUserRequestCreation().bodyToMono(LOGOUT_USER.getReturnType());
     }
 
     /**
@@ -541,8 +493,7 @@ public class UserApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<ResponseEntity<Void>> logoutUserWithHttpInfo() throws WebClientResponseException {
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return logoutUserRequestCreation().toEntity(localVarReturnType);
+        return logoutUserRequestCreation().toEntity(LOGOUT_USER.getReturnType());
     }
 
     /**
@@ -565,7 +516,6 @@ public class UserApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     private ResponseSpec updateUserRequestCreation(String username, User body) throws WebClientResponseException {
-        Object postBody = body;
         // verify the required parameter 'username' is set
         if (username == null) {
             throw new WebClientResponseException("Missing the required parameter 'username' when calling updateUser", HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST.getReasonPhrase(), null, null, null);
@@ -575,26 +525,9 @@ public class UserApi {
             throw new WebClientResponseException("Missing the required parameter 'body' when calling updateUser", HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST.getReasonPhrase(), null, null, null);
         }
         // create path and map variables
-        final Map<String, Object> pathParams = new HashMap<String, Object>();
-
-        pathParams.put("username", username);
-
-        final MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<String, String>();
-        final HttpHeaders headerParams = new HttpHeaders();
-        final MultiValueMap<String, String> cookieParams = new LinkedMultiValueMap<String, String>();
-        final MultiValueMap<String, Object> formParams = new LinkedMultiValueMap<String, Object>();
-
-        final String[] localVarAccepts = { };
-        final List<MediaType> localVarAccept = apiClient.selectHeaderAccept(localVarAccepts);
-        final String[] localVarContentTypes = { 
-            "application/json"
-        };
-        final MediaType localVarContentType = apiClient.selectHeaderContentType(localVarContentTypes);
-
-        String[] localVarAuthNames = new String[] {  };
+        final Map<String, Object> pathParams = Collections.<String, Object>singletonMap("username", username);
 
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return apiClient.invokeAPI("/user/{username}", HttpMethod.PUT, pathParams, queryParams, postBody, headerParams, cookieParams, formParams, localVarAccept, localVarContentType, localVarAuthNames, localVarReturnType);
+        return apiClient.invokeAPI(UPDATE_USER, pathParams, null, body, null, null, null);
     }
 
     /**
@@ -607,8 +540,7 @@ public class UserApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<Void> updateUser(String username, User body) throws WebClientResponseException {
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return updateUserRequestCreation(username, body).bodyToMono(localVarReturnType);
+        return updateUserRequestCreation(username, body).bodyToMono(UPDATE_USER.getReturnType());
     }
 
     /**
@@ -621,8 +553,7 @@ public class UserApi {
      * @throws WebClientResponseException if an error occurs while attempting to invoke the API
      */
     public Mono<ResponseEntity<Void>> updateUserWithHttpInfo(String username, User body) throws WebClientResponseException {
-        ParameterizedTypeReference<Void> localVarReturnType = new ParameterizedTypeReference<Void>() {};
-        return updateUserRequestCreation(username, body).toEntity(localVarReturnType);
+        return updateUserRequestCreation(username, body).toEntity(UPDATE_USER.getReturnType());
     }
 
     /**
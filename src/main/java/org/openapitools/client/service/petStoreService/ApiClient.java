@@ -25,16 +25,22 @@ import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
 import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.util.UriComponentsBuilder;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClient.ResponseSpec;
+import org.springframework.web.reactive.function.client.ClientRequest;
 import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
 import org.springframework.web.reactive.function.BodyInserter;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 import java.util.Optional;
 
 import java.io.BufferedReader;
@@ -42,6 +48,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
+import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.text.DateFormat;
@@ -57,6 +64,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
 
 import javax.annotation.Nullable;
 
@@ -85,6 +95,12 @@ public class ApiClient extends JavaTimeFormatter {
 
     private static final String URI_TEMPLATE_ATTRIBUTE = WebClient.class.getName() + ".uriTemplate";
 
+    private static final int QUERY_PARAMS = 1;
+    private static final int HEADER_PARAMS = 2;
+    private static final int COOKIE_PARAMS = 4;
+    /** Set on the requests built by this client only, unlike the URI template WebClient sets on its own. */
+    private static final String PATH_TEMPLATE_ATTRIBUTE = ApiClient.class.getName() + ".pathTemplate";
+
     private HttpHeaders defaultHeaders = new HttpHeaders();
     private MultiValueMap<String, String> defaultCookies = new LinkedMultiValueMap<String, String>();
 
@@ -93,31 +109,118 @@ public class ApiClient extends JavaTimeFormatter {
     private final WebClient webClient;
     private final DateFormat dateFormat;
     private final ObjectMapper objectMapper;
+    /** The pool created for this client, if any, which is disposed along with it. */
+    private final ConnectionProvider connectionProvider;
+    /** Whether the WebClient has WebClient's default connector, which inflates gzip responses itself. */
+    private final boolean defaultConnector;
 
     private Map<String, Authentication> authentications;
 
+    private final ConcurrentMap<String, CompiledUriTemplate> uriTemplateCache = new ConcurrentHashMap<String, CompiledUriTemplate>();
+    private final ConcurrentMap<ApiOperation<?>, ResponseCacheScope> responseCacheScopes = new ConcurrentHashMap<ApiOperation<?>, ResponseCacheScope>();
+    private final ConcurrentMap<List<String>, List<MediaType>> headerAcceptCache = new ConcurrentHashMap<List<String>, List<MediaType>>();
+    private final ConcurrentMap<List<String>, MediaType> headerContentTypeCache = new ConcurrentHashMap<List<String>, MediaType>();
+
+    private volatile ResponseCompression responseCompression;
+    private volatile RequestCompression requestCompression;
+    private volatile ResponseCache responseCache;
+    private volatile ConditionalRequests conditionalRequests;
+    private volatile RequestCoalescing requestCoalescing;
+    private volatile ConcurrencyLimiter concurrencyLimiter;
+    private volatile CircuitBreaker circuitBreaker;
+    private volatile RetryPolicy retryPolicy;
+    private volatile HedgingPolicy hedgingPolicy;
+    private volatile TimeoutPolicy timeoutPolicy;
+    private volatile MicrometerMetrics metrics;
+    private volatile LatencyRecorder latencyRecorder;
+    private volatile PhaseTimings phaseTimings;
 
     public ApiClient() {
         this.dateFormat = createDefaultDateFormat();
         this.objectMapper = createDefaultObjectMapper(this.dateFormat);
-        this.webClient = buildWebClient(this.objectMapper);
+        this.webClient = withExchangeFilter(buildWebClient(this.objectMapper));
+        this.connectionProvider = null;
+        this.defaultConnector = true;
         this.init();
     }
 
+    /**
+     * Create a client whose requests go through a dedicated connection pool.
+     * @param poolConfig The connection pool settings
+     */
+    public ApiClient(ConnectionPoolConfig poolConfig) {
+        this(poolConfig.toConnectionProvider(), null, null, null);
+    }
+
+    /**
+     * Create a client whose requests go through a dedicated connection pool, using the given HTTP version.
+     * @param poolConfig The connection pool settings
+     * @param protocolConfig The HTTP version and its settings
+     */
+    public ApiClient(ConnectionPoolConfig poolConfig, HttpProtocolConfig protocolConfig) {
+        this(poolConfig.toConnectionProvider(), protocolConfig, null, null);
+    }
+
+    /**
+     * Create a client whose requests go through a dedicated connection pool, using the given HTTP version and
+     * timeouts.
+     * @param poolConfig The connection pool settings
+     * @param protocolConfig The HTTP version and its settings
+     * @param timeoutPolicy The timeouts of connections and requests
+     */
+    public ApiClient(ConnectionPoolConfig poolConfig, HttpProtocolConfig protocolConfig, TimeoutPolicy timeoutPolicy) {
+        this(poolConfig.toConnectionProvider(), protocolConfig, timeoutPolicy, null);
+        this.timeoutPolicy = timeoutPolicy;
+    }
+
+    /**
+     * Create a client whose requests go through a dedicated connection pool and whose calls are broken down into
+     * phases. Only such a client has the hooks that time connections, requests and decoding, see {@link PhaseTimings}.
+     * @param poolConfig The connection pool settings
+     * @param protocolConfig The HTTP version and its settings, or null for HTTP/1.1
+     * @param timeoutPolicy The timeouts of connections and requests, or null for none
+     * @param phaseTimings The phase timings to report to
+     */
+    public ApiClient(ConnectionPoolConfig poolConfig, @Nullable HttpProtocolConfig protocolConfig, @Nullable TimeoutPolicy timeoutPolicy, PhaseTimings phaseTimings) {
+        this(poolConfig.toConnectionProvider(), protocolConfig, timeoutPolicy, phaseTimings);
+        this.timeoutPolicy = timeoutPolicy;
+        this.phaseTimings = phaseTimings;
+    }
+
+    /**
+     * Create a client that sends its requests with the given WebClient.
+     * <p>
+     * Request URIs are expanded from the base path by the client itself and handed to the WebClient as absolute URIs,
+     * so a {@code baseUrl}, {@code uriBuilderFactory} or default URI variables configured on the WebClient are not used.
+     * @param webClient The WebClient, or null for a default one
+     */
     public ApiClient(WebClient webClient) {
-        this(Optional.ofNullable(webClient).orElseGet(() -> buildWebClient()), createDefaultDateFormat());
+        this(Optional.ofNullable(webClient).orElseGet(() -> buildWebClient()), createDefaultDateFormat(), null, webClient == null);
     }
 
     public ApiClient(ObjectMapper mapper, DateFormat format) {
-        this(buildWebClient(mapper.copy()), format);
+        this(buildWebClient(mapper.copy()), format, null, true);
     }
 
+    /**
+     * Create a client that sends its requests with the given WebClient. As with {@link #ApiClient(WebClient)}, the
+     * WebClient's URI builder settings are not used.
+     * @param webClient The WebClient, or null for a default one using the given mapper
+     * @param mapper The object mapper of a default WebClient
+     * @param format The date format
+     */
     public ApiClient(WebClient webClient, ObjectMapper mapper, DateFormat format) {
-        this(Optional.ofNullable(webClient).orElseGet(() -> buildWebClient(mapper.copy())), format);
+        this(Optional.ofNullable(webClient).orElseGet(() -> buildWebClient(mapper.copy())), format, null, webClient == null);
     }
 
-    private ApiClient(WebClient webClient, DateFormat format) {
-        this.webClient = webClient;
+    private ApiClient(ConnectionProvider connectionProvider, @Nullable HttpProtocolConfig protocolConfig, @Nullable TimeoutPolicy timeoutPolicy, @Nullable PhaseTimings phaseTimings) {
+        this(buildPooledWebClient(connectionProvider, protocolConfig, timeoutPolicy, phaseTimings != null), createDefaultDateFormat(), connectionProvider, false);
+    }
+
+    private ApiClient(WebClient webClient, DateFormat format, ConnectionProvider connectionProvider, boolean defaultConnector) {
+        this.webClient = withExchangeFilter(webClient);
+        this.connectionProvider = connectionProvider;
+        this.defaultConnector = defaultConnector;
         this.dateFormat = format;
         this.objectMapper = createDefaultObjectMapper(format);
         this.init();
@@ -151,22 +254,140 @@ public class ApiClient extends JavaTimeFormatter {
         authentications = Collections.unmodifiableMap(authentications);
     }
 
+    /**
+     * Create the JSON encoder WebClients built by this class use to write request bodies.
+     * @param mapper ObjectMapper used for serialization
+     * @return Jackson2JsonEncoder
+     */
+    public static Jackson2JsonEncoder createJsonEncoder(ObjectMapper mapper) {
+        return new Jackson2JsonEncoder(mapper, MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * Create the JSON decoder WebClients built by this class use to read response bodies.
+     * Besides JSON it reads newline-delimited JSON, one record at a time.
+     * @param mapper ObjectMapper used for deserialization
+     * @return Jackson2JsonDecoder
+     */
+    public static Jackson2JsonDecoder createJsonDecoder(ObjectMapper mapper) {
+        return new Jackson2JsonDecoder(mapper, MediaType.APPLICATION_JSON, MediaType.APPLICATION_NDJSON);
+    }
+
+    /**
+     * Create the JSON decoder of {@link #createJsonDecoder(ObjectMapper)}, reporting its decode time to
+     * {@link PhaseTimings}.
+     * @param mapper ObjectMapper used for deserialization
+     * @return Jackson2JsonDecoder
+     */
+    public static Jackson2JsonDecoder createTimedJsonDecoder(ObjectMapper mapper) {
+        return new PhaseTimings.TimedJsonDecoder(mapper, MediaType.APPLICATION_JSON, MediaType.APPLICATION_NDJSON);
+    }
+
     /**
     * Build the WebClientBuilder used to make WebClient.
     * @param mapper ObjectMapper used for serialize/deserialize
     * @return WebClient
     */
     public static WebClient.Builder buildWebClientBuilder(ObjectMapper mapper) {
+        return buildWebClientBuilder(mapper, createJsonDecoder(mapper));
+    }
+
+    private static WebClient.Builder buildWebClientBuilder(ObjectMapper mapper, Jackson2JsonDecoder jsonDecoder) {
         ExchangeStrategies strategies = ExchangeStrategies
             .builder()
             .codecs(clientDefaultCodecsConfigurer -> {
-                clientDefaultCodecsConfigurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(mapper, MediaType.APPLICATION_JSON));
-                clientDefaultCodecsConfigurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(mapper, MediaType.APPLICATION_JSON));
+                clientDefaultCodecsConfigurer.defaultCodecs().jackson2JsonEncoder(createJsonEncoder(mapper));
+                clientDefaultCodecsConfigurer.defaultCodecs().jackson2JsonDecoder(jsonDecoder);
             }).build();
         WebClient.Builder webClientBuilder = WebClient.builder().exchangeStrategies(strategies);
         return webClientBuilder;
     }
 
+    /**
+     * Build the WebClientBuilder used to make WebClient, limiting how much of a response body the decoders buffer.
+     * <p>
+     * Bodies decoded as a whole, e.g. into a {@code Mono} or a {@code List}, must fit into the limit. Bodies decoded
+     * into a {@code Flux} are parsed one array element at a time, so there the limit only applies to each element and
+     * memory stays bounded however long the array is.
+     * @param mapper ObjectMapper used for serialize/deserialize
+     * @param maxInMemorySize The maximum number of bytes to buffer, or -1 for no limit
+     * @return WebClient
+     */
+    public static WebClient.Builder buildWebClientBuilder(ObjectMapper mapper, int maxInMemorySize) {
+        ExchangeStrategies strategies = ExchangeStrategies
+            .builder()
+            .codecs(clientDefaultCodecsConfigurer -> {
+                clientDefaultCodecsConfigurer.defaultCodecs().jackson2JsonEncoder(createJsonEncoder(mapper));
+                clientDefaultCodecsConfigurer.defaultCodecs().jackson2JsonDecoder(createJsonDecoder(mapper));
+                clientDefaultCodecsConfigurer.defaultCodecs().maxInMemorySize(maxInMemorySize);
+            }).build();
+        return WebClient.builder().exchangeStrategies(strategies);
+    }
+
+    /**
+     * Build the WebClientBuilder used to make WebClient, sending requests through the given Reactor Netty client.
+     * @param mapper ObjectMapper used for serialize/deserialize
+     * @param httpClient HttpClient the requests are sent with
+     * @return WebClient
+     */
+    public static WebClient.Builder buildWebClientBuilder(ObjectMapper mapper, HttpClient httpClient) {
+        return buildWebClientBuilder(mapper).clientConnector(new ReactorClientHttpConnector(httpClient));
+    }
+
+    /**
+     * Build a Reactor Netty client that uses a connection pool with the given settings.
+     * Unlike WebClient's default client it does not negotiate compression itself, see {@link #setResponseCompression}.
+     * It does not time connections and requests unless {@link PhaseTimings#applyTo(HttpClient)} is applied to it.
+     * The pool lives as long as the application;
+     * a client created with {@link #ApiClient(ConnectionPoolConfig)} instead closes its pool with {@link #dispose()}.
+     * @param poolConfig The connection pool settings
+     * @return HttpClient
+     */
+    public static HttpClient buildHttpClient(ConnectionPoolConfig poolConfig) {
+        return buildHttpClient(poolConfig.toConnectionProvider(), null, null, false);
+    }
+
+    /**
+     * Build a Reactor Netty client that uses a connection pool with the given settings and the given HTTP version.
+     * With HTTP/2 the pool's maximum number of connections limits how many connections the streams are spread over.
+     * @param poolConfig The connection pool settings
+     * @param protocolConfig The HTTP version and its settings
+     * @return HttpClient
+     */
+    public static HttpClient buildHttpClient(ConnectionPoolConfig poolConfig, HttpProtocolConfig protocolConfig) {
+        return buildHttpClient(poolConfig.toConnectionProvider(), protocolConfig, null, false);
+    }
+
+    /**
+     * Build a Reactor Netty client that uses a connection pool with the given settings, the given HTTP version and
+     * the connect and TLS handshake timeouts of the given policy.
+     * @param poolConfig The connection pool settings
+     * @param protocolConfig The HTTP version and its settings
+     * @param timeoutPolicy The timeouts
+     * @return HttpClient
+     */
+    public static HttpClient buildHttpClient(ConnectionPoolConfig poolConfig, HttpProtocolConfig protocolConfig, TimeoutPolicy timeoutPolicy) {
+        return buildHttpClient(poolConfig.toConnectionProvider(), protocolConfig, timeoutPolicy, false);
+    }
+
+    private static HttpClient buildHttpClient(ConnectionProvider connectionProvider, @Nullable HttpProtocolConfig protocolConfig, @Nullable TimeoutPolicy timeoutPolicy, boolean timed) {
+        HttpClient httpClient = HttpClient.create(connectionProvider);
+        if (timed) {
+            httpClient = PhaseTimings.applyTo(httpClient);
+        }
+        if (protocolConfig != null) {
+            httpClient = protocolConfig.applyTo(httpClient);
+        }
+        return timeoutPolicy == null ? httpClient : timeoutPolicy.applyTo(httpClient);
+    }
+
+    private static WebClient buildPooledWebClient(ConnectionProvider connectionProvider, @Nullable HttpProtocolConfig protocolConfig, @Nullable TimeoutPolicy timeoutPolicy, boolean timed) {
+        final ObjectMapper mapper = createDefaultObjectMapper(null);
+        return buildWebClientBuilder(mapper, timed ? createTimedJsonDecoder(mapper) : createJsonDecoder(mapper))
+                .clientConnector(new ReactorClientHttpConnector(buildHttpClient(connectionProvider, protocolConfig, timeoutPolicy, timed)))
+                .build();
+    }
+
     /**
      * Build the WebClientBuilder used to make WebClient.
      * @return WebClient
@@ -207,6 +428,7 @@ public class ApiClient extends JavaTimeFormatter {
      */
     public ApiClient setBasePath(String basePath) {
         this.basePath = basePath;
+        uriTemplateCache.clear();
         return this;
     }
 
@@ -394,6 +616,318 @@ public class ApiClient extends JavaTimeFormatter {
         return webClient;
     }
 
+    /**
+     * Close the connections of the pool this client was created with, see {@link #ApiClient(ConnectionPoolConfig)};
+     * the client cannot send requests afterwards. A client using a given WebClient or Reactor Netty's shared pool
+     * has no pool of its own, and nothing is closed.
+     */
+    public void dispose() {
+        if (connectionProvider != null) {
+            connectionProvider.dispose();
+        }
+    }
+
+    /**
+     * Get the response compression negotiated for requests.
+     * @return ResponseCompression the response compression, or null if none is negotiated
+     */
+    public ResponseCompression getResponseCompression() {
+        return responseCompression;
+    }
+
+    /**
+     * Set the response compression to negotiate for requests, or null to send requests as they are.
+     * <p>
+     * The client's connector must hand compressed bodies through. WebClient's default connector, which the clients
+     * created without a WebClient or a {@link ConnectionPoolConfig} use, inflates gzip itself, so the compression is
+     * rejected for them; a WebClient passed in must not be built with {@code compress(true)} either.
+     * @param responseCompression the response compression
+     * @return ApiClient this client
+     * @throws IllegalStateException if the client uses WebClient's default connector
+     */
+    public ApiClient setResponseCompression(ResponseCompression responseCompression) {
+        if (responseCompression != null && defaultConnector) {
+            throw new IllegalStateException("WebClient's default connector decompresses responses itself, create the client with a ConnectionPoolConfig to use a ResponseCompression");
+        }
+        this.responseCompression = responseCompression;
+        return this;
+    }
+
+    /**
+     * Get the compression applied to request bodies.
+     * @return RequestCompression the request compression, or null if request bodies are sent uncompressed
+     */
+    public RequestCompression getRequestCompression() {
+        return requestCompression;
+    }
+
+    /**
+     * Set the compression applied to request bodies, or null to send them uncompressed.
+     * @param requestCompression the request compression
+     * @return ApiClient this client
+     */
+    public ApiClient setRequestCompression(RequestCompression requestCompression) {
+        this.requestCompression = requestCompression;
+        return this;
+    }
+
+    /**
+     * Get the cache of response bodies.
+     * @return ResponseCache the response cache, or null if no responses are cached
+     */
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * Set the cache of response bodies, or null to send every request.
+     * @param responseCache the response cache
+     * @return ApiClient this client
+     */
+    public ApiClient setResponseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+        return this;
+    }
+
+    /**
+     * Get the revalidation of GET responses.
+     * @return ConditionalRequests the conditional requests, or null if responses are always downloaded
+     */
+    public ConditionalRequests getConditionalRequests() {
+        return conditionalRequests;
+    }
+
+    /**
+     * Set the revalidation of GET responses, or null to always download them.
+     * @param conditionalRequests the conditional requests
+     * @return ApiClient this client
+     */
+    public ApiClient setConditionalRequests(ConditionalRequests conditionalRequests) {
+        this.conditionalRequests = conditionalRequests;
+        return this;
+    }
+
+    /**
+     * Get the coalescing of identical GET requests in flight.
+     * @return RequestCoalescing the request coalescing, or null if every request is sent
+     */
+    public RequestCoalescing getRequestCoalescing() {
+        return requestCoalescing;
+    }
+
+    /**
+     * Set the coalescing of identical GET requests in flight, or null to send every request.
+     * @param requestCoalescing the request coalescing
+     * @return ApiClient this client
+     */
+    public ApiClient setRequestCoalescing(RequestCoalescing requestCoalescing) {
+        this.requestCoalescing = requestCoalescing;
+        return this;
+    }
+
+    /**
+     * Get the adaptive concurrency limits of operations.
+     * @return ConcurrencyLimiter the concurrency limiter, or null if requests are not limited
+     */
+    public ConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    /**
+     * Set the adaptive concurrency limits of operations, or null to not limit requests.
+     * @param concurrencyLimiter the concurrency limiter
+     * @return ApiClient this client
+     */
+    public ApiClient setConcurrencyLimiter(ConcurrencyLimiter concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+        return this;
+    }
+
+    /**
+     * Get the circuit breakers of operations.
+     * @return CircuitBreaker the circuit breaker, or null if requests are always sent
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Set the circuit breakers of operations, or null to always send requests.
+     * @param circuitBreaker the circuit breaker
+     * @return ApiClient this client
+     */
+    public ApiClient setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+        return this;
+    }
+
+    /**
+     * Get the retries of failed requests.
+     * @return RetryPolicy the retry policy, or null if requests are not retried
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Set the retries of failed requests, or null to not retry requests.
+     * @param retryPolicy the retry policy
+     * @return ApiClient this client
+     */
+    public ApiClient setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+        return this;
+    }
+
+    /**
+     * Get the hedging of slow read requests.
+     * @return HedgingPolicy the hedging policy, or null if requests are not hedged
+     */
+    public HedgingPolicy getHedgingPolicy() {
+        return hedgingPolicy;
+    }
+
+    /**
+     * Set the hedging of slow read requests, or null to not hedge requests.
+     * @param hedgingPolicy the hedging policy
+     * @return ApiClient this client
+     */
+    public ApiClient setHedgingPolicy(HedgingPolicy hedgingPolicy) {
+        this.hedgingPolicy = hedgingPolicy;
+        return this;
+    }
+
+    /**
+     * Get the timeouts of requests and calls.
+     * @return TimeoutPolicy the timeout policy, or null if requests do not time out
+     */
+    public TimeoutPolicy getTimeoutPolicy() {
+        return timeoutPolicy;
+    }
+
+    /**
+     * Set the timeouts of requests and calls, or null to not time out requests. The connect and TLS handshake
+     * timeouts of the policy only apply if the client was created with it.
+     * @param timeoutPolicy the timeout policy
+     * @return ApiClient this client
+     */
+    public ApiClient setTimeoutPolicy(TimeoutPolicy timeoutPolicy) {
+        this.timeoutPolicy = timeoutPolicy;
+        return this;
+    }
+
+    /**
+     * Get the metrics of requests.
+     * @return MicrometerMetrics the metrics, or null if requests are not measured
+     */
+    public MicrometerMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Set the metrics of requests, or null to not measure requests. Metrics need Micrometer on the class path.
+     * @param metrics the metrics
+     * @return ApiClient this client
+     */
+    public ApiClient setMetrics(MicrometerMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    /**
+     * Get the recorder of call latencies.
+     * @return LatencyRecorder the latency recorder, or null if latencies are not recorded
+     */
+    public LatencyRecorder getLatencyRecorder() {
+        return latencyRecorder;
+    }
+
+    /**
+     * Set the recorder of call latencies, or null to not record latencies.
+     * @param latencyRecorder the latency recorder
+     * @return ApiClient this client
+     */
+    public ApiClient setLatencyRecorder(LatencyRecorder latencyRecorder) {
+        this.latencyRecorder = latencyRecorder;
+        return this;
+    }
+
+    /**
+     * Write the call latencies recorded since the previous dump, per operation.
+     * @param out The output, e.g. a log file
+     * @param format The format, a table of percentiles or an HdrHistogram log
+     * @throws IOException if the output fails
+     */
+    public void dumpLatencies(Appendable out, LatencyRecorder.Format format) throws IOException {
+        final LatencyRecorder currentLatencyRecorder = latencyRecorder;
+        if (currentLatencyRecorder == null) {
+            throw new IllegalStateException("Latencies are not recorded, see setLatencyRecorder");
+        }
+        currentLatencyRecorder.writeInterval(out, format);
+    }
+
+    /**
+     * Get the timings of the phases of calls.
+     * @return PhaseTimings the phase timings, or null if phases are not timed
+     */
+    public PhaseTimings getPhaseTimings() {
+        return phaseTimings;
+    }
+
+    /**
+     * Set the timings of the phases of calls, or null to not time phases. Connections, requests and decoding are only
+     * timed by a client created with
+     * {@link #ApiClient(ConnectionPoolConfig, HttpProtocolConfig, TimeoutPolicy, PhaseTimings)}; other clients only
+     * report the time to first byte, which includes all phases before it, and the body transfer.
+     * @param phaseTimings the phase timings
+     * @return ApiClient this client
+     */
+    public ApiClient setPhaseTimings(PhaseTimings phaseTimings) {
+        this.phaseTimings = phaseTimings;
+        return this;
+    }
+
+    /**
+     * Get the response body of an operation from the response cache, if the operation is cached, or else send the
+     * request. A cache hit does not go through the WebClient at all. Responses are cached per base path and per
+     * credentials applied by the operation's authentications, and a cached body is shared by all its callers.
+     * @param <T> the type of the response body
+     * @param operation The operation
+     * @param key The key of the response, i.e. the request's path parameter
+     * @param request The supplier of the response body, which sends the request
+     * @return Mono the response body
+     */
+    public <T> Mono<T> retrieveCacheable(ApiOperation<T> operation, @Nullable Object key, Supplier<Mono<T>> request) {
+        final ResponseCache currentResponseCache = responseCache;
+        if (currentResponseCache == null || key == null) {
+            return request.get();
+        }
+        return currentResponseCache.get(operation.toString(), responseCacheScope(operation), key, request);
+    }
+
+    /**
+     * Get the scope of an operation's cached responses, i.e. the server and the credentials they are requested with.
+     * The scope is computed once and recomputed when the base path or the operation's credentials change.
+     * @param operation The operation
+     * @return String the scope
+     */
+    private String responseCacheScope(ApiOperation<?> operation) {
+        final String currentBasePath = basePath;
+        ResponseCacheScope scope = responseCacheScopes.get(operation);
+        if (scope == null || !scope.isCurrentFor(currentBasePath)) {
+            final Authentication[] operationAuthentications = new Authentication[operation.authNames.length];
+            for (int i = 0; i < operationAuthentications.length; i++) {
+                operationAuthentications[i] = authentications.get(operation.authNames[i]);
+                if (operationAuthentications[i] == null) {
+                    throw new RestClientException("Authentication undefined: " + operation.authNames[i]);
+                }
+            }
+            scope = ResponseCacheScope.compute(currentBasePath, operationAuthentications);
+            responseCacheScopes.put(operation, scope);
+        }
+        return scope.getValue();
+    }
+
     /**
      * Format the given parameter object into string.
      * @param param the object to convert
@@ -475,6 +1009,75 @@ public class ApiClient extends JavaTimeFormatter {
         return params;
     }
 
+    /**
+     * Append a parameter to a percent-encoded query string, applying the same collection format rules as
+     * {@link #parameterToMultiValueMap(CollectionFormat, String, Object)} without building an intermediate map.
+     * @param query The query string being built, without the leading '?'
+     * @param collectionFormat The format to convert to
+     * @param name The name of the parameter
+     * @param value The parameter's value
+     */
+    public void appendQueryParameter(StringBuilder query, CollectionFormat collectionFormat, String name, Object value) {
+        appendQueryParameter(query, 0, collectionFormat, name, value);
+    }
+
+    private void appendQueryParameter(StringBuilder query, int start, CollectionFormat collectionFormat, String name, Object value) {
+        if (name == null || name.isEmpty() || value == null) {
+            return;
+        }
+
+        if(collectionFormat == null) {
+            collectionFormat = CollectionFormat.CSV;
+        }
+
+        if (value instanceof Map) {
+            @SuppressWarnings("unchecked")
+            final Map<String, Object> valuesMap = (Map<String, Object>) value;
+            for (final Entry<String, Object> entry : valuesMap.entrySet()) {
+                appendQuerySeparator(query, start);
+                QueryStringEncoder.appendQueryParam(query, entry.getKey(), parameterToString(entry.getValue()));
+            }
+            return;
+        }
+
+        if (!(value instanceof Collection)) {
+            appendQuerySeparator(query, start);
+            QueryStringEncoder.appendQueryParam(query, name, parameterToString(value));
+            return;
+        }
+
+        final Collection<?> valueCollection = (Collection<?>) value;
+        if (valueCollection.isEmpty()){
+            return;
+        }
+
+        if (collectionFormat.equals(CollectionFormat.MULTI)) {
+            for (Object item : valueCollection) {
+                appendQuerySeparator(query, start);
+                QueryStringEncoder.appendQueryParam(query, name, parameterToString(item));
+            }
+            return;
+        }
+
+        appendQuerySeparator(query, start);
+        QueryStringEncoder.appendEncodedName(query, name);
+        query.append('=');
+        boolean first = true;
+        for (Object item : valueCollection) {
+            if (!first) {
+                QueryStringEncoder.appendEncodedValue(query, collectionFormat.separator);
+            }
+            QueryStringEncoder.appendEncodedValue(query, parameterToString(item));
+            first = false;
+        }
+    }
+
+    private static void appendQuerySeparator(StringBuilder query, int start) {
+        if (query.length() != start) {
+            query.append('&');
+        }
+    }
+
     /**
     * Check if the given {@code String} is a JSON MIME.
     * @param mediaType the input MediaType
@@ -503,7 +1106,31 @@ public class ApiClient extends JavaTimeFormatter {
      * @return boolean true if the MediaType represents JSON, false otherwise
      */
     public boolean isJsonMime(MediaType mediaType) {
-        return mediaType != null && (MediaType.APPLICATION_JSON.isCompatibleWith(mediaType) || mediaType.getSubtype().matches("^.*(\\+json|ndjson)[;]?\\s*$"));
+        return isJsonMediaType(mediaType);
+    }
+
+    private static boolean isJsonMediaType(MediaType mediaType) {
+        return mediaType != null && (MediaType.APPLICATION_JSON.isCompatibleWith(mediaType) || isJsonSubtype(mediaType.getSubtype()));
+    }
+
+    /**
+     * Check if the given subtype ends with "+json" or "ndjson", optionally followed by ';' and whitespace.
+     * @param subtype the MediaType subtype
+     * @return boolean true if the subtype represents JSON, false otherwise
+     */
+    private static boolean isJsonSubtype(String subtype) {
+        int end = subtype.length();
+        while (end > 0 && isWhitespace(subtype.charAt(end - 1))) {
+            end--;
+        }
+        if (end > 0 && subtype.charAt(end - 1) == ';') {
+            end--;
+        }
+        return subtype.startsWith("+json", end - 5) || subtype.startsWith("ndjson", end - 6);
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
     }
 
     /**
@@ -512,6 +1139,10 @@ public class ApiClient extends JavaTimeFormatter {
     * @return boolean true if the MediaType represents Problem JSON, false otherwise
     */
     public boolean isProblemJsonMime(String mediaType) {
+        return isProblemJsonMediaType(mediaType);
+    }
+
+    private static boolean isProblemJsonMediaType(String mediaType) {
         return "application/problem+json".equalsIgnoreCase(mediaType);
     }
 
@@ -519,6 +1150,7 @@ public class ApiClient extends JavaTimeFormatter {
      * Select the Accept header's value from the given accepts array:
      *     if JSON exists in the given array, use it;
      *     otherwise use all of them (joining into a string)
+     * The selection is memoized per distinct array content.
      *
      * @param accepts The accepts array to select from
      * @return List The list of MediaTypes to use for the Accept header
@@ -527,9 +1159,32 @@ public class ApiClient extends JavaTimeFormatter {
         if (accepts.length == 0) {
             return null;
         }
-        for (String accept : accepts) {
-            MediaType mediaType = MediaType.parseMediaType(accept);
-            if (isJsonMime(mediaType) && !isProblemJsonMime(accept)) {
+        List<MediaType> selected = headerAcceptCache.get(Arrays.asList(accepts));
+        if (selected == null) {
+            selected = Collections.unmodifiableList(negotiateHeaderAccept(accepts));
+            headerAcceptCache.putIfAbsent(Arrays.asList(accepts.clone()), selected);
+        }
+        return selected;
+    }
+
+    /**
+     * Negotiate the Accept header's value from the given accepts array, see {@link #selectHeaderAccept(String[])}.
+     * @param accepts The accepts array to select from, not empty
+     * @return List The list of MediaTypes to use for the Accept header
+     */
+    static List<MediaType> negotiateHeaderAccept(String[] accepts) {
+        for (int i = 0; i < accepts.length; i++) {
+            MediaType mediaType = MediaType.parseMediaType(accepts[i]);
+            if (isJsonMediaType(mediaType) && !isProblemJsonMediaType(accepts[i])) {
+                if (MediaType.APPLICATION_NDJSON.isCompatibleWith(mediaType)) {
+                    // servers that cannot stream records may still answer with the next JSON type, e.g. an array
+                    for (int j = i + 1; j < accepts.length; j++) {
+                        MediaType fallback = MediaType.parseMediaType(accepts[j]);
+                        if (isJsonMediaType(fallback) && !isProblemJsonMediaType(accepts[j])) {
+                            return Arrays.asList(mediaType, fallback);
+                        }
+                    }
+                }
                 return Collections.singletonList(mediaType);
             }
         }
@@ -540,6 +1195,7 @@ public class ApiClient extends JavaTimeFormatter {
      * Select the Content-Type header's value from the given array:
      *     if JSON exists in the given array, use it;
      *     otherwise use the first one of the array.
+     * The selection is memoized per distinct array content.
      *
      * @param contentTypes The Content-Type array to select from
      * @return MediaType The Content-Type header to use. If the given array is empty, null will be returned.
@@ -548,9 +1204,23 @@ public class ApiClient extends JavaTimeFormatter {
         if (contentTypes.length == 0) {
             return null;
         }
+        MediaType selected = headerContentTypeCache.get(Arrays.asList(contentTypes));
+        if (selected == null) {
+            selected = negotiateHeaderContentType(contentTypes);
+            headerContentTypeCache.putIfAbsent(Arrays.asList(contentTypes.clone()), selected);
+        }
+        return selected;
+    }
+
+    /**
+     * Negotiate the Content-Type header's value from the given array, see {@link #selectHeaderContentType(String[])}.
+     * @param contentTypes The Content-Type array to select from, not empty
+     * @return MediaType The Content-Type header to use
+     */
+    static MediaType negotiateHeaderContentType(String[] contentTypes) {
         for (String contentType : contentTypes) {
             MediaType mediaType = MediaType.parseMediaType(contentType);
-            if (isJsonMime(mediaType)) {
+            if (isJsonMediaType(mediaType)) {
                 return mediaType;
             }
         }
@@ -565,6 +1235,9 @@ public class ApiClient extends JavaTimeFormatter {
      * @return Object the selected body
      */
     protected BodyInserter<?, ? super ClientHttpRequest> selectBody(Object obj, MultiValueMap<String, Object> formParams, MediaType contentType) {
+        if (formParams == null && (MediaType.APPLICATION_FORM_URLENCODED.equals(contentType) || MediaType.MULTIPART_FORM_DATA.equals(contentType))) {
+            formParams = new LinkedMultiValueMap<String, Object>();
+        }
         if(MediaType.APPLICATION_FORM_URLENCODED.equals(contentType)) {
             MultiValueMap<String, String> map = new LinkedMultiValueMap<>();
 
@@ -581,6 +1254,40 @@ public class ApiClient extends JavaTimeFormatter {
         }
     }
 
+    /**
+     * Select the body to use for a request of the given operation, gzipping JSON bodies if request compression
+     * is enabled for the operation.
+     * @param operation the operation, e.g. {@code POST /user/createWithArray}
+     * @param obj the body object
+     * @param formParams the form parameters
+     * @param contentType the content type of the request
+     * @return Object the selected body
+     */
+    protected BodyInserter<?, ? super ClientHttpRequest> selectBody(String operation, Object obj, MultiValueMap<String, Object> formParams, MediaType contentType) {
+        return selectBody(operation, obj, null, formParams, contentType);
+    }
+
+    /**
+     * Select the body to use for a request of the given operation, gzipping JSON bodies if request compression
+     * is enabled for the operation.
+     * @param operation the operation, e.g. {@code POST /user/createWithArray}
+     * @param obj the body object
+     * @param bodyType the declared type of the body, or null to encode it as the type of the object
+     * @param formParams the form parameters
+     * @param contentType the content type of the request
+     * @return Object the selected body
+     */
+    protected BodyInserter<?, ? super ClientHttpRequest> selectBody(String operation, Object obj, @Nullable ParameterizedTypeReference<?> bodyType, MultiValueMap<String, Object> formParams, MediaType contentType) {
+        final RequestCompression currentRequestCompression = requestCompression;
+        if (currentRequestCompression != null && obj != null && isJsonMime(contentType)) {
+            final Integer threshold = currentRequestCompression.getThreshold(operation);
+            if (threshold != null) {
+                return currentRequestCompression.bodyInserter(obj, bodyType, contentType, threshold);
+            }
+        }
+        return selectBody(obj, formParams, contentType);
+    }
+
     /**
      * Invoke API by sending HTTP request with the given options.
      *
@@ -599,81 +1306,201 @@ public class ApiClient extends JavaTimeFormatter {
      * @return The response body in chosen type
      */
     public <T> ResponseSpec invokeAPI(String path, HttpMethod method, Map<String, Object> pathParams, MultiValueMap<String, String> queryParams, Object body, HttpHeaders headerParams, MultiValueMap<String, String> cookieParams, MultiValueMap<String, Object> formParams, List<MediaType> accept, MediaType contentType, String[] authNames, ParameterizedTypeReference<T> returnType) throws RestClientException {
-        final WebClient.RequestBodySpec requestBuilder = prepareRequest(path, method, pathParams, queryParams, body, headerParams, cookieParams, formParams, accept, contentType, authNames);
-        return requestBuilder.retrieve();
+        final MediaType[] acceptMediaTypes = accept == null ? null : accept.toArray(new MediaType[accept.size()]);
+        final WebClient.RequestBodySpec requestBuilder = prepareRequest(method.name() + " " + path, path, method, pathParams, queryParams, null, null, null, body, null, headerParams, cookieParams, formParams, acceptMediaTypes, contentType, authNames);
+        return retrieve(method, requestBuilder);
     }
 
     /**
-     * Include queryParams in uriParams taking into account the paramName
-     * @param queryParams The query parameters
-     * @param uriParams The path parameters
-     * return templatized query string
-     */
-    private String generateQueryUri(MultiValueMap<String, String> queryParams, Map<String, Object> uriParams) {
-        StringBuilder queryBuilder = new StringBuilder();
-        queryParams.forEach((name, values) -> {
-            if (CollectionUtils.isEmpty(values)) {
-                if (queryBuilder.length() != 0) {
-                    queryBuilder.append('&');
-                }
-                queryBuilder.append(name);
-            } else {
-                int valueItemCounter = 0;
-                for (Object value : values) {
-                    if (queryBuilder.length() != 0) {
-                        queryBuilder.append('&');
-                    }
-                    queryBuilder.append(name);
-                    if (value != null) {
-                        String templatizedKey = name + valueItemCounter++;
-                        uriParams.put(templatizedKey, value.toString());
-                        queryBuilder.append('=').append("{").append(templatizedKey).append("}");
-                    }
-                }
-            }
-        });
-        return queryBuilder.toString();
+     * Invoke API by sending HTTP request for the given operation.
+     * <p>
+     * Everything that does not vary between calls (path template, method, content negotiation, authentications and
+     * return type) is taken from the operation; parameters the call does not use may be {@code null}.
+     *
+     * @param <T> the return type to use
+     * @param operation The operation to invoke
+     * @param pathParams The path parameters, or null
+     * @param queryParams The query parameters, or null
+     * @param body The request body object, or null
+     * @param headerParams The header parameters, or null
+     * @param cookieParams The cookie parameters, or null
+     * @param formParams The form parameters, or null
+     * @return The response spec of the request
+     */
+    public <T> ResponseSpec invokeAPI(ApiOperation<T> operation, @Nullable Map<String, Object> pathParams, @Nullable MultiValueMap<String, String> queryParams, @Nullable Object body, @Nullable HttpHeaders headerParams, @Nullable MultiValueMap<String, String> cookieParams, @Nullable MultiValueMap<String, Object> formParams) throws RestClientException {
+        final WebClient.RequestBodySpec requestBuilder = prepareRequest(operation.key, operation.path, operation.method, pathParams, queryParams, null, null, null, body, operation.getBodyType(), headerParams, cookieParams, formParams, operation.acceptMediaTypes, operation.contentType, operation.authNames);
+        return retrieve(operation.method, requestBuilder);
     }
 
-    private WebClient.RequestBodySpec prepareRequest(String path, HttpMethod method, Map<String, Object> pathParams,
-        MultiValueMap<String, String> queryParams, Object body, HttpHeaders headerParams,
-        MultiValueMap<String, String> cookieParams, MultiValueMap<String, Object> formParams, List<MediaType> accept,
-        MediaType contentType, String[] authNames) {
-        updateParamsForAuth(authNames, queryParams, headerParams, cookieParams);
+    /**
+     * Invoke API by sending HTTP request for the given operation, whose only parameter is a query parameter.
+     * <p>
+     * The parameter is written into the request URI with the rules of
+     * {@link #parameterToMultiValueMap(CollectionFormat, String, Object)}, without collecting its values into a map first.
+     *
+     * @param <T> the return type to use
+     * @param operation The operation to invoke
+     * @param collectionFormat The format of the query parameter's values
+     * @param queryName The name of the query parameter
+     * @param queryValue The query parameter's value, e.g. a collection of values
+     * @return The response spec of the request
+     */
+    public <T> ResponseSpec invokeAPI(ApiOperation<T> operation, CollectionFormat collectionFormat, String queryName, @Nullable Object queryValue) throws RestClientException {
+        final WebClient.RequestBodySpec requestBuilder = prepareRequest(operation.key, operation.path, operation.method, null, null, collectionFormat, queryName, queryValue, null, operation.getBodyType(), null, null, null, operation.acceptMediaTypes, operation.contentType, operation.authNames);
+        return retrieve(operation.method, requestBuilder);
+    }
 
-        final UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(basePath).path(path);
+    private ResponseSpec retrieve(HttpMethod method, WebClient.RequestBodySpec requestBuilder) {
+        ResponseSpec responseSpec = requestBuilder.retrieve();
+        final ConditionalRequests currentConditionalRequests = conditionalRequests;
+        if (currentConditionalRequests != null && method == HttpMethod.GET) {
+            responseSpec = currentConditionalRequests.responseSpec(responseSpec);
+        }
+        final PhaseTimings currentPhaseTimings = phaseTimings;
+        return currentPhaseTimings == null ? responseSpec : currentPhaseTimings.responseSpec(responseSpec);
+    }
 
-        String finalUri = builder.build(false).toUriString();
-        Map<String, Object> uriParams = new HashMap<>();
-        uriParams.putAll(pathParams);
+    private WebClient.RequestBodySpec prepareRequest(String operation, String path, HttpMethod method, Map<String, Object> pathParams,
+        MultiValueMap<String, String> queryParams, @Nullable CollectionFormat collectionFormat, @Nullable String collectionName,
+        @Nullable Object collectionValue, Object body, @Nullable ParameterizedTypeReference<?> bodyType, HttpHeaders headerParams,
+        MultiValueMap<String, String> cookieParams, MultiValueMap<String, Object> formParams, MediaType[] accept,
+        MediaType contentType, String[] authNames) {
+        if (authNames.length != 0) {
+            // authentications need somewhere to put their parameters, even if the call itself has none
+            final int authParams = authParams(authNames);
+            if (queryParams == null && (authParams & QUERY_PARAMS) != 0) {
+                queryParams = new LinkedMultiValueMap<String, String>();
+            }
+            if (headerParams == null && (authParams & HEADER_PARAMS) != 0) {
+                headerParams = new HttpHeaders();
+            }
+            if (cookieParams == null && (authParams & COOKIE_PARAMS) != 0) {
+                cookieParams = new LinkedMultiValueMap<String, String>();
+            }
+            if (authParams != 0) {
+                updateParamsForAuth(authNames, queryParams, headerParams, cookieParams);
+            }
+        }
 
-        if (queryParams != null && !queryParams.isEmpty()) {
-            //Include queryParams in uriParams taking into account the paramName
-            String queryUri = generateQueryUri(queryParams, uriParams);
-            //Append to finalUri the templatized query string like "?param1={param1Value}&.......
-            finalUri += "?" + queryUri;
+        final StringBuilder uri = QueryStringEncoder.buffer();
+        getUriTemplate(path).expand(pathParams, uri);
+        uri.append('?');
+        final int queryStart = uri.length();
+        if (collectionName != null) {
+            appendQueryParameter(uri, queryStart, collectionFormat, collectionName, collectionValue);
+        }
+        if (queryParams != null) {
+            QueryStringEncoder.appendQueryParams(uri, queryStart, queryParams);
+        }
+        if (uri.length() == queryStart) {
+            uri.setLength(queryStart - 1);
         }
 
-        final WebClient.RequestBodySpec requestBuilder = webClient.method(method).uri(finalUri, uriParams);
+        final WebClient.RequestBodySpec requestBuilder = webClient.method(method).uri(URI.create(uri.toString()));
 
         if (accept != null) {
-            requestBuilder.accept(accept.toArray(new MediaType[accept.size()]));
+            requestBuilder.accept(accept);
         }
         if(contentType != null) {
             requestBuilder.contentType(contentType);
         }
 
-        addHeadersToRequest(headerParams, requestBuilder);
+        if (headerParams != null) {
+            addHeadersToRequest(headerParams, requestBuilder);
+        }
         addHeadersToRequest(defaultHeaders, requestBuilder);
-        addCookiesToRequest(cookieParams, requestBuilder);
+        if (cookieParams != null) {
+            addCookiesToRequest(cookieParams, requestBuilder);
+        }
         addCookiesToRequest(defaultCookies, requestBuilder);
 
         requestBuilder.attribute(URI_TEMPLATE_ATTRIBUTE, path);
+        requestBuilder.attribute(PATH_TEMPLATE_ATTRIBUTE, path);
 
-        requestBuilder.body(selectBody(body, formParams, contentType));
+        requestBuilder.body(selectBody(operation, body, bodyType, formParams, contentType));
         return requestBuilder;
     }
 
+    /**
+     * Get the parsed URI template for the given path, compiling and caching it on first use.
+     * The cache is keyed by the path template and only holds templates compiled against the current base path.
+     * @param path The path template of the operation
+     * @return CompiledUriTemplate the parsed template
+     */
+    private CompiledUriTemplate getUriTemplate(String path) {
+        final String currentBasePath = basePath;
+        CompiledUriTemplate uriTemplate = uriTemplateCache.get(path);
+        if (uriTemplate == null || !uriTemplate.isCompiledFor(currentBasePath)) {
+            uriTemplate = CompiledUriTemplate.compile(currentBasePath, path);
+            uriTemplateCache.put(path, uriTemplate);
+        }
+        return uriTemplate;
+    }
+
+    /**
+     * Add the client's own exchange filter to the given WebClient, which applies the exchange settings of this
+     * client (e.g. response compression) to every request.
+     * @param webClient The WebClient
+     * @return WebClient the WebClient with the filter
+     */
+    private WebClient withExchangeFilter(WebClient webClient) {
+        return webClient.mutate().filter(this::filterExchange).build();
+    }
+
+    private Mono<ClientResponse> filterExchange(ClientRequest request, ExchangeFunction next) {
+        // from the innermost filter, right before the request is sent, to the outermost one
+        final TimeoutPolicy currentTimeoutPolicy = timeoutPolicy;
+        ExchangeFunction exchange = next;
+        exchange = withFilter(exchange, responseCompression);
+        exchange = withFilter(exchange, phaseTimings);
+        exchange = withFilter(exchange, currentTimeoutPolicy == null ? null : currentTimeoutPolicy::filterRequest);
+        exchange = withFilter(exchange, metrics);
+        exchange = withFilter(exchange, concurrencyLimiter);
+        exchange = withFilter(exchange, circuitBreaker);
+        exchange = withFilter(exchange, hedgingPolicy);
+        exchange = withFilter(exchange, retryPolicy);
+        exchange = withFilter(exchange, requestCoalescing);
+        exchange = withFilter(exchange, conditionalRequests);
+        exchange = withFilter(exchange, currentTimeoutPolicy == null ? null : currentTimeoutPolicy::filterCall);
+        exchange = withFilter(exchange, latencyRecorder);
+        return exchange.exchange(request);
+    }
+
+    private static ExchangeFunction withFilter(ExchangeFunction exchange, @Nullable ExchangeFilterFunction filter) {
+        return filter == null ? exchange : exchange.filter(filter);
+    }
+
+    /**
+     * Get the name of the operation a request was made for, e.g. {@code GET /pet/{petId}}, under which per-operation
+     * settings and statistics are kept.
+     * @param request The request
+     * @return String the operation name
+     */
+    static String operationName(ClientRequest request) {
+        return request.method().name() + " " + uriTemplate(request);
+    }
+
+    /**
+     * Get the path template of the operation of a request, e.g. {@code /pet/{petId}}, or the path of a request
+     * that was not built by this client.
+     * @param request The request
+     * @return String the path template
+     */
+    static String uriTemplate(ClientRequest request) {
+        return String.valueOf(request.attribute(URI_TEMPLATE_ATTRIBUTE).orElseGet(() -> request.url().getRawPath()));
+    }
+
+    /**
+     * Get the path template of the operation of a request, e.g. {@code /pet/{petId}}, or the given default for a
+     * request that was not built by this client, even if WebClient knows its URI template.
+     * @param request The request
+     * @param defaultTemplate The template of requests without one
+     * @return String the path template
+     */
+    static String uriTemplate(ClientRequest request, String defaultTemplate) {
+        return String.valueOf(request.attribute(PATH_TEMPLATE_ATTRIBUTE).orElse(defaultTemplate));
+    }
+
     /**
      * Add headers to the request that is being built
      * @param headers The headers to add
@@ -706,6 +1533,40 @@ public class ApiClient extends JavaTimeFormatter {
         }
     }
 
+    /**
+     * Get the kinds of parameters the given authentications currently add to a request, so that the parameter maps
+     * are only allocated when they are written to.
+     * @param authNames The authentications to apply
+     * @return int the {@code QUERY_PARAMS}, {@code HEADER_PARAMS} and {@code COOKIE_PARAMS} flags
+     */
+    private int authParams(String[] authNames) {
+        int params = 0;
+        for (String authName : authNames) {
+            Authentication auth = authentications.get(authName);
+            if (auth == null) {
+                throw new RestClientException("Authentication undefined: " + authName);
+            }
+            if (auth instanceof ApiKeyAuth) {
+                final ApiKeyAuth apiKeyAuth = (ApiKeyAuth) auth;
+                if (apiKeyAuth.getApiKey() != null) {
+                    params |= "query".equals(apiKeyAuth.getLocation()) ? QUERY_PARAMS
+                            : "header".equals(apiKeyAuth.getLocation()) ? HEADER_PARAMS
+                            : "cookie".equals(apiKeyAuth.getLocation()) ? COOKIE_PARAMS : 0;
+                }
+            } else if (auth instanceof OAuth) {
+                params |= ((OAuth) auth).getAccessToken() != null ? HEADER_PARAMS : 0;
+            } else if (auth instanceof HttpBearerAuth) {
+                params |= ((HttpBearerAuth) auth).getBearerToken() != null ? HEADER_PARAMS : 0;
+            } else if (auth instanceof HttpBasicAuth) {
+                final HttpBasicAuth basicAuth = (HttpBasicAuth) auth;
+                params |= basicAuth.getUsername() != null || basicAuth.getPassword() != null ? HEADER_PARAMS : 0;
+            } else {
+                params |= QUERY_PARAMS | HEADER_PARAMS | COOKIE_PARAMS;
+            }
+        }
+        return params;
+    }
+
     /**
      * Update query and header parameters based on authentication settings.
      *
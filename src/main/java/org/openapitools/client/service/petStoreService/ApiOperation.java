@@ -0,0 +1,129 @@
+package org.openapitools.client.service.petStoreService;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+
+/**
+ * Immutable description of an API operation, i.e. everything about its requests that does not vary between calls.
+ * <p>
+ * Instances are created once per endpoint and shared, so that invoking the operation through
+ * {@link ApiClient#invokeAPI(ApiOperation, java.util.Map, org.springframework.util.MultiValueMap, Object,
+ * org.springframework.http.HttpHeaders, org.springframework.util.MultiValueMap, org.springframework.util.MultiValueMap)}
+ * only has to supply the parameters of the call. The Accept and Content-Type headers are negotiated once, when the
+ * operation is created.
+ *
+ * @param <T> the type the response body is deserialized into
+ */
+public final class ApiOperation<T> {
+    private static final String[] NONE = new String[0];
+
+    final String path;
+    final HttpMethod method;
+    final String[] accepts;
+    final String[] contentTypes;
+    final String[] authNames;
+    /** The negotiated Accept header, or null if the operation produces nothing. */
+    final MediaType[] acceptMediaTypes;
+    /** The negotiated Content-Type header, or null if the operation consumes nothing. */
+    final MediaType contentType;
+    /** The operation's key for per-operation settings, e.g. {@code GET /pet/{petId}}. */
+    final String key;
+    private final ParameterizedTypeReference<T> returnType;
+    private final ParameterizedTypeReference<?> bodyType;
+
+    /**
+     * @param path The path template of the operation, e.g. {@code /pet/{petId}}
+     * @param method The request method
+     * @param accepts The media types the operation can produce
+     * @param contentTypes The media types the operation can consume
+     * @param authNames The authentications to apply
+     * @param returnType The return type into which to deserialize the response
+     */
+    public ApiOperation(String path, HttpMethod method, String[] accepts, String[] contentTypes, String[] authNames, ParameterizedTypeReference<T> returnType) {
+        this(path, method, accepts, contentTypes, authNames, returnType, null);
+    }
+
+    /**
+     * @param path The path template of the operation, e.g. {@code /pet/{petId}}
+     * @param method The request method
+     * @param accepts The media types the operation can produce
+     * @param contentTypes The media types the operation can consume
+     * @param authNames The authentications to apply
+     * @param returnType The return type into which to deserialize the response
+     * @param bodyType The declared type of the request body, or null if the operation has none
+     */
+    public ApiOperation(String path, HttpMethod method, String[] accepts, String[] contentTypes, String[] authNames, ParameterizedTypeReference<T> returnType, ParameterizedTypeReference<?> bodyType) {
+        this.path = path;
+        this.method = method;
+        this.accepts = accepts == null ? NONE : accepts.clone();
+        this.contentTypes = contentTypes == null ? NONE : contentTypes.clone();
+        this.authNames = authNames == null ? NONE : authNames.clone();
+        this.acceptMediaTypes = this.accepts.length == 0 ? null : ApiClient.negotiateHeaderAccept(this.accepts).toArray(new MediaType[0]);
+        this.contentType = this.contentTypes.length == 0 ? null : ApiClient.negotiateHeaderContentType(this.contentTypes);
+        this.key = method + " " + path;
+        this.returnType = returnType;
+        this.bodyType = bodyType;
+    }
+
+    /**
+     * Get the path template, which is also used as the operation's key for per-operation settings.
+     * @return String the path template
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Get the request method.
+     * @return HttpMethod the request method
+     */
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    /**
+     * Get the media types the operation can produce.
+     * @return String[] a copy of the media types
+     */
+    public String[] getAccepts() {
+        return accepts.clone();
+    }
+
+    /**
+     * Get the media types the operation can consume.
+     * @return String[] a copy of the media types
+     */
+    public String[] getContentTypes() {
+        return contentTypes.clone();
+    }
+
+    /**
+     * Get the names of the authentications applied to the operation.
+     * @return String[] a copy of the authentication names
+     */
+    public String[] getAuthNames() {
+        return authNames.clone();
+    }
+
+    /**
+     * Get the type the response body is deserialized into.
+     * @return ParameterizedTypeReference the return type
+     */
+    public ParameterizedTypeReference<T> getReturnType() {
+        return returnType;
+    }
+
+    /**
+     * Get the declared type of the request body, which the body is encoded as.
+     * @return ParameterizedTypeReference the body type, or null if the operation has no body
+     */
+    public ParameterizedTypeReference<?> getBodyType() {
+        return bodyType;
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+}
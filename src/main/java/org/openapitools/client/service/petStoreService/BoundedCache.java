@@ -0,0 +1,255 @@
+package org.openapitools.client.service.petStoreService;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * A concurrent cache bounded by size and time-to-live, with W-TinyLFU-style admission.
+ * <p>
+ * New entries enter a small LRU window. An entry pushed out of the window is only admitted to the main LRU region
+ * if it has been accessed more often than the main region's eviction victim, going by a {@link FrequencySketch};
+ * otherwise the newcomer is evicted instead. This keeps one-off lookups from flushing out popular entries.
+ * <p>
+ * Lookups never block: the access is recorded in the sketch and the entry moved in its LRU order only if the policy
+ * lock is free at that moment, which trades a little accuracy for uncontended reads.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+final class BoundedCache<K, V> {
+    private static final class Node<K, V> {
+        final K key;
+        final V value;
+        final long expiresAt;
+        Node<K, V> previous;
+        Node<K, V> next;
+        boolean inWindow;
+        boolean linked;
+
+        Node(K key, V value, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /** Doubly linked LRU list, least recently used first. */
+    private static final class AccessOrder<K, V> {
+        Node<K, V> head;
+        Node<K, V> tail;
+        long size;
+
+        void add(Node<K, V> node) {
+            node.previous = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            size++;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.previous == null) {
+                head = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+            size--;
+        }
+
+        void moveToTail(Node<K, V> node) {
+            if (node != tail) {
+                remove(node);
+                add(node);
+            }
+        }
+    }
+
+    private final ConcurrentMap<K, Node<K, V>> data = new ConcurrentHashMap<K, Node<K, V>>();
+    private final ReentrantLock policyLock = new ReentrantLock();
+    private final AccessOrder<K, V> window = new AccessOrder<K, V>();
+    private final AccessOrder<K, V> main = new AccessOrder<K, V>();
+    private final FrequencySketch sketch;
+    private final long maximumWindowSize;
+    private final long maximumMainSize;
+    private final long timeToLiveNanos;
+
+    final LongAdder hits = new LongAdder();
+    final LongAdder misses = new LongAdder();
+    final LongAdder evictions = new LongAdder();
+    final LongAdder expirations = new LongAdder();
+
+    /**
+     * @param maximumSize the maximum number of entries
+     * @param timeToLiveNanos how long an entry stays valid after it was put
+     */
+    BoundedCache(long maximumSize, long timeToLiveNanos) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+        }
+        this.maximumWindowSize = Math.max(1, maximumSize / 100);
+        this.maximumMainSize = maximumSize - maximumWindowSize;
+        this.timeToLiveNanos = timeToLiveNanos;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    /**
+     * Get the value of the key.
+     * @param key the key
+     * @return V the value, or null if the key has no valid entry
+     */
+    V get(K key) {
+        final Node<K, V> node = data.get(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        if (System.nanoTime() - node.expiresAt >= 0) {
+            misses.increment();
+            policyLock.lock();
+            try {
+                if (data.remove(key, node)) {
+                    unlink(node);
+                    expirations.increment();
+                }
+            } finally {
+                policyLock.unlock();
+            }
+            return null;
+        }
+        hits.increment();
+        if (policyLock.tryLock()) {
+            try {
+                sketch.increment(key.hashCode());
+                if (node.linked) {
+                    (node.inWindow ? window : main).moveToTail(node);
+                }
+            } finally {
+                policyLock.unlock();
+            }
+        }
+        return node.value;
+    }
+
+    /**
+     * Put the value of the key, replacing any previous one.
+     * @param key the key
+     * @param value the value
+     */
+    void put(K key, V value) {
+        final Node<K, V> node = new Node<K, V>(key, value, System.nanoTime() + timeToLiveNanos);
+        policyLock.lock();
+        try {
+            final Node<K, V> previous = data.put(key, node);
+            if (previous != null) {
+                unlink(previous);
+            }
+            sketch.increment(key.hashCode());
+            node.inWindow = true;
+            node.linked = true;
+            window.add(node);
+            evictIfNeeded();
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * Remove the entry of the key.
+     * @param key the key
+     */
+    void invalidate(K key) {
+        policyLock.lock();
+        try {
+            final Node<K, V> node = data.remove(key);
+            if (node != null) {
+                unlink(node);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * Remove the entries of the keys matching the filter.
+     * @param filter the filter of the keys
+     */
+    void invalidateIf(Predicate<? super K> filter) {
+        policyLock.lock();
+        try {
+            for (Iterator<Node<K, V>> nodes = data.values().iterator(); nodes.hasNext();) {
+                final Node<K, V> node = nodes.next();
+                if (filter.test(node.key)) {
+                    nodes.remove();
+                    unlink(node);
+                }
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * Remove all entries.
+     */
+    void invalidateAll() {
+        policyLock.lock();
+        try {
+            for (Node<K, V> node : data.values()) {
+                unlink(node);
+            }
+            data.clear();
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    long size() {
+        return data.size();
+    }
+
+    private void evictIfNeeded() {
+        while (window.size > maximumWindowSize) {
+            final Node<K, V> candidate = window.head;
+            window.remove(candidate);
+            candidate.inWindow = false;
+            main.add(candidate);
+            if (main.size > maximumMainSize) {
+                final Node<K, V> victim = main.head;
+                if (victim != candidate && sketch.frequency(candidate.key.hashCode()) > sketch.frequency(victim.key.hashCode())) {
+                    evict(victim);
+                } else {
+                    evict(candidate);
+                }
+            }
+        }
+    }
+
+    private void evict(Node<K, V> node) {
+        unlink(node);
+        if (data.remove(node.key, node)) {
+            evictions.increment();
+        }
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (node.linked) {
+            (node.inWindow ? window : main).remove(node);
+            node.linked = false;
+        }
+    }
+}
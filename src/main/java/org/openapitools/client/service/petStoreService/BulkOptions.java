@@ -0,0 +1,127 @@
+package org.openapitools.client.service.petStoreService;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Settings of a bulk fetch, which fetches one entity per key with a bounded number of requests in flight.
+ * <p>
+ * Keys are requested from their source only as fast as results are consumed, so a slow consumer holds back both the
+ * requests and the source. Each key's fetch succeeds or fails on its own: a failure, e.g. a missing entity, is
+ * emitted as a {@link BulkResult} carrying the error instead of terminating the results.
+ */
+public class BulkOptions {
+    public static final int DEFAULT_CONCURRENCY = 16;
+
+    private int concurrency = DEFAULT_CONCURRENCY;
+    private boolean ordered = true;
+    private int prefetch;
+    private Duration expectedInterval;
+
+    /**
+     * Set the maximum number of requests in flight, which should not exceed the connection pool's maximum number
+     * of connections (over HTTP/1.1) or the maximum number of concurrent streams (over HTTP/2).
+     * @param concurrency The maximum number of requests in flight
+     * @return BulkOptions
+     */
+    public BulkOptions concurrency(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be positive: " + concurrency);
+        }
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * Emit results in the order of their keys, holding back results that arrive early. This is the default.
+     * @return BulkOptions
+     */
+    public BulkOptions ordered() {
+        this.ordered = true;
+        return this;
+    }
+
+    /**
+     * Emit results as soon as they arrive.
+     * @return BulkOptions
+     */
+    public BulkOptions unordered() {
+        this.ordered = false;
+        return this;
+    }
+
+    /**
+     * Set the number of keys requested from their source at a time. By default keys are requested one by one as
+     * requests complete; a larger batch suits sources that are expensive to request from, such as a database cursor.
+     * @param prefetch The number of keys requested at a time, or 0 to request them one by one
+     * @return BulkOptions
+     */
+    public BulkOptions prefetch(int prefetch) {
+        if (prefetch < 0) {
+            throw new IllegalArgumentException("Prefetch must not be negative: " + prefetch);
+        }
+        this.prefetch = prefetch;
+        return this;
+    }
+
+    /**
+     * Set the time each of the requests in flight is expected to take, with which a {@link LatencyRecorder}
+     * corrects the latencies of the fetch for coordinated omission: a request taking several times as long held
+     * back as many requests, which are recorded with the latencies they would have had. By default the mean
+     * latency of the operation is expected.
+     * @param expectedInterval The expected latency, or null for the mean latency of the operation
+     * @return BulkOptions
+     */
+    public BulkOptions expectedInterval(Duration expectedInterval) {
+        if (expectedInterval != null && (expectedInterval.isNegative() || expectedInterval.isZero())) {
+            throw new IllegalArgumentException("Expected interval must be positive: " + expectedInterval);
+        }
+        this.expectedInterval = expectedInterval;
+        return this;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    public int getPrefetch() {
+        return prefetch;
+    }
+
+    public Duration getExpectedInterval() {
+        return expectedInterval;
+    }
+
+    /**
+     * Fetch the entity of every key.
+     * @param <K> the key type
+     * @param <T> the entity type
+     * @param keys The keys
+     * @param fetcher The fetch of one key's entity
+     * @return Flux the results, one per key
+     */
+    public <K, T> Flux<BulkResult<K, T>> fetch(Publisher<K> keys, Function<? super K, ? extends Mono<T>> fetcher) {
+        Flux<K> source = Flux.from(keys);
+        if (prefetch > 0) {
+            source = source.limitRate(prefetch);
+        }
+        final Context context = Context.of(LatencyRecorder.EXPECTED_INTERVAL_CONTEXT_KEY, expectedInterval == null ? 0L : expectedInterval.toNanos());
+        final Function<K, Mono<BulkResult<K, T>>> fetch = key -> Mono.defer(() -> fetcher.apply(key))
+                .contextWrite(context)
+                .map(value -> BulkResult.<K, T>success(key, value))
+                .defaultIfEmpty(BulkResult.<K, T>success(key, null))
+                .onErrorResume(error -> Mono.just(BulkResult.<K, T>failure(key, error)));
+        // each fetch emits exactly one result, so one result per fetch in flight is all that is ever buffered
+        return ordered ? source.flatMapSequential(fetch, concurrency, 1) : source.flatMap(fetch, concurrency, 1);
+    }
+}
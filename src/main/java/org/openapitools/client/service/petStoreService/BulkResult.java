@@ -0,0 +1,72 @@
+package org.openapitools.client.service.petStoreService;
+
+/**
+ * The outcome of fetching one key of a bulk fetch: either the fetched entity or the error fetching it failed with.
+ *
+ * @param <K> the key type
+ * @param <T> the entity type
+ */
+public final class BulkResult<K, T> {
+    private final K key;
+    private final T value;
+    private final Throwable error;
+
+    private BulkResult(K key, T value, Throwable error) {
+        this.key = key;
+        this.value = value;
+        this.error = error;
+    }
+
+    /**
+     * Create the result of a successful fetch.
+     * @param <K> the key type
+     * @param <T> the entity type
+     * @param key The key
+     * @param value The entity, or null if the response had no body
+     * @return BulkResult
+     */
+    public static <K, T> BulkResult<K, T> success(K key, T value) {
+        return new BulkResult<K, T>(key, value, null);
+    }
+
+    /**
+     * Create the result of a failed fetch.
+     * @param <K> the key type
+     * @param <T> the entity type
+     * @param key The key
+     * @param error The error, e.g. a {@code WebClientResponseException.NotFound} for a missing entity
+     * @return BulkResult
+     */
+    public static <K, T> BulkResult<K, T> failure(K key, Throwable error) {
+        return new BulkResult<K, T>(key, null, error);
+    }
+
+    public K getKey() {
+        return key;
+    }
+
+    /**
+     * Get the fetched entity.
+     * @return T the entity, or null if the fetch failed
+     */
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * Get the error the fetch failed with.
+     * @return Throwable the error, or null if the fetch succeeded
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess() ? "BulkResult{key=" + key + ", value=" + value + "}" : "BulkResult{key=" + key + ", error=" + error + "}";
+    }
+}
@@ -0,0 +1,61 @@
+package org.openapitools.client.service.petStoreService;
+
+import java.util.Locale;
+
+/**
+ * How long each phase of a call took, as reported to the observers of {@link PhaseTimings}.
+ * <p>
+ * A phase that was not measured or did not happen is -1: e.g. the connection phases without the hooks of
+ * {@link PhaseTimings#applyTo(reactor.netty.http.client.HttpClient)}, the TLS handshake of a plain http connection,
+ * or the body phases of a call that failed before its response arrived. The connection phases of a request sent
+ * over a pooled connection are 0.
+ */
+public final class CallPhases {
+    private final String operation;
+    private final long[] nanos;
+    private final long totalNanos;
+
+    CallPhases(String operation, long[] nanos, long totalNanos) {
+        this.operation = operation;
+        this.nanos = nanos;
+        this.totalNanos = totalNanos;
+    }
+
+    /**
+     * Get the operation called.
+     * @return String the operation, e.g. {@code GET /pet/findByStatus}
+     */
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * Get the duration of a phase.
+     * @param phase The phase
+     * @return long the duration in nanoseconds, or -1 if it was not measured
+     */
+    public long getNanos(PhaseTimings.Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    /**
+     * Get the duration of the call, from its subscription until its body was decoded or it failed. It includes
+     * the time spent outside of the phases, e.g. waiting for a concurrency limit or between retries.
+     * @return long the duration in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder(operation).append(':');
+        for (PhaseTimings.Phase phase : PhaseTimings.Phase.values()) {
+            final long phaseNanos = nanos[phase.ordinal()];
+            if (phaseNanos >= 0) {
+                sb.append(String.format(Locale.ROOT, " %s=%.3fms", phase.name().toLowerCase(Locale.ROOT), phaseNanos / 1e6));
+            }
+        }
+        return sb.append(String.format(Locale.ROOT, " total=%.3fms", totalNanos / 1e6)).toString();
+    }
+}
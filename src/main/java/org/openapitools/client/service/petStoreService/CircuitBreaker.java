@@ -0,0 +1,332 @@
+package org.openapitools.client.service.petStoreService;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Stops sending requests of an operation that keeps failing or responding slowly, enabled per operation.
+ * <p>
+ * While closed, the breaker records the outcome of every call in a sliding window and opens once the rate of failed
+ * or of slow calls reaches its threshold, see {@link CircuitBreakerConfig}. While open, requests fail right away
+ * with a {@link CircuitBreakerOpenException}. After the open duration the breaker is half open and lets a few probe
+ * calls through: if their rates stay below the thresholds the breaker closes, otherwise it opens again.
+ * <p>
+ * Calls and state changes are recorded with atomic operations only; the outcome of a call that completes after the
+ * state it was let through in has changed is not recorded.
+ */
+public class CircuitBreaker implements ExchangeFilterFunction {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * The state and rates of one operation.
+     */
+    public static class Statistics {
+        private final Breaker breaker;
+
+        Statistics(Breaker breaker) {
+            this.breaker = breaker;
+        }
+
+        public State getState() {
+            return breaker.current.get().state;
+        }
+
+        /**
+         * Get the rate of failed calls in the current window.
+         * @return double the failure rate, 0 if the window holds no calls
+         */
+        public double getFailureRate() {
+            return breaker.current.get().window.failureRate();
+        }
+
+        /**
+         * Get the rate of slow calls in the current window.
+         * @return double the slow call rate, 0 if the window holds no calls
+         */
+        public double getSlowCallRate() {
+            return breaker.current.get().window.slowCallRate();
+        }
+
+        /**
+         * Get the number of requests failed right away because the breaker was open.
+         * @return long the number of calls not permitted
+         */
+        public long getNotPermittedCalls() {
+            return breaker.notPermitted.sum();
+        }
+
+        /**
+         * Get the number of times the breaker opened.
+         * @return long the number of times
+         */
+        public long getOpened() {
+            return breaker.opened.sum();
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics{state=" + getState() + ", failureRate=" + getFailureRate() + ", slowCallRate="
+                    + getSlowCallRate() + ", notPermittedCalls=" + getNotPermittedCalls() + ", opened=" + getOpened() + "}";
+        }
+    }
+
+    private static final int RECORDED = 1;
+    private static final int FAILED = 2;
+    private static final int SLOW = 4;
+
+    /**
+     * The outcomes of the most recent calls, in a ring.
+     */
+    private static final class Window {
+        private final AtomicIntegerArray outcomes;
+        private final AtomicLong next = new AtomicLong();
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger failedCalls = new AtomicInteger();
+        final AtomicInteger slowCalls = new AtomicInteger();
+
+        Window(int size) {
+            this.outcomes = new AtomicIntegerArray(size);
+        }
+
+        void record(int outcome) {
+            final int index = (int) (next.getAndIncrement() % outcomes.length());
+            final int replaced = outcomes.getAndSet(index, outcome);
+            count(replaced, -1);
+            count(outcome, 1);
+        }
+
+        private void count(int outcome, int delta) {
+            if ((outcome & RECORDED) != 0) {
+                calls.addAndGet(delta);
+            }
+            if ((outcome & FAILED) != 0) {
+                failedCalls.addAndGet(delta);
+            }
+            if ((outcome & SLOW) != 0) {
+                slowCalls.addAndGet(delta);
+            }
+        }
+
+        double failureRate() {
+            final int recorded = calls.get();
+            return recorded == 0 ? 0 : (double) failedCalls.get() / recorded;
+        }
+
+        double slowCallRate() {
+            final int recorded = calls.get();
+            return recorded == 0 ? 0 : (double) slowCalls.get() / recorded;
+        }
+    }
+
+    /**
+     * One state of a breaker; every change of state replaces it.
+     */
+    private static final class Phase {
+        final State state;
+        final long sinceNanos;
+        final Window window;
+        final AtomicInteger probes;
+
+        Phase(State state, long sinceNanos, Window window, int probes) {
+            this.state = state;
+            this.sinceNanos = sinceNanos;
+            this.window = window;
+            this.probes = new AtomicInteger(probes);
+        }
+    }
+
+    /**
+     * The breaker of one operation.
+     */
+    private static final class Breaker {
+        final String operation;
+        final CircuitBreakerConfig config;
+        final long slowCallNanos;
+        final long openNanos;
+        final AtomicReference<Phase> current;
+        final LongAdder notPermitted = new LongAdder();
+        final LongAdder opened = new LongAdder();
+
+        Breaker(String operation, CircuitBreakerConfig config) {
+            this.operation = operation;
+            this.config = config;
+            this.slowCallNanos = config.getSlowCallDuration().toNanos();
+            this.openNanos = config.getOpenDuration().toNanos();
+            this.current = new AtomicReference<Phase>(closed());
+        }
+
+        private Phase closed() {
+            return new Phase(State.CLOSED, System.nanoTime(), new Window(config.getWindowSize()), 0);
+        }
+
+        /**
+         * Let a call through.
+         * @return Phase the phase the call was let through in, or null if the breaker is open
+         */
+        Phase acquire() {
+            for (;;) {
+                final Phase phase = current.get();
+                switch (phase.state) {
+                    case CLOSED:
+                        return phase;
+                    case OPEN:
+                        if (System.nanoTime() - phase.sinceNanos < openNanos) {
+                            return null;
+                        }
+                        current.compareAndSet(phase, new Phase(State.HALF_OPEN, System.nanoTime(), new Window(config.getHalfOpenCalls()), config.getHalfOpenCalls()));
+                        break;
+                    default:
+                        final int probes = phase.probes.get();
+                        if (probes <= 0) {
+                            return null;
+                        }
+                        if (phase.probes.compareAndSet(probes, probes - 1)) {
+                            return phase;
+                        }
+                }
+            }
+        }
+
+        void record(Phase phase, long elapsedNanos, boolean failed) {
+            if (current.get() != phase) {
+                return;
+            }
+            phase.window.record(RECORDED | (failed ? FAILED : 0) | (elapsedNanos > slowCallNanos ? SLOW : 0));
+            final int minimumCalls = phase.state == State.CLOSED ? config.getMinimumCalls() : config.getHalfOpenCalls();
+            if (phase.window.calls.get() < minimumCalls) {
+                return;
+            }
+            final boolean exceeded = phase.window.failureRate() >= config.getFailureRateThreshold()
+                    || phase.window.slowCallRate() >= config.getSlowCallRateThreshold();
+            if (exceeded) {
+                if (current.compareAndSet(phase, new Phase(State.OPEN, System.nanoTime(), phase.window, 0))) {
+                    opened.increment();
+                }
+            } else if (phase.state == State.HALF_OPEN) {
+                current.compareAndSet(phase, closed());
+            }
+        }
+
+        /**
+         * Give back the permission of a call whose outcome is not recorded.
+         */
+        void release(Phase phase) {
+            if (phase.state == State.HALF_OPEN) {
+                phase.probes.incrementAndGet();
+            }
+        }
+    }
+
+    private final ConcurrentMap<String, Breaker> breakers = new ConcurrentHashMap<String, Breaker>();
+
+    /**
+     * Guard the given operation with a breaker of the default settings.
+     * @param operation The operation, e.g. {@code GET /store/order/{orderId}}
+     * @return CircuitBreaker
+     */
+    public CircuitBreaker operation(String operation) {
+        return operation(operation, new CircuitBreakerConfig());
+    }
+
+    /**
+     * Guard the given operation with a breaker.
+     * @param operation The operation, e.g. {@code GET /store/order/{orderId}}
+     * @param config The settings of the breaker
+     * @return CircuitBreaker
+     */
+    public CircuitBreaker operation(String operation, CircuitBreakerConfig config) {
+        breakers.put(operation, new Breaker(operation, config));
+        return this;
+    }
+
+    /**
+     * Get the state of the breaker of an operation.
+     * @param operation The operation
+     * @return State the state, or null if the operation has no breaker
+     */
+    public State getState(String operation) {
+        final Breaker breaker = breakers.get(operation);
+        return breaker == null ? null : breaker.current.get().state;
+    }
+
+    /**
+     * Get the statistics of an operation.
+     * @param operation The operation, e.g. {@code GET /store/order/{orderId}}
+     * @return Statistics the statistics, or null if the operation has no breaker
+     */
+    public Statistics getStatistics(String operation) {
+        final Breaker breaker = breakers.get(operation);
+        return breaker == null ? null : new Statistics(breaker);
+    }
+
+    /**
+     * Get the statistics of all operations with a breaker.
+     * @return Map the statistics by operation
+     */
+    public Map<String, Statistics> getStatistics() {
+        final Map<String, Statistics> statistics = new HashMap<String, Statistics>();
+        for (Map.Entry<String, Breaker> entry : breakers.entrySet()) {
+            statistics.put(entry.getKey(), new Statistics(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        final Breaker breaker = breakers.get(ApiClient.operationName(request));
+        if (breaker == null) {
+            return next.exchange(request);
+        }
+        return Mono.defer(() -> {
+            final Phase phase = breaker.acquire();
+            if (phase == null) {
+                breaker.notPermitted.increment();
+                return Mono.error(new CircuitBreakerOpenException(breaker.operation));
+            }
+            final long startNanos = System.nanoTime();
+            final AtomicBoolean done = new AtomicBoolean();
+            return next.exchange(request)
+                    .doOnSuccess(response -> {
+                        if (done.compareAndSet(false, true)) {
+                            breaker.record(phase, System.nanoTime() - startNanos, response != null && response.rawStatusCode() >= 500);
+                        }
+                    })
+                    .doOnError(error -> {
+                        if (done.compareAndSet(false, true)) {
+                            if (error instanceof ConcurrencyLimitExceededException) {
+                                // the request was not sent, so it tells nothing about the backend
+                                breaker.release(phase);
+                            } else {
+                                breaker.record(phase, System.nanoTime() - startNanos, true);
+                            }
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (done.compareAndSet(false, true)) {
+                            breaker.release(phase);
+                        }
+                    });
+        });
+    }
+}
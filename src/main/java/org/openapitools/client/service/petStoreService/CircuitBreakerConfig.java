@@ -0,0 +1,142 @@
+package org.openapitools.client.service.petStoreService;
+
+import java.time.Duration;
+
+/**
+ * Settings of the circuit breaker of an operation.
+ * <p>
+ * The breaker opens once, over the last {@link #windowSize(int) window} of calls, the rate of failed calls or the rate
+ * of slow calls reaches its threshold. Failed calls are calls that got no response or a {@code 5xx} response.
+ */
+public class CircuitBreakerConfig {
+    public static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.5;
+    public static final double DEFAULT_SLOW_CALL_RATE_THRESHOLD = 1.0;
+    public static final Duration DEFAULT_SLOW_CALL_DURATION = Duration.ofSeconds(5);
+    public static final int DEFAULT_WINDOW_SIZE = 100;
+    public static final int DEFAULT_MINIMUM_CALLS = 20;
+    public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+    public static final int DEFAULT_HALF_OPEN_CALLS = 5;
+
+    private double failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+    private double slowCallRateThreshold = DEFAULT_SLOW_CALL_RATE_THRESHOLD;
+    private Duration slowCallDuration = DEFAULT_SLOW_CALL_DURATION;
+    private int windowSize = DEFAULT_WINDOW_SIZE;
+    private int minimumCalls = DEFAULT_MINIMUM_CALLS;
+    private Duration openDuration = DEFAULT_OPEN_DURATION;
+    private int halfOpenCalls = DEFAULT_HALF_OPEN_CALLS;
+
+    /**
+     * Set the rate of failed calls at which the breaker opens.
+     * @param failureRateThreshold The rate, between 0 (exclusive) and 1
+     * @return CircuitBreakerConfig
+     */
+    public CircuitBreakerConfig failureRateThreshold(double failureRateThreshold) {
+        this.failureRateThreshold = checkRate(failureRateThreshold);
+        return this;
+    }
+
+    /**
+     * Set the rate of slow calls at which the breaker opens.
+     * @param slowCallRateThreshold The rate, between 0 (exclusive) and 1
+     * @return CircuitBreakerConfig
+     */
+    public CircuitBreakerConfig slowCallRateThreshold(double slowCallRateThreshold) {
+        this.slowCallRateThreshold = checkRate(slowCallRateThreshold);
+        return this;
+    }
+
+    /**
+     * Set how long a call may take until its response status is received before it counts as slow.
+     * @param slowCallDuration The duration
+     * @return CircuitBreakerConfig
+     */
+    public CircuitBreakerConfig slowCallDuration(Duration slowCallDuration) {
+        this.slowCallDuration = slowCallDuration;
+        return this;
+    }
+
+    /**
+     * Set the number of most recent calls the rates are computed over.
+     * @param windowSize The number of calls
+     * @return CircuitBreakerConfig
+     */
+    public CircuitBreakerConfig windowSize(int windowSize) {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+        }
+        this.windowSize = windowSize;
+        return this;
+    }
+
+    /**
+     * Set the number of calls the window must hold before the rates are compared to the thresholds.
+     * @param minimumCalls The number of calls
+     * @return CircuitBreakerConfig
+     */
+    public CircuitBreakerConfig minimumCalls(int minimumCalls) {
+        if (minimumCalls < 1) {
+            throw new IllegalArgumentException("Minimum calls must be positive: " + minimumCalls);
+        }
+        this.minimumCalls = minimumCalls;
+        return this;
+    }
+
+    /**
+     * Set how long the breaker stays open before it lets probe calls through.
+     * @param openDuration The duration
+     * @return CircuitBreakerConfig
+     */
+    public CircuitBreakerConfig openDuration(Duration openDuration) {
+        this.openDuration = openDuration;
+        return this;
+    }
+
+    /**
+     * Set the number of probe calls let through while half open, whose rates decide whether the breaker closes
+     * again or opens again.
+     * @param halfOpenCalls The number of probe calls
+     * @return CircuitBreakerConfig
+     */
+    public CircuitBreakerConfig halfOpenCalls(int halfOpenCalls) {
+        if (halfOpenCalls < 1) {
+            throw new IllegalArgumentException("Half open calls must be positive: " + halfOpenCalls);
+        }
+        this.halfOpenCalls = halfOpenCalls;
+        return this;
+    }
+
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public double getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public Duration getSlowCallDuration() {
+        return slowCallDuration;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    public Duration getOpenDuration() {
+        return openDuration;
+    }
+
+    public int getHalfOpenCalls() {
+        return halfOpenCalls;
+    }
+
+    private static double checkRate(double rate) {
+        if (rate <= 0 || rate > 1) {
+            throw new IllegalArgumentException("Rate must be between 0 (exclusive) and 1: " + rate);
+        }
+        return rate;
+    }
+}
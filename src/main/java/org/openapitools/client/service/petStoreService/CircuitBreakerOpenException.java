@@ -0,0 +1,21 @@
+package org.openapitools.client.service.petStoreService;
+
+import org.springframework.web.reactive.function.client.WebClientException;
+
+/**
+ * Thrown when a request is not sent because the circuit breaker of its operation is open.
+ */
+public class CircuitBreakerOpenException extends WebClientException {
+    private static final long serialVersionUID = 1L;
+
+    private final String operation;
+
+    public CircuitBreakerOpenException(String operation) {
+        super("Circuit breaker of " + operation + " is open");
+        this.operation = operation;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+}
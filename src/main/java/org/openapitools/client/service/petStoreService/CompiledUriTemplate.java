@@ -0,0 +1,85 @@
+package org.openapitools.client.service.petStoreService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * An operation's URI template, parsed once against a base path.
+ * <p>
+ * The base path and path template are run through {@link UriComponentsBuilder} a single time and split into
+ * encoded literal chunks and variable names, so expanding the template only has to encode and append the
+ * variable values.
+ */
+final class CompiledUriTemplate {
+    private final String basePath;
+    private final String[] literals;
+    private final String[] variableNames;
+
+    private CompiledUriTemplate(String basePath, String[] literals, String[] variableNames) {
+        this.basePath = basePath;
+        this.literals = literals;
+        this.variableNames = variableNames;
+    }
+
+    /**
+     * Parse the given path template against the base path.
+     * @param basePath the base path, which should include the host
+     * @param path the path template of the operation, e.g. {@code /pet/{petId}}
+     * @return CompiledUriTemplate the parsed template
+     */
+    static CompiledUriTemplate compile(String basePath, String path) {
+        final String encodedTemplate = UriComponentsBuilder.fromHttpUrl(basePath).path(path).encode().build().toUriString();
+
+        List<String> literals = new ArrayList<String>();
+        List<String> variableNames = new ArrayList<String>();
+        int literalStart = 0;
+        int index = encodedTemplate.indexOf('{');
+        while (index != -1) {
+            int end = encodedTemplate.indexOf('}', index);
+            if (end == -1) {
+                break;
+            }
+            literals.add(encodedTemplate.substring(literalStart, index));
+            String variable = encodedTemplate.substring(index + 1, end);
+            int colon = variable.indexOf(':');
+            variableNames.add(colon != -1 ? variable.substring(0, colon).trim() : variable.trim());
+            literalStart = end + 1;
+            index = encodedTemplate.indexOf('{', literalStart);
+        }
+        literals.add(encodedTemplate.substring(literalStart));
+
+        return new CompiledUriTemplate(basePath, literals.toArray(new String[0]), variableNames.toArray(new String[0]));
+    }
+
+    /**
+     * Check whether this template was compiled against the given base path.
+     * @param basePath the base path
+     * @return boolean true if the template can be used with the base path
+     */
+    boolean isCompiledFor(String basePath) {
+        return this.basePath.equals(basePath);
+    }
+
+    /**
+     * Expand the template with the given variables into the buffer, strictly encoding each value.
+     * @param uriVariables the path variables
+     * @param uri the buffer to append the expanded URI to
+     */
+    void expand(Map<String, ?> uriVariables, StringBuilder uri) {
+        uri.append(literals[0]);
+        for (int i = 0; i < variableNames.length; i++) {
+            String name = variableNames[i];
+            if (uriVariables == null || !uriVariables.containsKey(name)) {
+                throw new IllegalArgumentException("Map has no value for '" + name + "'");
+            }
+            Object value = uriVariables.get(name);
+            if (value != null) {
+                QueryStringEncoder.appendEncodedValue(uri, value.toString());
+            }
+            uri.append(literals[i + 1]);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.openapitools.client.service.petStoreService;
+
+import org.springframework.web.reactive.function.client.WebClientException;
+
+/**
+ * Thrown when a request is not sent because its operation is at its concurrency limit and no more requests may
+ * wait for it.
+ */
+public class ConcurrencyLimitExceededException extends WebClientException {
+    private static final long serialVersionUID = 1L;
+
+    private final String operation;
+    private final int limit;
+
+    public ConcurrencyLimitExceededException(String operation, int limit) {
+        super("Concurrency limit of " + limit + " reached for " + operation);
+        this.operation = operation;
+        this.limit = limit;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * Get the operation's concurrency limit at the time the request was rejected.
+     * @return int the limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+}
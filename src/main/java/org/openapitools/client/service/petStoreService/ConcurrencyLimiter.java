@@ -0,0 +1,382 @@
+package org.openapitools.client.service.petStoreService;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Limits the number of requests of an operation in flight, adapting the limit to the latency observed, enabled per
+ * operation.
+ * <p>
+ * The limit follows TCP Vegas: the lowest response time seen approximates the latency of an idle backend, and the
+ * ratio of it to each response time estimates how many requests are queueing at the backend. While few are, the
+ * limit grows by one; once too many are, it shrinks by one; and a failure that signals overload (a connection error,
+ * {@code 429} or {@code 503}) cuts it by a tenth. A request over the limit waits for a request in flight to complete,
+ * or is rejected with a {@link ConcurrencyLimitExceededException} if too many are waiting already or it waited
+ * longer than the maximum queue wait. Waiting requests are granted the limit in the order they arrived, and a new
+ * request does not overtake them.
+ * <p>
+ * A request counts as in flight until its response status is received; reading the body does not hold the limit.
+ */
+public class ConcurrencyLimiter implements ExchangeFilterFunction {
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+    public static final int DEFAULT_MAX_LIMIT = 200;
+    public static final int DEFAULT_MAX_QUEUED = 0;
+
+    private static final int MIN_LIMIT = 1;
+    /** Requests queueing at the backend below which the limit grows, and above which it shrinks. */
+    private static final int ALPHA = 3;
+    private static final int BETA = 6;
+    private static final double BACKOFF_RATIO = 0.9;
+    /** Samples, in multiples of the limit, after which the no-load latency is measured anew. */
+    private static final int PROBE_MULTIPLIER = 30;
+
+    /**
+     * The limit and counts of one operation.
+     */
+    public static class Statistics {
+        private final Limiter limiter;
+
+        Statistics(Limiter limiter) {
+            this.limiter = limiter;
+        }
+
+        /**
+         * Get the current concurrency limit.
+         * @return int the limit
+         */
+        public int getLimit() {
+            return limiter.limit;
+        }
+
+        /**
+         * Get the number of requests in flight.
+         * @return int the number of requests in flight
+         */
+        public int getInFlight() {
+            return limiter.inFlight.get();
+        }
+
+        /**
+         * Get the number of requests waiting for the limit.
+         * @return int the number of waiting requests
+         */
+        public int getQueued() {
+            return limiter.queued.get();
+        }
+
+        /**
+         * Get the number of requests rejected because too many were waiting, or because they waited too long.
+         * @return long the number of rejected requests
+         */
+        public long getRejected() {
+            return limiter.rejected.sum();
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics{limit=" + getLimit() + ", inFlight=" + getInFlight() + ", queued=" + getQueued()
+                    + ", rejected=" + getRejected() + "}";
+        }
+    }
+
+    /**
+     * The limit of one operation.
+     */
+    private static final class Limiter {
+        final String operation;
+        final int maxLimit;
+        final int maxQueued;
+        final Duration maxQueueWait;
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger queued = new AtomicInteger();
+        final LongAdder rejected = new LongAdder();
+        final Queue<Waiter> waiters = new ConcurrentLinkedQueue<Waiter>();
+        volatile int limit;
+        // guarded by this
+        private double estimatedLimit;
+        private long noLoadRttNanos;
+        private int samples;
+
+        Limiter(String operation, int initialLimit, int maxLimit, int maxQueued, Duration maxQueueWait) {
+            this.operation = operation;
+            this.maxLimit = maxLimit;
+            this.maxQueued = maxQueued;
+            this.maxQueueWait = maxQueueWait;
+            this.limit = initialLimit;
+            this.estimatedLimit = initialLimit;
+        }
+
+        Mono<Permit> acquire() {
+            // only if nobody waits, or the request would overtake them
+            if (waiters.isEmpty() && tryAcquire()) {
+                return Mono.just(new Permit(this));
+            }
+            final Mono<Permit> queuedPermit = Mono.create(sink -> {
+                if (queued.incrementAndGet() > maxQueued) {
+                    queued.decrementAndGet();
+                    rejected.increment();
+                    sink.error(new ConcurrencyLimitExceededException(operation, limit));
+                    return;
+                }
+                final Waiter waiter = new Waiter(this, sink);
+                sink.onCancel(waiter::cancel);
+                if (maxQueueWait != null) {
+                    final Disposable expiry = Schedulers.parallel().schedule(waiter::expire, maxQueueWait.toNanos(), TimeUnit.NANOSECONDS);
+                    sink.onDispose(expiry);
+                }
+                waiters.add(waiter);
+                // a request may have completed since tryAcquire
+                drain();
+            });
+            // a permit granted just as the request was cancelled never reaches it
+            return queuedPermit.doOnDiscard(Permit.class, Permit::cancel);
+        }
+
+        boolean tryAcquire() {
+            for (;;) {
+                final int current = inFlight.get();
+                if (current >= limit) {
+                    return false;
+                }
+                if (inFlight.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        void release() {
+            inFlight.decrementAndGet();
+            drain();
+        }
+
+        void drain() {
+            while (!waiters.isEmpty() && tryAcquire()) {
+                final Waiter waiter = waiters.poll();
+                if (waiter == null || !waiter.grant()) {
+                    inFlight.decrementAndGet();
+                }
+            }
+        }
+
+        /**
+         * Adapt the limit to a response. Requests waiting for a higher limit are granted it by the next
+         * {@link #release()}, outside of this lock.
+         */
+        synchronized void onSample(long rttNanos, int inFlightAtStart, boolean dropped) {
+            if (dropped) {
+                estimatedLimit = Math.max(MIN_LIMIT, estimatedLimit * BACKOFF_RATIO);
+            } else {
+                if (++samples >= PROBE_MULTIPLIER * limit) {
+                    // let the no-load latency rise again if the backend got slower for good
+                    samples = 0;
+                    noLoadRttNanos = 0;
+                }
+                if (noLoadRttNanos == 0 || rttNanos < noLoadRttNanos) {
+                    noLoadRttNanos = rttNanos;
+                }
+                final double queueing = estimatedLimit * (1 - (double) noLoadRttNanos / Math.max(rttNanos, 1));
+                if (queueing <= ALPHA) {
+                    // only a limit that is actually used tells whether a higher one would be
+                    if (inFlightAtStart * 2 >= limit) {
+                        estimatedLimit = Math.min(maxLimit, estimatedLimit + 1);
+                    }
+                } else if (queueing >= BETA) {
+                    estimatedLimit = Math.max(MIN_LIMIT, estimatedLimit - 1);
+                }
+            }
+            limit = (int) estimatedLimit;
+        }
+    }
+
+    /**
+     * A request waiting for the limit.
+     */
+    private static final class Waiter {
+        private final Limiter limiter;
+        private final MonoSink<Permit> sink;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        Waiter(Limiter limiter, MonoSink<Permit> sink) {
+            this.limiter = limiter;
+            this.sink = sink;
+        }
+
+        boolean grant() {
+            if (!done.compareAndSet(false, true)) {
+                return false;
+            }
+            limiter.queued.decrementAndGet();
+            sink.success(new Permit(limiter));
+            return true;
+        }
+
+        void cancel() {
+            if (done.compareAndSet(false, true)) {
+                limiter.queued.decrementAndGet();
+                limiter.waiters.remove(this);
+            }
+        }
+
+        void expire() {
+            if (done.compareAndSet(false, true)) {
+                limiter.queued.decrementAndGet();
+                limiter.waiters.remove(this);
+                limiter.rejected.increment();
+                sink.error(new ConcurrencyLimitExceededException(limiter.operation, limiter.limit));
+            }
+        }
+    }
+
+    /**
+     * The right of one request to be in flight, released once.
+     */
+    private static final class Permit {
+        private final Limiter limiter;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private final int inFlightAtStart;
+        private long startNanos;
+
+        Permit(Limiter limiter) {
+            this.limiter = limiter;
+            this.inFlightAtStart = limiter.inFlight.get();
+        }
+
+        void start() {
+            startNanos = System.nanoTime();
+        }
+
+        void release(boolean dropped) {
+            if (released.compareAndSet(false, true)) {
+                limiter.onSample(System.nanoTime() - startNanos, inFlightAtStart, dropped);
+                limiter.release();
+            }
+        }
+
+        void cancel() {
+            if (released.compareAndSet(false, true)) {
+                limiter.release();
+            }
+        }
+    }
+
+    private final ConcurrentMap<String, Limiter> limiters = new ConcurrentHashMap<String, Limiter>();
+
+    /**
+     * Limit the requests of the given operation, starting at {@link #DEFAULT_INITIAL_LIMIT} requests in flight and
+     * rejecting requests over the limit.
+     * @param operation The operation, e.g. {@code GET /store/order/{orderId}}
+     * @return ConcurrencyLimiter
+     */
+    public ConcurrencyLimiter operation(String operation) {
+        return operation(operation, DEFAULT_INITIAL_LIMIT, DEFAULT_MAX_LIMIT, DEFAULT_MAX_QUEUED);
+    }
+
+    /**
+     * Limit the requests of the given operation.
+     * @param operation The operation, e.g. {@code GET /store/order/{orderId}}
+     * @param initialLimit The limit to start at
+     * @param maxLimit The highest the limit may grow to
+     * @param maxQueued The maximum number of requests waiting for the limit, or 0 to reject requests over it
+     * @return ConcurrencyLimiter
+     */
+    public ConcurrencyLimiter operation(String operation, int initialLimit, int maxLimit, int maxQueued) {
+        return operation(operation, initialLimit, maxLimit, maxQueued, null);
+    }
+
+    /**
+     * Limit the requests of the given operation, rejecting requests that waited too long for the limit.
+     * @param operation The operation, e.g. {@code GET /store/order/{orderId}}
+     * @param initialLimit The limit to start at
+     * @param maxLimit The highest the limit may grow to
+     * @param maxQueued The maximum number of requests waiting for the limit, or 0 to reject requests over it
+     * @param maxQueueWait The longest a request may wait for the limit, or null to wait until it is granted
+     * @return ConcurrencyLimiter
+     */
+    public ConcurrencyLimiter operation(String operation, int initialLimit, int maxLimit, int maxQueued, @Nullable Duration maxQueueWait) {
+        if (initialLimit < MIN_LIMIT || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Invalid limits: initial " + initialLimit + ", maximum " + maxLimit);
+        }
+        if (maxQueued < 0) {
+            throw new IllegalArgumentException("Maximum queued requests must not be negative: " + maxQueued);
+        }
+        if (maxQueueWait != null && (maxQueueWait.isNegative() || maxQueueWait.isZero())) {
+            throw new IllegalArgumentException("Maximum queue wait must be positive: " + maxQueueWait);
+        }
+        limiters.put(operation, new Limiter(operation, initialLimit, maxLimit, maxQueued, maxQueueWait));
+        return this;
+    }
+
+    /**
+     * Get the current concurrency limit of an operation.
+     * @param operation The operation
+     * @return int the limit, or 0 if the operation is not limited
+     */
+    public int getLimit(String operation) {
+        final Limiter limiter = limiters.get(operation);
+        return limiter == null ? 0 : limiter.limit;
+    }
+
+    /**
+     * Get the statistics of an operation.
+     * @param operation The operation, e.g. {@code GET /store/order/{orderId}}
+     * @return Statistics the statistics, or null if the operation is not limited
+     */
+    public Statistics getStatistics(String operation) {
+        final Limiter limiter = limiters.get(operation);
+        return limiter == null ? null : new Statistics(limiter);
+    }
+
+    /**
+     * Get the statistics of all limited operations.
+     * @return Map the statistics by operation
+     */
+    public Map<String, Statistics> getStatistics() {
+        final Map<String, Statistics> statistics = new HashMap<String, Statistics>();
+        for (Map.Entry<String, Limiter> entry : limiters.entrySet()) {
+            statistics.put(entry.getKey(), new Statistics(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        final Limiter limiter = limiters.get(ApiClient.operationName(request));
+        if (limiter == null) {
+            return next.exchange(request);
+        }
+        return Mono.defer(limiter::acquire).flatMap(permit -> {
+            permit.start();
+            return next.exchange(request)
+                    .doOnSuccess(response -> permit.release(response != null && isOverloaded(response)))
+                    .doOnError(error -> permit.release(true))
+                    .doOnCancel(permit::cancel);
+        });
+    }
+
+    private static boolean isOverloaded(ClientResponse response) {
+        final int status = response.rawStatusCode();
+        return status == HttpStatus.TOO_MANY_REQUESTS.value() || status == HttpStatus.SERVICE_UNAVAILABLE.value();
+    }
+}
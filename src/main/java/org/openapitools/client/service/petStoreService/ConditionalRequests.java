@@ -0,0 +1,433 @@
+package org.openapitools.client.service.petStoreService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpResponse;
+import org.springframework.web.reactive.function.BodyExtractor;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient.ResponseSpec;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Revalidates the responses of GET requests with the server instead of downloading them again.
+ * <p>
+ * The decoded body of a successful response that carries an {@code ETag} or {@code Last-Modified} validator is kept,
+ * keyed by its URL and body type. The next request for it is sent with {@code If-None-Match} or
+ * {@code If-Modified-Since}, and if the server answers {@code 304 Not Modified} the kept body is returned without
+ * being transferred or decoded again. Bodies are shared between the calls they are returned to, so they must not
+ * be modified.
+ * <p>
+ * Applies to bodies retrieved with {@code bodyToMono}, {@code bodyToFlux}, {@code toEntity} and
+ * {@code toEntityList}; streamed and bodiless responses are requested unconditionally. A body retrieved with
+ * {@code bodyToFlux} is kept only if it has at most the maximum number of elements, so that streaming a long array
+ * does not collect it in memory.
+ */
+public class ConditionalRequests implements ExchangeFilterFunction {
+    public static final long DEFAULT_MAXIMUM_SIZE = 1000;
+    public static final int DEFAULT_MAXIMUM_ELEMENTS = 1000;
+
+    private static final String EXCHANGE_CONTEXT_KEY = ConditionalRequests.class.getName() + ".EXCHANGE";
+
+    /**
+     * Revalidation counts of one operation.
+     */
+    public static class Statistics {
+        private final LongAdder conditionalRequests = new LongAdder();
+        private final LongAdder notModifiedResponses = new LongAdder();
+        private final LongAdder storedResponses = new LongAdder();
+
+        /**
+         * Get the number of requests sent with a validator.
+         * @return long the number of conditional requests
+         */
+        public long getConditionalRequests() {
+            return conditionalRequests.sum();
+        }
+
+        /**
+         * Get the number of conditional requests answered with {@code 304 Not Modified}, i.e. served from the
+         * kept body.
+         * @return long the number of not modified responses
+         */
+        public long getNotModifiedResponses() {
+            return notModifiedResponses.sum();
+        }
+
+        /**
+         * Get the number of response bodies kept for revalidation.
+         * @return long the number of stored responses
+         */
+        public long getStoredResponses() {
+            return storedResponses.sum();
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics{conditionalRequests=" + getConditionalRequests() + ", notModifiedResponses="
+                    + getNotModifiedResponses() + ", storedResponses=" + getStoredResponses() + "}";
+        }
+    }
+
+    /**
+     * A kept response body with its validators.
+     */
+    private static final class Representation {
+        final String eTag;
+        final long lastModified;
+        final HttpHeaders headers;
+        final Object body;
+
+        Representation(String eTag, long lastModified, HttpHeaders headers, Object body) {
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+
+    private final BoundedCache<String, Representation> representations;
+    private final int maximumElements;
+    private final ConcurrentMap<String, Statistics> statistics = new ConcurrentHashMap<String, Statistics>();
+
+    /**
+     * Keep at most {@link #DEFAULT_MAXIMUM_SIZE} response bodies.
+     */
+    public ConditionalRequests() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Keep at most the given number of response bodies, of which streamed ones have at most
+     * {@link #DEFAULT_MAXIMUM_ELEMENTS} elements.
+     * @param maximumSize The maximum number of response bodies
+     */
+    public ConditionalRequests(long maximumSize) {
+        this(maximumSize, DEFAULT_MAXIMUM_ELEMENTS);
+    }
+
+    /**
+     * Keep at most the given number of response bodies, of which streamed ones have at most the given number of
+     * elements.
+     * @param maximumSize The maximum number of response bodies
+     * @param maximumElements The maximum number of elements of a body retrieved with {@code bodyToFlux}
+     */
+    public ConditionalRequests(long maximumSize, int maximumElements) {
+        if (maximumElements < 0) {
+            throw new IllegalArgumentException("Maximum elements must not be negative: " + maximumElements);
+        }
+        this.representations = new BoundedCache<String, Representation>(maximumSize, Long.MAX_VALUE);
+        this.maximumElements = maximumElements;
+    }
+
+    /**
+     * Get the statistics of an operation.
+     * @param operation The operation, e.g. {@code GET /store/inventory}
+     * @return Statistics the statistics, or null if the operation was not requested yet
+     */
+    public Statistics getStatistics(String operation) {
+        return statistics.get(operation);
+    }
+
+    /**
+     * Get the statistics of all operations that were requested.
+     * @return Map the statistics by operation
+     */
+    public Map<String, Statistics> getStatistics() {
+        return Collections.unmodifiableMap(new HashMap<String, Statistics>(statistics));
+    }
+
+    /**
+     * Discard all kept response bodies.
+     */
+    public void invalidateAll() {
+        representations.invalidateAll();
+    }
+
+    /**
+     * Make the given response spec of a GET request revalidate its body.
+     * @param responseSpec The response spec
+     * @return ResponseSpec the revalidating response spec
+     */
+    ResponseSpec responseSpec(ResponseSpec responseSpec) {
+        return new ConditionalResponseSpec(responseSpec);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (request.method() != HttpMethod.GET) {
+            return next.exchange(request);
+        }
+        return Mono.deferContextual(context -> {
+            final Exchange exchange = context.getOrDefault(EXCHANGE_CONTEXT_KEY, null);
+            if (exchange == null) {
+                return next.exchange(request);
+            }
+            return next.exchange(exchange.prepare(request)).doOnNext(exchange::received);
+        });
+    }
+
+    /**
+     * The state of one subscription to a response body, from the request to the decoded body.
+     */
+    private final class Exchange {
+        private final String variant;
+        private String key;
+        private Statistics operationStatistics;
+        private Representation sent;
+        private boolean notModified;
+        private boolean storable;
+        private String eTag;
+        private long lastModified;
+        private HttpHeaders headers;
+
+        Exchange(String variant) {
+            this.variant = variant;
+        }
+
+        ClientRequest prepare(ClientRequest request) {
+            key = request.url() + " " + variant;
+            operationStatistics = statistics.computeIfAbsent(ApiClient.operationName(request), operation -> new Statistics());
+            final HttpHeaders requestHeaders = request.headers();
+            if (requestHeaders.containsKey(HttpHeaders.IF_NONE_MATCH) || requestHeaders.containsKey(HttpHeaders.IF_MODIFIED_SINCE)) {
+                // the caller revalidates on its own
+                return request;
+            }
+            final Representation representation = representations.get(key);
+            if (representation == null) {
+                return request;
+            }
+            sent = representation;
+            operationStatistics.conditionalRequests.increment();
+            return ClientRequest.from(request)
+                    .headers(headers -> {
+                        if (representation.eTag != null) {
+                            headers.setIfNoneMatch(representation.eTag);
+                        }
+                        if (representation.lastModified >= 0) {
+                            headers.setIfModifiedSince(representation.lastModified);
+                        }
+                    })
+                    .build();
+        }
+
+        void received(ClientResponse response) {
+            final int status = response.rawStatusCode();
+            if (status == HttpStatus.NOT_MODIFIED.value() && sent != null) {
+                notModified = true;
+                operationStatistics.notModifiedResponses.increment();
+            } else if (status == HttpStatus.OK.value()) {
+                final HttpHeaders responseHeaders = response.headers().asHttpHeaders();
+                eTag = responseHeaders.getETag();
+                lastModified = responseHeaders.getLastModified();
+                if (eTag != null || lastModified >= 0) {
+                    storable = true;
+                    headers = new HttpHeaders();
+                    headers.putAll(responseHeaders);
+                } else {
+                    // the server no longer supports revalidating it, so the kept body would never be refreshed
+                    representations.invalidate(key);
+                }
+            }
+        }
+
+        boolean isStorable() {
+            return storable;
+        }
+
+        /**
+         * Do not keep the body after all, e.g. because it is too long, nor the outdated one kept before.
+         */
+        void discard() {
+            storable = false;
+            representations.invalidate(key);
+        }
+
+        void store(Object body) {
+            if (storable) {
+                representations.put(key, new Representation(eTag, lastModified, headers, body));
+                operationStatistics.storedResponses.increment();
+            }
+        }
+
+        /**
+         * Get the kept body if the server answered that it was not modified.
+         * @return Object the kept body, or null if the response was not a 304 to a conditional request
+         */
+        Object notModifiedBody() {
+            return notModified ? sent.body : null;
+        }
+
+        HttpHeaders notModifiedHeaders() {
+            return sent.headers;
+        }
+
+        Context context() {
+            return Context.of(EXCHANGE_CONTEXT_KEY, this);
+        }
+    }
+
+    /**
+     * A response spec that keeps and revalidates the body of the response.
+     */
+    private final class ConditionalResponseSpec implements ResponseSpec {
+        private final ResponseSpec delegate;
+
+        ConditionalResponseSpec(ResponseSpec delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public ResponseSpec onStatus(Predicate<HttpStatus> statusPredicate, Function<ClientResponse, Mono<? extends Throwable>> exceptionFunction) {
+            delegate.onStatus(statusPredicate, exceptionFunction);
+            return this;
+        }
+
+        @Override
+        public ResponseSpec onRawStatus(IntPredicate statusCodePredicate, Function<ClientResponse, Mono<? extends Throwable>> exceptionFunction) {
+            delegate.onRawStatus(statusCodePredicate, exceptionFunction);
+            return this;
+        }
+
+        @Override
+        public <T> Mono<T> bodyToMono(Class<T> elementClass) {
+            return bodyToMono(ParameterizedTypeReference.<T>forType(elementClass));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Mono<T> bodyToMono(ParameterizedTypeReference<T> elementTypeRef) {
+            return Mono.defer(() -> {
+                final Exchange exchange = new Exchange("value " + elementTypeRef.getType());
+                return delegate.bodyToMono(elementTypeRef)
+                        .doOnNext(exchange::store)
+                        .switchIfEmpty(Mono.fromSupplier(() -> (T) exchange.notModifiedBody()))
+                        .contextWrite(exchange.context());
+            });
+        }
+
+        @Override
+        public <T> Flux<T> bodyToFlux(Class<T> elementClass) {
+            return bodyToFlux(ParameterizedTypeReference.<T>forType(elementClass));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Flux<T> bodyToFlux(ParameterizedTypeReference<T> elementTypeRef) {
+            return Flux.defer(() -> {
+                final Exchange exchange = new Exchange("list " + elementTypeRef.getType());
+                final ArrayList<T> elements = new ArrayList<T>();
+                return delegate.bodyToFlux(elementTypeRef)
+                        .doOnNext(element -> {
+                            if (!exchange.isStorable()) {
+                                return;
+                            }
+                            if (elements.size() < maximumElements) {
+                                elements.add(element);
+                            } else {
+                                // stop collecting, the caller streams the body so that it does not have to fit in memory
+                                exchange.discard();
+                                elements.clear();
+                                elements.trimToSize();
+                            }
+                        })
+                        .doOnComplete(() -> exchange.store(Collections.unmodifiableList(elements)))
+                        .switchIfEmpty(Flux.defer(() -> {
+                            final List<T> kept = (List<T>) exchange.notModifiedBody();
+                            return kept == null ? Flux.<T>empty() : Flux.fromIterable(kept);
+                        }))
+                        .contextWrite(exchange.context());
+            });
+        }
+
+        @Override
+        public <T> Mono<ResponseEntity<T>> toEntity(Class<T> bodyClass) {
+            return toEntity(ParameterizedTypeReference.<T>forType(bodyClass));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Mono<ResponseEntity<T>> toEntity(ParameterizedTypeReference<T> bodyTypeReference) {
+            return Mono.defer(() -> {
+                final Exchange exchange = new Exchange("value " + bodyTypeReference.getType());
+                return delegate.toEntity(bodyTypeReference)
+                        .map(entity -> {
+                            final T kept = (T) exchange.notModifiedBody();
+                            if (kept != null) {
+                                return new ResponseEntity<T>(kept, exchange.notModifiedHeaders(), HttpStatus.OK);
+                            }
+                            if (entity.getBody() != null) {
+                                exchange.store(entity.getBody());
+                            }
+                            return entity;
+                        })
+                        .contextWrite(exchange.context());
+            });
+        }
+
+        @Override
+        public <T> Mono<ResponseEntity<List<T>>> toEntityList(Class<T> elementClass) {
+            return toEntityList(ParameterizedTypeReference.<T>forType(elementClass));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Mono<ResponseEntity<List<T>>> toEntityList(ParameterizedTypeReference<T> elementTypeRef) {
+            return Mono.defer(() -> {
+                final Exchange exchange = new Exchange("list " + elementTypeRef.getType());
+                return delegate.toEntityList(elementTypeRef)
+                        .map(entity -> {
+                            final List<T> kept = (List<T>) exchange.notModifiedBody();
+                            if (kept != null) {
+                                return new ResponseEntity<List<T>>(kept, exchange.notModifiedHeaders(), HttpStatus.OK);
+                            }
+                            if (entity.getBody() != null) {
+                                exchange.store(Collections.unmodifiableList(entity.getBody()));
+                            }
+                            return entity;
+                        })
+                        .contextWrite(exchange.context());
+            });
+        }
+
+        @Override
+        public <T> Mono<ResponseEntity<Flux<T>>> toEntityFlux(Class<T> elementType) {
+            return delegate.toEntityFlux(elementType);
+        }
+
+        @Override
+        public <T> Mono<ResponseEntity<Flux<T>>> toEntityFlux(ParameterizedTypeReference<T> elementTypeReference) {
+            return delegate.toEntityFlux(elementTypeReference);
+        }
+
+        @Override
+        public <T> Mono<ResponseEntity<Flux<T>>> toEntityFlux(BodyExtractor<Flux<T>, ? super ClientHttpResponse> bodyExtractor) {
+            return delegate.toEntityFlux(bodyExtractor);
+        }
+
+        @Override
+        public Mono<ResponseEntity<Void>> toBodilessEntity() {
+            return delegate.toBodilessEntity();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package org.openapitools.client.service.petStoreService;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Settings of the Reactor Netty connection pool that a client's requests are sent through.
+ * <p>
+ * Settings left unset keep Reactor Netty's defaults. Servers that need a differently sized pool, e.g. the base
+ * path of a slow backend, can be given their own settings with {@link #forBasePath(String, ConnectionPoolConfig)};
+ * each server always gets a pool of its own. The pools are closed with {@link ApiClient#dispose()}.
+ */
+public class ConnectionPoolConfig {
+    public static final String DEFAULT_POOL_NAME = "petstore-client";
+
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+    private String name;
+    private Integer maxConnections;
+    private Integer pendingAcquireMaxCount;
+    private Duration pendingAcquireTimeout;
+    private Duration maxIdleTime;
+    private Duration maxLifeTime;
+    private Duration evictInBackground;
+    private Boolean lifo;
+    private final Map<String, ConnectionPoolConfig> basePathConfigs = new LinkedHashMap<String, ConnectionPoolConfig>();
+
+    /**
+     * Set the name of the connection provider, which also tags its metrics. By default each provider gets a name
+     * of its own, {@value #DEFAULT_POOL_NAME} followed by a number, so that the metrics of different clients'
+     * pools are not mixed up.
+     * @param name The name
+     * @return ConnectionPoolConfig
+     */
+    public ConnectionPoolConfig name(String name) {
+        this.name = name;
+        return this;
+    }
+
+    /**
+     * Set the maximum number of connections per server.
+     * @param maxConnections The maximum number of connections
+     * @return ConnectionPoolConfig
+     */
+    public ConnectionPoolConfig maxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+        return this;
+    }
+
+    /**
+     * Set the maximum number of requests that may wait for a connection, -1 for no limit.
+     * @param pendingAcquireMaxCount The maximum number of waiting requests
+     * @return ConnectionPoolConfig
+     */
+    public ConnectionPoolConfig pendingAcquireMaxCount(int pendingAcquireMaxCount) {
+        this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+        return this;
+    }
+
+    /**
+     * Set how long a request may wait for a connection before it fails.
+     * @param pendingAcquireTimeout The timeout
+     * @return ConnectionPoolConfig
+     */
+    public ConnectionPoolConfig pendingAcquireTimeout(Duration pendingAcquireTimeout) {
+        this.pendingAcquireTimeout = pendingAcquireTimeout;
+        return this;
+    }
+
+    /**
+     * Set how long a connection may stay idle in the pool before it is closed.
+     * @param maxIdleTime The maximum idle time
+     * @return ConnectionPoolConfig
+     */
+    public ConnectionPoolConfig maxIdleTime(Duration maxIdleTime) {
+        this.maxIdleTime = maxIdleTime;
+        return this;
+    }
+
+    /**
+     * Set how long a connection may live before it is closed, regardless of its use.
+     * @param maxLifeTime The maximum life time
+     * @return ConnectionPoolConfig
+     */
+    public ConnectionPoolConfig maxLifeTime(Duration maxLifeTime) {
+        this.maxLifeTime = maxLifeTime;
+        return this;
+    }
+
+    /**
+     * Evict idle and expired connections in the background at the given interval, rather than only when a
+     * connection is acquired or released.
+     * @param evictionInterval The eviction interval
+     * @return ConnectionPoolConfig
+     */
+    public ConnectionPoolConfig evictInBackground(Duration evictionInterval) {
+        this.evictInBackground = evictionInterval;
+        return this;
+    }
+
+    /**
+     * Lease the most recently released connection first, so that surplus connections go idle and get evicted.
+     * @return ConnectionPoolConfig
+     */
+    public ConnectionPoolConfig lifo() {
+        this.lifo = Boolean.TRUE;
+        return this;
+    }
+
+    /**
+     * Lease the least recently released connection first, which spreads the load over all connections.
+     * This is Reactor Netty's default.
+     * @return ConnectionPoolConfig
+     */
+    public ConnectionPoolConfig fifo() {
+        this.lifo = Boolean.FALSE;
+        return this;
+    }
+
+    /**
+     * Use different settings for the server of the given base path. The name and nested base path settings of
+     * {@code config} are ignored.
+     * @param basePath The base path, which must include the host
+     * @param config The settings for the server
+     * @return ConnectionPoolConfig
+     */
+    public ConnectionPoolConfig forBasePath(String basePath, ConnectionPoolConfig config) {
+        this.basePathConfigs.put(basePath, config);
+        return this;
+    }
+
+    /**
+     * Get the name of the connection provider.
+     * @return String the name, or null if each provider is named after {@link #DEFAULT_POOL_NAME}
+     */
+    public String getName() {
+        return name;
+    }
+
+    public Integer getMaxConnections() {
+        return maxConnections;
+    }
+
+    public Integer getPendingAcquireMaxCount() {
+        return pendingAcquireMaxCount;
+    }
+
+    public Duration getPendingAcquireTimeout() {
+        return pendingAcquireTimeout;
+    }
+
+    public Duration getMaxIdleTime() {
+        return maxIdleTime;
+    }
+
+    public Duration getMaxLifeTime() {
+        return maxLifeTime;
+    }
+
+    public Duration getEvictInBackground() {
+        return evictInBackground;
+    }
+
+    public Boolean getLifo() {
+        return lifo;
+    }
+
+    public Map<String, ConnectionPoolConfig> getBasePathConfigs() {
+        return basePathConfigs;
+    }
+
+    /**
+     * Build a connection provider with these settings, which the caller disposes once it is no longer used.
+     * @return ConnectionProvider
+     */
+    public ConnectionProvider toConnectionProvider() {
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(name != null ? name : DEFAULT_POOL_NAME + "-" + POOL_NUMBER.incrementAndGet());
+        apply(builder);
+        for (Map.Entry<String, ConnectionPoolConfig> entry : basePathConfigs.entrySet()) {
+            final ConnectionPoolConfig config = entry.getValue();
+            builder.forRemoteHost(remoteAddress(entry.getKey()), spec -> config.apply(spec));
+        }
+        return builder.build();
+    }
+
+    private void apply(ConnectionProvider.ConnectionPoolSpec<?> spec) {
+        if (maxConnections != null) {
+            spec.maxConnections(maxConnections);
+        }
+        if (pendingAcquireMaxCount != null) {
+            spec.pendingAcquireMaxCount(pendingAcquireMaxCount);
+        }
+        if (pendingAcquireTimeout != null) {
+            spec.pendingAcquireTimeout(pendingAcquireTimeout);
+        }
+        if (maxIdleTime != null) {
+            spec.maxIdleTime(maxIdleTime);
+        }
+        if (maxLifeTime != null) {
+            spec.maxLifeTime(maxLifeTime);
+        }
+        if (evictInBackground != null) {
+            spec.evictInBackground(evictInBackground);
+        }
+        if (lifo != null) {
+            if (lifo) {
+                spec.lifo();
+            } else {
+                spec.fifo();
+            }
+        }
+    }
+
+    private static InetSocketAddress remoteAddress(String basePath) {
+        URI uri = URI.create(basePath);
+        if (uri.getHost() == null) {
+            throw new IllegalArgumentException("Base path has no host: " + basePath);
+        }
+        int port = uri.getPort();
+        if (port == -1) {
+            port = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        }
+        // reactor-netty matches pools by the unresolved address of the request
+        return InetSocketAddress.createUnresolved(uri.getHost(), port);
+    }
+}
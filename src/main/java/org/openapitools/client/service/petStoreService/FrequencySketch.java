@@ -0,0 +1,73 @@
+package org.openapitools.client.service.petStoreService;
+
+/**
+ * Approximate access frequencies of keys, in the form of a count-min sketch with 4-bit counters.
+ * <p>
+ * Counters are halved once the number of recorded accesses reaches ten times the capacity, so that the estimate
+ * follows the recent popularity of a key rather than its popularity over all time. Not thread-safe.
+ */
+final class FrequencySketch {
+    private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * @param capacity the number of keys whose frequencies should be told apart
+     */
+    FrequencySketch(long capacity) {
+        int size = Math.min(Integer.highestOneBit((int) Math.min(Math.max(capacity, 16), 1 << 30) - 1) << 1, 1 << 30);
+        this.table = new long[size];
+        this.tableMask = size - 1;
+        this.sampleSize = (int) Math.min(10L * Math.max(capacity, 16), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Estimate how often the key was accessed, capped at 15.
+     * @param hashCode the hash code of the key
+     * @return int the estimated frequency
+     */
+    int frequency(int hashCode) {
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < SEEDS.length; i++) {
+            frequency = Math.min(frequency, (int) ((table[indexOf(hashCode, i)] >>> offsetOf(hashCode, i)) & 0xfL));
+        }
+        return frequency;
+    }
+
+    /**
+     * Record an access to the key.
+     * @param hashCode the hash code of the key
+     */
+    void increment(int hashCode) {
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int index = indexOf(hashCode, i);
+            int offset = offsetOf(hashCode, i);
+            if (((table[index] >>> offset) & 0xfL) != 0xfL) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++additions == sampleSize) {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            additions /= 2;
+        }
+    }
+
+    private int indexOf(int hashCode, int depth) {
+        long hash = (hashCode + SEEDS[depth]) * SEEDS[depth];
+        hash += hash >>> 32;
+        return (int) hash & tableMask;
+    }
+
+    private static int offsetOf(int hashCode, int depth) {
+        // each of the four hash functions uses its own quarter of the counters in a long
+        return ((depth << 2) + ((hashCode >>> (depth << 3)) & 3)) << 2;
+    }
+}
@@ -0,0 +1,401 @@
+package org.openapitools.client.service.petStoreService;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Sends a second copy of a read request that has not been answered within a delay, and uses whichever response
+ * arrives first, enabled per operation.
+ * <p>
+ * The delay is either fixed, or follows a percentile of the operation's recent response times, so that only the
+ * slowest requests are hedged. The copy is sent to the next of the alternate servers if any are configured, otherwise
+ * to the same server; the request that loses the race is cancelled, or its response released. Copies draw from a
+ * {@link RequestBudget}, so that during an incident, when everything is slow, hedging adds at most a fraction to the
+ * load. Only {@code GET}, {@code HEAD} and {@code OPTIONS} requests are hedged.
+ * <p>
+ * The response time of a request that lost the race is recorded as the time until it was cancelled, a lower bound
+ * of what it would have taken: leaving the slow requests out would bring the percentile, and the delay, down.
+ */
+public class HedgingPolicy implements ExchangeFilterFunction {
+    public static final double DEFAULT_PERCENTILE = 0.95;
+    public static final Duration DEFAULT_INITIAL_DELAY = Duration.ofMillis(100);
+
+    private static final Set<HttpMethod> HEDGED_METHODS = Collections.unmodifiableSet(EnumSet.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS));
+    /** Response times kept for the percentile, and how often it is computed anew. */
+    private static final int SAMPLE_SIZE = 1024;
+    private static final int SAMPLES_PER_UPDATE = 64;
+
+    /**
+     * Hedging counts of one operation.
+     */
+    public static class Statistics {
+        private final Hedge hedge;
+
+        Statistics(Hedge hedge) {
+            this.hedge = hedge;
+        }
+
+        /**
+         * Get the current hedging delay.
+         * @return Duration the delay
+         */
+        public Duration getDelay() {
+            return Duration.ofNanos(hedge.delayNanos());
+        }
+
+        /**
+         * Get the number of copies sent.
+         * @return long the number of hedged requests
+         */
+        public long getHedged() {
+            return hedge.hedged.sum();
+        }
+
+        /**
+         * Get the number of copies whose response arrived before the original one's.
+         * @return long the number of hedges that won
+         */
+        public long getHedgesWon() {
+            return hedge.won.sum();
+        }
+
+        /**
+         * Get the number of copies not sent because the hedging budget was used up.
+         * @return long the number of hedges over budget
+         */
+        public long getOverBudget() {
+            return hedge.overBudget.sum();
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics{delay=" + getDelay() + ", hedged=" + getHedged() + ", hedgesWon=" + getHedgesWon()
+                    + ", overBudget=" + getOverBudget() + "}";
+        }
+    }
+
+    /**
+     * The hedging of one operation, with its recent response times.
+     */
+    private static final class Hedge {
+        final long fixedDelayNanos;
+        final double percentile;
+        final LongAdder hedged = new LongAdder();
+        final LongAdder won = new LongAdder();
+        final LongAdder overBudget = new LongAdder();
+        private final AtomicLongArray samples;
+        private final AtomicLong sampleCount = new AtomicLong();
+        private volatile long percentileNanos;
+
+        Hedge(long fixedDelayNanos, double percentile, long initialDelayNanos) {
+            this.fixedDelayNanos = fixedDelayNanos;
+            this.percentile = percentile;
+            this.samples = fixedDelayNanos >= 0 ? null : new AtomicLongArray(SAMPLE_SIZE);
+            this.percentileNanos = initialDelayNanos;
+        }
+
+        long delayNanos() {
+            return fixedDelayNanos >= 0 ? fixedDelayNanos : percentileNanos;
+        }
+
+        void record(long responseNanos) {
+            if (samples == null) {
+                return;
+            }
+            final long count = sampleCount.incrementAndGet();
+            samples.set((int) ((count - 1) % SAMPLE_SIZE), responseNanos);
+            // until there are enough samples, the initial delay is a better guess
+            if (count >= SAMPLES_PER_UPDATE && count % SAMPLES_PER_UPDATE == 0) {
+                final int size = (int) Math.min(count, SAMPLE_SIZE);
+                final long[] sorted = new long[size];
+                for (int i = 0; i < size; i++) {
+                    sorted[i] = samples.get(i);
+                }
+                Arrays.sort(sorted);
+                percentileNanos = sorted[Math.min(size - 1, (int) Math.ceil(percentile * size) - 1)];
+            }
+        }
+    }
+
+    private final ConcurrentMap<String, Hedge> hedges = new ConcurrentHashMap<String, Hedge>();
+    private final AtomicInteger nextServer = new AtomicInteger();
+    private volatile List<URI> alternateServers = Collections.emptyList();
+    private volatile RequestBudget budget = new RequestBudget();
+
+    /**
+     * Hedge requests of the given operation after the {@link #DEFAULT_PERCENTILE} of its response times.
+     * @param operation The operation, e.g. {@code GET /pet/{petId}}
+     * @return HedgingPolicy
+     */
+    public HedgingPolicy operation(String operation) {
+        return operation(operation, DEFAULT_PERCENTILE, DEFAULT_INITIAL_DELAY);
+    }
+
+    /**
+     * Hedge requests of the given operation after a percentile of its response times.
+     * @param operation The operation, e.g. {@code GET /pet/{petId}}
+     * @param percentile The percentile, e.g. 0.95
+     * @param initialDelay The delay used until enough response times were recorded
+     * @return HedgingPolicy
+     */
+    public HedgingPolicy operation(String operation, double percentile, Duration initialDelay) {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 1 (exclusive): " + percentile);
+        }
+        hedges.put(operation, new Hedge(-1, percentile, initialDelay.toNanos()));
+        return this;
+    }
+
+    /**
+     * Hedge requests of the given operation after a fixed delay.
+     * @param operation The operation, e.g. {@code GET /pet/{petId}}
+     * @param delay The delay
+     * @return HedgingPolicy
+     */
+    public HedgingPolicy operation(String operation, Duration delay) {
+        if (delay.isNegative() || delay.isZero()) {
+            throw new IllegalArgumentException("Delay must be positive: " + delay);
+        }
+        hedges.put(operation, new Hedge(delay.toNanos(), 0, 0));
+        return this;
+    }
+
+    /**
+     * Send copies to the given servers in turn, which serve the same API under the same paths as the base path.
+     * @param servers The scheme, host and port of each server, e.g. {@code https://replica.example.com}
+     * @return HedgingPolicy
+     */
+    public HedgingPolicy alternateServers(String... servers) {
+        final List<URI> uris = new ArrayList<URI>();
+        for (String server : servers) {
+            uris.add(URI.create(server));
+        }
+        this.alternateServers = Collections.unmodifiableList(uris);
+        return this;
+    }
+
+    /**
+     * Set the budget hedged requests draw from.
+     * @param budget The budget, which may be shared with the retry policy
+     * @return HedgingPolicy
+     */
+    public HedgingPolicy budget(RequestBudget budget) {
+        this.budget = budget;
+        return this;
+    }
+
+    public RequestBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * Get the statistics of an operation.
+     * @param operation The operation, e.g. {@code GET /pet/{petId}}
+     * @return Statistics the statistics, or null if the operation is not hedged
+     */
+    public Statistics getStatistics(String operation) {
+        final Hedge hedge = hedges.get(operation);
+        return hedge == null ? null : new Statistics(hedge);
+    }
+
+    /**
+     * Get the statistics of all hedged operations.
+     * @return Map the statistics by operation
+     */
+    public Map<String, Statistics> getStatistics() {
+        final Map<String, Statistics> statistics = new HashMap<String, Statistics>();
+        for (Map.Entry<String, Hedge> entry : hedges.entrySet()) {
+            statistics.put(entry.getKey(), new Statistics(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        final Hedge hedge = HEDGED_METHODS.contains(request.method()) ? hedges.get(ApiClient.operationName(request)) : null;
+        if (hedge == null) {
+            return next.exchange(request);
+        }
+        final RequestBudget currentBudget = budget;
+        return Mono.create(sink -> {
+            currentBudget.deposit();
+            new Race(sink, hedge, currentBudget, request, next).start();
+        });
+    }
+
+    private ClientRequest copyOf(ClientRequest request) {
+        final List<URI> servers = alternateServers;
+        if (servers.isEmpty()) {
+            return request;
+        }
+        final URI server = servers.get(Math.floorMod(nextServer.getAndIncrement(), servers.size()));
+        final URI url = request.url();
+        final String rawQuery = url.getRawQuery();
+        final URI copyUrl = URI.create(server.getScheme() + "://" + server.getRawAuthority() + url.getRawPath() + (rawQuery == null ? "" : "?" + rawQuery));
+        return ClientRequest.from(request).url(copyUrl).build();
+    }
+
+    /**
+     * The race between a request and its copy.
+     */
+    private final class Race {
+        private final MonoSink<ClientResponse> sink;
+        private final Hedge hedge;
+        private final RequestBudget budget;
+        private final ClientRequest request;
+        private final ExchangeFunction next;
+        // guarded by this
+        private boolean done;
+        private int inFlight = 1;
+        private Disposable timer;
+        private Disposable original;
+        private Disposable copy;
+        private long originalStartNanos;
+        private long copyStartNanos;
+
+        Race(MonoSink<ClientResponse> sink, Hedge hedge, RequestBudget budget, ClientRequest request, ExchangeFunction next) {
+            this.sink = sink;
+            this.hedge = hedge;
+            this.budget = budget;
+            this.request = request;
+            this.next = next;
+        }
+
+        void start() {
+            sink.onCancel(this::cancel);
+            synchronized (this) {
+                originalStartNanos = System.nanoTime();
+            }
+            final Disposable sent = send(request, false);
+            final Disposable scheduled = Mono.delay(Duration.ofNanos(hedge.delayNanos())).subscribe(tick -> sendCopy());
+            final boolean finished;
+            synchronized (this) {
+                original = sent;
+                timer = scheduled;
+                finished = done;
+            }
+            if (finished) {
+                scheduled.dispose();
+            }
+        }
+
+        private Disposable send(ClientRequest sentRequest, boolean isCopy) {
+            // the requests are subscribed to here, so they need the context of the call
+            return next.exchange(sentRequest).contextWrite(sink.currentContext()).subscribe(
+                    response -> onResponse(response, isCopy),
+                    this::onError);
+        }
+
+        private void sendCopy() {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                if (!budget.tryWithdraw()) {
+                    hedge.overBudget.increment();
+                    return;
+                }
+                inFlight++;
+                copyStartNanos = System.nanoTime();
+            }
+            hedge.hedged.increment();
+            final Disposable sent = send(copyOf(request), true);
+            final boolean lost;
+            synchronized (this) {
+                copy = sent;
+                lost = done && !sent.isDisposed();
+            }
+            if (lost) {
+                // the original answered, or the caller cancelled, while the copy was being sent
+                sent.dispose();
+            }
+        }
+
+        private void onResponse(ClientResponse response, boolean isCopy) {
+            final long responseNanos = System.nanoTime();
+            final boolean won;
+            final long startNanos;
+            final boolean loserInFlight;
+            final long loserStartNanos;
+            final Disposable[] losers;
+            synchronized (this) {
+                won = !done;
+                done = true;
+                startNanos = isCopy ? copyStartNanos : originalStartNanos;
+                // the other request, if sent, has not failed, so it is cancelled below
+                loserInFlight = inFlight > 1;
+                loserStartNanos = isCopy ? originalStartNanos : copyStartNanos;
+                losers = new Disposable[] { timer, isCopy ? original : copy };
+            }
+            if (!won) {
+                // lost the race by a hair, or the caller cancelled: nobody reads this response
+                response.releaseBody().subscribe();
+                return;
+            }
+            hedge.record(responseNanos - startNanos);
+            if (loserInFlight) {
+                hedge.record(responseNanos - loserStartNanos);
+            }
+            if (isCopy) {
+                hedge.won.increment();
+            }
+            dispose(losers);
+            sink.success(response);
+        }
+
+        private void onError(Throwable error) {
+            final Disposable scheduled;
+            synchronized (this) {
+                if (done || --inFlight > 0) {
+                    // either decided already, or the other request may still succeed
+                    return;
+                }
+                done = true;
+                scheduled = timer;
+            }
+            dispose(scheduled);
+            sink.error(error);
+        }
+
+        private void cancel() {
+            final Disposable[] all;
+            synchronized (this) {
+                done = true;
+                all = new Disposable[] { timer, original, copy };
+            }
+            dispose(all);
+        }
+
+        private void dispose(Disposable... disposables) {
+            for (Disposable disposable : disposables) {
+                if (disposable != null) {
+                    disposable.dispose();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.openapitools.client.service.petStoreService;
+
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * The HTTP version a client speaks to the server.
+ * <p>
+ * With HTTP/2 every request is a stream, and concurrent requests to the same server are multiplexed over the
+ * connections of the pool: a new connection is only opened when all open ones carry as many streams as the server
+ * allows. The number of HTTP/2 connections is therefore bounded by {@link ConnectionPoolConfig#maxConnections(int)},
+ * and the streams per connection by the server's {@code SETTINGS_MAX_CONCURRENT_STREAMS}. The client's own
+ * settings only bound what the server may open towards the client, so requests in flight are limited on the client
+ * with a {@link ConcurrencyLimiter} instead.
+ */
+public class HttpProtocolConfig {
+    public enum Version {
+        /** HTTP/1.1 only, one request in flight per connection. */
+        HTTP_1_1,
+        /** HTTP/2 over TLS, negotiated with ALPN. Servers that do not support it are spoken to with HTTP/1.1. */
+        H2,
+        /** HTTP/2 over plaintext connections, with prior knowledge that the server supports it. */
+        H2C
+    }
+
+    private final Version version;
+    private Integer initialWindowSize;
+
+    public HttpProtocolConfig(Version version) {
+        this.version = version;
+    }
+
+    public static HttpProtocolConfig http11() {
+        return new HttpProtocolConfig(Version.HTTP_1_1);
+    }
+
+    public static HttpProtocolConfig h2() {
+        return new HttpProtocolConfig(Version.H2);
+    }
+
+    public static HttpProtocolConfig h2c() {
+        return new HttpProtocolConfig(Version.H2C);
+    }
+
+    /**
+     * Set the {@code SETTINGS_INITIAL_WINDOW_SIZE} the client announces, i.e. how many bytes of a response the
+     * server may send on a stream before the client has to grant more.
+     * @param initialWindowSize The initial flow-control window size in bytes
+     * @return HttpProtocolConfig
+     */
+    public HttpProtocolConfig initialWindowSize(int initialWindowSize) {
+        this.initialWindowSize = initialWindowSize;
+        return this;
+    }
+
+    public Version getVersion() {
+        return version;
+    }
+
+    public Integer getInitialWindowSize() {
+        return initialWindowSize;
+    }
+
+    /**
+     * Configure the given client for this protocol.
+     * @param httpClient The client to configure
+     * @return HttpClient the configured client
+     */
+    public HttpClient applyTo(HttpClient httpClient) {
+        switch (version) {
+            case H2:
+                // TLS is set up from the https scheme of the base path; ALPN picks h2 or falls back to HTTP/1.1
+                httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+                break;
+            case H2C:
+                httpClient = httpClient.protocol(HttpProtocol.H2C);
+                break;
+            default:
+                return httpClient.protocol(HttpProtocol.HTTP11);
+        }
+        if (initialWindowSize != null) {
+            final int windowSize = initialWindowSize;
+            httpClient = httpClient.http2Settings(settings -> settings.initialWindowSize(windowSize));
+        }
+        return httpClient;
+    }
+}
@@ -0,0 +1,304 @@
+package org.openapitools.client.service.petStoreService;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+
+/**
+ * A histogram of latencies in microseconds, which records without locks.
+ * <p>
+ * The buckets are laid out like those of an HdrHistogram with a lowest discernible value of 1, a highest trackable
+ * value of one hour and 2 significant digits: values are exact up to 256us, and above that within 1% of the
+ * recorded value. Longer latencies are recorded as one hour. A {@link Snapshot} can be encoded in HdrHistogram's
+ * compressed format, to be read by its tools.
+ */
+public class LatencyHistogram {
+    public static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    public static final int SIGNIFICANT_DIGITS = 2;
+
+    private static final int SUB_BUCKET_HALF_COUNT_MAGNITUDE = 7;
+    private static final int SUB_BUCKET_HALF_COUNT = 1 << SUB_BUCKET_HALF_COUNT_MAGNITUDE;
+    private static final int SUB_BUCKET_COUNT = SUB_BUCKET_HALF_COUNT << 1;
+    private static final long SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+    private static final int COUNTS_LENGTH = (bucketsNeeded(HIGHEST_TRACKABLE_MICROS) + 1) * SUB_BUCKET_HALF_COUNT;
+
+    private static final int ENCODING_COOKIE = 0x1c849303 | 0x10;
+    private static final int COMPRESSED_ENCODING_COOKIE = 0x1c849304 | 0x10;
+
+    /**
+     * The counts of a histogram at one point in time.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long totalCount;
+
+        Snapshot(long[] counts) {
+            this.counts = counts;
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            this.totalCount = total;
+        }
+
+        public long getTotalCount() {
+            return totalCount;
+        }
+
+        /**
+         * Get the lowest recorded latency.
+         * @return long the latency in microseconds, or 0 if none was recorded
+         */
+        public long getMinMicros() {
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    return lowestEquivalentValue(valueFromIndex(i));
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Get the highest recorded latency.
+         * @return long the latency in microseconds, or 0 if none was recorded
+         */
+        public long getMaxMicros() {
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if (counts[i] > 0) {
+                    return highestEquivalentValue(valueFromIndex(i));
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Get the mean recorded latency.
+         * @return double the latency in microseconds, or 0 if none was recorded
+         */
+        public double getMeanMicros() {
+            if (totalCount == 0) {
+                return 0;
+            }
+            double total = 0;
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    final long value = valueFromIndex(i);
+                    total += (double) counts[i] * (lowestEquivalentValue(value) + (sizeOfEquivalentValueRange(value) >> 1));
+                }
+            }
+            return total / totalCount;
+        }
+
+        /**
+         * Get the latency at or below which the given percentage of the recorded latencies are.
+         * @param percentile The percentile, between 0 and 100
+         * @return long the latency in microseconds, or 0 if none was recorded
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (totalCount == 0) {
+                return 0;
+            }
+            final long countAtPercentile = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * totalCount));
+            long count = 0;
+            for (int i = 0; i < counts.length; i++) {
+                count += counts[i];
+                if (count >= countAtPercentile) {
+                    final long value = valueFromIndex(i);
+                    return percentile == 0 ? lowestEquivalentValue(value) : highestEquivalentValue(value);
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Get the latencies recorded since an earlier snapshot of the same histogram.
+         * @param earlier The earlier snapshot
+         * @return Snapshot the difference
+         */
+        public Snapshot minus(Snapshot earlier) {
+            final long[] difference = new long[counts.length];
+            for (int i = 0; i < counts.length; i++) {
+                difference[i] = Math.max(0, counts[i] - earlier.counts[i]);
+            }
+            return new Snapshot(difference);
+        }
+
+        /**
+         * Encode the counts in HdrHistogram's compressed V2 format, as found in its log files.
+         * @return byte[] the encoded histogram
+         */
+        public byte[] encodeCompressed() {
+            int countsLimit = 0;
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if (counts[i] > 0) {
+                    countsLimit = i + 1;
+                    break;
+                }
+            }
+            final ByteBuffer encoded = ByteBuffer.allocate(40 + 9 * countsLimit);
+            encoded.putInt(ENCODING_COOKIE);
+            encoded.putInt(0);
+            encoded.putInt(0);
+            encoded.putInt(SIGNIFICANT_DIGITS);
+            encoded.putLong(1);
+            encoded.putLong(HIGHEST_TRACKABLE_MICROS);
+            encoded.putDouble(1.0);
+            final int payloadStart = encoded.position();
+            int i = 0;
+            while (i < countsLimit) {
+                final long count = counts[i++];
+                if (count == 0) {
+                    // runs of zeros are encoded as their negated length
+                    int zeros = 1;
+                    while (i < countsLimit && counts[i] == 0) {
+                        zeros++;
+                        i++;
+                    }
+                    putZigZag(encoded, zeros > 1 ? -zeros : 0);
+                } else {
+                    putZigZag(encoded, count);
+                }
+            }
+            encoded.putInt(4, encoded.position() - payloadStart);
+
+            final Deflater deflater = new Deflater();
+            try {
+                deflater.setInput(encoded.array(), 0, encoded.position());
+                deflater.finish();
+                final byte[] compressed = new byte[8 + encoded.position() + 64];
+                int length = 8;
+                while (!deflater.finished()) {
+                    length += deflater.deflate(compressed, length, compressed.length - length);
+                }
+                ByteBuffer.wrap(compressed).putInt(COMPRESSED_ENCODING_COOKIE).putInt(length - 8);
+                return Arrays.copyOf(compressed, length);
+            } finally {
+                deflater.end();
+            }
+        }
+
+        private static void putZigZag(ByteBuffer buffer, long value) {
+            value = (value << 1) ^ (value >> 63);
+            for (int i = 0; i < 8; i++) {
+                if ((value >>> 7) == 0) {
+                    buffer.put((byte) value);
+                    return;
+                }
+                buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+    }
+
+    private final AtomicLongArray counts = new AtomicLongArray(COUNTS_LENGTH);
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder recordedMicros = new LongAdder();
+
+    /**
+     * Record a latency.
+     * @param micros The latency in microseconds
+     */
+    public void record(long micros) {
+        final long value = clamp(micros);
+        counts.incrementAndGet(countsIndex(value));
+        recorded.increment();
+        recordedMicros.add(value);
+    }
+
+    /**
+     * Record a latency of a request that was meant to be sent at a steady pace, e.g. one of a bulk fetch. If it
+     * took longer than the interval between requests, the requests that would have been sent meanwhile had to
+     * wait for it: they are recorded as well, with the latency minus one, two, ... intervals, so that a stall is
+     * not recorded as a single slow request (correcting for coordinated omission).
+     * @param micros The latency in microseconds
+     * @param expectedIntervalMicros The interval between requests in microseconds
+     */
+    public void record(long micros, long expectedIntervalMicros) {
+        record(micros);
+        if (expectedIntervalMicros <= 0) {
+            return;
+        }
+        long missing = clamp(micros) - expectedIntervalMicros;
+        while (missing >= expectedIntervalMicros) {
+            // all missing latencies that fall into the same bucket are counted at once
+            final long bucketFloor = Math.max(lowestEquivalentValue(missing), expectedIntervalMicros);
+            final long missed = (missing - bucketFloor) / expectedIntervalMicros + 1;
+            counts.addAndGet(countsIndex(missing), missed);
+            missing -= missed * expectedIntervalMicros;
+        }
+    }
+
+    /**
+     * Get the mean of the latencies recorded, not counting those added by corrections.
+     * @return long the mean latency in microseconds, or 0 if none was recorded
+     */
+    public long getMeanMicros() {
+        final long count = recorded.sum();
+        return count == 0 ? 0 : recordedMicros.sum() / count;
+    }
+
+    /**
+     * Take a snapshot of the counts. Latencies recorded while it is taken may or may not be in it.
+     * @return Snapshot the snapshot
+     */
+    public Snapshot snapshot() {
+        final long[] copy = new long[COUNTS_LENGTH];
+        for (int i = 0; i < COUNTS_LENGTH; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(copy);
+    }
+
+    private static long clamp(long micros) {
+        return Math.max(0, Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+    }
+
+    private static int bucketsNeeded(long highestTrackableValue) {
+        long smallestUntrackableValue = SUB_BUCKET_COUNT;
+        int buckets = 1;
+        while (smallestUntrackableValue <= highestTrackableValue) {
+            smallestUntrackableValue <<= 1;
+            buckets++;
+        }
+        return buckets;
+    }
+
+    private static int bucketIndex(long value) {
+        return 64 - Long.numberOfLeadingZeros(value | SUB_BUCKET_MASK) - (SUB_BUCKET_HALF_COUNT_MAGNITUDE + 1);
+    }
+
+    private static int countsIndex(long value) {
+        final int bucketIndex = bucketIndex(value);
+        final int subBucketIndex = (int) (value >>> bucketIndex);
+        return ((bucketIndex + 1) << SUB_BUCKET_HALF_COUNT_MAGNITUDE) + (subBucketIndex - SUB_BUCKET_HALF_COUNT);
+    }
+
+    private static long valueFromIndex(int index) {
+        int bucketIndex = (index >> SUB_BUCKET_HALF_COUNT_MAGNITUDE) - 1;
+        int subBucketIndex = (index & (SUB_BUCKET_HALF_COUNT - 1)) + SUB_BUCKET_HALF_COUNT;
+        if (bucketIndex < 0) {
+            subBucketIndex -= SUB_BUCKET_HALF_COUNT;
+            bucketIndex = 0;
+        }
+        return ((long) subBucketIndex) << bucketIndex;
+    }
+
+    private static long sizeOfEquivalentValueRange(long value) {
+        final int bucketIndex = bucketIndex(value);
+        final int subBucketIndex = (int) (value >>> bucketIndex);
+        return 1L << (subBucketIndex >= SUB_BUCKET_COUNT ? bucketIndex + 1 : bucketIndex);
+    }
+
+    private static long lowestEquivalentValue(long value) {
+        final int bucketIndex = bucketIndex(value);
+        return (value >>> bucketIndex) << bucketIndex;
+    }
+
+    private static long highestEquivalentValue(long value) {
+        return lowestEquivalentValue(value) + sizeOfEquivalentValueRange(value) - 1;
+    }
+}
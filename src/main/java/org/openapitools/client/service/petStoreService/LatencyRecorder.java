@@ -0,0 +1,211 @@
+package org.openapitools.client.service.petStoreService;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Records the latency of every call in a {@link LatencyHistogram} per operation, without any metrics library.
+ * <p>
+ * The latency of a call is the time until its response status arrived or it failed, including waiting for a
+ * concurrency limit, retries and hedged requests. Calls of a bulk fetch are corrected for coordinated omission, see
+ * {@link BulkOptions#expectedInterval(java.time.Duration)}.
+ * <p>
+ * The histograms can be read in full, or by interval: each {@link #writeInterval(Appendable, Format)} writes the
+ * latencies recorded since the previous one, either as a table of percentiles or as an HdrHistogram log, whose
+ * intervals are tagged with the operation and whose maximums are in milliseconds.
+ */
+public class LatencyRecorder implements ExchangeFilterFunction {
+    /** The key of the expected interval in nanoseconds in the context of a call of a bulk fetch, 0 for the mean latency. */
+    static final String EXPECTED_INTERVAL_CONTEXT_KEY = LatencyRecorder.class.getName() + ".expectedInterval";
+
+    public enum Format {
+        PERCENTILES,
+        HDR_HISTOGRAM_LOG
+    }
+
+    /**
+     * The latencies of all operations recorded over an interval.
+     */
+    public static final class Interval {
+        private final long startMillis;
+        private final long endMillis;
+        private final Map<String, LatencyHistogram.Snapshot> histograms;
+
+        Interval(long startMillis, long endMillis, Map<String, LatencyHistogram.Snapshot> histograms) {
+            this.startMillis = startMillis;
+            this.endMillis = endMillis;
+            this.histograms = histograms;
+        }
+
+        public long getStartMillis() {
+            return startMillis;
+        }
+
+        public long getEndMillis() {
+            return endMillis;
+        }
+
+        /**
+         * Get the latencies by operation.
+         * @return Map the histograms by operation, sorted by operation
+         */
+        public Map<String, LatencyHistogram.Snapshot> getHistograms() {
+            return histograms;
+        }
+    }
+
+    private final ConcurrentMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<String, LatencyHistogram>();
+    private final long startMillis = System.currentTimeMillis();
+    // guarded by this
+    private Map<String, LatencyHistogram.Snapshot> lastSnapshots = Collections.emptyMap();
+    private long lastIntervalMillis = startMillis;
+    private boolean logHeaderWritten;
+
+    /**
+     * Get the histogram of an operation.
+     * @param operation The operation, e.g. {@code GET /pet/{petId}}
+     * @return LatencyHistogram the histogram, or null if no call of the operation was recorded yet
+     */
+    public LatencyHistogram getHistogram(String operation) {
+        return histograms.get(operation);
+    }
+
+    /**
+     * Get the latencies recorded since the recorder was created.
+     * @return Interval the latencies
+     */
+    public Interval snapshot() {
+        return new Interval(startMillis, System.currentTimeMillis(), snapshots());
+    }
+
+    /**
+     * Get the latencies recorded since the previous interval, or since the recorder was created.
+     * @return Interval the latencies
+     */
+    public synchronized Interval intervalSnapshot() {
+        final long endMillis = System.currentTimeMillis();
+        final Map<String, LatencyHistogram.Snapshot> snapshots = snapshots();
+        final Map<String, LatencyHistogram.Snapshot> interval = new TreeMap<String, LatencyHistogram.Snapshot>();
+        for (Map.Entry<String, LatencyHistogram.Snapshot> entry : snapshots.entrySet()) {
+            final LatencyHistogram.Snapshot last = lastSnapshots.get(entry.getKey());
+            interval.put(entry.getKey(), last == null ? entry.getValue() : entry.getValue().minus(last));
+        }
+        final Interval result = new Interval(lastIntervalMillis, endMillis, Collections.unmodifiableMap(interval));
+        lastSnapshots = snapshots;
+        lastIntervalMillis = endMillis;
+        return result;
+    }
+
+    /**
+     * Write the latencies recorded since the previous interval. An HdrHistogram log starts with its header the first
+     * time, so that writing intervals to the same file periodically makes up a log.
+     * @param out The output
+     * @param format The format
+     * @throws IOException if the output fails
+     */
+    public synchronized void writeInterval(Appendable out, Format format) throws IOException {
+        final Interval interval = intervalSnapshot();
+        if (format == Format.PERCENTILES) {
+            writePercentiles(out, interval);
+            return;
+        }
+        if (!logHeaderWritten) {
+            writeLogHeader(out);
+            logHeaderWritten = true;
+        }
+        writeLog(out, interval);
+    }
+
+    /**
+     * Write a table of the percentiles of each operation, in milliseconds.
+     * @param out The output
+     * @param interval The latencies
+     * @throws IOException if the output fails
+     */
+    public static void writePercentiles(Appendable out, Interval interval) throws IOException {
+        out.append(String.format(Locale.ROOT, "%-40s %10s %9s %9s %9s %9s %9s %9s%n",
+                "Operation (ms)", "Count", "Mean", "p50", "p90", "p99", "p99.9", "Max"));
+        for (Map.Entry<String, LatencyHistogram.Snapshot> entry : interval.getHistograms().entrySet()) {
+            final LatencyHistogram.Snapshot histogram = entry.getValue();
+            out.append(String.format(Locale.ROOT, "%-40s %10d %9.3f %9.3f %9.3f %9.3f %9.3f %9.3f%n",
+                    entry.getKey(), histogram.getTotalCount(), histogram.getMeanMicros() / 1000.0,
+                    histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(90) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0, histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxMicros() / 1000.0));
+        }
+    }
+
+    /**
+     * Write one HdrHistogram log line per operation with calls in the interval, timestamped relative to the start
+     * of this recorder.
+     * @param out The output
+     * @param interval The latencies
+     * @throws IOException if the output fails
+     */
+    public void writeLog(Appendable out, Interval interval) throws IOException {
+        for (Map.Entry<String, LatencyHistogram.Snapshot> entry : interval.getHistograms().entrySet()) {
+            final LatencyHistogram.Snapshot histogram = entry.getValue();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            // log tags must not contain spaces or commas
+            out.append(String.format(Locale.ROOT, "Tag=%s,%.3f,%.3f,%.3f,%s%n",
+                    entry.getKey().replace(' ', '_').replace(',', '_'),
+                    (interval.getStartMillis() - startMillis) / 1000.0,
+                    (interval.getEndMillis() - interval.getStartMillis()) / 1000.0,
+                    histogram.getMaxMicros() / 1000.0,
+                    Base64.getEncoder().encodeToString(histogram.encodeCompressed())));
+        }
+    }
+
+    private void writeLogHeader(Appendable out) throws IOException {
+        out.append("#[Histogram log format version 1.3]").append(System.lineSeparator());
+        out.append(String.format(Locale.ROOT, "#[StartTime: %.3f (seconds since epoch), %s]%n", startMillis / 1000.0, new Date(startMillis)));
+        out.append(String.format(Locale.ROOT, "#[BaseTime: %.3f (seconds since epoch)]%n", startMillis / 1000.0));
+        out.append("\"StartTimestamp\",\"Interval_Length\",\"Interval_Max\",\"Interval_Compressed_Histogram\"").append(System.lineSeparator());
+    }
+
+    private Map<String, LatencyHistogram.Snapshot> snapshots() {
+        final Map<String, LatencyHistogram.Snapshot> snapshots = new TreeMap<String, LatencyHistogram.Snapshot>();
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            snapshots.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return Collections.unmodifiableMap(snapshots);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        final LatencyHistogram histogram = histograms.computeIfAbsent(ApiClient.operationName(request), key -> new LatencyHistogram());
+        return Mono.deferContextual(context -> {
+            final long startNanos = System.nanoTime();
+            final Long expectedIntervalNanos = context.getOrDefault(EXPECTED_INTERVAL_CONTEXT_KEY, null);
+            return next.exchange(request)
+                    .doOnSuccess(response -> record(histogram, startNanos, expectedIntervalNanos))
+                    .doOnError(error -> record(histogram, startNanos, expectedIntervalNanos));
+        });
+    }
+
+    private static void record(LatencyHistogram histogram, long startNanos, Long expectedIntervalNanos) {
+        final long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        if (expectedIntervalNanos == null) {
+            histogram.record(micros);
+        } else {
+            histogram.record(micros, expectedIntervalNanos > 0 ? TimeUnit.NANOSECONDS.toMicros(expectedIntervalNanos) : histogram.getMeanMicros());
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package org.openapitools.client.service.petStoreService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Collects items submitted one at a time, from any number of threads, into batches that are sent as one request.
+ * <p>
+ * A batch is sent once it holds the maximum number of items, or once the maximum delay has passed since its first
+ * item was submitted, whichever comes first. The {@code Mono} of every item completes when the request of its batch
+ * completes, and fails with the request's error if it fails. An item is submitted when its {@code Mono} is
+ * subscribed to; cancelling the subscription afterwards does not take the item out of its batch.
+ *
+ * @param <T> the item type
+ */
+public class MicroBatcher<T> {
+    public static final int DEFAULT_MAX_BATCH_SIZE = 500;
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ofMillis(10);
+
+    private static final class Pending<T> {
+        final T item;
+        final MonoSink<Void> sink;
+
+        Pending(T item, MonoSink<Void> sink) {
+            this.item = item;
+            this.sink = sink;
+        }
+    }
+
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final Function<List<T>, Mono<Void>> send;
+    private final Scheduler timer = Schedulers.parallel();
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder items = new LongAdder();
+
+    private List<Pending<T>> batch;
+    private long batchNumber;
+
+    /**
+     * @param maxBatchSize The maximum number of items per batch
+     * @param maxDelay The maximum time an item waits for its batch to be sent
+     * @param send The request sending a batch
+     */
+    public MicroBatcher(int maxBatchSize, Duration maxDelay, Function<List<T>, Mono<Void>> send) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Maximum batch size must be positive: " + maxBatchSize);
+        }
+        if (maxDelay.isNegative()) {
+            throw new IllegalArgumentException("Maximum delay must not be negative: " + maxDelay);
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.send = send;
+    }
+
+    /**
+     * Add an item to the current batch.
+     * @param item The item
+     * @return Mono completing when the batch of the item was sent
+     */
+    public Mono<Void> submit(T item) {
+        return Mono.create(sink -> add(new Pending<T>(item, sink)));
+    }
+
+    /**
+     * Send the current batch now, if it holds any items.
+     */
+    public void flush() {
+        final List<Pending<T>> full;
+        synchronized (this) {
+            full = takeBatch();
+        }
+        send(full);
+    }
+
+    /**
+     * Get the number of batches sent.
+     * @return long the number of batches
+     */
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    /**
+     * Get the number of items sent.
+     * @return long the number of items
+     */
+    public long getItems() {
+        return items.sum();
+    }
+
+    private void add(Pending<T> pending) {
+        List<Pending<T>> full = null;
+        synchronized (this) {
+            if (batch == null) {
+                batch = new ArrayList<Pending<T>>(Math.min(maxBatchSize, 64));
+                final long scheduledBatchNumber = ++batchNumber;
+                if (maxBatchSize > 1) {
+                    timer.schedule(() -> flush(scheduledBatchNumber), maxDelayNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+            batch.add(pending);
+            if (batch.size() >= maxBatchSize) {
+                full = takeBatch();
+            }
+        }
+        send(full);
+    }
+
+    private void flush(long scheduledBatchNumber) {
+        final List<Pending<T>> full;
+        synchronized (this) {
+            // the batch may have been sent already because it filled up
+            full = scheduledBatchNumber == batchNumber ? takeBatch() : null;
+        }
+        send(full);
+    }
+
+    private List<Pending<T>> takeBatch() {
+        final List<Pending<T>> full = batch;
+        batch = null;
+        return full;
+    }
+
+    private void send(List<Pending<T>> full) {
+        if (full == null || full.isEmpty()) {
+            return;
+        }
+        final List<T> batchItems = new ArrayList<T>(full.size());
+        for (Pending<T> pending : full) {
+            batchItems.add(pending.item);
+        }
+        batches.increment();
+        items.add(batchItems.size());
+        Mono.defer(() -> send.apply(batchItems)).subscribe(
+                null,
+                error -> {
+                    for (Pending<T> pending : full) {
+                        pending.sink.error(error);
+                    }
+                },
+                () -> {
+                    for (Pending<T> pending : full) {
+                        pending.sink.success();
+                    }
+                });
+    }
+}
@@ -0,0 +1,219 @@
+package org.openapitools.client.service.petStoreService;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.client.reactive.ClientHttpRequestDecorator;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Records the latency, concurrency, size and outcome of every request sent, per operation, in a Micrometer
+ * {@link MeterRegistry}.
+ * <p>
+ * Micrometer is an optional dependency, and this is the only class that uses it: a client without metrics does not
+ * need it on the class path, and does not pay for them either. The meters, named after the given prefix
+ * ({@value #DEFAULT_PREFIX} by default), are
+ * <ul>
+ * <li>{@code <prefix>.requests}, a timer with a percentile histogram of the time until the response status arrived,
+ * tagged with the {@code method}, the {@code uri} template ({@code UNKNOWN} for requests not built by the client, so
+ * their paths do not each register meters), the {@code status} class (e.g. {@code 2xx}, or {@code NONE}) and the
+ * {@code exception} (its simple class name, its name if it has no simple name, or {@code none}),</li>
+ * <li>{@code <prefix>.requests.active}, a gauge of the requests in flight,</li>
+ * <li>{@code <prefix>.requests.outcome}, a counter tagged with the {@code outcome}: {@code SUCCESS},
+ * {@code CLIENT_ERROR}, {@code SERVER_ERROR}, {@code REDIRECTION}, {@code INFORMATIONAL}, {@code ERROR} if no
+ * response arrived, or {@code CANCELLED} if the caller cancelled before,</li>
+ * <li>{@code <prefix>.request.size} and {@code <prefix>.response.size}, counters of the body bytes written and
+ * read,</li>
+ * <li>{@code <prefix>.concurrency.limit}, a gauge of the operation's current limit, if a
+ * {@link #concurrencyLimiter(ConcurrencyLimiter) concurrency limiter} is set and limits the operation.</li>
+ * </ul>
+ * Every request is recorded, including retries and hedged requests; requests a concurrency limit rejected are not
+ * sent and not recorded. Meters are registered once per operation, status and exception, so recording does not
+ * look them up in the registry.
+ */
+public class MicrometerMetrics implements ExchangeFilterFunction {
+    public static final String DEFAULT_PREFIX = "petstore.client";
+
+    private static final String NONE = "none";
+    private static final String UNKNOWN = "UNKNOWN";
+
+    /**
+     * The meters of one operation.
+     */
+    private final class OperationMeters {
+        final Tags tags;
+        final AtomicInteger active = new AtomicInteger();
+        final Counter requestBytes;
+        final Counter responseBytes;
+        final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<String, Timer>();
+        final ConcurrentMap<String, Counter> outcomes = new ConcurrentHashMap<String, Counter>();
+
+        OperationMeters(String method, String uri) {
+            this.tags = Tags.of("method", method, "uri", uri);
+            Gauge.builder(prefix + ".requests.active", active, AtomicInteger::get)
+                    .tags(tags)
+                    .description("Requests in flight")
+                    .register(registry);
+            final String operation = method + " " + uri;
+            Gauge.builder(prefix + ".concurrency.limit", MicrometerMetrics.this, metrics -> metrics.concurrencyLimit(operation))
+                    .tags(tags)
+                    .description("Concurrency limit")
+                    .register(registry);
+            this.requestBytes = Counter.builder(prefix + ".request.size")
+                    .tags(tags)
+                    .baseUnit(BaseUnits.BYTES)
+                    .description("Request body bytes written")
+                    .register(registry);
+            this.responseBytes = Counter.builder(prefix + ".response.size")
+                    .tags(tags)
+                    .baseUnit(BaseUnits.BYTES)
+                    .description("Response body bytes read")
+                    .register(registry);
+        }
+
+        Timer timer(String status, String exception) {
+            return timers.computeIfAbsent(status + " " + exception, key -> Timer.builder(prefix + ".requests")
+                    .tags(tags.and("status", status, "exception", exception))
+                    .publishPercentileHistogram()
+                    .description("Time until the response status arrived")
+                    .register(registry));
+        }
+
+        Counter outcome(String outcome) {
+            return outcomes.computeIfAbsent(outcome, key -> Counter.builder(prefix + ".requests.outcome")
+                    .tags(tags.and("outcome", outcome))
+                    .description("Requests by outcome")
+                    .register(registry));
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final String prefix;
+    private final ConcurrentMap<String, OperationMeters> operations = new ConcurrentHashMap<String, OperationMeters>();
+    private volatile ConcurrencyLimiter concurrencyLimiter;
+
+    public MicrometerMetrics(MeterRegistry registry) {
+        this(registry, DEFAULT_PREFIX);
+    }
+
+    /**
+     * Record metrics under the given name prefix.
+     * @param registry The registry the meters are registered with
+     * @param prefix The prefix of the meter names, e.g. {@code petstore.client}
+     */
+    public MicrometerMetrics(MeterRegistry registry, String prefix) {
+        this.registry = registry;
+        this.prefix = prefix;
+    }
+
+    public MeterRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Record the concurrency limits of the given limiter, i.e. the one of the client.
+     * @param concurrencyLimiter The concurrency limiter, or null to not record limits
+     * @return MicrometerMetrics
+     */
+    public MicrometerMetrics concurrencyLimiter(@Nullable ConcurrencyLimiter concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+        return this;
+    }
+
+    private double concurrencyLimit(String operation) {
+        final ConcurrencyLimiter currentConcurrencyLimiter = concurrencyLimiter;
+        final int limit = currentConcurrencyLimiter == null ? 0 : currentConcurrencyLimiter.getLimit(operation);
+        // not reported rather than 0 if the operation is not limited
+        return limit == 0 ? Double.NaN : limit;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        final String method = request.method().name();
+        final String uri = ApiClient.uriTemplate(request, UNKNOWN);
+        final OperationMeters meters = operations.computeIfAbsent(method + " " + uri, key -> new OperationMeters(method, uri));
+        final ClientRequest countedRequest = ClientRequest.from(request)
+                .body((message, context) -> request.body().insert(new ClientHttpRequestDecorator(message) {
+                    @Override
+                    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                        return super.writeWith(Flux.from(body).doOnNext(buffer -> meters.requestBytes.increment(buffer.readableByteCount())));
+                    }
+                }, context))
+                .build();
+        return Mono.defer(() -> {
+            final long startNanos = System.nanoTime();
+            final AtomicBoolean done = new AtomicBoolean();
+            meters.active.incrementAndGet();
+            return next.exchange(countedRequest)
+                    .doOnSuccess(response -> {
+                        if (done.compareAndSet(false, true)) {
+                            meters.active.decrementAndGet();
+                            final int status = response == null ? 0 : response.rawStatusCode();
+                            meters.timer(statusClass(status), NONE).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                            meters.outcome(outcome(status)).increment();
+                        }
+                    })
+                    .doOnError(error -> {
+                        if (done.compareAndSet(false, true)) {
+                            meters.active.decrementAndGet();
+                            meters.timer("NONE", exceptionName(error)).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                            meters.outcome("ERROR").increment();
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (done.compareAndSet(false, true)) {
+                            meters.active.decrementAndGet();
+                            meters.outcome("CANCELLED").increment();
+                        }
+                    })
+                    .map(response -> response.mutate()
+                            .body(body -> body.doOnNext(buffer -> meters.responseBytes.increment(buffer.readableByteCount())))
+                            .build());
+        });
+    }
+
+    private static String exceptionName(Throwable error) {
+        final String simpleName = error.getClass().getSimpleName();
+        // anonymous classes have no simple name
+        return simpleName.isEmpty() ? error.getClass().getName() : simpleName;
+    }
+
+    private static String statusClass(int status) {
+        return status >= 100 && status < 600 ? (status / 100) + "xx" : "NONE";
+    }
+
+    private static String outcome(int status) {
+        switch (status / 100) {
+            case 1:
+                return "INFORMATIONAL";
+            case 2:
+                return "SUCCESS";
+            case 3:
+                return "REDIRECTION";
+            case 4:
+                return "CLIENT_ERROR";
+            case 5:
+                return "SERVER_ERROR";
+            default:
+                return UNKNOWN;
+        }
+    }
+}
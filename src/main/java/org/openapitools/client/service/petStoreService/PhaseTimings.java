@@ -0,0 +1,651 @@
+package org.openapitools.client.service.petStoreService;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpResponse;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+import org.springframework.web.reactive.function.BodyExtractor;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient.ResponseSpec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.util.AttributeKey;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Operators;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientInfos;
+import reactor.util.context.Context;
+
+/**
+ * Breaks the duration of every call down into its phases, reports them to observers and records them in a
+ * {@link LatencyHistogram} per operation and phase, so that a slow operation can be told to be slow on the network
+ * or in decoding.
+ * <p>
+ * The phases of a call are those of its last request when it was retried, or of the request whose response was
+ * used when it was hedged:
+ * <ul>
+ * <li>{@link Phase#POOL_ACQUIRE}, waiting for a connection of the pool, not counting opening a new one,</li>
+ * <li>{@link Phase#DNS_RESOLUTION}, {@link Phase#CONNECT} and {@link Phase#TLS_HANDSHAKE}, opening a new connection,
+ * or 0 for a pooled one,</li>
+ * <li>{@link Phase#REQUEST_WRITE}, sending the request headers and body,</li>
+ * <li>{@link Phase#TIME_TO_FIRST_BYTE}, from the request sent until the response status and headers arrived,</li>
+ * <li>{@link Phase#BODY_TRANSFER}, from then until the last byte of the body arrived,</li>
+ * <li>{@link Phase#DECODE}, the time Jackson spent decoding the body. A body decoded as a stream is decoded while it
+ * arrives, so its transfer includes the decoding of all but the last elements.</li>
+ * </ul>
+ * The connection and request phases are measured by hooks in the Reactor Netty client and decoding by the JSON
+ * decoder of {@link ApiClient#createTimedJsonDecoder(ObjectMapper)}. Both are only installed in a client created with
+ * {@link ApiClient#ApiClient(ConnectionPoolConfig, HttpProtocolConfig, TimeoutPolicy, PhaseTimings)}, so that other
+ * clients do not pay for them; other Reactor Netty clients need {@link #applyTo(HttpClient)}, or else their time to
+ * first byte includes all of them. Calls that send no request of their own, e.g. response cache hits or calls
+ * coalesced into another one's request, are not reported.
+ */
+public class PhaseTimings implements ExchangeFilterFunction {
+    /** The key of the {@link Call} being timed in the context of a call. */
+    static final String CALL_CONTEXT_KEY = PhaseTimings.class.getName() + ".call";
+    /** The key of the {@link Attempt} being timed in the context of one request of a call. */
+    private static final String ATTEMPT_CONTEXT_KEY = PhaseTimings.class.getName() + ".attempt";
+
+    private static final AttributeKey<ConnectionTimings> CONNECTION_TIMINGS = AttributeKey.valueOf(PhaseTimings.class.getName() + ".connection");
+
+    public enum Phase {
+        POOL_ACQUIRE,
+        DNS_RESOLUTION,
+        CONNECT,
+        TLS_HANDSHAKE,
+        REQUEST_WRITE,
+        TIME_TO_FIRST_BYTE,
+        BODY_TRANSFER,
+        DECODE
+    }
+
+    private final List<Consumer<? super CallPhases>> observers = new CopyOnWriteArrayList<Consumer<? super CallPhases>>();
+    private final ConcurrentMap<String, LatencyHistogram[]> histograms = new ConcurrentHashMap<String, LatencyHistogram[]>();
+
+    /**
+     * Report the phases of every call to an observer. It is called on the thread that completed the call, so it
+     * should be quick, and it must not throw.
+     * @param observer The observer
+     * @return PhaseTimings this
+     */
+    public PhaseTimings observer(Consumer<? super CallPhases> observer) {
+        observers.add(observer);
+        return this;
+    }
+
+    /**
+     * Get the histogram of a phase of an operation.
+     * @param operation The operation, e.g. {@code GET /pet/findByStatus}
+     * @param phase The phase
+     * @return LatencyHistogram the histogram, or null if no call of the operation was recorded yet
+     */
+    public LatencyHistogram getHistogram(String operation, Phase phase) {
+        final LatencyHistogram[] operationHistograms = histograms.get(operation);
+        return operationHistograms == null ? null : operationHistograms[phase.ordinal()];
+    }
+
+    /**
+     * Get the phase latencies recorded so far.
+     * @return Map the histograms of the phases by operation, sorted by operation
+     */
+    public Map<String, Map<Phase, LatencyHistogram.Snapshot>> snapshot() {
+        final Map<String, Map<Phase, LatencyHistogram.Snapshot>> snapshots = new TreeMap<String, Map<Phase, LatencyHistogram.Snapshot>>();
+        for (Map.Entry<String, LatencyHistogram[]> entry : histograms.entrySet()) {
+            final Map<Phase, LatencyHistogram.Snapshot> phases = new EnumMap<Phase, LatencyHistogram.Snapshot>(Phase.class);
+            for (Phase phase : Phase.values()) {
+                phases.put(phase, entry.getValue()[phase.ordinal()].snapshot());
+            }
+            snapshots.put(entry.getKey(), Collections.unmodifiableMap(phases));
+        }
+        return Collections.unmodifiableMap(snapshots);
+    }
+
+    /**
+     * Write a table of the percentiles of each phase of each operation, in milliseconds.
+     * @param out The output
+     * @throws IOException if the output fails
+     */
+    public void writePercentiles(Appendable out) throws IOException {
+        out.append(String.format(Locale.ROOT, "%-40s %-18s %10s %9s %9s %9s %9s %9s%n",
+                "Operation (ms)", "Phase", "Count", "Mean", "p50", "p90", "p99", "Max"));
+        for (Map.Entry<String, Map<Phase, LatencyHistogram.Snapshot>> entry : snapshot().entrySet()) {
+            for (Map.Entry<Phase, LatencyHistogram.Snapshot> phase : entry.getValue().entrySet()) {
+                final LatencyHistogram.Snapshot histogram = phase.getValue();
+                if (histogram.getTotalCount() == 0) {
+                    continue;
+                }
+                out.append(String.format(Locale.ROOT, "%-40s %-18s %10d %9.3f %9.3f %9.3f %9.3f %9.3f%n",
+                        entry.getKey(), phase.getKey(), histogram.getTotalCount(), histogram.getMeanMicros() / 1000.0,
+                        histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(90) / 1000.0,
+                        histogram.getValueAtPercentile(99) / 1000.0, histogram.getMaxMicros() / 1000.0));
+            }
+        }
+    }
+
+    /**
+     * Add the hooks that time connections and requests to the given client. They cost nothing for requests that
+     * are not timed, but a connection opened by the client is always timed.
+     * @param httpClient The client to configure
+     * @return HttpClient the configured client
+     */
+    public static HttpClient applyTo(HttpClient httpClient) {
+        return httpClient
+                .doOnChannelInit((observer, channel, remoteAddress) -> {
+                    // HTTP/2 streams are timed by the connection they are a stream of
+                    if (channel.parent() == null) {
+                        final ConnectionTimings timings = new ConnectionTimings();
+                        channel.attr(CONNECTION_TIMINGS).set(timings);
+                        channel.pipeline().addFirst(timings);
+                    }
+                })
+                .doOnRequest((request, connection) -> {
+                    final Attempt attempt = attempt(request);
+                    if (attempt != null) {
+                        attempt.request(connectionTimings(connection.channel()), System.nanoTime());
+                    }
+                })
+                .doAfterRequest((request, connection) -> {
+                    final Attempt attempt = attempt(request);
+                    if (attempt != null) {
+                        attempt.sentNanos = System.nanoTime();
+                    }
+                })
+                .doOnResponse((response, connection) -> {
+                    final Attempt attempt = attempt(response);
+                    if (attempt != null) {
+                        attempt.headersNanos = System.nanoTime();
+                    }
+                });
+    }
+
+    @Nullable
+    private static Attempt attempt(HttpClientInfos infos) {
+        return infos.currentContextView().getOrDefault(ATTEMPT_CONTEXT_KEY, null);
+    }
+
+    @Nullable
+    private static ConnectionTimings connectionTimings(Channel channel) {
+        final ConnectionTimings timings = channel.attr(CONNECTION_TIMINGS).get();
+        return timings != null || channel.parent() == null ? timings : channel.parent().attr(CONNECTION_TIMINGS).get();
+    }
+
+    /**
+     * Time the calls of a response spec.
+     * @param responseSpec The response spec of a request
+     * @return ResponseSpec the timed response spec
+     */
+    ResponseSpec responseSpec(ResponseSpec responseSpec) {
+        return new TimedResponseSpec(responseSpec);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        final String operation = ApiClient.operationName(request);
+        return Mono.deferContextual(context -> {
+            final Call call = context.getOrDefault(CALL_CONTEXT_KEY, null);
+            if (call == null) {
+                return next.exchange(request);
+            }
+            final Attempt attempt = call.attempt(operation);
+            return next.exchange(request)
+                    .map(response -> {
+                        attempt.responseNanos = System.nanoTime();
+                        call.responded(attempt);
+                        return response.mutate()
+                                .body(body -> body.doOnComplete(() -> attempt.bodyNanos = System.nanoTime()))
+                                .build();
+                    })
+                    .contextWrite(Context.of(ATTEMPT_CONTEXT_KEY, attempt));
+        });
+    }
+
+    private void record(CallPhases phases) {
+        final LatencyHistogram[] operationHistograms = histograms.computeIfAbsent(phases.getOperation(), key -> {
+            final LatencyHistogram[] created = new LatencyHistogram[Phase.values().length];
+            for (int i = 0; i < created.length; i++) {
+                created[i] = new LatencyHistogram();
+            }
+            return created;
+        });
+        for (Phase phase : Phase.values()) {
+            final long nanos = phases.getNanos(phase);
+            if (nanos >= 0) {
+                operationHistograms[phase.ordinal()].record(TimeUnit.NANOSECONDS.toMicros(nanos));
+            }
+        }
+        for (Consumer<? super CallPhases> observer : observers) {
+            observer.accept(phases);
+        }
+    }
+
+    /**
+     * The times at which the phases of one request of a call ended, as reported by the filter and the Reactor Netty
+     * hooks.
+     */
+    private static final class Attempt {
+        final String operation;
+        final long attemptNanos = System.nanoTime();
+        volatile long requestNanos = -1;
+        volatile long sentNanos = -1;
+        volatile long headersNanos = -1;
+        volatile long responseNanos = -1;
+        volatile long bodyNanos = -1;
+        volatile ConnectionTimings connection;
+        volatile boolean pooledConnection;
+
+        Attempt(String operation) {
+            this.operation = operation;
+        }
+
+        void request(@Nullable ConnectionTimings connection, long nanos) {
+            requestNanos = nanos;
+            pooledConnection = connection != null && !connection.claim();
+            this.connection = connection;
+        }
+    }
+
+    /**
+     * The requests of a call and the time spent decoding its body. The phases reported are those of the request
+     * started last, unless an earlier one's response arrived later, i.e. a hedged request lost the race.
+     */
+    final class Call {
+        private final long startNanos = System.nanoTime();
+        // guarded by this
+        private Attempt reported;
+        private long decodeNanos = -1;
+        private boolean completed;
+
+        synchronized Attempt attempt(String operation) {
+            reported = new Attempt(operation);
+            return reported;
+        }
+
+        synchronized void responded(Attempt attempt) {
+            if (reported.responseNanos < 0 || attempt.attemptNanos > reported.attemptNanos) {
+                reported = attempt;
+            }
+        }
+
+        synchronized void decoded(long nanos) {
+            decodeNanos = Math.max(decodeNanos, 0) + nanos;
+        }
+
+        void complete() {
+            final long endNanos = System.nanoTime();
+            final long[] nanos = new long[Phase.values().length];
+            Arrays.fill(nanos, -1);
+            final String calledOperation;
+            synchronized (this) {
+                if (completed || reported == null) {
+                    return;
+                }
+                completed = true;
+                final Attempt attempt = reported;
+                calledOperation = attempt.operation;
+                final ConnectionTimings connection = attempt.connection;
+                final boolean pooledConnection = attempt.pooledConnection;
+                final long requestNanos = attempt.requestNanos;
+                final long sentNanos = attempt.sentNanos;
+                if (connection != null) {
+                    nanos[Phase.DNS_RESOLUTION.ordinal()] = pooledConnection ? 0 : connection.dnsResolutionNanos();
+                    nanos[Phase.CONNECT.ordinal()] = pooledConnection ? 0 : connection.connectNanos();
+                    nanos[Phase.TLS_HANDSHAKE.ordinal()] = pooledConnection ? (connection.isSecure() ? 0 : -1) : connection.tlsHandshakeNanos();
+                }
+                if (requestNanos >= 0) {
+                    final long connecting = Math.max(nanos[Phase.DNS_RESOLUTION.ordinal()], 0)
+                            + Math.max(nanos[Phase.CONNECT.ordinal()], 0) + Math.max(nanos[Phase.TLS_HANDSHAKE.ordinal()], 0);
+                    nanos[Phase.POOL_ACQUIRE.ordinal()] = Math.max(requestNanos - attempt.attemptNanos - connecting, 0);
+                    if (sentNanos >= 0) {
+                        nanos[Phase.REQUEST_WRITE.ordinal()] = sentNanos - requestNanos;
+                    }
+                }
+                // without the hooks, the response arriving at the filter is the first byte
+                final long firstByteNanos = attempt.headersNanos >= 0 ? attempt.headersNanos : attempt.responseNanos;
+                if (firstByteNanos >= 0) {
+                    nanos[Phase.TIME_TO_FIRST_BYTE.ordinal()] = firstByteNanos - (sentNanos >= 0 ? sentNanos : attempt.attemptNanos);
+                    if (attempt.bodyNanos >= 0) {
+                        nanos[Phase.BODY_TRANSFER.ordinal()] = attempt.bodyNanos - firstByteNanos;
+                    }
+                }
+                nanos[Phase.DECODE.ordinal()] = decodeNanos;
+            }
+            record(new CallPhases(calledOperation, nanos, endNanos - startNanos));
+        }
+    }
+
+    /**
+     * The times at which a connection was initialized, connected and secured. It only takes part in the pipeline
+     * until the connection is active, and is kept as an attribute of the channel for its first request to claim.
+     */
+    private static final class ConnectionTimings extends ChannelDuplexHandler {
+        private final long initNanos = System.nanoTime();
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private volatile long connectStartNanos = -1;
+        private volatile long activeNanos = -1;
+        private volatile long handshakeNanos = -1;
+        private volatile boolean secure;
+
+        /**
+         * Claim the connection for the request sent first over it.
+         * @return boolean true if no request claimed it before
+         */
+        boolean claim() {
+            return !claimed.get() && claimed.compareAndSet(false, true);
+        }
+
+        boolean isSecure() {
+            return secure;
+        }
+
+        long dnsResolutionNanos() {
+            // the address is resolved between registering the channel and connecting it
+            final long connectStart = connectStartNanos;
+            return connectStart < 0 ? -1 : connectStart - initNanos;
+        }
+
+        long connectNanos() {
+            final long connectStart = connectStartNanos;
+            final long active = activeNanos;
+            return connectStart < 0 || active < 0 ? -1 : active - connectStart;
+        }
+
+        long tlsHandshakeNanos() {
+            final long active = activeNanos;
+            final long handshake = handshakeNanos;
+            return active < 0 || handshake < 0 ? -1 : handshake - active;
+        }
+
+        @Override
+        public void connect(ChannelHandlerContext ctx, SocketAddress remoteAddress, SocketAddress localAddress, ChannelPromise promise) throws Exception {
+            connectStartNanos = System.nanoTime();
+            super.connect(ctx, remoteAddress, localAddress, promise);
+        }
+
+        @Override
+        public void channelActive(ChannelHandlerContext ctx) throws Exception {
+            activeNanos = System.nanoTime();
+            final SslHandler sslHandler = ctx.pipeline().get(SslHandler.class);
+            if (sslHandler != null) {
+                secure = true;
+                sslHandler.handshakeFuture().addListener(future -> {
+                    if (future.isSuccess()) {
+                        handshakeNanos = System.nanoTime();
+                    }
+                });
+            }
+            super.channelActive(ctx);
+            ctx.pipeline().remove(this);
+        }
+    }
+
+    /**
+     * A Jackson decoder that reports how long it took to decode the body of a timed call: the time it spent handling
+     * the arriving body, not counting the time the decoded values spent downstream.
+     */
+    static final class TimedJsonDecoder extends Jackson2JsonDecoder {
+        TimedJsonDecoder(ObjectMapper mapper, MimeType... mimeTypes) {
+            super(mapper, mimeTypes);
+        }
+
+        @Override
+        public Flux<Object> decode(Publisher<DataBuffer> input, ResolvableType elementType, @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+            return Flux.deferContextual(context -> {
+                final Call call = context.getOrDefault(CALL_CONTEXT_KEY, null);
+                if (call == null) {
+                    return super.decode(input, elementType, mimeType, hints);
+                }
+                final DecodeClock clock = new DecodeClock(call);
+                return super.decode(Flux.from(input).transform(clock.<DataBuffer>timed(true)), elementType, mimeType, hints)
+                        .transform(clock.<Object>timed(false));
+            });
+        }
+
+        @Override
+        public Mono<Object> decodeToMono(Publisher<DataBuffer> input, ResolvableType elementType, @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+            return Mono.deferContextual(context -> {
+                final Call call = context.getOrDefault(CALL_CONTEXT_KEY, null);
+                if (call == null) {
+                    return super.decodeToMono(input, elementType, mimeType, hints);
+                }
+                final DecodeClock clock = new DecodeClock(call);
+                return super.decodeToMono(Flux.from(input).transform(clock.<DataBuffer>timed(true)), elementType, mimeType, hints)
+                        .transform(clock.<Object>timed(false));
+            });
+        }
+    }
+
+    /**
+     * Adds up the time spent in the signals going into a decoder, minus the time spent in the signals it emits
+     * meanwhile, and reports it to the call before each signal it emits: the call may complete on the first value.
+     */
+    private static final class DecodeClock {
+        private final Call call;
+        // signals are serialized
+        private long decodingSinceNanos = -1;
+        private boolean suspended;
+        private long decodeNanos;
+
+        DecodeClock(Call call) {
+            this.call = call;
+        }
+
+        <T> Function<? super Publisher<T>, ? extends Publisher<T>> timed(boolean input) {
+            return Operators.<T, T>lift((scannable, actual) -> new TimedSubscriber<T>(actual, this, input));
+        }
+
+        void enter(boolean input) {
+            final long now = System.nanoTime();
+            if (input) {
+                decodingSinceNanos = now;
+                return;
+            }
+            if (decodingSinceNanos >= 0) {
+                decodeNanos += now - decodingSinceNanos;
+                decodingSinceNanos = -1;
+                suspended = true;
+            }
+            if (decodeNanos > 0) {
+                call.decoded(decodeNanos);
+                decodeNanos = 0;
+            }
+        }
+
+        void exit(boolean input) {
+            final long now = System.nanoTime();
+            if (input) {
+                if (decodingSinceNanos >= 0) {
+                    decodeNanos += now - decodingSinceNanos;
+                    decodingSinceNanos = -1;
+                }
+            } else if (suspended) {
+                suspended = false;
+                decodingSinceNanos = now;
+            }
+        }
+    }
+
+    private static final class TimedSubscriber<T> implements CoreSubscriber<T> {
+        private final CoreSubscriber<? super T> actual;
+        private final DecodeClock clock;
+        private final boolean input;
+
+        TimedSubscriber(CoreSubscriber<? super T> actual, DecodeClock clock, boolean input) {
+            this.actual = actual;
+            this.clock = clock;
+            this.input = input;
+        }
+
+        @Override
+        public Context currentContext() {
+            return actual.currentContext();
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            actual.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(T value) {
+            clock.enter(input);
+            try {
+                actual.onNext(value);
+            } finally {
+                clock.exit(input);
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            clock.enter(input);
+            try {
+                actual.onError(error);
+            } finally {
+                clock.exit(input);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            clock.enter(input);
+            try {
+                actual.onComplete();
+            } finally {
+                clock.exit(input);
+            }
+        }
+    }
+
+    private final class TimedResponseSpec implements ResponseSpec {
+        private final ResponseSpec delegate;
+
+        TimedResponseSpec(ResponseSpec delegate) {
+            this.delegate = delegate;
+        }
+
+        private <T> Mono<T> timed(Mono<T> mono) {
+            return Mono.defer(() -> {
+                final Call call = new Call();
+                return mono.doFinally(signal -> call.complete()).contextWrite(Context.of(CALL_CONTEXT_KEY, call));
+            });
+        }
+
+        private <T> Flux<T> timed(Flux<T> flux) {
+            return Flux.defer(() -> {
+                final Call call = new Call();
+                return flux.doFinally(signal -> call.complete()).contextWrite(Context.of(CALL_CONTEXT_KEY, call));
+            });
+        }
+
+        @Override
+        public ResponseSpec onStatus(Predicate<HttpStatus> statusPredicate, Function<ClientResponse, Mono<? extends Throwable>> exceptionFunction) {
+            delegate.onStatus(statusPredicate, exceptionFunction);
+            return this;
+        }
+
+        @Override
+        public ResponseSpec onRawStatus(IntPredicate statusCodePredicate, Function<ClientResponse, Mono<? extends Throwable>> exceptionFunction) {
+            delegate.onRawStatus(statusCodePredicate, exceptionFunction);
+            return this;
+        }
+
+        @Override
+        public <T> Mono<T> bodyToMono(Class<T> elementClass) {
+            return timed(delegate.bodyToMono(elementClass));
+        }
+
+        @Override
+        public <T> Mono<T> bodyToMono(ParameterizedTypeReference<T> elementTypeRef) {
+            return timed(delegate.bodyToMono(elementTypeRef));
+        }
+
+        @Override
+        public <T> Flux<T> bodyToFlux(Class<T> elementClass) {
+            return timed(delegate.bodyToFlux(elementClass));
+        }
+
+        @Override
+        public <T> Flux<T> bodyToFlux(ParameterizedTypeReference<T> elementTypeRef) {
+            return timed(delegate.bodyToFlux(elementTypeRef));
+        }
+
+        @Override
+        public <T> Mono<ResponseEntity<T>> toEntity(Class<T> bodyClass) {
+            return timed(delegate.toEntity(bodyClass));
+        }
+
+        @Override
+        public <T> Mono<ResponseEntity<T>> toEntity(ParameterizedTypeReference<T> bodyTypeReference) {
+            return timed(delegate.toEntity(bodyTypeReference));
+        }
+
+        @Override
+        public <T> Mono<ResponseEntity<List<T>>> toEntityList(Class<T> elementClass) {
+            return timed(delegate.toEntityList(elementClass));
+        }
+
+        @Override
+        public <T> Mono<ResponseEntity<List<T>>> toEntityList(ParameterizedTypeReference<T> elementTypeRef) {
+            return timed(delegate.toEntityList(elementTypeRef));
+        }
+
+        // the body of an entity flux is read after the entity completed, so these calls are not timed
+
+        @Override
+        public <T> Mono<ResponseEntity<Flux<T>>> toEntityFlux(Class<T> elementType) {
+            return delegate.toEntityFlux(elementType);
+        }
+
+        @Override
+        public <T> Mono<ResponseEntity<Flux<T>>> toEntityFlux(ParameterizedTypeReference<T> elementTypeReference) {
+            return delegate.toEntityFlux(elementTypeReference);
+        }
+
+        @Override
+        public <T> Mono<ResponseEntity<Flux<T>>> toEntityFlux(BodyExtractor<Flux<T>, ? super ClientHttpResponse> bodyExtractor) {
+            return delegate.toEntityFlux(bodyExtractor);
+        }
+
+        @Override
+        public Mono<ResponseEntity<Void>> toBodilessEntity() {
+            return timed(delegate.toBodilessEntity());
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package org.openapitools.client.service.petStoreService;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.util.MultiValueMap;
+
+/**
+ * Writes percent-encoded URI components straight into a {@link StringBuilder}.
+ * <p>
+ * Parameter names are encoded like query parameter literals of a URI template and values are encoded strictly,
+ * i.e. everything but unreserved characters is escaped, which is what {@code DefaultUriBuilderFactory} does when it
+ * expands template variables. The encoding therefore matches the one WebClient produced for templated queries, without
+ * building a template and a variable map first.
+ */
+final class QueryStringEncoder {
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private static final int INITIAL_BUFFER_CAPACITY = 256;
+    private static final int MAX_RETAINED_BUFFER_CAPACITY = 16 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = new ThreadLocal<StringBuilder>();
+
+    private QueryStringEncoder() {
+    }
+
+    /**
+     * Get the calling thread's URI buffer, emptied.
+     * <p>
+     * The buffer is reused by subsequent calls on the same thread, so its content must be copied out
+     * (e.g. with {@code toString()}) before the next call.
+     * @return StringBuilder the empty buffer
+     */
+    static StringBuilder buffer() {
+        StringBuilder buffer = BUFFER.get();
+        if (buffer == null || buffer.capacity() > MAX_RETAINED_BUFFER_CAPACITY) {
+            buffer = new StringBuilder(INITIAL_BUFFER_CAPACITY);
+            BUFFER.set(buffer);
+        } else {
+            buffer.setLength(0);
+        }
+        return buffer;
+    }
+
+    /**
+     * Append all query parameters as {@code name=value} pairs separated by {@code &}.
+     * A parameter without values, or a {@code null} value, is written as the bare name.
+     * @param query The buffer to append to
+     * @param queryParams The query parameters
+     */
+    static void appendQueryParams(StringBuilder query, MultiValueMap<String, String> queryParams) {
+        appendQueryParams(query, query.length(), queryParams);
+    }
+
+    /**
+     * Append all query parameters to a query string that may already hold parameters,
+     * i.e. starting with a {@code &} unless nothing was written since {@code start}.
+     * @param query The buffer to append to
+     * @param start The position the query string starts at in the buffer
+     * @param queryParams The query parameters
+     */
+    static void appendQueryParams(StringBuilder query, int start, MultiValueMap<String, String> queryParams) {
+        for (Map.Entry<String, List<String>> entry : queryParams.entrySet()) {
+            final String name = entry.getKey();
+            final List<String> values = entry.getValue();
+            if (values == null || values.isEmpty()) {
+                if (query.length() != start) {
+                    query.append('&');
+                }
+                appendEncodedName(query, name);
+            } else {
+                for (int i = 0; i < values.size(); i++) {
+                    if (query.length() != start) {
+                        query.append('&');
+                    }
+                    appendQueryParam(query, name, values.get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Append a single {@code name=value} pair, or the bare name if the value is {@code null}.
+     * @param query The buffer to append to
+     * @param name The parameter name
+     * @param value The parameter value
+     */
+    static void appendQueryParam(StringBuilder query, String name, String value) {
+        appendEncodedName(query, name);
+        if (value != null) {
+            query.append('=');
+            appendEncodedValue(query, value);
+        }
+    }
+
+    /**
+     * Append a query parameter name, escaping the characters that are not allowed in a query parameter.
+     * @param out The buffer to append to
+     * @param name The parameter name
+     */
+    static void appendEncodedName(StringBuilder out, String name) {
+        appendEncoded(out, name, true);
+    }
+
+    /**
+     * Append a URI variable or query parameter value, escaping everything but unreserved characters.
+     * @param out The buffer to append to
+     * @param value The value
+     */
+    static void appendEncodedValue(StringBuilder out, String value) {
+        appendEncoded(out, value, false);
+    }
+
+    private static void appendEncoded(StringBuilder out, String source, boolean queryParamName) {
+        final int length = source.length();
+        for (int i = 0; i < length; i++) {
+            final char c = source.charAt(i);
+            if (c < 0x80) {
+                if (isUnreserved(c) || (queryParamName && isAllowedInQueryParamName(c))) {
+                    out.append(c);
+                } else {
+                    appendEscaped(out, c);
+                }
+            } else if (c < 0x800) {
+                appendEscaped(out, 0xC0 | (c >> 6));
+                appendEscaped(out, 0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(source.charAt(i + 1))) {
+                    final int codePoint = Character.toCodePoint(c, source.charAt(++i));
+                    appendEscaped(out, 0xF0 | (codePoint >> 18));
+                    appendEscaped(out, 0x80 | ((codePoint >> 12) & 0x3F));
+                    appendEscaped(out, 0x80 | ((codePoint >> 6) & 0x3F));
+                    appendEscaped(out, 0x80 | (codePoint & 0x3F));
+                } else {
+                    // malformed input is replaced the same way String.getBytes(UTF_8) does it
+                    appendEscaped(out, '?');
+                }
+            } else {
+                appendEscaped(out, 0xE0 | (c >> 12));
+                appendEscaped(out, 0x80 | ((c >> 6) & 0x3F));
+                appendEscaped(out, 0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private static void appendEscaped(StringBuilder out, int b) {
+        out.append('%').append(HEX_DIGITS[(b >> 4) & 0xF]).append(HEX_DIGITS[b & 0xF]);
+    }
+
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+
+    private static boolean isAllowedInQueryParamName(char c) {
+        switch (c) {
+            // sub-delims except '&' and '=', plus ':' and '@' from pchar and '/' and '?' from query
+            case '!': case '$': case '\'': case '(': case ')': case '*': case '+': case ',': case ';':
+            case ':': case '@': case '/': case '?':
+                return true;
+            default:
+                return false;
+        }
+    }
+}
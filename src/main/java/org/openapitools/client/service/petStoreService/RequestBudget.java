@@ -0,0 +1,81 @@
+package org.openapitools.client.service.petStoreService;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket that caps the extra requests sent on top of the requests callers make, such as retries and hedged
+ * requests, to a fraction of the latter.
+ * <p>
+ * Every request made by a caller deposits a fraction of a token, and every extra request withdraws a whole one. So
+ * while everything fails, e.g. during an outage, extra requests add at most that fraction to the load, plus a burst of
+ * the bucket's capacity; while almost nothing fails, the bucket stays full and does not get in the way.
+ */
+public class RequestBudget {
+    public static final double DEFAULT_RATIO = 0.1;
+    public static final int DEFAULT_CAPACITY = 10;
+
+    /** Tokens are counted in thousandths, so that a deposit is a single atomic addition. */
+    private static final long SCALE = 1000;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong balance;
+
+    /**
+     * Allow {@link #DEFAULT_RATIO} extra requests per request, with a burst of {@link #DEFAULT_CAPACITY}.
+     */
+    public RequestBudget() {
+        this(DEFAULT_RATIO, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param ratio The number of extra requests allowed per request made by a caller
+     * @param capacity The number of extra requests allowed in a burst, which the bucket starts with
+     */
+    public RequestBudget(double ratio, int capacity) {
+        if (ratio < 0 || ratio > 1) {
+            throw new IllegalArgumentException("Ratio must be between 0 and 1: " + ratio);
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.deposit = (long) (ratio * SCALE);
+        this.capacity = capacity * SCALE;
+        this.balance = new AtomicLong(this.capacity);
+    }
+
+    /**
+     * Record a request made by a caller.
+     */
+    public void deposit() {
+        final long current = balance.get();
+        // a full bucket is the common case, where there is nothing to do
+        if (current < capacity) {
+            balance.accumulateAndGet(deposit, (previous, added) -> Math.min(capacity, previous + added));
+        }
+    }
+
+    /**
+     * Withdraw a token for an extra request.
+     * @return boolean true if the extra request may be sent
+     */
+    public boolean tryWithdraw() {
+        for (;;) {
+            final long current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Get the number of extra requests that may currently be sent.
+     * @return double the number of tokens
+     */
+    public double getBalance() {
+        return (double) balance.get() / SCALE;
+    }
+}
@@ -0,0 +1,282 @@
+package org.openapitools.client.service.petStoreService;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Sends identical GET requests that are in flight at the same time only once, enabled per operation.
+ * <p>
+ * Requests are identical if they have the same URL, headers and cookies, which covers the query string and the
+ * credentials added by the client's authentications. The first request is sent and its response body is read into
+ * memory; requests made before it completes receive a copy of that response instead of being sent. Joining a request
+ * in flight is a single lookup in a concurrent map.
+ * <p>
+ * A response body larger than the maximum buffer size ({@value #DEFAULT_MAXIMUM_BUFFER_SIZE} bytes by default) is
+ * not shared: one of the requests receives the response as it is, and the others are sent on their own. A body
+ * without a Content-Length only turns out to be too large while it is read, in which case all of them are sent again.
+ */
+public class RequestCoalescing implements ExchangeFilterFunction {
+    public static final int DEFAULT_MAXIMUM_BUFFER_SIZE = 256 * 1024;
+
+    /**
+     * Request counts of one operation.
+     */
+    public static class Statistics {
+        private final LongAdder sentRequests = new LongAdder();
+        private final LongAdder coalescedRequests = new LongAdder();
+        private final LongAdder unsharedResponses = new LongAdder();
+
+        /**
+         * Get the number of requests sent.
+         * @return long the number of sent requests
+         */
+        public long getSentRequests() {
+            return sentRequests.sum();
+        }
+
+        /**
+         * Get the number of requests that were not sent, but received the response of an identical one in flight.
+         * @return long the number of coalesced requests
+         */
+        public long getCoalescedRequests() {
+            return coalescedRequests.sum();
+        }
+
+        /**
+         * Get the number of responses whose body was too large to be shared.
+         * @return long the number of unshared responses
+         */
+        public long getUnsharedResponses() {
+            return unsharedResponses.sum();
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics{sentRequests=" + getSentRequests() + ", coalescedRequests=" + getCoalescedRequests()
+                    + ", unsharedResponses=" + getUnsharedResponses() + "}";
+        }
+    }
+
+    /**
+     * What makes requests identical.
+     */
+    private static final class Key {
+        private final URI url;
+        private final HttpHeaders headers;
+        private final MultiValueMap<String, String> cookies;
+        private final int hashCode;
+
+        Key(ClientRequest request) {
+            this.url = request.url();
+            this.headers = request.headers();
+            this.cookies = request.cookies();
+            this.hashCode = (url.hashCode() * 31 + headers.hashCode()) * 31 + cookies.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) other;
+            return hashCode == key.hashCode && url.equals(key.url) && headers.equals(key.headers) && cookies.equals(key.cookies);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * The response of a request in flight, as received by the identical requests.
+     */
+    private static final class SharedResponse {
+        /** The response with a replayable body, or the one with a body too large to be buffered, or null. */
+        private final ClientResponse response;
+        private final boolean buffered;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        SharedResponse(ClientResponse response, boolean buffered) {
+            this.response = response;
+            this.buffered = buffered;
+        }
+
+        Mono<ClientResponse> responseTo(ClientRequest request, ExchangeFunction next, Statistics operationStatistics, boolean joined) {
+            if (buffered || response != null && claimed.compareAndSet(false, true)) {
+                return Mono.just(response);
+            }
+            // not coalesced after all
+            operationStatistics.sentRequests.increment();
+            if (joined) {
+                operationStatistics.coalescedRequests.decrement();
+            }
+            return next.exchange(request);
+        }
+    }
+
+    /**
+     * A request in flight, whose response is shared by all identical requests made until it completes.
+     */
+    private final class InFlight {
+        final Key key;
+        final Mono<SharedResponse> response;
+
+        InFlight(ClientRequest request, ExchangeFunction next, Key key, Statistics operationStatistics) {
+            this.key = key;
+            final int maximumSize = maximumBufferSize;
+            // leaves the map before the response is emitted, so that requests made from then on are sent again
+            this.response = next.exchange(request)
+                    .flatMap(received -> buffer(received, maximumSize, operationStatistics))
+                    .doOnSuccess(sharedResponse -> land())
+                    .doOnError(error -> land())
+                    .doOnCancel(this::land)
+                    // completes all requests waiting for it, and is cancelled once all of them are
+                    .share();
+        }
+
+        void land() {
+            inFlight.remove(key, this);
+        }
+    }
+
+    private final Set<String> operations = ConcurrentHashMap.newKeySet();
+    private final ConcurrentMap<Key, InFlight> inFlight = new ConcurrentHashMap<Key, InFlight>();
+    private final ConcurrentMap<String, Statistics> statistics = new ConcurrentHashMap<String, Statistics>();
+    private volatile int maximumBufferSize = DEFAULT_MAXIMUM_BUFFER_SIZE;
+
+    /**
+     * Coalesce identical requests of the given GET operation.
+     * @param operation The operation, e.g. {@code GET /pet/{petId}}
+     * @return RequestCoalescing
+     */
+    public RequestCoalescing operation(String operation) {
+        operations.add(operation);
+        return this;
+    }
+
+    /**
+     * Set the maximum size of a response body shared by identical requests.
+     * @param maximumBufferSize The maximum size in bytes
+     * @return RequestCoalescing
+     */
+    public RequestCoalescing maximumBufferSize(int maximumBufferSize) {
+        if (maximumBufferSize < 0) {
+            throw new IllegalArgumentException("Maximum buffer size must not be negative: " + maximumBufferSize);
+        }
+        this.maximumBufferSize = maximumBufferSize;
+        return this;
+    }
+
+    public int getMaximumBufferSize() {
+        return maximumBufferSize;
+    }
+
+    /**
+     * Check whether identical requests of an operation are coalesced.
+     * @param operation The operation
+     * @return boolean true if the operation's requests are coalesced
+     */
+    public boolean isCoalesced(String operation) {
+        return operations.contains(operation);
+    }
+
+    /**
+     * Get the statistics of an operation.
+     * @param operation The operation, e.g. {@code GET /pet/{petId}}
+     * @return Statistics the statistics, or null if the operation was not requested yet
+     */
+    public Statistics getStatistics(String operation) {
+        return statistics.get(operation);
+    }
+
+    /**
+     * Get the statistics of all coalesced operations that were requested.
+     * @return Map the statistics by operation
+     */
+    public Map<String, Statistics> getStatistics() {
+        return Collections.unmodifiableMap(new HashMap<String, Statistics>(statistics));
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (request.method() != HttpMethod.GET) {
+            return next.exchange(request);
+        }
+        final String operation = ApiClient.operationName(request);
+        if (!operations.contains(operation)) {
+            return next.exchange(request);
+        }
+        final Statistics operationStatistics = statistics.computeIfAbsent(operation, key -> new Statistics());
+        final Key key = new Key(request);
+        return Mono.defer(() -> {
+            InFlight joined = inFlight.get(key);
+            if (joined == null) {
+                final InFlight sent = new InFlight(request, next, key, operationStatistics);
+                joined = inFlight.putIfAbsent(key, sent);
+                if (joined == null) {
+                    operationStatistics.sentRequests.increment();
+                    return sent.response.flatMap(shared -> shared.responseTo(request, next, operationStatistics, false));
+                }
+            }
+            operationStatistics.coalescedRequests.increment();
+            return joined.response.flatMap(shared -> shared.responseTo(request, next, operationStatistics, true));
+        });
+    }
+
+    /**
+     * Read the body of a response into memory, so that it can be read by every request it is shared with.
+     * @param response The response
+     * @param maximumSize The maximum size of the body
+     * @param operationStatistics The statistics of the response's operation
+     * @return Mono the response with a replayable body, or the response itself if its body is too large, or a
+     * response to send again if the body turned out too large while it was read
+     */
+    private static Mono<SharedResponse> buffer(ClientResponse response, int maximumSize, Statistics operationStatistics) {
+        if (response.headers().contentLength().orElse(0) > maximumSize) {
+            operationStatistics.unsharedResponses.increment();
+            return Mono.just(new SharedResponse(response, false));
+        }
+        return DataBufferUtils.join(response.bodyToFlux(DataBuffer.class), maximumSize)
+                .map(joined -> {
+                    final byte[] bytes = new byte[joined.readableByteCount()];
+                    joined.read(bytes);
+                    DataBufferUtils.release(joined);
+                    return bytes;
+                })
+                .defaultIfEmpty(new byte[0])
+                .map(bytes -> new SharedResponse(response.mutate()
+                        .body(Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(bytes))))
+                        .build(), true))
+                .onErrorResume(DataBufferLimitException.class, error -> {
+                    // the body read so far was released, and the rest discarded along with the connection
+                    operationStatistics.unsharedResponses.increment();
+                    return Mono.just(new SharedResponse(null, false));
+                });
+    }
+}
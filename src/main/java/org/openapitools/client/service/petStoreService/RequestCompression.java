@@ -0,0 +1,337 @@
+package org.openapitools.client.service.petStoreService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.CodecException;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.http.codec.EncoderHttpMessageWriter;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.BodyInserter;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Gzip compression of JSON request bodies, enabled per operation.
+ * <p>
+ * The body is compressed while it is encoded: collections are encoded element by element and every chunk goes
+ * through the deflater as soon as it is produced, so neither the JSON nor the compressed body is ever held in full.
+ * Bodies smaller than the operation's threshold are sent uncompressed, since gzip does not pay off for them; the
+ * decision is made once that many bytes have been encoded.
+ */
+public class RequestCompression {
+    public static final int DEFAULT_THRESHOLD = 8 * 1024;
+
+    private static final byte[] GZIP_HEADER = { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+    private static final int DEFLATE_BUFFER_SIZE = 8 * 1024;
+
+    private final ConcurrentMap<String, Integer> thresholds = new ConcurrentHashMap<String, Integer>();
+    private int level = Deflater.DEFAULT_COMPRESSION;
+
+    /**
+     * Compress request bodies of the given operation of at least {@link #DEFAULT_THRESHOLD} bytes.
+     * @param operation The operation, e.g. {@code POST /user/createWithArray}
+     * @return RequestCompression
+     */
+    public RequestCompression operation(String operation) {
+        return operation(operation, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Compress request bodies of the given operation of at least the given size.
+     * @param operation The operation, e.g. {@code POST /user/createWithArray}
+     * @param threshold The minimum body size in bytes
+     * @return RequestCompression
+     */
+    public RequestCompression operation(String operation, int threshold) {
+        thresholds.put(operation, threshold);
+        return this;
+    }
+
+    /**
+     * Set the deflate compression level, from 1 (fastest) to 9 (smallest).
+     * @param level The compression level
+     * @return RequestCompression
+     */
+    public RequestCompression level(int level) {
+        if ((level < 1 || level > 9) && level != Deflater.DEFAULT_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+        this.level = level;
+        return this;
+    }
+
+    /**
+     * Get the compression threshold of an operation.
+     * @param operation The operation
+     * @return Integer the threshold in bytes, or null if the operation's requests are not compressed
+     */
+    public Integer getThreshold(String operation) {
+        return thresholds.get(operation);
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Create an inserter that writes the body as JSON, gzipped if it reaches the threshold.
+     * @param body The body
+     * @param bodyType The declared type of the body, or null to encode it as the type of the object
+     * @param contentType The JSON content type
+     * @param threshold The minimum body size to compress
+     * @return BodyInserter
+     */
+    BodyInserter<Object, ClientHttpRequest> bodyInserter(Object body, @Nullable ParameterizedTypeReference<?> bodyType, MediaType contentType, int threshold) {
+        return new BodyInserter<Object, ClientHttpRequest>() {
+            @Override
+            public Mono<Void> insert(ClientHttpRequest request, Context context) {
+                return Mono.defer(() -> {
+                    final ResolvableType type = bodyType != null ? ResolvableType.forType(bodyType) : ResolvableType.forInstance(body);
+                    final Encoder<Object> encoder = findEncoder(type, contentType, context.messageWriters());
+                    final Iterator<DataBuffer> json = new JsonChunks(body, type, encoder, contentType, request.bufferFactory());
+                    final ThresholdGzip gzip = new ThresholdGzip(request.bufferFactory(), level);
+                    // the headers are sent before the first chunk, so enough of the body is encoded up front to pick them
+                    try {
+                        if (gzip.start(json, threshold)) {
+                            request.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+                            request.getHeaders().set(HttpHeaders.CONTENT_ENCODING, "gzip");
+                        } else {
+                            request.getHeaders().setContentLength(gzip.getStartBytes());
+                        }
+                    } catch (RuntimeException e) {
+                        gzip.discard();
+                        return Mono.error(e);
+                    }
+                    return request.writeWith(Flux.using(
+                            () -> gzip,
+                            started -> Flux.defer(() -> Flux.fromIterable(started.takeStart()))
+                                    .concatWith(Flux.fromIterable(() -> json).concatMapIterable(started::write))
+                                    .concatWith(Flux.defer(() -> Flux.fromIterable(started.finish()))),
+                            ThresholdGzip::discard));
+                });
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Encoder<Object> findEncoder(ResolvableType type, MediaType contentType, List<HttpMessageWriter<?>> writers) {
+        for (HttpMessageWriter<?> writer : writers) {
+            if (writer instanceof EncoderHttpMessageWriter && writer.canWrite(type, contentType)) {
+                return ((EncoderHttpMessageWriter<Object>) writer).getEncoder();
+            }
+        }
+        throw new CodecException("No encoder for " + type + " and content type " + contentType);
+    }
+
+    /**
+     * The JSON encoding of a body in chunks, encoded as they are requested. A collection is encoded one element
+     * at a time into the same bytes the whole collection would be encoded to, as the element type the collection
+     * was declared with, or as its own type if that is unknown.
+     */
+    private static final class JsonChunks implements Iterator<DataBuffer> {
+        private static final byte[] ARRAY_START = { '[' };
+        private static final byte[] ARRAY_END = { ']' };
+        private static final byte[] SEPARATOR = { ',' };
+        private static final byte[] NULL = { 'n', 'u', 'l', 'l' };
+
+        private final Encoder<Object> encoder;
+        private final ResolvableType valueType;
+        private final MediaType contentType;
+        private final DataBufferFactory bufferFactory;
+        private final Iterator<?> elements;
+        private Object single;
+        private boolean started;
+        private boolean separatorNext;
+        private boolean ended;
+
+        JsonChunks(Object body, ResolvableType type, Encoder<Object> encoder, MediaType contentType, DataBufferFactory bufferFactory) {
+            this.encoder = encoder;
+            this.contentType = contentType;
+            this.bufferFactory = bufferFactory;
+            if (body instanceof Collection) {
+                final ResolvableType elementType = type.asCollection().getGeneric(0);
+                this.valueType = elementType.resolve(Object.class) == Object.class ? null : elementType;
+                this.elements = ((Collection<?>) body).iterator();
+            } else {
+                this.valueType = type;
+                this.elements = null;
+                this.single = body;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return elements == null ? single != null : !ended;
+        }
+
+        @Override
+        public DataBuffer next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (elements == null) {
+                Object value = single;
+                single = null;
+                return encodeValue(value);
+            }
+            if (!started) {
+                started = true;
+                return bufferFactory.wrap(ARRAY_START.clone());
+            }
+            if (!elements.hasNext()) {
+                ended = true;
+                return bufferFactory.wrap(ARRAY_END.clone());
+            }
+            if (separatorNext) {
+                separatorNext = false;
+                return bufferFactory.wrap(SEPARATOR.clone());
+            }
+            separatorNext = true;
+            return encodeValue(elements.next());
+        }
+
+        private DataBuffer encodeValue(Object value) {
+            if (value == null) {
+                return bufferFactory.wrap(NULL.clone());
+            }
+            final ResolvableType type = valueType != null ? valueType : ResolvableType.forInstance(value);
+            return encoder.encodeValue(value, bufferFactory, type, contentType, Collections.<String, Object>emptyMap());
+        }
+    }
+
+    /**
+     * Encodes the start of the body until it reaches the threshold, then gzips it and the rest of it.
+     */
+    private static final class ThresholdGzip {
+        private final DataBufferFactory bufferFactory;
+        private final int level;
+        private List<DataBuffer> start = new ArrayList<DataBuffer>();
+        private long startBytes;
+        private Deflater deflater;
+        private final CRC32 crc = new CRC32();
+        private final byte[] output = new byte[DEFLATE_BUFFER_SIZE];
+
+        ThresholdGzip(DataBufferFactory bufferFactory, int level) {
+            this.bufferFactory = bufferFactory;
+            this.level = level;
+        }
+
+        /**
+         * Encode the start of the body, until the threshold is reached or the body ends.
+         * @return boolean true if the body is to be gzipped
+         */
+        boolean start(Iterator<DataBuffer> json, int threshold) {
+            while (startBytes < threshold && json.hasNext()) {
+                DataBuffer buffer = json.next();
+                start.add(buffer);
+                startBytes += buffer.readableByteCount();
+            }
+            if (startBytes < threshold) {
+                return false;
+            }
+            deflater = new Deflater(level, true);
+            List<DataBuffer> uncompressed = start;
+            start = new ArrayList<DataBuffer>();
+            start.add(bufferFactory.wrap(GZIP_HEADER.clone()));
+            for (int i = 0; i < uncompressed.size(); i++) {
+                DataBuffer buffer = uncompressed.set(i, null);
+                try {
+                    deflate(buffer, start);
+                } catch (RuntimeException e) {
+                    for (DataBuffer remaining : uncompressed) {
+                        if (remaining != null) {
+                            DataBufferUtils.release(remaining);
+                        }
+                    }
+                    throw e;
+                }
+            }
+            return true;
+        }
+
+        long getStartBytes() {
+            return startBytes;
+        }
+
+        List<DataBuffer> takeStart() {
+            List<DataBuffer> buffers = start;
+            start = null;
+            return buffers;
+        }
+
+        List<DataBuffer> write(DataBuffer buffer) {
+            List<DataBuffer> compressed = new ArrayList<DataBuffer>(2);
+            deflate(buffer, compressed);
+            return compressed;
+        }
+
+        List<DataBuffer> finish() {
+            if (deflater == null) {
+                return Collections.emptyList();
+            }
+            List<DataBuffer> compressed = new ArrayList<DataBuffer>(2);
+            deflater.finish();
+            while (!deflater.finished()) {
+                drain(compressed);
+            }
+            long size = deflater.getBytesRead();
+            long checksum = crc.getValue();
+            compressed.add(bufferFactory.wrap(new byte[] {
+                    (byte) checksum, (byte) (checksum >> 8), (byte) (checksum >> 16), (byte) (checksum >> 24),
+                    (byte) size, (byte) (size >> 8), (byte) (size >> 16), (byte) (size >> 24) }));
+            return compressed;
+        }
+
+        private void deflate(DataBuffer buffer, List<DataBuffer> compressed) {
+            try {
+                byte[] input = new byte[buffer.readableByteCount()];
+                buffer.read(input);
+                crc.update(input, 0, input.length);
+                deflater.setInput(input);
+                while (!deflater.needsInput()) {
+                    drain(compressed);
+                }
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        }
+
+        private void drain(List<DataBuffer> compressed) {
+            int length = deflater.deflate(output);
+            if (length > 0) {
+                compressed.add(bufferFactory.allocateBuffer(length).write(output, 0, length));
+            }
+        }
+
+        void discard() {
+            if (start != null) {
+                for (DataBuffer buffer : start) {
+                    DataBufferUtils.release(buffer);
+                }
+                start = null;
+            }
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package org.openapitools.client.service.petStoreService;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory read-through cache of response bodies, enabled per operation.
+ * <p>
+ * Each cached operation has its own cache, bounded by a maximum number of entries and a time-to-live, which admits
+ * entries W-TinyLFU style: a new entry only displaces an older one if it is requested more often. A hit returns the
+ * cached body without sending a request, so none of the WebClient's filters and none of the client's own exchange
+ * settings apply to it. Only successful, non-empty responses are cached, and entries are not invalidated when the
+ * entity is updated through the client; see {@link #invalidate(String, Object)}.
+ * <p>
+ * Responses are kept apart by the client's base path and by the credentials its authentications apply, so clients
+ * sharing a cache never see each other's responses. Concurrent misses of the same key share a single request. A cached
+ * body is the same instance for every caller, so it must be treated as immutable: a caller that changes it changes
+ * what all later hits get.
+ */
+public class ResponseCache {
+    public static final long DEFAULT_MAXIMUM_SIZE = 10000;
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(1);
+
+    /**
+     * Hit, miss and eviction counts of one operation.
+     */
+    public static class Statistics {
+        private final BoundedCache<?, ?> cache;
+
+        Statistics(BoundedCache<?, ?> cache) {
+            this.cache = cache;
+        }
+
+        /**
+         * Get the number of lookups answered from the cache.
+         * @return long the number of hits
+         */
+        public long getHits() {
+            return cache.hits.sum();
+        }
+
+        /**
+         * Get the number of lookups that had to send a request.
+         * @return long the number of misses
+         */
+        public long getMisses() {
+            return cache.misses.sum();
+        }
+
+        /**
+         * Get the number of entries removed to keep the cache within its maximum size.
+         * @return long the number of evictions
+         */
+        public long getEvictions() {
+            return cache.evictions.sum();
+        }
+
+        /**
+         * Get the number of entries removed because their time-to-live had passed.
+         * @return long the number of expirations
+         */
+        public long getExpirations() {
+            return cache.expirations.sum();
+        }
+
+        /**
+         * Get the number of entries currently cached.
+         * @return long the number of entries
+         */
+        public long getSize() {
+            return cache.size();
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics{hits=" + getHits() + ", misses=" + getMisses() + ", evictions=" + getEvictions()
+                    + ", expirations=" + getExpirations() + ", size=" + getSize() + "}";
+        }
+    }
+
+    /** The key of a response: the path parameter, scoped by the server and the credentials of the request. */
+    private static final class Key {
+        final String scope;
+        final Object key;
+
+        Key(String scope, Object key) {
+            this.scope = scope;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return scope.equals(other.scope) && key.equals(other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * scope.hashCode() + key.hashCode();
+        }
+    }
+
+    /** The cached responses of an operation, and its requests in flight. */
+    private static final class OperationCache {
+        final BoundedCache<Key, Mono<?>> responses;
+        final ConcurrentMap<Key, Mono<?>> pending = new ConcurrentHashMap<Key, Mono<?>>();
+
+        OperationCache(long maximumSize, long timeToLiveNanos) {
+            this.responses = new BoundedCache<Key, Mono<?>>(maximumSize, timeToLiveNanos);
+        }
+    }
+
+    private final ConcurrentMap<String, OperationCache> caches = new ConcurrentHashMap<String, OperationCache>();
+
+    /**
+     * Cache responses of the given operation, keeping at most {@link #DEFAULT_MAXIMUM_SIZE} entries for
+     * {@link #DEFAULT_TIME_TO_LIVE}.
+     * @param operation The operation, e.g. {@code GET /pet/{petId}}
+     * @return ResponseCache
+     */
+    public ResponseCache operation(String operation) {
+        return operation(operation, DEFAULT_MAXIMUM_SIZE, DEFAULT_TIME_TO_LIVE);
+    }
+
+    /**
+     * Cache responses of the given operation. Configuring an operation again discards its cached entries.
+     * @param operation The operation, e.g. {@code GET /pet/{petId}}
+     * @param maximumSize The maximum number of entries
+     * @param timeToLive How long an entry is used after it was received
+     * @return ResponseCache
+     */
+    public ResponseCache operation(String operation, long maximumSize, Duration timeToLive) {
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("Time to live must be positive: " + timeToLive);
+        }
+        caches.put(operation, new OperationCache(maximumSize, timeToLive.toNanos()));
+        return this;
+    }
+
+    /**
+     * Check whether responses of an operation are cached.
+     * @param operation The operation
+     * @return boolean true if the operation is cached
+     */
+    public boolean isCached(String operation) {
+        return caches.containsKey(operation);
+    }
+
+    /**
+     * Remove the cached responses of an operation for the given key, e.g. after the entity was updated, whatever the
+     * server and credentials they were requested with.
+     * @param operation The operation
+     * @param key The key, i.e. the path parameter of the request
+     */
+    public void invalidate(String operation, Object key) {
+        final OperationCache cache = caches.get(operation);
+        if (cache != null) {
+            cache.responses.invalidateIf(cached -> cached.key.equals(key));
+        }
+    }
+
+    /**
+     * Remove all cached responses.
+     */
+    public void invalidateAll() {
+        for (OperationCache cache : caches.values()) {
+            cache.responses.invalidateAll();
+        }
+    }
+
+    /**
+     * Get the statistics of an operation.
+     * @param operation The operation, e.g. {@code GET /pet/{petId}}
+     * @return Statistics the statistics, or null if the operation is not cached
+     */
+    public Statistics getStatistics(String operation) {
+        final OperationCache cache = caches.get(operation);
+        return cache == null ? null : new Statistics(cache.responses);
+    }
+
+    /**
+     * Get the statistics of all cached operations.
+     * @return Map the statistics by operation
+     */
+    public Map<String, Statistics> getStatistics() {
+        final Map<String, Statistics> statistics = new HashMap<String, Statistics>();
+        for (Map.Entry<String, OperationCache> entry : caches.entrySet()) {
+            statistics.put(entry.getKey(), new Statistics(entry.getValue().responses));
+        }
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    /**
+     * Get the cached response for the key, or have the request sent and cache its response. The cache is looked up
+     * on subscription, and a miss joins the request of the same key already in flight, if any.
+     * @param <T> the type of the response body
+     * @param operation The operation
+     * @param scope The server and credentials of the request
+     * @param key The key
+     * @param request The supplier of the request's response body
+     * @return Mono the cached or requested response body
+     */
+    @SuppressWarnings("unchecked")
+    <T> Mono<T> get(String operation, String scope, Object key, Supplier<Mono<T>> request) {
+        final OperationCache cache = caches.get(operation);
+        if (cache == null) {
+            return request.get();
+        }
+        final Key cacheKey = new Key(scope, key);
+        return Mono.defer(() -> {
+            final Mono<?> cached = cache.responses.get(cacheKey);
+            if (cached != null) {
+                return (Mono<T>) cached;
+            }
+            // the request is not cancelled when its first caller cancels, as the others still wait for it
+            return (Mono<T>) cache.pending.computeIfAbsent(cacheKey, pendingKey -> request.get()
+                    .doOnNext(body -> cache.responses.put(pendingKey, Mono.just(body)))
+                    .doFinally(signal -> cache.pending.remove(pendingKey))
+                    .cache());
+        });
+    }
+}
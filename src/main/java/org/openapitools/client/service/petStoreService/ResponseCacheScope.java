@@ -0,0 +1,133 @@
+package org.openapitools.client.service.petStoreService;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.openapitools.client.service.petStoreService.auth.ApiKeyAuth;
+import org.openapitools.client.service.petStoreService.auth.Authentication;
+import org.openapitools.client.service.petStoreService.auth.HttpBasicAuth;
+import org.openapitools.client.service.petStoreService.auth.HttpBearerAuth;
+import org.openapitools.client.service.petStoreService.auth.OAuth;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+/**
+ * The scope of an operation's cached responses, i.e. the server and the credentials they are requested with.
+ * <p>
+ * The credentials are identified by a SHA-256 digest of the parameters the operation's authentications add to a
+ * request, so cache keys never hold them in plain text. A scope remembers the credential values it was computed from
+ * and is reused for as long as the base path and those values are unchanged, which is checked by identity.
+ */
+final class ResponseCacheScope {
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final String basePath;
+    private final Authentication[] authentications;
+    private final Object[] credentials;
+    private final String value;
+
+    private ResponseCacheScope(String basePath, Authentication[] authentications, Object[] credentials, String value) {
+        this.basePath = basePath;
+        this.authentications = authentications;
+        this.credentials = credentials;
+        this.value = value;
+    }
+
+    /**
+     * Compute the scope of the given authentications' current credentials against the base path.
+     * @param basePath the base path
+     * @param authentications the authentications applied by the operation
+     * @return ResponseCacheScope the scope
+     */
+    static ResponseCacheScope compute(String basePath, Authentication[] authentications) {
+        if (authentications.length == 0) {
+            return new ResponseCacheScope(basePath, authentications, new Object[0], basePath);
+        }
+        final Object[] credentials = new Object[2 * authentications.length];
+        final MultiValueMap<String, String> queryParams = new LinkedMultiValueMap<String, String>();
+        final HttpHeaders headerParams = new HttpHeaders();
+        final MultiValueMap<String, String> cookieParams = new LinkedMultiValueMap<String, String>();
+        for (int i = 0; i < authentications.length; i++) {
+            // read before applying, so that a concurrent change makes the scope stale rather than wrong
+            credentials[2 * i] = credential(authentications[i]);
+            credentials[2 * i + 1] = secondCredential(authentications[i]);
+            authentications[i].applyToParams(queryParams, headerParams, cookieParams);
+        }
+        final String params = queryParams + " " + headerParams + " " + cookieParams;
+        return new ResponseCacheScope(basePath, authentications, credentials, basePath + ' ' + sha256(params));
+    }
+
+    /**
+     * Check whether this scope still applies to the given base path and to the current credentials of its
+     * authentications.
+     * @param basePath the base path
+     * @return boolean true if the scope can be used
+     */
+    boolean isCurrentFor(String basePath) {
+        if (!this.basePath.equals(basePath)) {
+            return false;
+        }
+        for (int i = 0; i < authentications.length; i++) {
+            final Authentication authentication = authentications[i];
+            if (!isKnown(authentication)
+                    || credential(authentication) != credentials[2 * i]
+                    || secondCredential(authentication) != credentials[2 * i + 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the scope as a string.
+     * @return String the base path followed by the digest of the credentials
+     */
+    String getValue() {
+        return value;
+    }
+
+    private static boolean isKnown(Authentication authentication) {
+        return authentication instanceof ApiKeyAuth || authentication instanceof OAuth
+                || authentication instanceof HttpBearerAuth || authentication instanceof HttpBasicAuth;
+    }
+
+    private static Object credential(Authentication authentication) {
+        if (authentication instanceof ApiKeyAuth) {
+            return ((ApiKeyAuth) authentication).getApiKey();
+        } else if (authentication instanceof OAuth) {
+            return ((OAuth) authentication).getAccessToken();
+        } else if (authentication instanceof HttpBearerAuth) {
+            return ((HttpBearerAuth) authentication).getBearerToken();
+        } else if (authentication instanceof HttpBasicAuth) {
+            return ((HttpBasicAuth) authentication).getUsername();
+        }
+        return null;
+    }
+
+    private static Object secondCredential(Authentication authentication) {
+        if (authentication instanceof ApiKeyAuth) {
+            return ((ApiKeyAuth) authentication).getApiKeyPrefix();
+        } else if (authentication instanceof HttpBasicAuth) {
+            return ((HttpBasicAuth) authentication).getPassword();
+        }
+        return null;
+    }
+
+    private static String sha256(String source) {
+        final byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+        final char[] hex = new char[2 * digest.length];
+        for (int i = 0; i < digest.length; i++) {
+            hex[2 * i] = HEX_DIGITS[(digest[i] >> 4) & 0xF];
+            hex[2 * i + 1] = HEX_DIGITS[digest[i] & 0xF];
+        }
+        return new String(hex);
+    }
+}
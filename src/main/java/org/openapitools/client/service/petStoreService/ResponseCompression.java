@@ -0,0 +1,277 @@
+package org.openapitools.client.service.petStoreService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.compression.Brotli;
+import io.netty.handler.codec.compression.BrotliDecoder;
+import io.netty.handler.codec.compression.ZlibCodecFactory;
+import io.netty.handler.codec.compression.ZlibWrapper;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Negotiates compressed responses and decompresses them as they stream in.
+ * <p>
+ * Requests that do not carry an {@code Accept-Encoding} header get one listing the configured encodings. Compressed
+ * response bodies are inflated chunk by chunk on their way to the decoder, so a large array is never held in its
+ * compressed form, and the compressed and decompressed byte counts are recorded per operation.
+ * <p>
+ * The HttpClient must hand the compressed bodies through, i.e. must not be built with {@code compress(true)} like
+ * WebClient's default connector is: that connector already inflates gzip, so those responses would be counted as
+ * uncompressed, and {@link ApiClient#setResponseCompression} rejects it for clients with that connector. The clients of
+ * {@link ApiClient#buildHttpClient(ConnectionPoolConfig)} leave compression to this class.
+ */
+public class ResponseCompression implements ExchangeFilterFunction {
+    public enum Encoding {
+        GZIP("gzip"),
+        DEFLATE("deflate"),
+        BR("br");
+
+        private final String value;
+
+        private Encoding(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * Check whether responses in this encoding can be decompressed. Brotli needs Brotli4j on the class path.
+         * @return boolean true if the encoding is supported
+         */
+        public boolean isAvailable() {
+            return this != BR || Brotli.isAvailable();
+        }
+
+        ChannelHandler newDecoder() {
+            switch (this) {
+                case GZIP:
+                    return ZlibCodecFactory.newZlibDecoder(ZlibWrapper.GZIP);
+                case DEFLATE:
+                    // servers disagree on whether deflate means zlib-wrapped or raw
+                    return ZlibCodecFactory.newZlibDecoder(ZlibWrapper.ZLIB_OR_NONE);
+                default:
+                    return new BrotliDecoder();
+            }
+        }
+
+        static Encoding of(String contentEncoding) {
+            switch (contentEncoding.trim().toLowerCase(Locale.ROOT)) {
+                case "gzip":
+                case "x-gzip":
+                    return GZIP;
+                case "deflate":
+                case "x-deflate":
+                    return DEFLATE;
+                case "br":
+                    return BR;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    /**
+     * Response and byte counts of one operation.
+     */
+    public static class Statistics {
+        private final LongAdder responses = new LongAdder();
+        private final LongAdder compressedResponses = new LongAdder();
+        private final LongAdder compressedBytes = new LongAdder();
+        private final LongAdder decompressedBytes = new LongAdder();
+
+        /**
+         * Get the number of responses received.
+         * @return long the number of responses
+         */
+        public long getResponses() {
+            return responses.sum();
+        }
+
+        /**
+         * Get the number of responses received compressed.
+         * @return long the number of compressed responses
+         */
+        public long getCompressedResponses() {
+            return compressedResponses.sum();
+        }
+
+        /**
+         * Get the number of body bytes of compressed responses, as received.
+         * @return long the number of compressed bytes
+         */
+        public long getCompressedBytes() {
+            return compressedBytes.sum();
+        }
+
+        /**
+         * Get the number of body bytes of compressed responses, after decompression.
+         * @return long the number of decompressed bytes
+         */
+        public long getDecompressedBytes() {
+            return decompressedBytes.sum();
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics{responses=" + getResponses() + ", compressedResponses=" + getCompressedResponses()
+                    + ", compressedBytes=" + getCompressedBytes() + ", decompressedBytes=" + getDecompressedBytes() + "}";
+        }
+    }
+
+    private final List<Encoding> encodings;
+    private final String acceptEncoding;
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(ByteBufAllocator.DEFAULT);
+    private final ConcurrentMap<String, Statistics> statistics = new ConcurrentHashMap<String, Statistics>();
+
+    /**
+     * Accept all available encodings.
+     */
+    public ResponseCompression() {
+        this(availableEncodings());
+    }
+
+    /**
+     * Accept the given encodings, in order of preference.
+     * @param encodings The encodings
+     */
+    public ResponseCompression(Encoding... encodings) {
+        List<Encoding> accepted = new ArrayList<Encoding>();
+        List<String> values = new ArrayList<String>();
+        for (Encoding encoding : encodings) {
+            if (!encoding.isAvailable()) {
+                throw new IllegalStateException("Encoding " + encoding.getValue() + " is not available");
+            }
+            accepted.add(encoding);
+            values.add(encoding.getValue());
+        }
+        this.encodings = Collections.unmodifiableList(accepted);
+        this.acceptEncoding = StringUtils.collectionToDelimitedString(values, ", ");
+    }
+
+    private static Encoding[] availableEncodings() {
+        List<Encoding> available = new ArrayList<Encoding>();
+        for (Encoding encoding : Encoding.values()) {
+            if (encoding.isAvailable()) {
+                available.add(encoding);
+            }
+        }
+        return available.toArray(new Encoding[0]);
+    }
+
+    /**
+     * Get the accepted encodings.
+     * @return List the encodings, in order of preference
+     */
+    public List<Encoding> getEncodings() {
+        return encodings;
+    }
+
+    /**
+     * Get the statistics of an operation.
+     * @param operation The operation, e.g. {@code GET /pet/findByStatus}
+     * @return Statistics the statistics, or null if the operation received no response yet
+     */
+    public Statistics getStatistics(String operation) {
+        return statistics.get(operation);
+    }
+
+    /**
+     * Get the statistics of all operations that received a response.
+     * @return Map the statistics by operation
+     */
+    public Map<String, Statistics> getStatistics() {
+        return Collections.unmodifiableMap(new HashMap<String, Statistics>(statistics));
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!request.headers().containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+            request = ClientRequest.from(request).header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding).build();
+        }
+        final Statistics operationStatistics = statistics.computeIfAbsent(ApiClient.operationName(request), key -> new Statistics());
+        return next.exchange(request).map(response -> decompress(response, operationStatistics));
+    }
+
+    private ClientResponse decompress(ClientResponse response, Statistics operationStatistics) {
+        operationStatistics.responses.increment();
+        final List<String> contentEncodings = response.headers().header(HttpHeaders.CONTENT_ENCODING);
+        if (contentEncodings.size() != 1) {
+            return response;
+        }
+        final Encoding encoding = Encoding.of(contentEncodings.get(0));
+        if (encoding == null || !encodings.contains(encoding)) {
+            return response;
+        }
+        operationStatistics.compressedResponses.increment();
+        return response.mutate()
+                .headers(headers -> {
+                    headers.remove(HttpHeaders.CONTENT_ENCODING);
+                    headers.remove(HttpHeaders.CONTENT_LENGTH);
+                })
+                .body(body -> decompress(body, encoding, operationStatistics))
+                .build();
+    }
+
+    private Flux<DataBuffer> decompress(Flux<DataBuffer> body, Encoding encoding, Statistics operationStatistics) {
+        return Flux.using(
+                () -> new EmbeddedChannel(encoding.newDecoder()),
+                channel -> body
+                        .concatMapIterable(buffer -> {
+                            operationStatistics.compressedBytes.add(buffer.readableByteCount());
+                            channel.writeInbound(toByteBuf(buffer));
+                            return readDecompressed(channel, operationStatistics);
+                        })
+                        .concatWith(Flux.defer(() -> {
+                            channel.finish();
+                            return Flux.fromIterable(readDecompressed(channel, operationStatistics));
+                        })),
+                EmbeddedChannel::finishAndReleaseAll);
+    }
+
+    private static ByteBuf toByteBuf(DataBuffer buffer) {
+        if (buffer instanceof NettyDataBuffer) {
+            // the decoder takes over the reference
+            return ((NettyDataBuffer) buffer).getNativeBuffer();
+        }
+        ByteBuf copy = Unpooled.copiedBuffer(buffer.asByteBuffer());
+        DataBufferUtils.release(buffer);
+        return copy;
+    }
+
+    private List<DataBuffer> readDecompressed(EmbeddedChannel channel, Statistics operationStatistics) {
+        List<DataBuffer> decompressed = new ArrayList<DataBuffer>();
+        ByteBuf chunk;
+        while ((chunk = channel.readInbound()) != null) {
+            operationStatistics.decompressedBytes.add(chunk.readableBytes());
+            decompressed.add(bufferFactory.wrap(chunk));
+        }
+        return decompressed;
+    }
+}
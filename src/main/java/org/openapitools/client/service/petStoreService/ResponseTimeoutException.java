@@ -0,0 +1,46 @@
+package org.openapitools.client.service.petStoreService;
+
+import java.time.Duration;
+
+import org.springframework.web.reactive.function.client.WebClientException;
+
+/**
+ * Thrown when a response of an operation did not arrive in time, see {@link TimeoutPolicy}.
+ */
+public class ResponseTimeoutException extends WebClientException {
+    private static final long serialVersionUID = 1L;
+
+    private final String operation;
+    private final TimeoutPolicy.Phase phase;
+    private final Duration timeout;
+
+    public ResponseTimeoutException(String operation, TimeoutPolicy.Phase phase, Duration timeout) {
+        super(describe(phase) + " of " + operation + " timed out after " + timeout.toMillis() + "ms");
+        this.operation = operation;
+        this.phase = phase;
+        this.timeout = timeout;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public TimeoutPolicy.Phase getPhase() {
+        return phase;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    private static String describe(TimeoutPolicy.Phase phase) {
+        switch (phase) {
+            case FIRST_BYTE:
+                return "First byte of response";
+            case RESPONSE:
+                return "Response";
+            default:
+                return "Call";
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package org.openapitools.client.service.petStoreService;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+
+/**
+ * Retries requests that failed transiently, with exponential backoff and full jitter.
+ * <p>
+ * Requests are retried if they could not be sent, got no response or timed out, or if the response status is one
+ * of the retryable ones ({@code 429}, {@code 502}, {@code 503} and {@code 504} by default). Only requests with a
+ * safe or idempotent method are retried, unless their operation was configured explicitly. The n-th retry waits a
+ * random time between zero and the base backoff times 2^n, capped at the maximum backoff, or as long as the
+ * response's {@code Retry-After} header asks if that is longer; a response asking to wait longer than the maximum
+ * backoff is returned as it is.
+ * <p>
+ * All retries draw from a {@link RequestBudget}, so that during an outage they add at most a fraction to the load.
+ */
+public class RetryPolicy implements ExchangeFilterFunction {
+    public static final int DEFAULT_MAX_RETRIES = 2;
+    public static final Duration DEFAULT_BASE_BACKOFF = Duration.ofMillis(50);
+    public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(2);
+
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS = Collections.unmodifiableSet(EnumSet.of(
+            HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.PUT, HttpMethod.DELETE));
+
+    /**
+     * Retry counts of one operation.
+     */
+    public static class Statistics {
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder exhausted = new LongAdder();
+        private final LongAdder overBudget = new LongAdder();
+
+        /**
+         * Get the number of retries sent.
+         * @return long the number of retries
+         */
+        public long getRetries() {
+            return retries.sum();
+        }
+
+        /**
+         * Get the number of requests that still failed after the maximum number of retries.
+         * @return long the number of exhausted requests
+         */
+        public long getExhausted() {
+            return exhausted.sum();
+        }
+
+        /**
+         * Get the number of retries not sent because the retry budget was used up.
+         * @return long the number of retries over budget
+         */
+        public long getOverBudget() {
+            return overBudget.sum();
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics{retries=" + getRetries() + ", exhausted=" + getExhausted() + ", overBudget=" + getOverBudget() + "}";
+        }
+    }
+
+    private final ConcurrentMap<String, Integer> operationMaxRetries = new ConcurrentHashMap<String, Integer>();
+    private final ConcurrentMap<String, Statistics> statistics = new ConcurrentHashMap<String, Statistics>();
+    private volatile int maxRetries = DEFAULT_MAX_RETRIES;
+    private volatile Duration baseBackoff = DEFAULT_BASE_BACKOFF;
+    private volatile Duration maxBackoff = DEFAULT_MAX_BACKOFF;
+    private volatile Set<Integer> retryableStatuses = Collections.unmodifiableSet(new HashSet<Integer>(Arrays.asList(
+            HttpStatus.TOO_MANY_REQUESTS.value(), HttpStatus.BAD_GATEWAY.value(),
+            HttpStatus.SERVICE_UNAVAILABLE.value(), HttpStatus.GATEWAY_TIMEOUT.value())));
+    private volatile RequestBudget budget = new RequestBudget();
+
+    /**
+     * Set the maximum number of retries of requests with a safe or idempotent method.
+     * @param maxRetries The maximum number of retries
+     * @return RetryPolicy
+     */
+    public RetryPolicy maxRetries(int maxRetries) {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("Maximum retries must not be negative: " + maxRetries);
+        }
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    /**
+     * Set the maximum number of retries of an operation, regardless of its method. Use this to retry operations
+     * that are idempotent although their method is not, or 0 to not retry an operation.
+     * @param operation The operation, e.g. {@code POST /store/order}
+     * @param maxRetries The maximum number of retries
+     * @return RetryPolicy
+     */
+    public RetryPolicy operation(String operation, int maxRetries) {
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("Maximum retries must not be negative: " + maxRetries);
+        }
+        operationMaxRetries.put(operation, maxRetries);
+        return this;
+    }
+
+    /**
+     * Set the backoff before the first retry, and the maximum backoff before any retry.
+     * @param baseBackoff The base backoff, doubled with each retry
+     * @param maxBackoff The maximum backoff
+     * @return RetryPolicy
+     */
+    public RetryPolicy backoff(Duration baseBackoff, Duration maxBackoff) {
+        if (baseBackoff.isNegative() || maxBackoff.compareTo(baseBackoff) < 0) {
+            throw new IllegalArgumentException("Invalid backoff: base " + baseBackoff + ", maximum " + maxBackoff);
+        }
+        this.baseBackoff = baseBackoff;
+        this.maxBackoff = maxBackoff;
+        return this;
+    }
+
+    /**
+     * Set the response statuses that are retried.
+     * @param statuses The statuses
+     * @return RetryPolicy
+     */
+    public RetryPolicy retryableStatuses(int... statuses) {
+        final Set<Integer> retryable = new HashSet<Integer>();
+        for (int status : statuses) {
+            retryable.add(status);
+        }
+        this.retryableStatuses = Collections.unmodifiableSet(retryable);
+        return this;
+    }
+
+    /**
+     * Set the budget retries draw from.
+     * @param budget The budget, which may be shared with other clients of the same backend
+     * @return RetryPolicy
+     */
+    public RetryPolicy budget(RequestBudget budget) {
+        this.budget = budget;
+        return this;
+    }
+
+    public RequestBudget getBudget() {
+        return budget;
+    }
+
+    /**
+     * Get the statistics of an operation.
+     * @param operation The operation, e.g. {@code GET /pet/{petId}}
+     * @return Statistics the statistics, or null if the operation was not retried yet
+     */
+    public Statistics getStatistics(String operation) {
+        return statistics.get(operation);
+    }
+
+    /**
+     * Get the statistics of all operations that were retried.
+     * @return Map the statistics by operation
+     */
+    public Map<String, Statistics> getStatistics() {
+        return Collections.unmodifiableMap(new HashMap<String, Statistics>(statistics));
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        final String operation = ApiClient.operationName(request);
+        final Integer configuredMaxRetries = operationMaxRetries.get(operation);
+        final int operationRetries = configuredMaxRetries != null ? configuredMaxRetries
+                : IDEMPOTENT_METHODS.contains(request.method()) ? maxRetries : 0;
+        final RequestBudget currentBudget = budget;
+        currentBudget.deposit();
+        if (operationRetries == 0) {
+            return next.exchange(request);
+        }
+        return exchange(request, next, operation, operationRetries, currentBudget, 0);
+    }
+
+    private Mono<ClientResponse> exchange(ClientRequest request, ExchangeFunction next, String operation, int operationRetries, RequestBudget currentBudget, int retry) {
+        return next.exchange(request).materialize().flatMap(signal -> {
+            final Duration backoff = retryable(signal) ? backoff(signal, retry) : null;
+            if (backoff == null) {
+                return dematerialize(signal);
+            }
+            final Statistics operationStatistics = statistics.computeIfAbsent(operation, key -> new Statistics());
+            if (retry >= operationRetries) {
+                operationStatistics.exhausted.increment();
+                return dematerialize(signal);
+            }
+            if (!currentBudget.tryWithdraw()) {
+                operationStatistics.overBudget.increment();
+                return dematerialize(signal);
+            }
+            operationStatistics.retries.increment();
+            final Mono<Void> released = signal.isOnNext() ? signal.get().releaseBody() : Mono.<Void>empty();
+            return released
+                    .then(Mono.delay(backoff))
+                    .then(Mono.defer(() -> exchange(request, next, operation, operationRetries, currentBudget, retry + 1)));
+        });
+    }
+
+    private boolean retryable(Signal<ClientResponse> signal) {
+        if (signal.isOnError()) {
+            return signal.getThrowable() instanceof WebClientRequestException || signal.getThrowable() instanceof ResponseTimeoutException;
+        }
+        return signal.isOnNext() && retryableStatuses.contains(signal.get().rawStatusCode());
+    }
+
+    /**
+     * Get the time to wait before the next retry.
+     * @return Duration the backoff, or null if the server asks to wait longer than the maximum backoff
+     */
+    private Duration backoff(Signal<ClientResponse> signal, int retry) {
+        final Duration currentMaxBackoff = maxBackoff;
+        final long maxNanos = currentMaxBackoff.toNanos();
+        final long ceilingNanos = Math.min(maxNanos, baseBackoff.toNanos() << Math.min(retry, 30));
+        long nanos = ceilingNanos <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceilingNanos + 1);
+        if (signal.isOnNext()) {
+            final Duration retryAfter = retryAfter(signal.get().headers().asHttpHeaders());
+            if (retryAfter != null) {
+                // compared as durations, since a valid number of seconds may not fit into a long of nanoseconds
+                if (retryAfter.compareTo(currentMaxBackoff) > 0) {
+                    return null;
+                }
+                nanos = Math.max(nanos, retryAfter.toNanos());
+            }
+        }
+        return Duration.ofNanos(nanos);
+    }
+
+    /**
+     * Parse the {@code Retry-After} header, which holds either a number of seconds or a date.
+     */
+    private static Duration retryAfter(HttpHeaders headers) {
+        final String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                final Duration untilDate = Duration.between(ZonedDateTime.now(), ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+                return untilDate.isNegative() ? Duration.ZERO : untilDate;
+            } catch (DateTimeParseException invalid) {
+                return null;
+            }
+        }
+    }
+
+    private static Mono<ClientResponse> dematerialize(Signal<ClientResponse> signal) {
+        if (signal.isOnNext()) {
+            return Mono.just(signal.get());
+        }
+        if (signal.isOnError()) {
+            return Mono.error(signal.getThrowable());
+        }
+        return Mono.empty();
+    }
+}
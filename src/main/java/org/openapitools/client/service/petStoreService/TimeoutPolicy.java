@@ -0,0 +1,340 @@
+package org.openapitools.client.service.petStoreService;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import io.netty.channel.ChannelOption;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.netty.http.Http11SslContextSpec;
+import reactor.netty.http.Http2SslContextSpec;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * Timeouts of connections, requests and calls, set for all operations and overridden per operation.
+ * <p>
+ * The connect and TLS handshake timeouts apply to the connections of the client's pool, and are set when the
+ * client is built, see {@link ApiClient#ApiClient(ConnectionPoolConfig, HttpProtocolConfig, TimeoutPolicy)}. The
+ * other timeouts apply to each request sent:
+ * <ul>
+ * <li>the first byte timeout, until the response status and headers arrived,</li>
+ * <li>the response timeout, until the response body was read as well,</li>
+ * <li>the deadline, until the response body of the call was read, including the time spent waiting for a
+ * concurrency limit, and all retries and hedged requests.</li>
+ * </ul>
+ * A request that times out fails with a {@link ResponseTimeoutException} and is cancelled. The timeouts are
+ * scheduled on a single timer wheel shared by all clients, with a resolution of 10ms: scheduling and cancelling one
+ * is constant time, and no thread or scheduled task is created per request.
+ */
+public class TimeoutPolicy {
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    public static final Duration DEFAULT_TLS_HANDSHAKE_TIMEOUT = Duration.ofSeconds(10);
+
+    public enum Phase {
+        FIRST_BYTE,
+        RESPONSE,
+        DEADLINE
+    }
+
+    /**
+     * Timeout counts of one operation.
+     */
+    public static class Statistics {
+        private final LongAdder firstByteTimeouts = new LongAdder();
+        private final LongAdder responseTimeouts = new LongAdder();
+        private final LongAdder deadlinesExceeded = new LongAdder();
+
+        public long getFirstByteTimeouts() {
+            return firstByteTimeouts.sum();
+        }
+
+        public long getResponseTimeouts() {
+            return responseTimeouts.sum();
+        }
+
+        public long getDeadlinesExceeded() {
+            return deadlinesExceeded.sum();
+        }
+
+        private void increment(Phase phase) {
+            switch (phase) {
+                case FIRST_BYTE:
+                    firstByteTimeouts.increment();
+                    break;
+                case RESPONSE:
+                    responseTimeouts.increment();
+                    break;
+                default:
+                    deadlinesExceeded.increment();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics{firstByteTimeouts=" + getFirstByteTimeouts() + ", responseTimeouts=" + getResponseTimeouts()
+                    + ", deadlinesExceeded=" + getDeadlinesExceeded() + "}";
+        }
+    }
+
+    /**
+     * The timer wheel all timeouts are scheduled on, started with the first timeout.
+     */
+    private static final class SharedTimer {
+        static final HashedWheelTimer TIMER = new HashedWheelTimer(new DefaultThreadFactory("api-client-timeouts", true), 10, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * The timeouts of one operation, null where the policy's own apply.
+     */
+    private static final class OperationTimeouts {
+        final Duration firstByte;
+        final Duration response;
+        final Duration deadline;
+
+        OperationTimeouts(Duration firstByte, Duration response, Duration deadline) {
+            this.firstByte = firstByte;
+            this.response = response;
+            this.deadline = deadline;
+        }
+    }
+
+    /**
+     * A timeout of one request or call, which signals its expiry to the request and to the response body.
+     */
+    private final class Expiry implements TimerTask {
+        final Sinks.Empty<Void> expired = Sinks.empty();
+        private final String operation;
+        private final Phase phase;
+        private final Duration duration;
+        private final Timeout timeout;
+        /** Whether the response completed or the timeout expired, whichever was first. */
+        private final AtomicBoolean settled = new AtomicBoolean();
+
+        Expiry(String operation, Phase phase, Duration duration) {
+            this.operation = operation;
+            this.phase = phase;
+            this.duration = duration;
+            this.timeout = SharedTimer.TIMER.newTimeout(this, duration.toNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void run(Timeout timeout) {
+            // only counted if the response was still pending, not if it completed just now, and before the caller
+            // sees the error
+            if (settled.compareAndSet(false, true)) {
+                statistics.computeIfAbsent(operation, key -> new Statistics()).increment(phase);
+            }
+            // emitted even without subscribers: the sink replays it to a response body subscribed to later
+            expired.tryEmitError(new ResponseTimeoutException(operation, phase, duration));
+        }
+
+        void cancel() {
+            settled.set(true);
+            timeout.cancel();
+        }
+    }
+
+    private final ConcurrentMap<String, OperationTimeouts> operationTimeouts = new ConcurrentHashMap<String, OperationTimeouts>();
+    private final ConcurrentMap<String, Statistics> statistics = new ConcurrentHashMap<String, Statistics>();
+    private volatile Duration connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+    private volatile Duration tlsHandshakeTimeout = DEFAULT_TLS_HANDSHAKE_TIMEOUT;
+    private volatile Duration firstByteTimeout;
+    private volatile Duration responseTimeout;
+    private volatile Duration deadline;
+
+    /**
+     * Set how long opening a connection may take.
+     * @param connectTimeout The timeout
+     * @return TimeoutPolicy
+     */
+    public TimeoutPolicy connectTimeout(Duration connectTimeout) {
+        this.connectTimeout = checkPositive(connectTimeout);
+        return this;
+    }
+
+    /**
+     * Set how long the TLS handshake of a new connection may take.
+     * @param tlsHandshakeTimeout The timeout
+     * @return TimeoutPolicy
+     */
+    public TimeoutPolicy tlsHandshakeTimeout(Duration tlsHandshakeTimeout) {
+        this.tlsHandshakeTimeout = checkPositive(tlsHandshakeTimeout);
+        return this;
+    }
+
+    /**
+     * Set how long each request may wait for the response status and headers.
+     * @param firstByteTimeout The timeout, or null for none
+     * @return TimeoutPolicy
+     */
+    public TimeoutPolicy firstByteTimeout(@Nullable Duration firstByteTimeout) {
+        this.firstByteTimeout = checkPositive(firstByteTimeout);
+        return this;
+    }
+
+    /**
+     * Set how long each request may take until its response body was read.
+     * @param responseTimeout The timeout, or null for none
+     * @return TimeoutPolicy
+     */
+    public TimeoutPolicy responseTimeout(@Nullable Duration responseTimeout) {
+        this.responseTimeout = checkPositive(responseTimeout);
+        return this;
+    }
+
+    /**
+     * Set how long each call may take until its response body was read, including retries and hedged requests.
+     * @param deadline The deadline, or null for none
+     * @return TimeoutPolicy
+     */
+    public TimeoutPolicy deadline(@Nullable Duration deadline) {
+        this.deadline = checkPositive(deadline);
+        return this;
+    }
+
+    /**
+     * Set the timeouts of an operation.
+     * @param operation The operation, e.g. {@code GET /store/inventory}
+     * @param firstByteTimeout The first byte timeout, or null for the policy's
+     * @param responseTimeout The response timeout, or null for the policy's
+     * @param deadline The deadline, or null for the policy's
+     * @return TimeoutPolicy
+     */
+    public TimeoutPolicy operation(String operation, @Nullable Duration firstByteTimeout, @Nullable Duration responseTimeout, @Nullable Duration deadline) {
+        operationTimeouts.put(operation, new OperationTimeouts(checkPositive(firstByteTimeout), checkPositive(responseTimeout), checkPositive(deadline)));
+        return this;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public Duration getTlsHandshakeTimeout() {
+        return tlsHandshakeTimeout;
+    }
+
+    public Duration getFirstByteTimeout() {
+        return firstByteTimeout;
+    }
+
+    public Duration getResponseTimeout() {
+        return responseTimeout;
+    }
+
+    public Duration getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Get the statistics of an operation.
+     * @param operation The operation, e.g. {@code GET /store/inventory}
+     * @return Statistics the statistics, or null if the operation did not time out yet
+     */
+    public Statistics getStatistics(String operation) {
+        return statistics.get(operation);
+    }
+
+    /**
+     * Get the statistics of all operations that timed out.
+     * @return Map the statistics by operation
+     */
+    public Map<String, Statistics> getStatistics() {
+        return Collections.unmodifiableMap(new HashMap<String, Statistics>(statistics));
+    }
+
+    /**
+     * Configure the connect and TLS handshake timeouts of the given client. The TLS settings are the defaults of the
+     * client's HTTP version, and only used for https base paths.
+     * @param httpClient The client to configure
+     * @return HttpClient the configured client
+     */
+    public HttpClient applyTo(HttpClient httpClient) {
+        httpClient = httpClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) Math.min(Integer.MAX_VALUE, connectTimeout.toMillis()));
+        final List<HttpProtocol> protocols = Arrays.asList(httpClient.configuration().protocols());
+        if (protocols.contains(HttpProtocol.H2C) && !protocols.contains(HttpProtocol.HTTP11)) {
+            // prior knowledge HTTP/2 is plaintext only
+            return httpClient;
+        }
+        final Duration handshakeTimeout = tlsHandshakeTimeout;
+        return httpClient.secure(spec -> spec
+                .sslContext(protocols.contains(HttpProtocol.H2) ? Http2SslContextSpec.forClient() : Http11SslContextSpec.forClient())
+                .handshakeTimeout(handshakeTimeout));
+    }
+
+    /**
+     * Apply the first byte and response timeouts to a request.
+     */
+    Mono<ClientResponse> filterRequest(ClientRequest request, ExchangeFunction next) {
+        final String operation = ApiClient.operationName(request);
+        final OperationTimeouts timeouts = operationTimeouts.get(operation);
+        final Duration operationFirstByteTimeout = timeouts != null && timeouts.firstByte != null ? timeouts.firstByte : firstByteTimeout;
+        final Duration operationResponseTimeout = timeouts != null && timeouts.response != null ? timeouts.response : responseTimeout;
+        Mono<ClientResponse> exchange = next.exchange(request);
+        if (operationFirstByteTimeout != null) {
+            exchange = expire(exchange, operation, Phase.FIRST_BYTE, operationFirstByteTimeout);
+        }
+        if (operationResponseTimeout != null) {
+            exchange = expire(exchange, operation, Phase.RESPONSE, operationResponseTimeout);
+        }
+        return exchange;
+    }
+
+    /**
+     * Apply the deadline to a call.
+     */
+    Mono<ClientResponse> filterCall(ClientRequest request, ExchangeFunction next) {
+        final String operation = ApiClient.operationName(request);
+        final OperationTimeouts timeouts = operationTimeouts.get(operation);
+        final Duration operationDeadline = timeouts != null && timeouts.deadline != null ? timeouts.deadline : deadline;
+        final Mono<ClientResponse> exchange = next.exchange(request);
+        return operationDeadline == null ? exchange : expire(exchange, operation, Phase.DEADLINE, operationDeadline);
+    }
+
+    private Mono<ClientResponse> expire(Mono<ClientResponse> exchange, String operation, Phase phase, Duration duration) {
+        return Mono.defer(() -> {
+            final Expiry expiry = new Expiry(operation, phase, duration);
+            final Mono<ClientResponse> response = exchange
+                    .takeUntilOther(expiry.expired.asMono())
+                    .doOnError(error -> expiry.cancel())
+                    .doOnCancel(expiry::cancel);
+            if (phase == Phase.FIRST_BYTE) {
+                return response.doOnSuccess(received -> expiry.cancel());
+            }
+            return response
+                    .doOnSuccess(received -> {
+                        if (received == null) {
+                            expiry.cancel();
+                        }
+                    })
+                    .map(received -> received.mutate()
+                            .body(body -> body.takeUntilOther(expiry.expired.asMono()).doFinally(signal -> expiry.cancel()))
+                            .build());
+        });
+    }
+
+    private static Duration checkPositive(@Nullable Duration timeout) {
+        if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+            throw new IllegalArgumentException("Timeout must be positive: " + timeout);
+        }
+        return timeout;
+    }
+}
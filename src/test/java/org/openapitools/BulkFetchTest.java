@@ -0,0 +1,112 @@
+package org.openapitools;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.client.api.petStoreApi.PetApi;
+import org.openapitools.client.model.petStoreModel.Pet;
+import org.openapitools.client.service.petStoreService.ApiClient;
+import org.openapitools.client.service.petStoreService.BulkOptions;
+import org.openapitools.client.service.petStoreService.BulkResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BulkFetchTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkFetchTest.class);
+
+    private static final List<Long> PET_IDS = Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L);
+    private static final long MISSING_PET_ID = 3L;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private DisposableServer server;
+    private PetApi petApi;
+
+    @BeforeEach
+    public void startServer() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        // pet 1 is slow, pet 3 is missing
+                        .get("/v2/pet/{petId}", (request, response) -> {
+                            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                            final long petId = Long.parseLong(request.param("petId"));
+                            return Mono.delay(Duration.ofMillis(petId == 1L ? 500 : 50))
+                                    .doOnNext(tick -> inFlight.decrementAndGet())
+                                    .then(petId == MISSING_PET_ID
+                                            ? response.status(404).send().then()
+                                            : response.header("Content-Type", "application/json")
+                                                    .sendString(Mono.just("{\"id\":" + petId + ",\"name\":\"doggie\",\"photoUrls\":[]}"))
+                                                    .then());
+                        }))
+                .bindNow();
+
+        ApiClient apiClient = new ApiClient();
+        apiClient.setBasePath("http://localhost:" + server.port() + "/v2");
+        petApi = new PetApi(apiClient);
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.disposeNow();
+    }
+
+    @Test
+    @Description("Test that pets are fetched in key order with bounded concurrency, and a missing pet fails on its own")
+    public void orderedTest() {
+        List<BulkResult<Long, Pet>> results = Allure.step("Act", () -> {
+            logger.info("Getting {} pets, 3 at a time", PET_IDS.size());
+            return petApi.getPetsByIds(PET_IDS, new BulkOptions().concurrency(3))
+                    .collectList()
+                    .block(Duration.ofSeconds(10));
+        });
+
+        Allure.step("Assert", () -> {
+            logger.info("Asserting the results follow the keys: {}", results);
+            assertThat(results).extracting(BulkResult::getKey).containsExactlyElementsOf(PET_IDS);
+            assertThat(results).filteredOn(result -> !result.isSuccess())
+                    .singleElement()
+                    .satisfies(result -> {
+                        assertThat(result.getKey()).isEqualTo(MISSING_PET_ID);
+                        assertThat(result.getError()).isInstanceOf(WebClientResponseException.NotFound.class);
+                    });
+            assertThat(results).filteredOn(BulkResult::isSuccess)
+                    .allMatch(result -> result.getValue().getId().equals(result.getKey()));
+            assertThat(maxInFlight.get()).isLessThanOrEqualTo(3);
+        });
+    }
+
+    @Test
+    @Description("Test that unordered results are emitted as they arrive")
+    public void unorderedTest() {
+        List<BulkResult<Long, Pet>> results = Allure.step("Act", () -> {
+            logger.info("Getting {} pets in any order", PET_IDS.size());
+            return petApi.getPetsByIds(PET_IDS, new BulkOptions().concurrency(3).unordered())
+                    .collectList()
+                    .block(Duration.ofSeconds(10));
+        });
+
+        Allure.step("Assert", () -> {
+            logger.info("Asserting the slow pet did not hold back the others: {}", results);
+            assertThat(results).extracting(BulkResult::getKey).containsExactlyInAnyOrderElementsOf(PET_IDS);
+            assertThat(results.get(0).getKey()).isNotEqualTo(1L);
+            assertThat(maxInFlight.get()).isLessThanOrEqualTo(3);
+        });
+    }
+}
@@ -0,0 +1,126 @@
+package org.openapitools;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.client.api.petStoreApi.PetApi;
+import org.openapitools.client.service.petStoreService.ApiClient;
+import org.openapitools.client.service.petStoreService.CircuitBreaker;
+import org.openapitools.client.service.petStoreService.CircuitBreakerConfig;
+import org.openapitools.client.service.petStoreService.CircuitBreakerOpenException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CircuitBreakerTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreakerTest.class);
+
+    private static final String OPERATION = "GET /pet/{petId}";
+    private static final Duration OPEN_DURATION = Duration.ofMillis(300);
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicBoolean failing = new AtomicBoolean(true);
+
+    private DisposableServer server;
+    private CircuitBreaker circuitBreaker;
+    private PetApi petApi;
+
+    @BeforeEach
+    public void startServer() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        .get("/v2/pet/{petId}", (request, response) -> {
+                            requests.incrementAndGet();
+                            return failing.get()
+                                    ? response.status(503).send()
+                                    : response.header("Content-Type", "application/json")
+                                            .sendString(Mono.just("{\"id\":" + request.param("petId") + ",\"name\":\"doggie\",\"photoUrls\":[]}"));
+                        }))
+                .bindNow();
+
+        circuitBreaker = new CircuitBreaker().operation(OPERATION, new CircuitBreakerConfig()
+                .windowSize(4)
+                .minimumCalls(4)
+                .openDuration(OPEN_DURATION)
+                .halfOpenCalls(2));
+        ApiClient apiClient = new ApiClient();
+        apiClient.setBasePath("http://localhost:" + server.port() + "/v2");
+        apiClient.setCircuitBreaker(circuitBreaker);
+        petApi = new PetApi(apiClient);
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.disposeNow();
+    }
+
+    private void getPet() {
+        petApi.getPetById(1L).block(Duration.ofSeconds(10));
+    }
+
+    private void openBreaker() {
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(this::getPet).isInstanceOf(WebClientResponseException.ServiceUnavailable.class);
+        }
+    }
+
+    @Test
+    @Description("Test that the breaker opens on failures, then closes once its probe calls succeed")
+    public void openHalfOpenClosedTest() throws InterruptedException {
+        Allure.step("Act and assert", () -> {
+            logger.info("Failing the minimum number of calls");
+            openBreaker();
+            assertThat(circuitBreaker.getState(OPERATION)).isEqualTo(CircuitBreaker.State.OPEN);
+
+            logger.info("Asserting calls are rejected without being sent while open");
+            assertThatThrownBy(this::getPet).isInstanceOf(CircuitBreakerOpenException.class);
+            assertThat(requests.get()).isEqualTo(4);
+            assertThat(circuitBreaker.getStatistics(OPERATION).getNotPermittedCalls()).isEqualTo(1);
+        });
+
+        Thread.sleep(OPEN_DURATION.toMillis() + 100);
+        failing.set(false);
+
+        Allure.step("Act and assert", () -> {
+            logger.info("Sending the probe calls after the open duration");
+            getPet();
+            assertThat(circuitBreaker.getState(OPERATION)).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+            getPet();
+            assertThat(circuitBreaker.getState(OPERATION)).isEqualTo(CircuitBreaker.State.CLOSED);
+            assertThat(requests.get()).isEqualTo(6);
+            assertThat(circuitBreaker.getStatistics(OPERATION).getOpened()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    @Description("Test that the breaker opens again when its probe calls fail")
+    public void halfOpenReopenTest() throws InterruptedException {
+        openBreaker();
+        Thread.sleep(OPEN_DURATION.toMillis() + 100);
+
+        Allure.step("Act and assert", () -> {
+            logger.info("Failing the probe calls after the open duration");
+            assertThatThrownBy(this::getPet).isInstanceOf(WebClientResponseException.ServiceUnavailable.class);
+            assertThat(circuitBreaker.getState(OPERATION)).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+            assertThatThrownBy(this::getPet).isInstanceOf(WebClientResponseException.ServiceUnavailable.class);
+            assertThat(circuitBreaker.getState(OPERATION)).isEqualTo(CircuitBreaker.State.OPEN);
+            assertThatThrownBy(this::getPet).isInstanceOf(CircuitBreakerOpenException.class);
+            assertThat(circuitBreaker.getStatistics(OPERATION).getOpened()).isEqualTo(2);
+        });
+    }
+}
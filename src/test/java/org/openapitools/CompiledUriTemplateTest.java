@@ -0,0 +1,130 @@
+package org.openapitools;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.client.api.petStoreApi.UserApi;
+import org.openapitools.client.service.petStoreService.ApiClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompiledUriTemplateTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompiledUriTemplateTest.class);
+
+    private static final String PATH = "/user/{username}";
+    // reserved characters, a space, non-ASCII text and a surrogate pair
+    private static final List<String> USERNAMES = Arrays.asList(
+            "user1", "a/b", "a b", "a+b", "a?b#c", "a;b=c", "%2F", "grüße", "🐶");
+
+    private final Queue<String> uris = new ConcurrentLinkedQueue<String>();
+
+    private DisposableServer server;
+    private ApiClient apiClient;
+    private UserApi userApi;
+
+    @BeforeEach
+    public void startServer() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        .route(request -> true, (request, response) -> {
+                            uris.add(request.uri());
+                            return response.header("Content-Type", "application/json").sendString(Mono.just("{\"username\":\"user1\"}"));
+                        }))
+                .bindNow();
+
+        apiClient = new ApiClient();
+        userApi = new UserApi(apiClient);
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.disposeNow();
+    }
+
+    /**
+     * Expand the operation's URI the way WebClient did: a template built with UriComponentsBuilder, expanded and
+     * encoded by the default UriBuilderFactory.
+     */
+    private static String expectedUri(String basePath, String username) {
+        String template = UriComponentsBuilder.fromHttpUrl(basePath).path(PATH).build(false).toUriString();
+        return new DefaultUriBuilderFactory().expand(template, Collections.singletonMap("username", username)).toString();
+    }
+
+    private List<String> getUsers(String basePath) {
+        apiClient.setBasePath(basePath);
+        List<String> expected = new ArrayList<String>();
+        for (String username : USERNAMES) {
+            userApi.getUserByName(username).block(Duration.ofSeconds(10));
+            expected.add(expectedUri(basePath, username));
+        }
+        return expected;
+    }
+
+    private List<String> sentUris() {
+        List<String> sent = new ArrayList<String>();
+        for (String uri : uris) {
+            sent.add("http://localhost:" + server.port() + uri);
+        }
+        uris.clear();
+        return sent;
+    }
+
+    @Test
+    @Description("Test that path variables are strictly encoded into the same URI WebClient's template expansion produced")
+    public void expandTest() {
+        List<String> expected = Allure.step("Act", () -> {
+            logger.info("Getting {} users whose names need encoding", USERNAMES.size());
+            return getUsers("http://localhost:" + server.port() + "/v2");
+        });
+
+        Allure.step("Assert", () -> {
+            logger.info("Asserting the request URIs: {}", uris);
+            List<String> sent = sentUris();
+            assertThat(sent).containsExactlyElementsOf(expected);
+            assertThat(sent).contains(
+                    "http://localhost:" + server.port() + "/v2/user/a%2Fb",
+                    "http://localhost:" + server.port() + "/v2/user/a%20b",
+                    "http://localhost:" + server.port() + "/v2/user/gr%C3%BC%C3%9Fe",
+                    "http://localhost:" + server.port() + "/v2/user/%F0%9F%90%B6");
+        });
+    }
+
+    @Test
+    @Description("Test that changing the base path recompiles the templates compiled against the previous one")
+    public void setBasePathTest() {
+        getUsers("http://localhost:" + server.port() + "/v2");
+        uris.clear();
+
+        List<String> expected = Allure.step("Act", () -> {
+            logger.info("Getting the users again under a base path that needs encoding");
+            return getUsers("http://localhost:" + server.port() + "/v3 beta");
+        });
+
+        Allure.step("Assert", () -> {
+            logger.info("Asserting the request URIs: {}", uris);
+            List<String> sent = sentUris();
+            assertThat(sent).containsExactlyElementsOf(expected);
+            assertThat(sent).allMatch(uri -> uri.startsWith("http://localhost:" + server.port() + "/v3%20beta/user/"));
+        });
+    }
+}
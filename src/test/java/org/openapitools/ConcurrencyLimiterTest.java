@@ -0,0 +1,114 @@
+package org.openapitools;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.client.api.petStoreApi.PetApi;
+import org.openapitools.client.model.petStoreModel.Pet;
+import org.openapitools.client.service.petStoreService.ApiClient;
+import org.openapitools.client.service.petStoreService.ConcurrencyLimitExceededException;
+import org.openapitools.client.service.petStoreService.ConcurrencyLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrencyLimiterTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimiterTest.class);
+
+    private static final String OPERATION = "GET /pet/{petId}";
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private DisposableServer server;
+    private ConcurrencyLimiter concurrencyLimiter;
+    private PetApi petApi;
+
+    @BeforeEach
+    public void startServer() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        .get("/v2/pet/{petId}", (request, response) -> {
+                            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                            return Mono.delay(Duration.ofMillis(200))
+                                    .doOnNext(tick -> inFlight.decrementAndGet())
+                                    .then(response.header("Content-Type", "application/json")
+                                            .sendString(Mono.just("{\"id\":" + request.param("petId") + ",\"name\":\"doggie\",\"photoUrls\":[]}"))
+                                            .then());
+                        }))
+                .bindNow();
+
+        concurrencyLimiter = new ConcurrencyLimiter();
+        ApiClient apiClient = new ApiClient();
+        apiClient.setBasePath("http://localhost:" + server.port() + "/v2");
+        apiClient.setConcurrencyLimiter(concurrencyLimiter);
+        petApi = new PetApi(apiClient);
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.disposeNow();
+    }
+
+    @Test
+    @Description("Test that requests over the limit wait for it")
+    public void queueTest() {
+        concurrencyLimiter.operation(OPERATION, 1, 1, 10);
+
+        List<Pet> pets = Allure.step("Act", () -> {
+            logger.info("Getting 4 pets at once with a limit of 1");
+            return Flux.range(1, 4)
+                    .flatMap(petId -> petApi.getPetById((long) petId))
+                    .collectList()
+                    .block(Duration.ofSeconds(10));
+        });
+
+        Allure.step("Assert", () -> {
+            logger.info("Asserting the requests were sent one at a time: {}", concurrencyLimiter.getStatistics(OPERATION));
+            assertThat(pets).hasSize(4);
+            assertThat(maxInFlight.get()).isEqualTo(1);
+            assertThat(concurrencyLimiter.getStatistics(OPERATION).getQueued()).isZero();
+            assertThat(concurrencyLimiter.getStatistics(OPERATION).getInFlight()).isZero();
+        });
+    }
+
+    @Test
+    @Description("Test that a request waiting longer than the maximum queue wait is rejected")
+    public void maxQueueWaitTest() {
+        concurrencyLimiter.operation(OPERATION, 1, 1, 10, Duration.ofMillis(50));
+
+        List<Object> results = Allure.step("Act", () -> {
+            logger.info("Getting 2 pets at once with a limit of 1");
+            return Flux.range(1, 2)
+                    .flatMap(petId -> petApi.getPetById((long) petId)
+                            .cast(Object.class)
+                            .onErrorResume(ConcurrencyLimitExceededException.class, Mono::just))
+                    .collectList()
+                    .block(Duration.ofSeconds(10));
+        });
+
+        Allure.step("Assert", () -> {
+            ConcurrencyLimiter.Statistics statistics = concurrencyLimiter.getStatistics(OPERATION);
+            logger.info("Asserting the second request was rejected: {}", statistics);
+            assertThat(results).hasSize(2);
+            assertThat(results).filteredOn(ConcurrencyLimitExceededException.class::isInstance).hasSize(1);
+            assertThat(statistics.getRejected()).isEqualTo(1);
+            assertThat(statistics.getQueued()).isZero();
+            assertThat(statistics.getInFlight()).isZero();
+        });
+    }
+}
@@ -0,0 +1,112 @@
+package org.openapitools;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.client.api.petStoreApi.PetApi;
+import org.openapitools.client.model.petStoreModel.Pet;
+import org.openapitools.client.service.petStoreService.ApiClient;
+import org.openapitools.client.service.petStoreService.ConditionalRequests;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConditionalRequestsTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConditionalRequestsTest.class);
+
+    private static final String ETAG = "\"v1\"";
+    private static final int MAXIMUM_ELEMENTS = 3;
+
+    private final AtomicInteger conditionalRequests = new AtomicInteger();
+    private final AtomicInteger notModifiedResponses = new AtomicInteger();
+
+    private DisposableServer server;
+    private PetApi petApi;
+
+    @BeforeEach
+    public void startServer() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        .get("/v2/pet/findByStatus", (request, response) -> pets(request, response, 10))
+                        .get("/v2/pet/findByTags", (request, response) -> pets(request, response, 2)))
+                .bindNow();
+
+        ApiClient apiClient = new ApiClient();
+        apiClient.setBasePath("http://localhost:" + server.port() + "/v2");
+        apiClient.setConditionalRequests(new ConditionalRequests(100, MAXIMUM_ELEMENTS));
+        petApi = new PetApi(apiClient);
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.disposeNow();
+    }
+
+    private Publisher<Void> pets(HttpServerRequest request, HttpServerResponse response, int count) {
+        if (request.requestHeaders().contains("If-None-Match")) {
+            conditionalRequests.incrementAndGet();
+            if (ETAG.equals(request.requestHeaders().get("If-None-Match"))) {
+                notModifiedResponses.incrementAndGet();
+                return response.status(304).header("ETag", ETAG).send();
+            }
+        }
+        return response.header("Content-Type", "application/json")
+                .header("ETag", ETAG)
+                .sendString(Flux.concat(
+                        Mono.just("["),
+                        Flux.range(0, count).map(id -> (id == 0 ? "" : ",") + "{\"id\":" + id + ",\"name\":\"pet" + id + "\",\"photoUrls\":[]}"),
+                        Mono.just("]")));
+    }
+
+    @Test
+    @Description("Test that a short array is kept and served again on 304 Not Modified")
+    public void revalidateShortArrayTest() {
+        List<Pet> first = petApi.findPetsByTags(Arrays.asList("a")).collectList().block();
+
+        List<Pet> second = Allure.step("Act", () -> {
+            logger.info("Getting the same pets again");
+            return petApi.findPetsByTags(Arrays.asList("a")).collectList().block();
+        });
+
+        Allure.step("Assert", () -> {
+            logger.info("Asserting the pets were revalidated instead of downloaded again");
+            assertThat(conditionalRequests.get()).isEqualTo(1);
+            assertThat(notModifiedResponses.get()).isEqualTo(1);
+            assertThat(second).hasSize(2).isEqualTo(first);
+        });
+    }
+
+    @Test
+    @Description("Test that an array longer than the maximum number of elements is not kept")
+    public void longArrayNotKeptTest() {
+        petApi.findPetsByStatus(Arrays.asList("available")).blockLast();
+
+        List<Pet> second = Allure.step("Act", () -> {
+            logger.info("Getting the same pets again");
+            return petApi.findPetsByStatus(Arrays.asList("available")).collectList().block();
+        });
+
+        Allure.step("Assert", () -> {
+            logger.info("Asserting the pets were requested unconditionally");
+            assertThat(conditionalRequests.get()).isZero();
+            assertThat(second).hasSize(10);
+        });
+    }
+}
@@ -0,0 +1,68 @@
+package org.openapitools;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.client.api.petStoreApi.PetApi;
+import org.openapitools.client.model.petStoreModel.Pet;
+import org.openapitools.client.service.petStoreService.ApiClient;
+import org.openapitools.client.service.petStoreService.ConnectionPoolConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConnectionPoolConfigTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPoolConfigTest.class);
+
+    private final CountDownLatch closedConnections = new CountDownLatch(1);
+
+    private DisposableServer server;
+
+    @BeforeEach
+    public void startServer() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .doOnConnection(connection -> connection.onDispose(closedConnections::countDown))
+                .route(routes -> routes
+                        .get("/v2/pet/{petId}", (request, response) -> response.header("Content-Type", "application/json")
+                                .sendString(Mono.just("{\"id\":" + request.param("petId") + ",\"name\":\"doggie\",\"photoUrls\":[]}"))))
+                .bindNow();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.disposeNow();
+    }
+
+    @Test
+    @Description("Test that disposing a client closes the connections of its pool")
+    public void disposeTest() throws InterruptedException {
+        ApiClient apiClient = new ApiClient(new ConnectionPoolConfig().maxIdleTime(Duration.ofMinutes(10)));
+        apiClient.setBasePath("http://localhost:" + server.port() + "/v2");
+        Pet pet = new PetApi(apiClient).getPetById(1L).block(Duration.ofSeconds(10));
+
+        Allure.step("Act", () -> {
+            logger.info("Disposing the client");
+            apiClient.dispose();
+        });
+
+        boolean closed = closedConnections.await(5, TimeUnit.SECONDS);
+        Allure.step("Assert", () -> {
+            logger.info("Asserting the idle connection was closed");
+            assertThat(pet.getId()).isEqualTo(1L);
+            assertThat(closed).isTrue();
+        });
+    }
+}
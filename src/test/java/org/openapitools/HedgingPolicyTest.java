@@ -0,0 +1,94 @@
+package org.openapitools;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.client.api.petStoreApi.PetApi;
+import org.openapitools.client.model.petStoreModel.Pet;
+import org.openapitools.client.service.petStoreService.ApiClient;
+import org.openapitools.client.service.petStoreService.HedgingPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HedgingPolicyTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(HedgingPolicyTest.class);
+
+    private static final String OPERATION = "GET /pet/{petId}";
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final CountDownLatch cancelled = new CountDownLatch(1);
+
+    private DisposableServer server;
+    private HedgingPolicy hedgingPolicy;
+    private PetApi petApi;
+
+    @BeforeEach
+    public void startServer() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        .get("/v2/pet/{petId}", (request, response) -> {
+                            // the first request of pet 1 is slow, its copy is not
+                            final boolean slow = "1".equals(request.param("petId")) && requests.incrementAndGet() == 1;
+                            final Duration delay = slow ? Duration.ofSeconds(5) : Duration.ZERO;
+                            return Mono.delay(delay)
+                                    .doOnCancel(cancelled::countDown)
+                                    .then(response.header("Content-Type", "application/json")
+                                            .sendString(Mono.just("{\"id\":" + request.param("petId") + ",\"name\":\"doggie\",\"photoUrls\":[]}"))
+                                            .then());
+                        }))
+                .bindNow();
+
+        hedgingPolicy = new HedgingPolicy();
+        ApiClient apiClient = new ApiClient();
+        apiClient.setBasePath("http://localhost:" + server.port() + "/v2");
+        apiClient.setHedgingPolicy(hedgingPolicy);
+        petApi = new PetApi(apiClient);
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.disposeNow();
+    }
+
+    @Test
+    @Description("Test that a slow request is hedged, and cancelled once its copy answered")
+    public void hedgeTest() throws InterruptedException {
+        // opens the connection the original is sent over, before hedging
+        petApi.getPetById(0L).block(Duration.ofSeconds(10));
+        hedgingPolicy.operation(OPERATION, Duration.ofMillis(100));
+
+        long startNanos = System.nanoTime();
+        Pet pet = Allure.step("Act", () -> {
+            logger.info("Getting a pet whose first request is slow");
+            return petApi.getPetById(1L).block(Duration.ofSeconds(10));
+        });
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+
+        boolean loserCancelled = cancelled.await(5, TimeUnit.SECONDS);
+        Allure.step("Assert", () -> {
+            HedgingPolicy.Statistics statistics = hedgingPolicy.getStatistics(OPERATION);
+            logger.info("Asserting the copy won after {}, and the original was cancelled: {}", elapsed, statistics);
+            assertThat(pet.getId()).isEqualTo(1L);
+            assertThat(elapsed).isLessThan(Duration.ofSeconds(5));
+            assertThat(requests.get()).isEqualTo(2);
+            assertThat(statistics.getHedged()).isEqualTo(1);
+            assertThat(statistics.getHedgesWon()).isEqualTo(1);
+            assertThat(loserCancelled).isTrue();
+        });
+    }
+}
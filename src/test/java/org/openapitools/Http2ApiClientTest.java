@@ -0,0 +1,120 @@
+package org.openapitools;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.client.api.petStoreApi.PetApi;
+import org.openapitools.client.api.petStoreApi.StoreApi;
+import org.openapitools.client.model.petStoreModel.Order;
+import org.openapitools.client.model.petStoreModel.Pet;
+import org.openapitools.client.service.petStoreService.ApiClient;
+import org.openapitools.client.service.petStoreService.ConnectionPoolConfig;
+import org.openapitools.client.service.petStoreService.HttpProtocolConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class Http2ApiClientTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(Http2ApiClientTest.class);
+
+    private static final int CONCURRENT_REQUESTS = 200;
+    private static final int MAX_CONNECTIONS = 2;
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger streams = new AtomicInteger();
+
+    private DisposableServer server;
+    private ApiClient apiClient;
+
+    @BeforeEach
+    public void startServer() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .protocol(HttpProtocol.H2C)
+                .doOnChannelInit((observer, channel, remoteAddress) -> connections.incrementAndGet())
+                .route(routes -> routes
+                        .get("/v2/pet/{petId}", (request, response) -> {
+                            if (request.requestHeaders().contains("x-http2-stream-id")) {
+                                streams.incrementAndGet();
+                            }
+                            String body = "{\"id\":" + request.param("petId") + ",\"name\":\"doggie\",\"photoUrls\":[]}";
+                            return response.header("Content-Type", "application/json")
+                                    .sendString(Mono.delay(Duration.ofMillis(50)).thenReturn(body));
+                        })
+                        .get("/v2/store/order/{orderId}", (request, response) -> {
+                            if (request.requestHeaders().contains("x-http2-stream-id")) {
+                                streams.incrementAndGet();
+                            }
+                            String body = "{\"id\":" + request.param("orderId") + ",\"status\":\"placed\"}";
+                            return response.header("Content-Type", "application/json")
+                                    .sendString(Mono.delay(Duration.ofMillis(50)).thenReturn(body));
+                        }))
+                .bindNow();
+
+        apiClient = new ApiClient(new ConnectionPoolConfig().maxConnections(MAX_CONNECTIONS), HttpProtocolConfig.h2c());
+        apiClient.setBasePath("http://localhost:" + server.port() + "/v2");
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.disposeNow();
+    }
+
+    @Test
+    @Description("Test that concurrent getPetById calls are multiplexed over h2c")
+    public void getPetByIdOverH2cTest() {
+        PetApi petApi = new PetApi(apiClient);
+
+        List<Pet> pets = Allure.step("Act", () -> {
+            logger.info("Getting {} pets concurrently over h2c", CONCURRENT_REQUESTS);
+            return Flux.range(1, CONCURRENT_REQUESTS)
+                    .flatMap(petId -> petApi.getPetById(petId.longValue()), CONCURRENT_REQUESTS)
+                    .collectList()
+                    .block(Duration.ofSeconds(30));
+        });
+
+        Allure.step("Assert", () -> {
+            logger.info("Asserting {} responses over at most {} connections", CONCURRENT_REQUESTS, MAX_CONNECTIONS);
+            assertThat(pets).hasSize(CONCURRENT_REQUESTS);
+            assertThat(pets).extracting(Pet::getId).doesNotHaveDuplicates();
+            assertThat(streams.get()).isEqualTo(CONCURRENT_REQUESTS);
+            assertThat(connections.get()).isBetween(1, MAX_CONNECTIONS);
+        });
+    }
+
+    @Test
+    @Description("Test that concurrent getOrderById calls are multiplexed over h2c")
+    public void getOrderByIdOverH2cTest() {
+        StoreApi storeApi = new StoreApi(apiClient);
+
+        List<Order> orders = Allure.step("Act", () -> {
+            logger.info("Getting {} orders concurrently over h2c", CONCURRENT_REQUESTS);
+            return Flux.range(1, CONCURRENT_REQUESTS)
+                    .flatMap(orderId -> storeApi.getOrderById(orderId.longValue()), CONCURRENT_REQUESTS)
+                    .collectList()
+                    .block(Duration.ofSeconds(30));
+        });
+
+        Allure.step("Assert", () -> {
+            logger.info("Asserting {} responses over at most {} connections", CONCURRENT_REQUESTS, MAX_CONNECTIONS);
+            assertThat(orders).hasSize(CONCURRENT_REQUESTS);
+            assertThat(orders).extracting(Order::getStatus).containsOnly(Order.StatusEnum.PLACED);
+            assertThat(streams.get()).isEqualTo(CONCURRENT_REQUESTS);
+            assertThat(connections.get()).isBetween(1, MAX_CONNECTIONS);
+        });
+    }
+}
@@ -0,0 +1,80 @@
+package org.openapitools;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.Test;
+import org.openapitools.client.service.petStoreService.ApiClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JsonMimeTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(JsonMimeTest.class);
+
+    private static final String JSON_SUBTYPE = "^.*(\\+json|ndjson)[;]?\\s*$";
+
+    private static final List<String> MEDIA_TYPES = Arrays.asList(
+            "application/json", "application/problem+json", "application/x-ndjson", "application/ndjson",
+            "text/plain", "application/json;charset=UTF-8", "application/vnd.api+json; charset=UTF-8",
+            "application/x+json;", "application/x+json ; ", "APPLICATION/JSON", "application/+json", "*/*",
+            "application/x+jsonx", "application/jsonx", "application/x-ndjsonx", "application/xml", "json", "");
+
+    private static final List<String> SUBTYPES = Arrays.asList(
+            "json", "problem+json", "x-ndjson", "ndjson", "plain", "+json", "x+json;", "x+json ", "x+json; \t",
+            "x+json;;", "x+json ;", "x+jsonx", "jsonx", "x-ndjsonx", "son", ";", " ", "");
+
+    private final ApiClient apiClient = new ApiClient();
+
+    /**
+     * The JSON check before the regular expression was replaced.
+     */
+    private static boolean isJsonMimeByRegex(String mediaType) {
+        if ("*/*".equals(mediaType)) {
+            return true;
+        }
+        try {
+            MediaType parsed = MediaType.parseMediaType(mediaType);
+            return MediaType.APPLICATION_JSON.isCompatibleWith(parsed) || parsed.getSubtype().matches(JSON_SUBTYPE);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    @Test
+    @Description("Test that media types are recognized as JSON exactly like the regular expression did")
+    public void isJsonMimeTest() {
+        Allure.step("Act and assert", () -> {
+            logger.info("Checking {} media types", MEDIA_TYPES.size());
+            for (String mediaType : MEDIA_TYPES) {
+                assertThat(apiClient.isJsonMime(mediaType)).as("%s", mediaType).isEqualTo(isJsonMimeByRegex(mediaType));
+                if (!mediaType.isEmpty() && !mediaType.equals("json")) {
+                    assertThat(apiClient.isJsonMime(MediaType.parseMediaType(mediaType))).as("%s", mediaType).isEqualTo(isJsonMimeByRegex(mediaType));
+                }
+            }
+            assertThat(apiClient.isJsonMime("application/problem+json")).isTrue();
+            assertThat(apiClient.isJsonMime("application/x+jsonx")).isFalse();
+        });
+    }
+
+    @Test
+    @Description("Test that subtypes, including a trailing ';' and whitespace that parsed media types cannot have, match like the regular expression")
+    public void isJsonSubtypeTest() throws Exception {
+        Method isJsonSubtype = ApiClient.class.getDeclaredMethod("isJsonSubtype", String.class);
+        isJsonSubtype.setAccessible(true);
+
+        Allure.step("Act and assert", () -> {
+            logger.info("Checking {} subtypes", SUBTYPES.size());
+            for (String subtype : SUBTYPES) {
+                assertThat(isJsonSubtype.invoke(null, subtype)).as("'%s'", subtype).isEqualTo(subtype.matches(JSON_SUBTYPE));
+            }
+        });
+    }
+}
@@ -0,0 +1,110 @@
+package org.openapitools;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.client.api.petStoreApi.PetApi;
+import org.openapitools.client.service.petStoreService.ApiClient;
+import org.openapitools.client.service.petStoreService.LatencyHistogram;
+import org.openapitools.client.service.petStoreService.LatencyRecorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.withinPercentage;
+
+public class LatencyHistogramTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LatencyHistogramTest.class);
+
+    private static final double[] PERCENTILES = { 50, 90, 99, 99.9, 100 };
+
+    private DisposableServer server;
+    private ApiClient apiClient;
+    private PetApi petApi;
+
+    @BeforeEach
+    public void startServer() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        .get("/v2/pet/{petId}", (request, response) -> response.header("Content-Type", "application/json")
+                                .sendString(Mono.just("{\"id\":" + request.param("petId") + ",\"name\":\"doggie\",\"photoUrls\":[]}"))))
+                .bindNow();
+
+        apiClient = new ApiClient();
+        apiClient.setBasePath("http://localhost:" + server.port() + "/v2");
+        apiClient.setLatencyRecorder(new LatencyRecorder());
+        petApi = new PetApi(apiClient);
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.disposeNow();
+    }
+
+    @Test
+    @Description("Test that an encoded histogram decodes with HdrHistogram to the same counts")
+    public void encodeCompressedTest() throws Exception {
+        LatencyHistogram latencyHistogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 100_000; micros += 7) {
+            latencyHistogram.record(micros);
+        }
+        latencyHistogram.record(LatencyHistogram.HIGHEST_TRACKABLE_MICROS);
+        LatencyHistogram.Snapshot snapshot = latencyHistogram.snapshot();
+
+        Histogram decoded = Allure.step("Act", () -> {
+            logger.info("Decoding {} latencies with HdrHistogram", snapshot.getTotalCount());
+            return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(snapshot.encodeCompressed()), 0);
+        });
+
+        Allure.step("Assert", () -> {
+            logger.info("Asserting the decoded histogram has the same count and percentiles");
+            assertThat(decoded.getTotalCount()).isEqualTo(snapshot.getTotalCount());
+            assertThat(decoded.getNumberOfSignificantValueDigits()).isEqualTo(LatencyHistogram.SIGNIFICANT_DIGITS);
+            for (double percentile : PERCENTILES) {
+                assertThat((double) decoded.getValueAtPercentile(percentile))
+                        .as("p%s", percentile)
+                        .isCloseTo(snapshot.getValueAtPercentile(percentile), withinPercentage(2));
+            }
+            assertThat((double) decoded.getMinValue()).isCloseTo(snapshot.getMinMicros(), withinPercentage(2));
+            assertThat((double) decoded.getMaxValue()).isCloseTo(snapshot.getMaxMicros(), withinPercentage(2));
+        });
+    }
+
+    @Test
+    @Description("Test that the latency log is read by HdrHistogram's log reader")
+    public void logTest() throws Exception {
+        for (long petId = 1; petId <= 3; petId++) {
+            petApi.getPetById(petId).block(Duration.ofSeconds(10));
+        }
+
+        StringBuilder log = new StringBuilder();
+        Allure.step("Act", () -> {
+            logger.info("Writing the latencies of 3 calls as an HdrHistogram log");
+            apiClient.dumpLatencies(log, LatencyRecorder.Format.HDR_HISTOGRAM_LOG);
+        });
+
+        HistogramLogReader reader = new HistogramLogReader(new ByteArrayInputStream(log.toString().getBytes(StandardCharsets.UTF_8)));
+        Histogram interval = (Histogram) reader.nextIntervalHistogram();
+        Allure.step("Assert", () -> {
+            logger.info("Asserting the log holds one interval of the operation:\n{}", log);
+            assertThat(interval.getTag()).isEqualTo("GET_/pet/{petId}");
+            assertThat(interval.getTotalCount()).isEqualTo(3);
+            assertThat(reader.nextIntervalHistogram()).isNull();
+        });
+    }
+}
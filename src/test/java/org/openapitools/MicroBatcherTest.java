@@ -0,0 +1,115 @@
+package org.openapitools;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.client.api.petStoreApi.UserApi;
+import org.openapitools.client.model.petStoreModel.User;
+import org.openapitools.client.service.petStoreService.ApiClient;
+import org.openapitools.client.service.petStoreService.MicroBatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MicroBatcherTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(MicroBatcherTest.class);
+
+    private final Queue<List<User>> batches = new ConcurrentLinkedQueue<List<User>>();
+    private final AtomicBoolean failing = new AtomicBoolean();
+
+    private DisposableServer server;
+    private UserApi userApi;
+
+    @BeforeEach
+    public void startServer() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        .post("/v2/user/createWithList", (request, response) -> request.receive().aggregate().asByteArray()
+                                .doOnNext(body -> batches.add(readUsers(body)))
+                                .then(failing.get() ? response.status(500).send() : response.send())))
+                .bindNow();
+
+        ApiClient apiClient = new ApiClient();
+        apiClient.setBasePath("http://localhost:" + server.port() + "/v2");
+        userApi = new UserApi(apiClient);
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.disposeNow();
+    }
+
+    private static List<User> readUsers(byte[] body) {
+        try {
+            return new ObjectMapper().readValue(body, new TypeReference<List<User>>() {});
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Flux<Object> createUsers(MicroBatcher<User> batcher, int count) {
+        return Flux.range(0, count)
+                .flatMap(i -> batcher.submit(new User().id((long) i).username("user" + i))
+                        .thenReturn((Object) "created")
+                        .onErrorResume(WebClientResponseException.class, Mono::just));
+    }
+
+    @Test
+    @Description("Test that users created one at a time are sent in batches of the maximum size, the rest after the maximum delay")
+    public void batchTest() {
+        MicroBatcher<User> batcher = userApi.createUserBatcher(4, Duration.ofMillis(100));
+
+        List<Object> results = Allure.step("Act", () -> {
+            logger.info("Creating 10 users at once in batches of 4");
+            return createUsers(batcher, 10).collectList().block(Duration.ofSeconds(10));
+        });
+
+        Allure.step("Assert", () -> {
+            logger.info("Asserting 3 batches were sent for all users");
+            assertThat(results).hasSize(10).containsOnly("created");
+            assertThat(batches).extracting(List::size).containsExactlyInAnyOrder(4, 4, 2);
+            assertThat(batches).flatExtracting(batch -> batch).extracting(User::getUsername).doesNotHaveDuplicates().hasSize(10);
+            assertThat(batcher.getBatches()).isEqualTo(3);
+            assertThat(batcher.getItems()).isEqualTo(10);
+        });
+    }
+
+    @Test
+    @Description("Test that every user of a failed batch gets the error of its request")
+    public void batchFailureTest() {
+        failing.set(true);
+        MicroBatcher<User> batcher = userApi.createUserBatcher(5, Duration.ofMillis(100));
+
+        List<Object> results = Allure.step("Act", () -> {
+            logger.info("Creating 5 users at once with a failing server");
+            return createUsers(batcher, 5).collectList().block(Duration.ofSeconds(10));
+        });
+
+        Allure.step("Assert", () -> {
+            logger.info("Asserting the single batch failed for each user");
+            assertThat(batches).hasSize(1);
+            assertThat(results).hasSize(5).allMatch(WebClientResponseException.InternalServerError.class::isInstance);
+        });
+    }
+}
@@ -0,0 +1,198 @@
+package org.openapitools;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.client.api.petStoreApi.PetApi;
+import org.openapitools.client.model.petStoreModel.Pet;
+import org.openapitools.client.service.petStoreService.ApiClient;
+import org.openapitools.client.service.petStoreService.ConcurrencyLimiter;
+import org.openapitools.client.service.petStoreService.MicrometerMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MicrometerMetricsTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(MicrometerMetricsTest.class);
+
+    private static final String PREFIX = MicrometerMetrics.DEFAULT_PREFIX;
+    private static final String PET_BY_ID = "/pet/{petId}";
+    private static final String PET_JSON = "{\"id\":1,\"name\":\"doggie\",\"photoUrls\":[]}";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private DisposableServer server;
+    private ApiClient apiClient;
+    private PetApi petApi;
+
+    @BeforeEach
+    public void startServer() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        // pet 1 exists, the others are missing
+                        .get("/v2/pet/{petId}", (request, response) -> "1".equals(request.param("petId"))
+                                ? response.header("Content-Type", "application/json").sendString(Mono.just(PET_JSON))
+                                : response.status(404).send())
+                        .post("/v2/pet", (request, response) -> request.receive().then(response.send())))
+                .bindNow();
+
+        apiClient = new ApiClient();
+        apiClient.setBasePath("http://localhost:" + server.port() + "/v2");
+        apiClient.setMetrics(new MicrometerMetrics(registry));
+        petApi = new PetApi(apiClient);
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.disposeNow();
+    }
+
+    @Test
+    @Description("Test that requests are timed and counted per method, uri template, status and outcome")
+    public void requestsTest() {
+        Allure.step("Act", () -> {
+            logger.info("Getting a pet twice, then a missing pet");
+            petApi.getPetById(1L).block(Duration.ofSeconds(10));
+            petApi.getPetById(1L).block(Duration.ofSeconds(10));
+            assertThatThrownBy(() -> petApi.getPetById(2L).block(Duration.ofSeconds(10)))
+                    .isInstanceOf(WebClientResponseException.NotFound.class);
+        });
+
+        Allure.step("Assert", () -> {
+            logger.info("Asserting the timers, the outcome counters and the response bytes");
+            assertThat(registry.get(PREFIX + ".requests")
+                    .tags("method", "GET", "uri", PET_BY_ID, "status", "2xx", "exception", "none")
+                    .timer().count()).isEqualTo(2);
+            assertThat(registry.get(PREFIX + ".requests")
+                    .tags("method", "GET", "uri", PET_BY_ID, "status", "4xx", "exception", "none")
+                    .timer().count()).isEqualTo(1);
+            assertThat(registry.get(PREFIX + ".requests.outcome")
+                    .tags("method", "GET", "uri", PET_BY_ID, "outcome", "SUCCESS")
+                    .counter().count()).isEqualTo(2);
+            assertThat(registry.get(PREFIX + ".requests.outcome")
+                    .tags("method", "GET", "uri", PET_BY_ID, "outcome", "CLIENT_ERROR")
+                    .counter().count()).isEqualTo(1);
+            assertThat(registry.get(PREFIX + ".response.size")
+                    .tags("method", "GET", "uri", PET_BY_ID)
+                    .counter().count()).isEqualTo(2.0 * PET_JSON.length());
+            assertThat(registry.get(PREFIX + ".requests.active")
+                    .tags("method", "GET", "uri", PET_BY_ID)
+                    .gauge().value()).isZero();
+        });
+    }
+
+    @Test
+    @Description("Test that the body bytes of a request are counted")
+    public void requestSizeTest() {
+        Pet pet = new Pet().id(1L).name("doggie").photoUrls(Collections.singletonList("url"));
+
+        Allure.step("Act", () -> {
+            logger.info("Adding a pet");
+            petApi.addPet(pet).block(Duration.ofSeconds(10));
+        });
+
+        Allure.step("Assert", () -> {
+            logger.info("Asserting the request bytes were counted");
+            assertThat(registry.get(PREFIX + ".request.size")
+                    .tags("method", "POST", "uri", "/pet")
+                    .counter().count()).isEqualTo(apiClient.getObjectMapper().writeValueAsBytes(pet).length);
+            assertThat(registry.get(PREFIX + ".requests.active")
+                    .tags("method", "POST", "uri", "/pet")
+                    .gauge().value()).isZero();
+        });
+    }
+
+    @Test
+    @Description("Test that requests not built by the client share the UNKNOWN uri tag")
+    public void unknownUriTest() {
+        Allure.step("Act", () -> {
+            logger.info("Sending two requests with the client's WebClient directly");
+            for (long petId = 1; petId <= 2; petId++) {
+                apiClient.getWebClient().get()
+                        .uri("http://localhost:" + server.port() + "/v2/pet/" + petId)
+                        .retrieve()
+                        .toBodilessEntity()
+                        .onErrorResume(WebClientResponseException.class, e -> Mono.empty())
+                        .block(Duration.ofSeconds(10));
+            }
+        });
+
+        Allure.step("Assert", () -> {
+            logger.info("Asserting the requests were recorded without their paths");
+            assertThat(registry.find(PREFIX + ".requests").timers())
+                    .extracting(timer -> timer.getId().getTag("uri"))
+                    .containsOnly("UNKNOWN");
+            assertThat(registry.get(PREFIX + ".requests.outcome")
+                    .tags("method", "GET", "uri", "UNKNOWN", "outcome", "SUCCESS")
+                    .counter().count()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    @Description("Test that a request without a response is tagged with its exception")
+    public void exceptionTest() {
+        ApiClient unreachableClient = new ApiClient();
+        unreachableClient.setBasePath("http://localhost:" + server.port() + "/v2");
+        unreachableClient.setMetrics(new MicrometerMetrics(registry));
+        server.disposeNow();
+
+        Allure.step("Act", () -> {
+            logger.info("Getting a pet from a server that is gone");
+            assertThatThrownBy(() -> new PetApi(unreachableClient).getPetById(1L).block(Duration.ofSeconds(10)))
+                    .isInstanceOf(WebClientRequestException.class);
+        });
+
+        Allure.step("Assert", () -> {
+            logger.info("Asserting the timer and the outcome of the failed request");
+            assertThat(registry.get(PREFIX + ".requests")
+                    .tags("method", "GET", "uri", PET_BY_ID, "status", "NONE", "exception", "WebClientRequestException")
+                    .timer().count()).isEqualTo(1);
+            assertThat(registry.get(PREFIX + ".requests.outcome")
+                    .tags("method", "GET", "uri", PET_BY_ID, "outcome", "ERROR")
+                    .counter().count()).isEqualTo(1);
+            assertThat(registry.get(PREFIX + ".requests.active")
+                    .tags("method", "GET", "uri", PET_BY_ID)
+                    .gauge().value()).isZero();
+        });
+    }
+
+    @Test
+    @Description("Test that the concurrency limit of a limited operation is reported")
+    public void concurrencyLimitTest() {
+        ConcurrencyLimiter concurrencyLimiter = new ConcurrencyLimiter().operation("GET " + PET_BY_ID, 5, 10, 0);
+        apiClient.setConcurrencyLimiter(concurrencyLimiter);
+        apiClient.setMetrics(new MicrometerMetrics(registry).concurrencyLimiter(concurrencyLimiter));
+
+        Allure.step("Act", () -> {
+            logger.info("Getting a pet and adding one, which is not limited");
+            petApi.getPetById(1L).block(Duration.ofSeconds(10));
+            petApi.addPet(new Pet().id(1L).name("doggie")).block(Duration.ofSeconds(10));
+        });
+
+        Allure.step("Assert", () -> {
+            logger.info("Asserting the limit of the limited operation only");
+            assertThat(registry.get(PREFIX + ".concurrency.limit")
+                    .tags("method", "GET", "uri", PET_BY_ID)
+                    .gauge().value()).isEqualTo(concurrencyLimiter.getLimit("GET " + PET_BY_ID)).isPositive();
+            assertThat(registry.get(PREFIX + ".concurrency.limit")
+                    .tags("method", "POST", "uri", "/pet")
+                    .gauge().value()).isNaN();
+        });
+    }
+}
@@ -0,0 +1,110 @@
+package org.openapitools;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.client.api.petStoreApi.PetApi;
+import org.openapitools.client.model.petStoreModel.Pet;
+import org.openapitools.client.service.petStoreService.ApiClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NdjsonStreamingTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(NdjsonStreamingTest.class);
+
+    private static final int PET_COUNT = 1000;
+    private static final Duration STALL = Duration.ofSeconds(3);
+
+    private final AtomicReference<String> accept = new AtomicReference<String>();
+
+    private DisposableServer server;
+    private PetApi petApi;
+
+    @BeforeEach
+    public void startServer() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        // answers with one pet, then stalls before sending the rest
+                        .get("/v2/pet/findByStatus", (request, response) -> {
+                            accept.set(request.requestHeaders().get("Accept"));
+                            return response.header("Content-Type", "application/x-ndjson")
+                                    .sendString(Flux.concat(
+                                            Mono.just(pet(0) + "\n"),
+                                            Mono.delay(STALL).thenMany(Flux.range(1, PET_COUNT - 1).map(id -> pet(id) + "\n"))));
+                        })
+                        // a server that cannot stream records
+                        .get("/v2/pet/findByTags", (request, response) -> {
+                            accept.set(request.requestHeaders().get("Accept"));
+                            return response.header("Content-Type", "application/json")
+                                    .sendString(Flux.concat(
+                                            Mono.just("["),
+                                            Flux.range(0, PET_COUNT).map(id -> (id == 0 ? "" : ",") + pet(id)),
+                                            Mono.just("]")));
+                        }))
+                .bindNow();
+
+        ApiClient apiClient = new ApiClient();
+        apiClient.setBasePath("http://localhost:" + server.port() + "/v2");
+        petApi = new PetApi(apiClient);
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.disposeNow();
+    }
+
+    private static String pet(int id) {
+        return "{\"id\":" + id + ",\"name\":\"pet" + id + "\",\"photoUrls\":[],\"status\":\"sold\"}";
+    }
+
+    @Test
+    @Description("Test that NDJSON records are emitted before the response is complete")
+    public void findPetsByStatusStreamingTest() {
+        Pet first = Allure.step("Act", () -> {
+            logger.info("Getting the first pet of a stalled NDJSON response");
+            return petApi.findPetsByStatusStreaming(Arrays.asList("sold")).next().block(STALL.dividedBy(2));
+        });
+
+        List<Pet> pets = petApi.findPetsByStatusStreaming(Arrays.asList("sold")).collectList().block(STALL.multipliedBy(2));
+
+        Allure.step("Assert", () -> {
+            logger.info("Asserting the first pet arrived before the stall and all pets were decoded");
+            assertThat(accept.get()).isEqualTo("application/x-ndjson, application/json");
+            assertThat(first.getId()).isEqualTo(0L);
+            assertThat(pets).hasSize(PET_COUNT);
+            assertThat(pets.get(PET_COUNT - 1).getId()).isEqualTo(PET_COUNT - 1L);
+        });
+    }
+
+    @Test
+    @Description("Test that a JSON array answer to an NDJSON request is decoded element by element")
+    public void findPetsByTagsStreamingFallbackTest() {
+        List<Pet> pets = Allure.step("Act", () -> {
+            logger.info("Getting pets from a server that only produces JSON arrays");
+            return petApi.findPetsByTagsStreaming(Arrays.asList("tag1")).collectList().block(Duration.ofSeconds(10));
+        });
+
+        Allure.step("Assert", () -> {
+            logger.info("Asserting all pets of the array were decoded");
+            assertThat(accept.get()).isEqualTo("application/x-ndjson, application/json");
+            assertThat(pets).hasSize(PET_COUNT);
+            assertThat(pets).extracting(Pet::getStatus).containsOnly(Pet.StatusEnum.SOLD);
+        });
+    }
+}
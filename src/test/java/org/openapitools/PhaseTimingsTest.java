@@ -0,0 +1,158 @@
+package org.openapitools;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.client.api.petStoreApi.PetApi;
+import org.openapitools.client.service.petStoreService.ApiClient;
+import org.openapitools.client.service.petStoreService.CallPhases;
+import org.openapitools.client.service.petStoreService.ConnectionPoolConfig;
+import org.openapitools.client.service.petStoreService.HedgingPolicy;
+import org.openapitools.client.service.petStoreService.PhaseTimings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PhaseTimingsTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PhaseTimingsTest.class);
+
+    private static final String OPERATION = "GET /pet/{petId}";
+    private static final Duration FIRST_BYTE_DELAY = Duration.ofMillis(200);
+
+    private final AtomicInteger slowRequests = new AtomicInteger();
+    private final BlockingQueue<CallPhases> reported = new LinkedBlockingQueue<CallPhases>();
+
+    private DisposableServer server;
+    private ApiClient apiClient;
+    private PhaseTimings phaseTimings;
+    private PetApi petApi;
+
+    @BeforeEach
+    public void startServer() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        // the headers of pet 1 are late, very late the first time
+                        .get("/v2/pet/{petId}", (request, response) -> {
+                            final boolean slow = "1".equals(request.param("petId"));
+                            final Duration delay = !slow ? Duration.ZERO
+                                    : slowRequests.incrementAndGet() == 1 ? Duration.ofSeconds(5) : FIRST_BYTE_DELAY;
+                            return Mono.delay(delay)
+                                    .then(response.header("Content-Type", "application/json")
+                                            .sendString(Mono.just("{\"id\":" + request.param("petId") + ",\"name\":\"doggie\",\"photoUrls\":[]}"))
+                                            .then());
+                        }))
+                .bindNow();
+
+        phaseTimings = new PhaseTimings().observer(reported::add);
+        apiClient = new ApiClient(new ConnectionPoolConfig(), null, null, phaseTimings);
+        apiClient.setBasePath("http://localhost:" + server.port() + "/v2");
+        petApi = new PetApi(apiClient);
+    }
+
+    @AfterEach
+    public void stopServer() {
+        apiClient.dispose();
+        server.disposeNow();
+    }
+
+    @Test
+    @Description("Test that the phases of calls are all measured")
+    public void phasesTest() throws InterruptedException {
+        Allure.step("Act", () -> {
+            logger.info("Getting a pet, then one whose response headers are late");
+            petApi.getPetById(2L).block(Duration.ofSeconds(10));
+            petApi.getPetById(1L).block(Duration.ofSeconds(10));
+        });
+
+        CallPhases first = reported.poll(5, TimeUnit.SECONDS);
+        CallPhases second = reported.poll(5, TimeUnit.SECONDS);
+        Allure.step("Assert", () -> {
+            logger.info("Asserting the phases were reported: {}, {}", first, second);
+            assertThat(first.getOperation()).isEqualTo(OPERATION);
+            assertThat(first.getNanos(PhaseTimings.Phase.CONNECT)).isPositive();
+            for (PhaseTimings.Phase phase : new PhaseTimings.Phase[] {
+                    PhaseTimings.Phase.POOL_ACQUIRE, PhaseTimings.Phase.CONNECT, PhaseTimings.Phase.REQUEST_WRITE,
+                    PhaseTimings.Phase.TIME_TO_FIRST_BYTE, PhaseTimings.Phase.BODY_TRANSFER, PhaseTimings.Phase.DECODE }) {
+                assertThat(first.getNanos(phase)).as("%s", phase).isNotNegative();
+                assertThat(second.getNanos(phase)).as("%s", phase).isNotNegative();
+            }
+            // plain http has no handshake
+            assertThat(first.getNanos(PhaseTimings.Phase.TLS_HANDSHAKE)).isEqualTo(-1);
+            assertThat(second.getNanos(PhaseTimings.Phase.TLS_HANDSHAKE)).isEqualTo(-1);
+            assertThat(second.getNanos(PhaseTimings.Phase.TIME_TO_FIRST_BYTE)).isGreaterThanOrEqualTo(FIRST_BYTE_DELAY.toNanos());
+            assertThat(second.getTotalNanos()).isGreaterThanOrEqualTo(second.getNanos(PhaseTimings.Phase.TIME_TO_FIRST_BYTE));
+            assertThat(phaseTimings.getHistogram(OPERATION, PhaseTimings.Phase.TIME_TO_FIRST_BYTE).snapshot().getTotalCount()).isEqualTo(2);
+        });
+    }
+
+    @Test
+    @Description("Test that a client created without phase timings has neither the connection hooks nor the timed decoder")
+    public void unhookedTest() throws InterruptedException {
+        ApiClient plainClient = new ApiClient(new ConnectionPoolConfig());
+        plainClient.setBasePath("http://localhost:" + server.port() + "/v2");
+        plainClient.setPhaseTimings(phaseTimings);
+
+        Allure.step("Act", () -> {
+            logger.info("Getting a pet with a client created without phase timings");
+            try {
+                new PetApi(plainClient).getPetById(2L).block(Duration.ofSeconds(10));
+            } finally {
+                plainClient.dispose();
+            }
+        });
+
+        CallPhases phases = reported.poll(5, TimeUnit.SECONDS);
+        Allure.step("Assert", () -> {
+            logger.info("Asserting only the phases seen by the filter were reported: {}", phases);
+            assertThat(phases.getNanos(PhaseTimings.Phase.TIME_TO_FIRST_BYTE)).isNotNegative();
+            assertThat(phases.getNanos(PhaseTimings.Phase.BODY_TRANSFER)).isNotNegative();
+            for (PhaseTimings.Phase phase : new PhaseTimings.Phase[] {
+                    PhaseTimings.Phase.POOL_ACQUIRE, PhaseTimings.Phase.CONNECT, PhaseTimings.Phase.REQUEST_WRITE, PhaseTimings.Phase.DECODE }) {
+                assertThat(phases.getNanos(phase)).as("%s", phase).isEqualTo(-1);
+            }
+        });
+    }
+
+    @Test
+    @Description("Test that a hedged call reports the phases of the request whose response was used")
+    public void hedgedPhasesTest() throws InterruptedException {
+        // opens the connection the original is sent over, before hedging
+        petApi.getPetById(0L).block(Duration.ofSeconds(10));
+        reported.poll(5, TimeUnit.SECONDS);
+        HedgingPolicy hedgingPolicy = new HedgingPolicy().operation(OPERATION, Duration.ofMillis(100));
+        apiClient.setHedgingPolicy(hedgingPolicy);
+
+        Allure.step("Act", () -> {
+            logger.info("Getting a pet whose first request is very slow");
+            petApi.getPetById(1L).block(Duration.ofSeconds(10));
+        });
+
+        CallPhases phases = reported.poll(5, TimeUnit.SECONDS);
+        CallPhases other = reported.poll(500, TimeUnit.MILLISECONDS);
+        Allure.step("Assert", () -> {
+            logger.info("Asserting the copy's phases were reported once: {}", phases);
+            assertThat(hedgingPolicy.getStatistics(OPERATION).getHedgesWon()).isEqualTo(1);
+            assertThat(phases.getOperation()).isEqualTo(OPERATION);
+            assertThat(phases.getNanos(PhaseTimings.Phase.TIME_TO_FIRST_BYTE))
+                    .isGreaterThanOrEqualTo(FIRST_BYTE_DELAY.toNanos())
+                    .isLessThan(Duration.ofSeconds(5).toNanos());
+            assertThat(phases.getTotalNanos()).isGreaterThan(phases.getNanos(PhaseTimings.Phase.TIME_TO_FIRST_BYTE));
+            assertThat(other).isNull();
+        });
+    }
+}
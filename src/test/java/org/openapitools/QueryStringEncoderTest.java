@@ -0,0 +1,136 @@
+package org.openapitools;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.client.api.petStoreApi.PetApi;
+import org.openapitools.client.service.petStoreService.ApiClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriUtils;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QueryStringEncoderTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryStringEncoderTest.class);
+
+    // reserved characters, the query delimiters, non-ASCII text and a surrogate pair
+    private static final List<String> VALUES = Arrays.asList(
+            "available", "a b", "a+b", "a&b=c", ":/?#[]@", "!$'()*,;", "%25", "grüße", "犬", "🐶", "");
+    private static final List<String> NAMES = Arrays.asList(
+            "status", "a b", "a+b", "a&b=c", ":/?#[]@", "!$'()*,;", "grüße", "🐶");
+
+    private final Queue<String> uris = new ConcurrentLinkedQueue<String>();
+
+    private DisposableServer server;
+    private ApiClient apiClient;
+
+    @BeforeEach
+    public void startServer() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        .get("/v2/pet/findByStatus", (request, response) -> {
+                            uris.add(request.uri());
+                            return response.header("Content-Type", "application/json").sendString(Mono.just("[]"));
+                        }))
+                .bindNow();
+
+        apiClient = new ApiClient();
+        apiClient.setBasePath("http://localhost:" + server.port() + "/v2");
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.disposeNow();
+    }
+
+    /**
+     * Encode the parameter the way WebClient did: the map of {@link ApiClient#parameterToMultiValueMap} with names
+     * encoded as query parameters and values encoded strictly.
+     */
+    private String expectedQuery(ApiClient.CollectionFormat collectionFormat, String name, Object value) {
+        StringJoiner query = new StringJoiner("&");
+        MultiValueMap<String, String> params = apiClient.parameterToMultiValueMap(collectionFormat, name, value);
+        for (Map.Entry<String, List<String>> entry : params.entrySet()) {
+            for (String item : entry.getValue()) {
+                query.add(UriUtils.encodeQueryParam(entry.getKey(), StandardCharsets.UTF_8) + "=" + UriUtils.encode(item, StandardCharsets.UTF_8));
+            }
+        }
+        return query.toString();
+    }
+
+    private String appendQueryParameter(ApiClient.CollectionFormat collectionFormat, String name, Object value) {
+        StringBuilder query = new StringBuilder();
+        apiClient.appendQueryParameter(query, collectionFormat, name, value);
+        return query.toString();
+    }
+
+    @Test
+    @Description("Test that names and values are encoded like UriUtils encodes query parameters and URI variables")
+    public void encodingTest() {
+        Allure.step("Act and assert", () -> {
+            logger.info("Encoding {} names with {} values", NAMES.size(), VALUES.size());
+            for (String name : NAMES) {
+                for (String value : VALUES) {
+                    assertThat(appendQueryParameter(null, name, value))
+                            .as("%s=%s", name, value)
+                            .isEqualTo(expectedQuery(null, name, value));
+                }
+            }
+        });
+    }
+
+    @Test
+    @Description("Test that every collection format writes the same query string as its multi-value map")
+    public void collectionFormatTest() {
+        Allure.step("Act and assert", () -> {
+            for (ApiClient.CollectionFormat collectionFormat : ApiClient.CollectionFormat.values()) {
+                logger.info("Encoding a collection as {}", collectionFormat);
+                assertThat(appendQueryParameter(collectionFormat, "status", VALUES))
+                        .as("%s", collectionFormat)
+                        .isEqualTo(expectedQuery(collectionFormat, "status", VALUES));
+                assertThat(appendQueryParameter(collectionFormat, "status", Collections.emptyList())).isEmpty();
+            }
+            assertThat(appendQueryParameter(ApiClient.CollectionFormat.MULTI, "ignored", Collections.singletonMap("a b", "c&d")))
+                    .isEqualTo("a%20b=c%26d");
+        });
+    }
+
+    @Test
+    @Description("Test that an operation's query parameter is sent as encoded")
+    public void requestTest() {
+        PetApi petApi = new PetApi(apiClient);
+
+        Allure.step("Act", () -> {
+            logger.info("Finding pets by {} statuses, then by none", VALUES.size());
+            petApi.findPetsByStatus(VALUES).collectList().block(Duration.ofSeconds(10));
+            petApi.findPetsByStatus(Collections.<String>emptyList()).collectList().block(Duration.ofSeconds(10));
+        });
+
+        Allure.step("Assert", () -> {
+            logger.info("Asserting the request URIs: {}", uris);
+            assertThat(uris).containsExactly(
+                    "/v2/pet/findByStatus?" + expectedQuery(ApiClient.CollectionFormat.MULTI, "status", VALUES),
+                    "/v2/pet/findByStatus");
+        });
+    }
+}
@@ -0,0 +1,133 @@
+package org.openapitools;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.client.api.petStoreApi.PetApi;
+import org.openapitools.client.model.petStoreModel.Pet;
+import org.openapitools.client.service.petStoreService.ApiClient;
+import org.openapitools.client.service.petStoreService.RequestCoalescing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestCoalescingTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestCoalescingTest.class);
+
+    private static final String OPERATION = "GET /pet/{petId}";
+    private static final int MAXIMUM_BUFFER_SIZE = 1024;
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private DisposableServer server;
+    private RequestCoalescing requestCoalescing;
+    private PetApi petApi;
+
+    @BeforeEach
+    public void startServer() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        // pet 1 is small, pet 2 large, and pet 3 large and sent in chunks
+                        .get("/v2/pet/{petId}", (request, response) -> {
+                            requests.incrementAndGet();
+                            final String petId = request.param("petId");
+                            final String name = "1".equals(petId) ? "doggie" : new String(new char[2 * MAXIMUM_BUFFER_SIZE]).replace('\0', 'x');
+                            final String pet = "{\"id\":" + petId + ",\"name\":\"" + name + "\",\"photoUrls\":[]}";
+                            return Mono.delay(Duration.ofMillis(200))
+                                    .then(response.header("Content-Type", "application/json")
+                                            .sendString("3".equals(petId)
+                                                    ? Flux.just(pet.substring(0, 100), pet.substring(100))
+                                                    : Mono.just(pet))
+                                            .then());
+                        }))
+                .bindNow();
+
+        requestCoalescing = new RequestCoalescing().operation(OPERATION).maximumBufferSize(MAXIMUM_BUFFER_SIZE);
+        ApiClient apiClient = new ApiClient();
+        apiClient.setBasePath("http://localhost:" + server.port() + "/v2");
+        apiClient.setRequestCoalescing(requestCoalescing);
+        petApi = new PetApi(apiClient);
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.disposeNow();
+    }
+
+    private List<Pet> getPetFiveTimes(long petId) {
+        return Flux.range(0, 5)
+                .flatMap(i -> petApi.getPetById(petId))
+                .collectList()
+                .block(Duration.ofSeconds(10));
+    }
+
+    @Test
+    @Description("Test that identical requests in flight are sent once")
+    public void coalesceTest() {
+        List<Pet> pets = Allure.step("Act", () -> {
+            logger.info("Getting the same pet 5 times at once");
+            return getPetFiveTimes(1L);
+        });
+
+        Allure.step("Assert", () -> {
+            RequestCoalescing.Statistics statistics = requestCoalescing.getStatistics(OPERATION);
+            logger.info("Asserting a single request was sent: {}", statistics);
+            assertThat(pets).hasSize(5).allMatch(pet -> pet.getId() == 1L);
+            assertThat(requests.get()).isEqualTo(1);
+            assertThat(statistics.getSentRequests()).isEqualTo(1);
+            assertThat(statistics.getCoalescedRequests()).isEqualTo(4);
+        });
+    }
+
+    @Test
+    @Description("Test that a response larger than the maximum buffer size is not shared")
+    public void largeResponseTest() {
+        List<Pet> pets = Allure.step("Act", () -> {
+            logger.info("Getting the same large pet 5 times at once");
+            return getPetFiveTimes(2L);
+        });
+
+        Allure.step("Assert", () -> {
+            RequestCoalescing.Statistics statistics = requestCoalescing.getStatistics(OPERATION);
+            logger.info("Asserting each request was sent: {}", statistics);
+            assertThat(pets).hasSize(5).allMatch(pet -> pet.getId() == 2L);
+            assertThat(requests.get()).isEqualTo(5);
+            assertThat(statistics.getSentRequests()).isEqualTo(5);
+            assertThat(statistics.getCoalescedRequests()).isZero();
+            assertThat(statistics.getUnsharedResponses()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    @Description("Test that a chunked response turning out larger than the maximum buffer size is not shared")
+    public void largeChunkedResponseTest() {
+        List<Pet> pets = Allure.step("Act", () -> {
+            logger.info("Getting the same large chunked pet 5 times at once");
+            return getPetFiveTimes(3L);
+        });
+
+        Allure.step("Assert", () -> {
+            RequestCoalescing.Statistics statistics = requestCoalescing.getStatistics(OPERATION);
+            logger.info("Asserting each request was sent again: {}", statistics);
+            assertThat(pets).hasSize(5).allMatch(pet -> pet.getId() == 3L);
+            assertThat(requests.get()).isEqualTo(6);
+            assertThat(statistics.getSentRequests()).isEqualTo(6);
+            assertThat(statistics.getCoalescedRequests()).isZero();
+            assertThat(statistics.getUnsharedResponses()).isEqualTo(1);
+        });
+    }
+}
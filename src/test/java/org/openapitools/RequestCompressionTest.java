@@ -0,0 +1,128 @@
+package org.openapitools;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.client.api.petStoreApi.UserApi;
+import org.openapitools.client.model.petStoreModel.User;
+import org.openapitools.client.service.petStoreService.ApiClient;
+import org.openapitools.client.service.petStoreService.RequestCompression;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestCompressionTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestCompressionTest.class);
+
+    private static final String OPERATION = "POST /user/createWithArray";
+    private static final int THRESHOLD = 1024;
+
+    private final AtomicReference<String> contentEncoding = new AtomicReference<>();
+    private final AtomicReference<String> contentLength = new AtomicReference<>();
+    private final AtomicReference<byte[]> body = new AtomicReference<>();
+
+    private DisposableServer server;
+    private UserApi userApi;
+
+    @BeforeEach
+    public void startServer() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        .post("/v2/user/createWithArray", (request, response) -> {
+                            contentEncoding.set(request.requestHeaders().get("Content-Encoding"));
+                            contentLength.set(request.requestHeaders().get("Content-Length"));
+                            return request.receive().aggregate().asByteArray()
+                                    .doOnNext(body::set)
+                                    .then(response.send());
+                        }))
+                .bindNow();
+
+        ApiClient apiClient = new ApiClient();
+        apiClient.setBasePath("http://localhost:" + server.port() + "/v2");
+        apiClient.setRequestCompression(new RequestCompression().operation(OPERATION, THRESHOLD));
+        userApi = new UserApi(apiClient);
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.disposeNow();
+    }
+
+    private static List<User> users(int count) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            users.add(new User().id((long) i).username("user" + i).email("user" + i + "@example.com"));
+        }
+        return users;
+    }
+
+    private static byte[] gunzip(byte[] gzipped) throws IOException {
+        // reads the trailer too, so a wrong checksum or size fails
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    @Test
+    @Description("Test that a request body over the threshold is sent as a complete gzip stream of its JSON")
+    public void gzipTest() throws IOException {
+        List<User> users = users(100);
+
+        Allure.step("Act", () -> {
+            logger.info("Creating {} users at once", users.size());
+            userApi.createUsersWithArrayInput(users).block(Duration.ofSeconds(10));
+        });
+
+        List<User> received = new ObjectMapper().readValue(gunzip(body.get()), new TypeReference<List<User>>() {});
+        Allure.step("Assert", () -> {
+            logger.info("Asserting the {} gzipped bytes received decompress to the users", body.get().length);
+            assertThat(contentEncoding.get()).isEqualTo("gzip");
+            assertThat(contentLength.get()).isNull();
+            assertThat(received).isEqualTo(users);
+        });
+    }
+
+    @Test
+    @Description("Test that a request body under the threshold is sent uncompressed")
+    public void thresholdTest() throws IOException {
+        List<User> users = users(1);
+
+        Allure.step("Act", () -> {
+            logger.info("Creating a single user");
+            userApi.createUsersWithArrayInput(users).block(Duration.ofSeconds(10));
+        });
+
+        List<User> received = new ObjectMapper().readValue(body.get(), new TypeReference<List<User>>() {});
+        Allure.step("Assert", () -> {
+            logger.info("Asserting the {} bytes received are the users' JSON", body.get().length);
+            assertThat(contentEncoding.get()).isNull();
+            assertThat(contentLength.get()).isEqualTo(String.valueOf(body.get().length));
+            assertThat(received).isEqualTo(users);
+        });
+    }
+}
@@ -0,0 +1,158 @@
+package org.openapitools;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.client.api.petStoreApi.PetApi;
+import org.openapitools.client.model.petStoreModel.Pet;
+import org.openapitools.client.service.petStoreService.ApiClient;
+import org.openapitools.client.service.petStoreService.ResponseCache;
+import org.openapitools.client.service.petStoreService.auth.ApiKeyAuth;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResponseCacheTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCacheTest.class);
+
+    private static final String OPERATION = "GET /pet/{petId}";
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private DisposableServer server;
+    private ResponseCache responseCache;
+
+    @BeforeEach
+    public void startServer() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        .get("/v2/pet/{petId}", (request, response) -> {
+                            requests.incrementAndGet();
+                            // the pet is named after the api key it was requested with
+                            final String name = request.requestHeaders().get("api_key", "anonymous");
+                            return response.header("Content-Type", "application/json")
+                                    .sendString(Mono.just("{\"id\":" + request.param("petId") + ",\"name\":\"" + name + "\",\"photoUrls\":[]}")
+                                            .delayElement(Duration.ofMillis(200)));
+                        }))
+                .bindNow();
+
+        responseCache = new ResponseCache().operation(OPERATION);
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.disposeNow();
+    }
+
+    private PetApi petApi(String apiKey) {
+        ApiClient apiClient = new ApiClient();
+        apiClient.setBasePath("http://localhost:" + server.port() + "/v2");
+        apiClient.setApiKey(apiKey);
+        apiClient.setResponseCache(responseCache);
+        return new PetApi(apiClient);
+    }
+
+    @Test
+    @Description("Test that concurrent misses of the same pet share a single request")
+    public void concurrentMissesTest() {
+        PetApi petApi = petApi("key1");
+
+        List<Pet> pets = Allure.step("Act", () -> {
+            logger.info("Getting the same pet 10 times at once");
+            return Flux.range(0, 10)
+                    .flatMap(i -> petApi.getPetById(1L))
+                    .collectList()
+                    .block(Duration.ofSeconds(10));
+        });
+
+        Allure.step("Assert", () -> {
+            logger.info("Asserting a single request was sent: {}", responseCache.getStatistics(OPERATION));
+            assertThat(pets).hasSize(10).allMatch(pet -> pet.getName().equals("key1"));
+            assertThat(requests.get()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    @Description("Test that responses are not shared between credentials")
+    public void credentialsTest() {
+        Pet first = petApi("key1").getPetById(1L).block(Duration.ofSeconds(10));
+
+        Pet second = Allure.step("Act", () -> {
+            logger.info("Getting the same pet with another api key");
+            return petApi("key2").getPetById(1L).block(Duration.ofSeconds(10));
+        });
+        Pet third = petApi("key1").getPetById(1L).block(Duration.ofSeconds(10));
+
+        Allure.step("Assert", () -> {
+            logger.info("Asserting each api key got its own pet");
+            assertThat(first.getName()).isEqualTo("key1");
+            assertThat(second.getName()).isEqualTo("key2");
+            assertThat(third).isSameAs(first);
+            assertThat(requests.get()).isEqualTo(2);
+        });
+    }
+
+    @Test
+    @Description("Test that changing the credentials or the server of a client changes the scope of its responses")
+    public void credentialsChangeTest() {
+        PetApi petApi = petApi("key1");
+        ApiClient apiClient = petApi.getApiClient();
+        Pet first = petApi.getPetById(1L).block(Duration.ofSeconds(10));
+
+        List<Pet> pets = Allure.step("Act", () -> {
+            logger.info("Getting the same pet after changing the api key, the key's prefix and the base path");
+            apiClient.setApiKey("key2");
+            Pet second = petApi.getPetById(1L).block(Duration.ofSeconds(10));
+            ((ApiKeyAuth) apiClient.getAuthentication("api_key")).setApiKeyPrefix("Token");
+            Pet third = petApi.getPetById(1L).block(Duration.ofSeconds(10));
+            ((ApiKeyAuth) apiClient.getAuthentication("api_key")).setApiKeyPrefix(null);
+            apiClient.setApiKey(new String("key1"));
+            Pet fourth = petApi.getPetById(1L).block(Duration.ofSeconds(10));
+            apiClient.setBasePath("http://127.0.0.1:" + server.port() + "/v2");
+            Pet fifth = petApi.getPetById(1L).block(Duration.ofSeconds(10));
+            return Arrays.asList(second, third, fourth, fifth);
+        });
+
+        Allure.step("Assert", () -> {
+            logger.info("Asserting the pet was requested once per distinct credentials and server");
+            assertThat(pets).extracting(Pet::getName).containsExactly("key2", "Token key2", "key1", "key1");
+            assertThat(pets.get(2)).isSameAs(first);
+            assertThat(pets.get(3)).isNotSameAs(first);
+            assertThat(requests.get()).isEqualTo(4);
+        });
+    }
+
+    @Test
+    @Description("Test that invalidating a pet removes it for all credentials")
+    public void invalidateTest() {
+        petApi("key1").getPetById(1L).block(Duration.ofSeconds(10));
+        petApi("key2").getPetById(1L).block(Duration.ofSeconds(10));
+
+        Allure.step("Act", () -> {
+            logger.info("Invalidating the pet and getting it again");
+            responseCache.invalidate(OPERATION, 1L);
+            petApi("key1").getPetById(1L).block(Duration.ofSeconds(10));
+            petApi("key2").getPetById(1L).block(Duration.ofSeconds(10));
+        });
+
+        Allure.step("Assert", () -> {
+            logger.info("Asserting the pet was requested again for both api keys");
+            assertThat(requests.get()).isEqualTo(4);
+        });
+    }
+}
@@ -0,0 +1,174 @@
+package org.openapitools;
+
+import io.netty.handler.codec.http.QueryStringDecoder;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.client.api.petStoreApi.PetApi;
+import org.openapitools.client.model.petStoreModel.Pet;
+import org.openapitools.client.service.petStoreService.ApiClient;
+import org.openapitools.client.service.petStoreService.ConnectionPoolConfig;
+import org.openapitools.client.service.petStoreService.ResponseCompression;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ResponseCompressionTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCompressionTest.class);
+
+    private static final String OPERATION = "GET /pet/findByStatus";
+    private static final int PET_COUNT = 1000;
+    private static final byte[] PETS = pets().getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicReference<String> acceptEncoding = new AtomicReference<String>();
+
+    private DisposableServer server;
+    private ApiClient apiClient;
+    private ResponseCompression responseCompression;
+    private PetApi petApi;
+
+    @BeforeEach
+    public void startServer() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        // answers in the encoding named by the status, sent in chunks
+                        .get("/v2/pet/findByStatus", (request, response) -> {
+                            acceptEncoding.set(request.requestHeaders().get("Accept-Encoding"));
+                            final String encoding = new QueryStringDecoder(request.uri()).parameters().get("status").get(0);
+                            final byte[] body = compress(PETS, encoding);
+                            response.header("Content-Type", "application/json");
+                            if (!"identity".equals(encoding)) {
+                                response.header("Content-Encoding", encoding);
+                            }
+                            return response.sendByteArray(Flux.range(0, (body.length + 1023) / 1024)
+                                    .map(i -> Arrays.copyOfRange(body, i * 1024, Math.min(body.length, (i + 1) * 1024))));
+                        }))
+                .bindNow();
+
+        responseCompression = new ResponseCompression(ResponseCompression.Encoding.GZIP, ResponseCompression.Encoding.DEFLATE);
+        // a pooled client does not inflate responses itself
+        apiClient = new ApiClient(new ConnectionPoolConfig());
+        apiClient.setBasePath("http://localhost:" + server.port() + "/v2");
+        apiClient.setResponseCompression(responseCompression);
+        petApi = new PetApi(apiClient);
+    }
+
+    @AfterEach
+    public void stopServer() {
+        apiClient.dispose();
+        server.disposeNow();
+    }
+
+    private static String pets() {
+        StringBuilder pets = new StringBuilder("[");
+        for (int id = 0; id < PET_COUNT; id++) {
+            pets.append(id == 0 ? "" : ",").append("{\"id\":").append(id).append(",\"name\":\"pet").append(id)
+                    .append("\",\"photoUrls\":[],\"status\":\"sold\"}");
+        }
+        return pets.append(']').toString();
+    }
+
+    private static byte[] compress(byte[] body, String encoding) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream out = "gzip".equals(encoding) ? new GZIPOutputStream(compressed)
+                : "deflate".equals(encoding) ? new DeflaterOutputStream(compressed) : compressed) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    private List<Pet> findPets(String encoding) {
+        return petApi.findPetsByStatus(Collections.singletonList(encoding)).collectList().block(Duration.ofSeconds(10));
+    }
+
+    @Test
+    @Description("Test that gzip is negotiated, and a gzipped response decompressed")
+    public void gzipTest() {
+        List<Pet> pets = Allure.step("Act", () -> {
+            logger.info("Finding pets answered gzipped");
+            return findPets("gzip");
+        });
+
+        Allure.step("Assert", () -> {
+            ResponseCompression.Statistics statistics = responseCompression.getStatistics(OPERATION);
+            logger.info("Asserting the pets were decompressed: {}", statistics);
+            assertThat(acceptEncoding.get()).isEqualTo("gzip, deflate");
+            assertThat(pets).hasSize(PET_COUNT);
+            assertThat(statistics.getResponses()).isEqualTo(1);
+            assertThat(statistics.getCompressedResponses()).isEqualTo(1);
+            assertThat(statistics.getCompressedBytes()).isEqualTo(compress(PETS, "gzip").length);
+            assertThat(statistics.getDecompressedBytes()).isEqualTo(PETS.length);
+        });
+    }
+
+    @Test
+    @Description("Test that a deflated response is decompressed")
+    public void deflateTest() {
+        List<Pet> pets = Allure.step("Act", () -> {
+            logger.info("Finding pets answered deflated");
+            return findPets("deflate");
+        });
+
+        Allure.step("Assert", () -> {
+            ResponseCompression.Statistics statistics = responseCompression.getStatistics(OPERATION);
+            logger.info("Asserting the pets were decompressed: {}", statistics);
+            assertThat(pets).hasSize(PET_COUNT);
+            assertThat(statistics.getCompressedResponses()).isEqualTo(1);
+            assertThat(statistics.getDecompressedBytes()).isEqualTo(PETS.length);
+        });
+    }
+
+    @Test
+    @Description("Test that an uncompressed response is passed through")
+    public void identityTest() {
+        List<Pet> pets = Allure.step("Act", () -> {
+            logger.info("Finding pets answered uncompressed");
+            return findPets("identity");
+        });
+
+        Allure.step("Assert", () -> {
+            ResponseCompression.Statistics statistics = responseCompression.getStatistics(OPERATION);
+            logger.info("Asserting the pets were not decompressed: {}", statistics);
+            assertThat(pets).hasSize(PET_COUNT);
+            assertThat(statistics.getResponses()).isEqualTo(1);
+            assertThat(statistics.getCompressedResponses()).isZero();
+            assertThat(statistics.getDecompressedBytes()).isZero();
+        });
+    }
+
+    @Test
+    @Description("Test that a client with WebClient's default connector, which inflates gzip itself, rejects response compression")
+    public void defaultConnectorTest() {
+        Allure.step("Act and assert", () -> {
+            logger.info("Setting a response compression on a default client");
+            assertThatThrownBy(() -> new ApiClient().setResponseCompression(new ResponseCompression()))
+                    .isInstanceOf(IllegalStateException.class);
+            assertThat(new ApiClient().setResponseCompression(null).getResponseCompression()).isNull();
+        });
+    }
+}
@@ -0,0 +1,132 @@
+package org.openapitools;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.client.api.petStoreApi.PetApi;
+import org.openapitools.client.model.petStoreModel.Pet;
+import org.openapitools.client.service.petStoreService.ApiClient;
+import org.openapitools.client.service.petStoreService.RequestBudget;
+import org.openapitools.client.service.petStoreService.RetryPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RetryPolicyTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetryPolicyTest.class);
+
+    private static final String OPERATION = "GET /pet/{petId}";
+
+    private final AtomicInteger requests = new AtomicInteger();
+    /** The Retry-After header of the next 503, or null to answer with the pet. */
+    private final AtomicReference<String> retryAfter = new AtomicReference<String>();
+    private volatile boolean unavailable;
+
+    private DisposableServer server;
+    private RetryPolicy retryPolicy;
+    private PetApi petApi;
+
+    @BeforeEach
+    public void startServer() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        .get("/v2/pet/{petId}", (request, response) -> {
+                            requests.incrementAndGet();
+                            final String delay = retryAfter.getAndSet(null);
+                            if (delay != null) {
+                                return response.status(503).header("Retry-After", delay).send();
+                            }
+                            if (unavailable) {
+                                return response.status(503).send();
+                            }
+                            return response.header("Content-Type", "application/json")
+                                    .sendString(Mono.just("{\"id\":" + request.param("petId") + ",\"name\":\"doggie\",\"photoUrls\":[]}"));
+                        }))
+                .bindNow();
+
+        retryPolicy = new RetryPolicy().backoff(Duration.ofMillis(1), Duration.ofSeconds(2));
+        ApiClient apiClient = new ApiClient();
+        apiClient.setBasePath("http://localhost:" + server.port() + "/v2");
+        apiClient.setRetryPolicy(retryPolicy);
+        petApi = new PetApi(apiClient);
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.disposeNow();
+    }
+
+    @Test
+    @Description("Test that a retry waits as long as the Retry-After header asks")
+    public void retryAfterTest() {
+        retryAfter.set("1");
+
+        long startNanos = System.nanoTime();
+        Pet pet = Allure.step("Act", () -> {
+            logger.info("Getting a pet from a server that asks to retry after a second");
+            return petApi.getPetById(1L).block(Duration.ofSeconds(10));
+        });
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+
+        Allure.step("Assert", () -> {
+            logger.info("Asserting the retry waited, after {}", elapsed);
+            assertThat(pet.getId()).isEqualTo(1L);
+            assertThat(requests.get()).isEqualTo(2);
+            assertThat(elapsed).isGreaterThanOrEqualTo(Duration.ofSeconds(1));
+            assertThat(retryPolicy.getStatistics(OPERATION).getRetries()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    @Description("Test that a response asking to wait longer than the maximum backoff is returned without a retry")
+    public void retryAfterBeyondMaximumTest() {
+        // valid delta-seconds, but too many nanoseconds for a long
+        retryAfter.set("10000000000");
+
+        Allure.step("Act and assert", () -> {
+            logger.info("Getting a pet from a server that asks to retry after 317 years");
+            assertThatThrownBy(() -> petApi.getPetById(1L).block(Duration.ofSeconds(10)))
+                    .isInstanceOf(WebClientResponseException.ServiceUnavailable.class);
+            assertThat(requests.get()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    @Description("Test that retries stop when the retry budget is used up")
+    public void budgetExhaustionTest() {
+        unavailable = true;
+        retryPolicy.budget(new RequestBudget(0.1, 1));
+
+        Allure.step("Act", () -> {
+            logger.info("Getting 10 pets from an unavailable server");
+            for (long petId = 1; petId <= 10; petId++) {
+                assertThatThrownBy(petApi.getPetById(petId)::block)
+                        .isInstanceOf(WebClientResponseException.ServiceUnavailable.class);
+            }
+        });
+
+        Allure.step("Assert", () -> {
+            RetryPolicy.Statistics statistics = retryPolicy.getStatistics(OPERATION);
+            logger.info("Asserting retries were capped by the budget: {}", statistics);
+            // one token to start with, and a tenth of one per call
+            assertThat(statistics.getRetries()).isBetween(1L, 2L);
+            assertThat(statistics.getOverBudget()).isGreaterThanOrEqualTo(8);
+            assertThat(requests.get()).isEqualTo(10 + (int) statistics.getRetries());
+        });
+    }
+}
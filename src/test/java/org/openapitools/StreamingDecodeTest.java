@@ -0,0 +1,110 @@
+package org.openapitools;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.client.api.petStoreApi.PetApi;
+import org.openapitools.client.model.petStoreModel.Pet;
+import org.openapitools.client.service.petStoreService.ApiClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StreamingDecodeTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamingDecodeTest.class);
+
+    private static final int PET_COUNT = 2000;
+    private static final int MAX_IN_MEMORY_SIZE = 16 * 1024;
+    private static final Duration STALL = Duration.ofSeconds(3);
+
+    private DisposableServer server;
+    private ApiClient apiClient;
+    private PetApi petApi;
+
+    @BeforeEach
+    public void startServer() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        // answers with an array far larger than the decode limit, stalling after its first pet
+                        .get("/v2/pet/findByStatus", (request, response) -> response
+                                .header("Content-Type", "application/json")
+                                .header("X-Pet-Count", String.valueOf(PET_COUNT))
+                                .sendString(Flux.concat(
+                                        Mono.just("[" + pet(0)),
+                                        Mono.delay(STALL).thenMany(Flux.range(1, PET_COUNT - 1).map(id -> "," + pet(id))),
+                                        Mono.just("]")))))
+                .bindNow();
+
+        apiClient = new ApiClient(ApiClient.buildWebClientBuilder(ApiClient.createDefaultObjectMapper(null), MAX_IN_MEMORY_SIZE).build());
+        apiClient.setBasePath("http://localhost:" + server.port() + "/v2");
+        petApi = new PetApi(apiClient);
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.disposeNow();
+    }
+
+    private static String pet(int id) {
+        return "{\"id\":" + id + ",\"name\":\"pet" + id + "\",\"photoUrls\":[],\"status\":\"sold\"}";
+    }
+
+    @Test
+    @Description("Test that the streaming entity exposes the headers and emits pets before the response is complete")
+    public void streamingHttpInfoTest() {
+        ResponseEntity<Flux<Pet>> entity = petApi.findPetsByStatusWithStreamingHttpInfo(Arrays.asList("sold")).block(STALL.dividedBy(2));
+
+        Pet first = Allure.step("Act", () -> {
+            logger.info("Getting the first pet of a stalled response");
+            return entity.getBody().next().block(STALL.dividedBy(2));
+        });
+
+        Allure.step("Assert", () -> {
+            logger.info("Asserting the headers and the first pet arrived before the stall");
+            assertThat(entity.getHeaders().getFirst("X-Pet-Count")).isEqualTo(String.valueOf(PET_COUNT));
+            assertThat(first.getId()).isEqualTo(0L);
+        });
+    }
+
+    @Test
+    @Description("Test that an array larger than the decode limit is decoded when streamed, and rejected when decoded whole")
+    public void maxInMemorySizeTest() {
+        List<Pet> pets = Allure.step("Act", () -> {
+            logger.info("Streaming {} pets with a decode limit of {} bytes", PET_COUNT, MAX_IN_MEMORY_SIZE);
+            return petApi.findPetsByStatusWithStreamingHttpInfo(Arrays.asList("sold"))
+                    .flatMapMany(ResponseEntity::getBody)
+                    .collectList()
+                    .block(STALL.multipliedBy(3));
+        });
+
+        Allure.step("Assert", () -> {
+            logger.info("Asserting all pets were streamed, and the same array does not fit when decoded whole");
+            assertThat(pets).hasSize(PET_COUNT);
+            assertThat(pets.get(PET_COUNT - 1).getId()).isEqualTo(PET_COUNT - 1L);
+            assertThatThrownBy(() -> apiClient.getWebClient().get()
+                    .uri(apiClient.getBasePath() + "/pet/findByStatus?status=sold")
+                    .retrieve()
+                    .bodyToMono(new ParameterizedTypeReference<List<Pet>>() {})
+                    .block(STALL.multipliedBy(3)))
+                    .hasRootCauseInstanceOf(DataBufferLimitException.class);
+        });
+    }
+}
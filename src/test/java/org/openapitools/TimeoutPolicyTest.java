@@ -0,0 +1,120 @@
+package org.openapitools;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openapitools.client.api.petStoreApi.PetApi;
+import org.openapitools.client.service.petStoreService.ApiClient;
+import org.openapitools.client.service.petStoreService.ResponseTimeoutException;
+import org.openapitools.client.service.petStoreService.TimeoutPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TimeoutPolicyTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimeoutPolicyTest.class);
+
+    private static final String OPERATION = "GET /pet/{petId}";
+
+    private DisposableServer server;
+    private TimeoutPolicy timeoutPolicy;
+    private ApiClient apiClient;
+    private PetApi petApi;
+
+    @BeforeEach
+    public void startServer() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        // the headers of pet 1 are late, the body of the others
+                        .get("/v2/pet/{petId}", (request, response) -> "1".equals(request.param("petId"))
+                                ? Mono.delay(Duration.ofSeconds(1)).then(response.header("Content-Type", "application/json")
+                                        .sendString(Mono.just("{\"id\":1,\"name\":\"doggie\",\"photoUrls\":[]}")).then())
+                                : response.header("Content-Type", "application/json")
+                                        .sendString(Flux.concat(
+                                                Mono.just("{\"id\":" + request.param("petId") + ","),
+                                                Mono.just("\"name\":\"doggie\",\"photoUrls\":[]}").delayElement(Duration.ofSeconds(1))))))
+                .bindNow();
+
+        timeoutPolicy = new TimeoutPolicy();
+        apiClient = new ApiClient();
+        apiClient.setBasePath("http://localhost:" + server.port() + "/v2");
+        apiClient.setTimeoutPolicy(timeoutPolicy);
+        petApi = new PetApi(apiClient);
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.disposeNow();
+    }
+
+    @Test
+    @Description("Test that a request fails when its response headers do not arrive in time")
+    public void firstByteTimeoutTest() {
+        timeoutPolicy.firstByteTimeout(Duration.ofMillis(200));
+
+        Allure.step("Act and assert", () -> {
+            logger.info("Getting a pet whose response headers are late");
+            assertThatThrownBy(() -> petApi.getPetById(1L).block(Duration.ofSeconds(10)))
+                    .isInstanceOfSatisfying(ResponseTimeoutException.class,
+                            e -> assertThat(e.getPhase()).isEqualTo(TimeoutPolicy.Phase.FIRST_BYTE));
+            assertThat(timeoutPolicy.getStatistics(OPERATION).getFirstByteTimeouts()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    @Description("Test that the first byte timeout does not apply to the response body")
+    public void firstByteInTimeTest() {
+        timeoutPolicy.firstByteTimeout(Duration.ofMillis(200));
+
+        Allure.step("Act and assert", () -> {
+            logger.info("Getting a pet whose response body is late");
+            assertThat(petApi.getPetById(2L).block(Duration.ofSeconds(10)).getId()).isEqualTo(2L);
+            assertThat(timeoutPolicy.getStatistics(OPERATION)).isNull();
+        });
+    }
+
+    @Test
+    @Description("Test that a call fails when its response body was not read before the deadline")
+    public void deadlineTest() {
+        timeoutPolicy.deadline(Duration.ofMillis(200));
+
+        Allure.step("Act and assert", () -> {
+            logger.info("Getting a pet whose response body is late");
+            assertThatThrownBy(() -> petApi.getPetById(2L).block(Duration.ofSeconds(10)))
+                    .isInstanceOfSatisfying(ResponseTimeoutException.class,
+                            e -> assertThat(e.getPhase()).isEqualTo(TimeoutPolicy.Phase.DEADLINE));
+            assertThat(timeoutPolicy.getStatistics(OPERATION).getDeadlinesExceeded()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    @Description("Test that a deadline passing before the response body is subscribed to still fails the body")
+    public void deadlineBeforeBodyTest() {
+        timeoutPolicy.deadline(Duration.ofMillis(200));
+
+        Allure.step("Act and assert", () -> {
+            logger.info("Reading the body of a response only after the deadline");
+            assertThatThrownBy(() -> apiClient.getWebClient().get()
+                    .uri(apiClient.getBasePath() + "/pet/{petId}", 3)
+                    .exchangeToMono(response -> Mono.delay(Duration.ofMillis(500)).then(response.bodyToMono(String.class)))
+                    .block(Duration.ofSeconds(10)))
+                    .isInstanceOf(ResponseTimeoutException.class);
+            assertThat(timeoutPolicy.getStatistics().values())
+                    .singleElement()
+                    .satisfies(statistics -> assertThat(statistics.getDeadlinesExceeded()).isEqualTo(1));
+        });
+    }
+}